@@ -1,9 +1,10 @@
 package com.cardgcp;
 
+import com.io.MappedTextReader;
+
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.file.*;
@@ -42,6 +43,8 @@ public class ConvertSqlStep1 {
     private static Set<ConversionOption> selectedOptions = new HashSet<>();
     private static Charset inputCharset;
     private static Charset outputCharset;
+    // 파일별 문자셋 자동 판별 (UTF-8 이 아니면 inputCharset)
+    private static MappedTextReader inputReader;
 
     public static void main(String[] args) throws Exception {
         // 변환 옵션 선택
@@ -51,6 +54,7 @@ public class ConvertSqlStep1 {
             System.out.println("선택된 옵션이 없습니다. 프로그램을 종료합니다.");
             return;
         }
+        inputReader = MappedTextReader.autoDetect(inputCharset);
 
         // 폴더 확인 및 생성
         if (!Files.isDirectory(SRC_ROOT)) {
@@ -63,6 +67,7 @@ public class ConvertSqlStep1 {
         for (ConversionOption option : selectedOptions) {
             System.out.println("  - " + option.description);
         }
+        System.out.println("  * 입력 인코딩: 파일별 자동 판별 (UTF-8 이 아니면 " + inputCharset.name() + ")");
 
         System.out.println("\n[시작] SRC=" + SRC_ROOT.toAbsolutePath());
         System.out.println("       OUT=" + OUT_ROOT.toAbsolutePath());
@@ -172,14 +177,10 @@ public class ConvertSqlStep1 {
     }
 
     /**
-     * 파일 읽기 (입력 인코딩으로)
+     * 파일 읽기 (BOM / UTF-8 여부를 파일별로 판별, UTF-8 이 아니면 입력 인코딩으로)
      */
     private static String readFile(Path file) throws IOException {
-        byte[] bytes = Files.readAllBytes(file);
-        CharsetDecoder decoder = inputCharset.newDecoder()
-                .onMalformedInput(CodingErrorAction.REPLACE)
-                .onUnmappableCharacter(CodingErrorAction.REPLACE);
-        return decoder.decode(ByteBuffer.wrap(bytes)).toString();
+        return inputReader.readString(file);
     }
 
     /**
@@ -0,0 +1,254 @@
+package com.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 바이트 기반 문자셋 판별기 (UTF-8 / EUC-KR(CP949) 혼재 디렉터리용)
+ *
+ * 판별 순서
+ * 1. BOM: EF BB BF -> UTF-8, FE FF -> UTF-16BE, FF FE -> UTF-16LE
+ * 2. 앞쪽 ASCII 구간을 건너뛴 뒤 최대 N KB(기본 64KB)를 UTF-8 규칙으로 검사
+ *    - 모두 ASCII 이거나 올바른 UTF-8 이면 UTF-8
+ *    - 잘못된 UTF-8 바이트가 나오면 레거시(호출자가 지정한 대체 문자셋, 보통 MS949)
+ *
+ * 판별 결과는 파일 경로별로 (크기, 수정 시각) 과 함께 캐시하므로 같은 파일을 여러 리더가 읽어도 한 번만 검사합니다.
+ * 검사 크기는 -Dcharset.scanKB=N 으로 바꿀 수 있습니다.
+ */
+public final class CharsetDetector {
+    /** 레거시 한글 파일의 기본 문자셋 (EUC-KR 상위 호환) */
+    public static final Charset MS949 = Charset.forName("MS949");
+
+    private static final int SCAN_BYTES = Integer.getInteger("charset.scanKB", 64) * 1024;
+
+    private static final Map<Path, CacheEntry> CACHE = new ConcurrentHashMap<>();
+
+    private CharsetDetector() {
+    }
+
+    /**
+     * 판별 결과
+     */
+    public enum Detection {
+        UTF8_BOM(StandardCharsets.UTF_8, 3),
+        UTF16BE_BOM(StandardCharsets.UTF_16BE, 2),
+        UTF16LE_BOM(StandardCharsets.UTF_16LE, 2),
+        UTF8(StandardCharsets.UTF_8, 0),
+        LEGACY(null, 0);
+
+        private final Charset charset;
+        private final int bomLength;
+
+        Detection(Charset charset, int bomLength) {
+            this.charset = charset;
+            this.bomLength = bomLength;
+        }
+
+        /**
+         * 디코딩에 사용할 문자셋 (LEGACY 이면 fallback)
+         */
+        public Charset charset(Charset fallback) {
+            return charset != null ? charset : fallback;
+        }
+
+        /**
+         * 디코딩 전에 건너뛸 BOM 바이트 수
+         */
+        public int bomLength() {
+            return bomLength;
+        }
+    }
+
+    /**
+     * 파일의 문자셋을 판별합니다. 크기/수정 시각이 같으면 캐시된 결과를 사용합니다.
+     */
+    public static Detection detect(Path file) throws IOException {
+        return detect(file, null);
+    }
+
+    /**
+     * 이미 읽어 둔(또는 매핑한) 파일 내용으로 판별하고 결과를 캐시합니다.
+     * bytes 가 null 이면 파일을 앞에서부터 필요한 만큼만 읽어 판별합니다. bytes 의 position 은 바꾸지 않습니다.
+     */
+    public static Detection detect(Path file, ByteBuffer bytes) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+        long size = attrs.size();
+        long modified = attrs.lastModifiedTime().toMillis();
+
+        CacheEntry cached = CACHE.get(key);
+        if (cached != null && cached.size == size && cached.modified == modified) {
+            return cached.detection;
+        }
+
+        Detection detection = bytes != null ? detect(bytes) : scanFile(key);
+        CACHE.put(key, new CacheEntry(size, modified, detection));
+        return detection;
+    }
+
+    /**
+     * 바이트 내용으로 판별합니다 (캐시 사용 안 함).
+     */
+    public static Detection detect(byte[] bytes) {
+        return detect(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * position ~ limit 구간으로 판별합니다 (캐시 사용 안 함, position 변경 없음).
+     */
+    public static Detection detect(ByteBuffer bytes) {
+        Detection bom = bomOf(bytes);
+        if (bom != null) {
+            return bom;
+        }
+
+        // 앞쪽 ASCII 구간은 두 문자셋에서 같으므로 첫 비 ASCII 바이트부터 검사
+        int limit = bytes.limit();
+        int i = bytes.position();
+        while (i < limit && bytes.get(i) >= 0) {
+            i++;
+        }
+        return isUtf8(bytes, i, (int) Math.min(limit, (long) i + SCAN_BYTES)) ? Detection.UTF8 : Detection.LEGACY;
+    }
+
+    private static Detection bomOf(ByteBuffer bytes) {
+        int start = bytes.position();
+        int n = bytes.limit() - start;
+        if (n >= 3 && (bytes.get(start) & 0xFF) == 0xEF && (bytes.get(start + 1) & 0xFF) == 0xBB
+                && (bytes.get(start + 2) & 0xFF) == 0xBF) {
+            return Detection.UTF8_BOM;
+        }
+        if (n >= 2 && (bytes.get(start) & 0xFF) == 0xFE && (bytes.get(start + 1) & 0xFF) == 0xFF) {
+            return Detection.UTF16BE_BOM;
+        }
+        if (n >= 2 && (bytes.get(start) & 0xFF) == 0xFF && (bytes.get(start + 1) & 0xFF) == 0xFE) {
+            return Detection.UTF16LE_BOM;
+        }
+        return null;
+    }
+
+    /**
+     * from ~ end 구간이 올바른 UTF-8 인지 검사합니다.
+     * 구간 끝에서 잘린 멀티바이트 문자는 (검사 범위 한계이므로) 올바른 것으로 봅니다.
+     */
+    static boolean isUtf8(ByteBuffer bytes, int from, int end) {
+        int i = from;
+        while (i < end) {
+            int b = bytes.get(i) & 0xFF;
+            if (b < 0x80) {
+                i++;
+                continue;
+            }
+            int len;
+            int min2 = 0x80;
+            int max2 = 0xBF;
+            if (b >= 0xC2 && b <= 0xDF) {
+                len = 2;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                len = 3;
+                if (b == 0xE0) min2 = 0xA0;        // overlong
+                if (b == 0xED) max2 = 0x9F;        // surrogate
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                len = 4;
+                if (b == 0xF0) min2 = 0x90;        // overlong
+                if (b == 0xF4) max2 = 0x8F;        // > U+10FFFF
+            } else {
+                return false;
+            }
+            for (int k = 1; k < len; k++) {
+                if (i + k >= end) {
+                    return true;
+                }
+                int c = bytes.get(i + k) & 0xFF;
+                int lo = k == 1 ? min2 : 0x80;
+                int hi = k == 1 ? max2 : 0xBF;
+                if (c < lo || c > hi) {
+                    return false;
+                }
+            }
+            i += len;
+        }
+        return true;
+    }
+
+    /**
+     * 캐시를 비웁니다 (테스트 또는 장시간 실행 시 사용).
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    public static int getCacheSize() {
+        return CACHE.size();
+    }
+
+    /**
+     * 파일을 앞에서부터 읽으며 판별합니다. 메모리에는 검사 크기만큼만 올립니다.
+     * 앞쪽 ASCII 구간은 청크 단위로 건너뛰고, 첫 비 ASCII 바이트부터 검사 크기만큼 모아 UTF-8 여부를 봅니다.
+     */
+    private static Detection scanFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer chunk = ByteBuffer.allocate(SCAN_BYTES);
+            boolean eof = fill(channel, chunk);
+            chunk.flip();
+            Detection bom = bomOf(chunk);
+            if (bom != null) {
+                return bom;
+            }
+
+            while (true) {
+                int i = chunk.position();
+                while (i < chunk.limit() && chunk.get(i) >= 0) {
+                    i++;
+                }
+                if (i < chunk.limit()) {
+                    // 첫 비 ASCII 바이트부터 검사 크기만큼 확보
+                    chunk.position(i).compact();
+                    if (!eof) {
+                        fill(channel, chunk);
+                    }
+                    return isUtf8(chunk, 0, chunk.position()) ? Detection.UTF8 : Detection.LEGACY;
+                }
+                if (eof) {
+                    return Detection.UTF8;
+                }
+                chunk.clear();
+                eof = fill(channel, chunk);
+                chunk.flip();
+            }
+        }
+    }
+
+    /**
+     * 버퍼가 찰 때까지 읽습니다. 파일 끝에 도달하면 true
+     */
+    private static boolean fill(FileChannel channel, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            if (channel.read(buf) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class CacheEntry {
+        final long size;
+        final long modified;
+        final Detection detection;
+
+        CacheEntry(long size, long modified, Detection detection) {
+            this.size = size;
+            this.modified = modified;
+            this.detection = detection;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 문자셋 지정 텍스트 파일 리더 (큰 파일은 메모리 매핑)
+ *
+ * 파일마다 byte[] -> 새 CharBuffer -> String 으로 두 번 복사하지 않도록
+ * - 임계값 이상 파일은 FileChannel.map 으로 매핑해 힙에 바이트를 올리지 않고
+ * - 임계값 미만 파일은 스레드별로 재사용하는 ByteBuffer 로 읽고
+ * - 스레드별로 재사용하는 CharsetDecoder / CharBuffer 로 디코딩합니다.
+ *
+ * read 가 반환하는 CharSequence 는 같은 스레드에서 다음 read/decode 를 호출하기 전까지만 유효합니다.
+ * 파싱 결과처럼 오래 보관할 값은 toString() 또는 subSequence(..).toString() 으로 복사해야 합니다.
+ * 깨지는 바이트는 Files.readAllBytes + CodingErrorAction.REPLACE 디코딩과 동일하게 대체 문자로 바뀝니다.
+ * UTF-8, MS949(EUC-KR 확장) 등 JDK 가 지원하는 문자셋을 모두 사용할 수 있습니다.
+ *
+ * autoDetect(fallback) 로 만들면 파일마다 CharsetDetector 로 문자셋을 판별합니다
+ * (BOM 은 건너뛰고, UTF-8 이 아니면 fallback 으로 디코딩). 이때 getCharset() 은 fallback 입니다.
+ */
+public class MappedTextReader {
+    /** 메모리 매핑을 사용하는 기본 파일 크기 (1MB) */
+    public static final long DEFAULT_MAP_THRESHOLD = 1024L * 1024L;
+
+    // 이보다 큰 버퍼는 스레드에 남겨두지 않음 (큰 파일 한 번으로 힙을 계속 점유하지 않도록)
+    private static final int RETAIN_LIMIT_CHARS = 8 * 1024 * 1024;
+    private static final int RETAIN_LIMIT_BYTES = (int) DEFAULT_MAP_THRESHOLD;
+
+    private final Charset charset;
+    private final long mapThreshold;
+    private final boolean detect;
+    private final ThreadLocal<DecodeState> states = ThreadLocal.withInitial(DecodeState::new);
+
+    public MappedTextReader(Charset charset) {
+        this(charset, DEFAULT_MAP_THRESHOLD);
+    }
+
+    /**
+     * @param charset 파일 문자셋
+     * @param mapThreshold 이 크기(바이트) 이상이면 메모리 매핑 (0 이면 모든 파일 매핑)
+     */
+    public MappedTextReader(Charset charset, long mapThreshold) {
+        this(charset, mapThreshold, false);
+    }
+
+    private MappedTextReader(Charset charset, long mapThreshold, boolean detect) {
+        this.charset = charset;
+        this.mapThreshold = mapThreshold;
+        this.detect = detect;
+    }
+
+    /**
+     * 파일마다 문자셋을 판별하는 리더를 생성합니다.
+     *
+     * @param fallback UTF-8 이 아닌 파일에 사용할 문자셋 (보통 MS949)
+     * @param mapThreshold 이 크기(바이트) 이상이면 메모리 매핑
+     */
+    public static MappedTextReader autoDetect(Charset fallback, long mapThreshold) {
+        return new MappedTextReader(fallback, mapThreshold, true);
+    }
+
+    public static MappedTextReader autoDetect(Charset fallback) {
+        return autoDetect(fallback, DEFAULT_MAP_THRESHOLD);
+    }
+
+    /**
+     * 고정 문자셋 (자동 판별이면 fallback 문자셋)
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    public boolean isAutoDetect() {
+        return detect;
+    }
+
+    /**
+     * 파일을 읽을 때 사용할 문자셋 (자동 판별이면 판별 결과, 파일별 캐시 사용)
+     */
+    public Charset charsetOf(Path file) throws IOException {
+        return detect ? CharsetDetector.detect(file).charset(charset) : charset;
+    }
+
+    public long getMapThreshold() {
+        return mapThreshold;
+    }
+
+    /**
+     * 파일 전체를 디코딩해 읽기 전용 CharSequence 로 반환합니다.
+     * 반환값은 같은 스레드에서 다음 호출 전까지만 유효합니다.
+     *
+     * @param file 읽을 파일 경로
+     * @return 파일 내용 (복사하지 않은 뷰)
+     * @throws IOException 파일 읽기 중 문제가 발생한 경우
+     */
+    public CharSequence read(Path file) throws IOException {
+        return read(file, null);
+    }
+
+    /**
+     * read 와 같지만 디코딩 전에 파일 바이트 전체(BOM 포함)를 digest 에 넣습니다.
+     * 매핑/재사용 버퍼를 그대로 해시하므로 해시를 위해 파일을 다시 읽거나 힙에 복사하지 않습니다.
+     *
+     * @param file 읽을 파일 경로
+     * @param digest 파일 바이트를 넣을 다이제스트 (null 이면 해시 생략)
+     * @return 파일 내용 (복사하지 않은 뷰)
+     * @throws IOException 파일 읽기 중 문제가 발생한 경우
+     */
+    public CharSequence read(Path file, MessageDigest digest) throws IOException {
+        DecodeState state = states.get();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("파일이 너무 큽니다 (2GB 초과): " + file);
+            }
+            ByteBuffer bytes = size >= mapThreshold
+                    ? channel.map(FileChannel.MapMode.READ_ONLY, 0, size)
+                    : state.readFully(channel, (int) size);
+            if (digest != null) {
+                digest.update(bytes.duplicate());
+            }
+            if (!detect) {
+                return state.decode(bytes, charset);
+            }
+            CharsetDetector.Detection detection = CharsetDetector.detect(file, bytes);
+            bytes.position(bytes.position() + Math.min(detection.bomLength(), bytes.remaining()));
+            return state.decode(bytes, detection.charset(charset));
+        }
+    }
+
+    /**
+     * 파일 전체를 읽어 String 으로 반환합니다 (결과를 보관해야 할 때 사용).
+     */
+    public String readString(Path file) throws IOException {
+        return read(file).toString();
+    }
+
+    /**
+     * 이미 읽어 둔 바이트를 디코딩합니다. 반환값은 같은 스레드에서 다음 호출 전까지만 유효합니다.
+     */
+    public CharSequence decode(byte[] bytes) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        if (!detect) {
+            return states.get().decode(buf, charset);
+        }
+        CharsetDetector.Detection detection = CharsetDetector.detect(buf);
+        buf.position(Math.min(detection.bomLength(), bytes.length));
+        return states.get().decode(buf, detection.charset(charset));
+    }
+
+    /**
+     * 스레드별 디코딩 상태 (문자셋별 디코더와 버퍼 재사용)
+     */
+    private static final class DecodeState {
+        private final Map<Charset, CharsetDecoder> decoders = new HashMap<>(4);
+        private CharBuffer chars = CharBuffer.allocate(0);
+        private ByteBuffer bytes = ByteBuffer.allocate(0);
+
+        private CharsetDecoder decoder(Charset charset) {
+            return decoders.computeIfAbsent(charset, cs -> cs.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE));
+        }
+
+        ByteBuffer readFully(FileChannel channel, int size) throws IOException {
+            ByteBuffer buf = bytes.capacity() >= size ? bytes : ByteBuffer.allocate(size);
+            if (size <= RETAIN_LIMIT_BYTES) {
+                bytes = buf;
+            }
+            buf.clear().limit(size);
+            while (buf.hasRemaining()) {
+                if (channel.read(buf) < 0) {
+                    break;
+                }
+            }
+            buf.flip();
+            return buf;
+        }
+
+        CharSequence decode(ByteBuffer in, Charset charset) throws CharacterCodingException {
+            // CharsetDecoder.decode(ByteBuffer) 와 같은 절차를 재사용 버퍼로 수행
+            CharsetDecoder decoder = decoder(charset);
+            int estimate = (int) Math.min(Integer.MAX_VALUE, (long) (in.remaining() * (double) decoder.averageCharsPerByte()) + 16);
+            CharBuffer out = buffer(estimate, false);
+            if (!in.hasRemaining()) {
+                out.flip();
+                return out.asReadOnlyBuffer();
+            }
+            decoder.reset();
+            while (true) {
+                CoderResult cr = in.hasRemaining() ? decoder.decode(in, out, true) : CoderResult.UNDERFLOW;
+                if (cr.isUnderflow()) {
+                    cr = decoder.flush(out);
+                }
+                if (cr.isUnderflow()) {
+                    break;
+                }
+                if (cr.isOverflow()) {
+                    int needed = (int) Math.min(Integer.MAX_VALUE,
+                            out.position() + (long) (in.remaining() * (double) decoder.maxCharsPerByte()) + 16);
+                    out = grow(out, needed);
+                    continue;
+                }
+                cr.throwException();
+            }
+            out.flip();
+            return out.asReadOnlyBuffer();
+        }
+
+        private CharBuffer grow(CharBuffer out, int needed) {
+            CharBuffer bigger = buffer(Math.max(needed, out.capacity() * 2), true);
+            out.flip();
+            bigger.put(out);
+            return bigger;
+        }
+
+        private CharBuffer buffer(int capacity, boolean fresh) {
+            if (!fresh && chars.capacity() >= capacity) {
+                chars.clear();
+                return chars;
+            }
+            CharBuffer buf = CharBuffer.allocate(capacity);
+            if (capacity <= RETAIN_LIMIT_CHARS) {
+                chars = buf;
+            }
+            return buf;
+        }
+    }
+}
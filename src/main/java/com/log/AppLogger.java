@@ -1,44 +1,57 @@
 package com.log;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.*;
+import java.nio.file.Paths;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 /**
  * 순수 Java 로그 유틸리티 (외부 라이브러리 불필요)
  * 콘솔과 파일에 동시 출력
+ *
+ * 파일 출력은 AsyncFileAppender 가 백그라운드 스레드에서 묶어서 기록합니다 (JVM 종료 시 남은 로그 기록).
+ * 시스템 프로퍼티로 설정:
+ *   -Dlog.dir=...            로그 디렉토리
+ *   -Dlog.queueSize=8192     파일 기록 대기 큐 크기
+ *   -Dlog.overflow=BLOCK     큐가 가득 찼을 때 BLOCK(대기) / DROP(버림, ERROR 는 대기)
  */
 public class AppLogger {
 
     private final String className;
     private static final DateTimeFormatter TIME_FORMATTER =
         DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
-    private static final DateTimeFormatter DATE_FORMATTER =
-        DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     // 로그 설정
-    private static final String LOG_DIR = "D:/11. Project/11. DB_OUT3/logs";
+    private static final String LOG_DIR = System.getProperty("log.dir", "D:/11. Project/11. DB_OUT3/logs");
     private static final boolean ENABLE_FILE_LOG = true;
     private static final boolean ENABLE_CONSOLE_LOG = true;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
 
     // 로그 레벨
     public enum Level {
         DEBUG, INFO, WARN, ERROR
     }
 
-    private static Level currentLevel = Level.INFO;
-    private static final Lock lock = new ReentrantLock();
+    private static volatile Level currentLevel = Level.INFO;
+    private static volatile CachedTimestamp lastTimestamp = new CachedTimestamp(Long.MIN_VALUE, "");
+
+    // %-5s 로 맞춘 레벨 문자열, 구분선 (호출마다 만들지 않도록 미리 생성)
+    private static final String[] LEVEL_LABELS = {"DEBUG", "INFO ", "WARN ", "ERROR"};
+    private static final String DOUBLE_LINE = "=".repeat(80);
+    private static final String SINGLE_LINE = "-".repeat(80);
+    private static final AsyncFileAppender FILE_APPENDER = ENABLE_FILE_LOG ?
+        new AsyncFileAppender(Paths.get(LOG_DIR),
+            Integer.getInteger("log.queueSize", 8192),
+            AsyncFileAppender.Overflow.parse(System.getProperty("log.overflow")))
+            .closeOnShutdown() : null;
 
     /**
      * Private 생성자
      */
     private AppLogger(Class<?> clazz) {
         this.className = clazz.getSimpleName();
-        initLogDirectory();
     }
 
     /**
@@ -56,42 +69,120 @@ public class AppLogger {
     }
 
     /**
-     * 로그 디렉토리 초기화
+     * 파일 기록 대기 중인 로그를 모두 파일에 쓸 때까지 대기
      */
-    private void initLogDirectory() {
-        if (ENABLE_FILE_LOG) {
-            try {
-                Files.createDirectories(Paths.get(LOG_DIR));
-            } catch (IOException e) {
-                System.err.println("로그 디렉토리 생성 실패: " + e.getMessage());
-            }
+    public static void flush() {
+        if (FILE_APPENDER != null) {
+            FILE_APPENDER.flush();
         }
     }
 
+    /**
+     * 큐가 가득 차서 버려진 파일 로그 수 (log.overflow=DROP 일 때)
+     */
+    public static long getDroppedCount() {
+        return FILE_APPENDER == null ? 0 : FILE_APPENDER.getDropped();
+    }
+
     // ========== 기본 로그 메소드 ==========
+    // format 인자를 받는 메소드는 레벨이 꺼져 있으면 String.format 을 호출하지 않습니다.
+    // 인자 1~2개는 고정 인자 메소드를 사용해 비활성 레벨에서 varargs 배열도 만들지 않습니다.
+    // 메시지 생성 자체가 비싼 경우 Supplier 메소드를 사용합니다.
+
+    public boolean isEnabled(Level level) {
+        return level.ordinal() >= currentLevel.ordinal();
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    public boolean isInfoEnabled() {
+        return isEnabled(Level.INFO);
+    }
 
     public void debug(String message) {
         log(Level.DEBUG, message, null);
     }
 
+    public void debug(String format, Object arg) {
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, String.format(format, arg), null);
+        }
+    }
+
+    public void debug(String format, Object arg1, Object arg2) {
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, String.format(format, arg1, arg2), null);
+        }
+    }
+
     public void debug(String format, Object... args) {
-        log(Level.DEBUG, String.format(format, args), null);
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, String.format(format, args), null);
+        }
+    }
+
+    public void debug(Supplier<String> message) {
+        if (isEnabled(Level.DEBUG)) {
+            log(Level.DEBUG, message.get(), null);
+        }
     }
 
     public void info(String message) {
         log(Level.INFO, message, null);
     }
 
+    public void info(String format, Object arg) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, String.format(format, arg), null);
+        }
+    }
+
+    public void info(String format, Object arg1, Object arg2) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, String.format(format, arg1, arg2), null);
+        }
+    }
+
     public void info(String format, Object... args) {
-        log(Level.INFO, String.format(format, args), null);
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, String.format(format, args), null);
+        }
+    }
+
+    public void info(Supplier<String> message) {
+        if (isEnabled(Level.INFO)) {
+            log(Level.INFO, message.get(), null);
+        }
     }
 
     public void warn(String message) {
         log(Level.WARN, message, null);
     }
 
+    public void warn(String format, Object arg) {
+        if (isEnabled(Level.WARN)) {
+            log(Level.WARN, String.format(format, arg), null);
+        }
+    }
+
+    public void warn(String format, Object arg1, Object arg2) {
+        if (isEnabled(Level.WARN)) {
+            log(Level.WARN, String.format(format, arg1, arg2), null);
+        }
+    }
+
     public void warn(String format, Object... args) {
-        log(Level.WARN, String.format(format, args), null);
+        if (isEnabled(Level.WARN)) {
+            log(Level.WARN, String.format(format, args), null);
+        }
+    }
+
+    public void warn(Supplier<String> message) {
+        if (isEnabled(Level.WARN)) {
+            log(Level.WARN, message.get(), null);
+        }
     }
 
     public void warn(String message, Throwable t) {
@@ -102,8 +193,28 @@ public class AppLogger {
         log(Level.ERROR, message, null);
     }
 
+    public void error(String format, Object arg) {
+        if (isEnabled(Level.ERROR)) {
+            log(Level.ERROR, String.format(format, arg), null);
+        }
+    }
+
+    public void error(String format, Object arg1, Object arg2) {
+        if (isEnabled(Level.ERROR)) {
+            log(Level.ERROR, String.format(format, arg1, arg2), null);
+        }
+    }
+
     public void error(String format, Object... args) {
-        log(Level.ERROR, String.format(format, args), null);
+        if (isEnabled(Level.ERROR)) {
+            log(Level.ERROR, String.format(format, args), null);
+        }
+    }
+
+    public void error(Supplier<String> message) {
+        if (isEnabled(Level.ERROR)) {
+            log(Level.ERROR, message.get(), null);
+        }
     }
 
     public void error(String message, Throwable t) {
@@ -118,91 +229,78 @@ public class AppLogger {
             return;
         }
 
-        String timestamp = LocalDateTime.now().format(TIME_FORMATTER);
+        long now = System.currentTimeMillis();
         String threadName = Thread.currentThread().getName();
-        String logMessage = String.format("%s [%s] %-5s %s - %s",
-            timestamp, threadName, level, className, message);
-
-        lock.lock();
-        try {
-            // 콘솔 출력
-            if (ENABLE_CONSOLE_LOG) {
-                if (level == Level.ERROR) {
-                    System.err.println(logMessage);
-                    if (t != null) {
-                        t.printStackTrace(System.err);
-                    }
-                } else {
-                    System.out.println(logMessage);
+        // "%s [%s] %-5s %s - %s" 형식
+        String logMessage = new StringBuilder(64 + className.length() + (message == null ? 4 : message.length()))
+            .append(timestamp(now)).append(" [").append(threadName).append("] ")
+            .append(LEVEL_LABELS[level.ordinal()]).append(' ')
+            .append(className).append(" - ").append(message)
+            .toString();
+
+        // 콘솔 출력
+        if (ENABLE_CONSOLE_LOG) {
+            if (level == Level.ERROR) {
+                System.err.println(logMessage);
+                if (t != null) {
+                    t.printStackTrace(System.err);
                 }
+            } else {
+                System.out.println(logMessage);
             }
+        }
 
-            // 파일 출력
-            if (ENABLE_FILE_LOG) {
-                writeToFile(logMessage, t, level == Level.ERROR);
-            }
-        } finally {
-            lock.unlock();
+        // 파일 출력 (비동기)
+        if (FILE_APPENDER != null) {
+            FILE_APPENDER.append(now, logMessage, t, level == Level.ERROR);
         }
     }
 
     /**
-     * 로그 파일에 기록
+     * 밀리초 단위 타임스탬프 문자열 (같은 밀리초 안의 로그는 포맷 결과를 재사용)
      */
-    private void writeToFile(String logMessage, Throwable t, boolean isError) {
-        String date = LocalDateTime.now().format(DATE_FORMATTER);
-        String fileName = isError ?
-            String.format("application-error-%s.log", date) :
-            String.format("application-%s.log", date);
-
-        Path logFile = Paths.get(LOG_DIR, fileName);
-
-        try (BufferedWriter writer = Files.newBufferedWriter(logFile,
-                StandardCharsets.UTF_8,
-                StandardOpenOption.CREATE,
-                StandardOpenOption.APPEND)) {
-
-            writer.write(logMessage);
-            writer.newLine();
-
-            // 예외 스택 트레이스 출력
-            if (t != null) {
-                StringWriter sw = new StringWriter();
-                PrintWriter pw = new PrintWriter(sw);
-                t.printStackTrace(pw);
-                writer.write(sw.toString());
-            }
+    private static String timestamp(long millis) {
+        CachedTimestamp cached = lastTimestamp;
+        if (cached.millis != millis) {
+            cached = new CachedTimestamp(millis,
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE).format(TIME_FORMATTER));
+            lastTimestamp = cached;
+        }
+        return cached.text;
+    }
+
+    private static final class CachedTimestamp {
+        final long millis;
+        final String text;
 
-        } catch (IOException e) {
-            System.err.println("로그 파일 쓰기 실패: " + e.getMessage());
+        CachedTimestamp(long millis, String text) {
+            this.millis = millis;
+            this.text = text;
         }
     }
 
     // ========== 프로그램 실행 관련 ==========
 
     public void start(String programName) {
-        String sep = "=".repeat(80);
-        info(sep);
+        info(DOUBLE_LINE);
         info("프로그램 시작: %s", programName);
-        info("시작 시간: %s", LocalDateTime.now().format(TIME_FORMATTER));
-        info(sep);
+        info("시작 시간: %s", timestamp(System.currentTimeMillis()));
+        info(DOUBLE_LINE);
     }
 
     public void end(String programName) {
-        String sep = "=".repeat(80);
-        info(sep);
+        info(DOUBLE_LINE);
         info("프로그램 종료: %s", programName);
-        info("종료 시간: %s", LocalDateTime.now().format(TIME_FORMATTER));
-        info(sep);
+        info("종료 시간: %s", timestamp(System.currentTimeMillis()));
+        info(DOUBLE_LINE);
     }
 
     public void end(String programName, int processedCount) {
-        String sep = "=".repeat(80);
-        info(sep);
+        info(DOUBLE_LINE);
         info("프로그램 종료: %s", programName);
         info("처리 건수: %d", processedCount);
-        info("종료 시간: %s", LocalDateTime.now().format(TIME_FORMATTER));
-        info(sep);
+        info("종료 시간: %s", timestamp(System.currentTimeMillis()));
+        info(DOUBLE_LINE);
     }
 
     // ========== 파일 처리 관련 ==========
@@ -253,14 +351,13 @@ public class AppLogger {
     // ========== 유틸리티 ==========
 
     public void separator() {
-        info("-".repeat(80));
+        info(SINGLE_LINE);
     }
 
     public void separator(String title) {
-        String line = "-".repeat(80);
-        info(line);
+        info(SINGLE_LINE);
         info(title);
-        info(line);
+        info(SINGLE_LINE);
     }
 }
 
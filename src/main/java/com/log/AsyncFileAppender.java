@@ -0,0 +1,318 @@
+package com.log;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비동기 일자별 로그 파일 기록기
+ *
+ * 호출 스레드는 크기 제한 큐에 로그 한 줄을 넣고 바로 돌아가며,
+ * 백그라운드 스레드(app-logger) 하나가 큐에 쌓인 로그를 묶어서(batch) 파일에 씁니다.
+ *
+ * - 일자별 파일(application-yyyy-MM-dd.log, application-error-yyyy-MM-dd.log)을 열어 둔 채로 유지하고,
+ *   로그 시각이 자정을 넘으면 새 날짜 파일로 바꿉니다 (rollover).
+ * - 큐가 비면 flush 하므로 한가할 때는 바로 파일에 반영되고, 바쁠 때는 묶어서 씁니다.
+ * - 큐가 가득 찼을 때: BLOCK 은 자리가 날 때까지 대기, DROP 은 버리고 건수만 셉니다 (ERROR 는 DROP 이어도 대기).
+ * - close() 는 큐에 남은 로그를 모두 쓰고 파일을 닫습니다. JVM 종료 시 shutdown hook 에서 호출됩니다.
+ */
+public final class AsyncFileAppender {
+
+    /** 큐가 가득 찼을 때 정책 */
+    public enum Overflow {
+        BLOCK, DROP;
+
+        /**
+         * 설정 값(대소문자 무관)을 정책으로 바꿉니다. 비어 있거나 알 수 없는 값이면 경고를 출력하고 BLOCK 을 사용합니다.
+         * (로거 초기화 중에 예외를 던지면 로그를 쓰는 모든 클래스가 초기화에 실패하므로 예외를 던지지 않음)
+         */
+        public static Overflow parse(String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return BLOCK;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                System.err.println("[AsyncFileAppender] 알 수 없는 log.overflow 값 '" + value + "', BLOCK 을 사용합니다 (BLOCK | DROP)");
+                return BLOCK;
+            }
+        }
+    }
+
+    private static final int BATCH_SIZE = 512;
+    private static final long CLOSE_TIMEOUT_MS = 5_000L;
+    private static final Event END = new Event(0L, null, null, false);
+
+    private final Path logDir;
+    private final Overflow overflow;
+    private final ZoneId zone;
+    private final BlockingQueue<Event> queue;
+    private final Thread worker;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private volatile boolean closed;
+
+    // 아래 필드는 app-logger 스레드에서만 사용
+    private final DailyFile infoFile;
+    private final DailyFile errorFile;
+
+    public AsyncFileAppender(Path logDir, int capacity, Overflow overflow) {
+        this(logDir, capacity, overflow, ZoneId.systemDefault());
+    }
+
+    /**
+     * @param logDir 로그 디렉토리 (없으면 생성)
+     * @param capacity 큐에 쌓아 둘 최대 로그 수
+     * @param overflow 큐가 가득 찼을 때 정책
+     * @param zone 일자(파일명) 계산 기준 시간대
+     */
+    public AsyncFileAppender(Path logDir, int capacity, Overflow overflow, ZoneId zone) {
+        this.logDir = logDir;
+        this.overflow = overflow;
+        this.zone = zone;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.infoFile = new DailyFile("application-");
+        this.errorFile = new DailyFile("application-error-");
+        try {
+            Files.createDirectories(logDir);
+        } catch (IOException e) {
+            System.err.println("로그 디렉토리 생성 실패: " + e.getMessage());
+        }
+        this.worker = new Thread(this::run, "app-logger");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * JVM 종료 시 close() 를 호출하도록 등록합니다.
+     */
+    public AsyncFileAppender closeOnShutdown() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "app-logger-shutdown"));
+        return this;
+    }
+
+    /**
+     * 로그 한 줄을 큐에 넣습니다.
+     *
+     * @param timeMillis 로그 시각 (파일 일자 결정에 사용)
+     * @param line 포맷이 끝난 로그 한 줄 (줄바꿈 제외)
+     * @param t 스택 트레이스를 남길 예외 (없으면 null)
+     * @param error true 이면 에러 로그 파일에 기록
+     * @return 큐에 넣었으면 true, DROP 정책으로 버렸거나 이미 닫혔으면 false
+     */
+    public boolean append(long timeMillis, String line, Throwable t, boolean error) {
+        if (closed) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        Event event = new Event(timeMillis, line, t, error);
+        if (overflow == Overflow.BLOCK || error) {
+            try {
+                queue.put(event);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped.incrementAndGet();
+                return false;
+            }
+        }
+        if (queue.offer(event)) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * 지금까지 넣은 로그가 파일에 쓰이고 flush 될 때까지 기다립니다.
+     */
+    public void flush() {
+        if (closed || !worker.isAlive()) {
+            return;
+        }
+        Event marker = Event.flushMarker();
+        try {
+            if (queue.offer(marker, CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                marker.done.await(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 큐에 남은 로그를 모두 쓰고 파일을 닫습니다. 이후 append 는 버려집니다.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (queue.offer(END, CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                worker.join(CLOSE_TIMEOUT_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** 큐가 가득 차서(또는 닫힌 뒤) 버려진 로그 수 */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /** 파일에 쓴 로그 수 */
+    public long getWritten() {
+        return written.get();
+    }
+
+    public Path getLogDir() {
+        return logDir;
+    }
+
+    private void run() {
+        List<Event> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for (Event event : batch) {
+                    if (event == END) {
+                        flushFiles();
+                        return;
+                    }
+                    if (event.done != null) {
+                        flushFiles();
+                        event.done.countDown();
+                    } else {
+                        write(event);
+                    }
+                }
+                batch.clear();
+                if (queue.isEmpty()) {
+                    flushFiles();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            infoFile.close();
+            errorFile.close();
+        }
+    }
+
+    private void write(Event event) {
+        DailyFile file = event.error ? errorFile : infoFile;
+        try {
+            Writer out = file.writerFor(event.timeMillis);
+            out.write(event.line);
+            out.write(System.lineSeparator());
+            if (event.throwable != null) {
+                StringWriter sw = new StringWriter();
+                event.throwable.printStackTrace(new PrintWriter(sw));
+                out.write(sw.toString());
+            }
+            written.incrementAndGet();
+        } catch (IOException e) {
+            System.err.println("로그 파일 쓰기 실패: " + e.getMessage());
+            file.close();
+        }
+    }
+
+    private void flushFiles() {
+        infoFile.flush();
+        errorFile.flush();
+    }
+
+    /**
+     * 현재 일자의 로그 파일 (열어 둔 채로 유지, 자정이 지나면 교체)
+     */
+    private final class DailyFile {
+        private final String prefix;
+        private BufferedWriter writer;
+        private long dayStart;
+        private long dayEnd;
+
+        DailyFile(String prefix) {
+            this.prefix = prefix;
+        }
+
+        Writer writerFor(long timeMillis) throws IOException {
+            if (writer != null && timeMillis >= dayStart && timeMillis < dayEnd) {
+                return writer;
+            }
+            close();
+            LocalDate date = Instant.ofEpochMilli(timeMillis).atZone(zone).toLocalDate();
+            dayStart = date.atStartOfDay(zone).toInstant().toEpochMilli();
+            dayEnd = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            writer = Files.newBufferedWriter(logDir.resolve(prefix + date + ".log"),
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            return writer;
+        }
+
+        void flush() {
+            if (writer != null) {
+                try {
+                    writer.flush();
+                } catch (IOException e) {
+                    System.err.println("로그 파일 쓰기 실패: " + e.getMessage());
+                }
+            }
+        }
+
+        void close() {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    System.err.println("로그 파일 닫기 실패: " + e.getMessage());
+                }
+                writer = null;
+            }
+        }
+    }
+
+    private static final class Event {
+        final long timeMillis;
+        final String line;
+        final Throwable throwable;
+        final boolean error;
+        final CountDownLatch done;
+
+        Event(long timeMillis, String line, Throwable throwable, boolean error) {
+            this(timeMillis, line, throwable, error, null);
+        }
+
+        private Event(long timeMillis, String line, Throwable throwable, boolean error, CountDownLatch done) {
+            this.timeMillis = timeMillis;
+            this.line = line;
+            this.throwable = throwable;
+            this.error = error;
+            this.done = done;
+        }
+
+        static Event flushMarker() {
+            return new Event(0L, null, null, false, new CountDownLatch(1));
+        }
+    }
+}
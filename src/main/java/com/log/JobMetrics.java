@@ -0,0 +1,481 @@
+package com.log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 작업(Job) 단계별 처리 시간 / 건수 측정 유틸리티 (외부 라이브러리 불필요)
+ *
+ * - 단계(stage): 디렉터리 순회(walk), 파일 읽기(read), 디코딩(decode), 파싱(parse), 쓰기(write.*) 등
+ *   호출마다 소요 시간을 기록해 건수 / 합계 / p50·p95·p99·최대 / 초당 바이트를 계산합니다.
+ * - 파일(file): 파일 하나를 처리한 전체 시간이며, 가장 오래 걸린 파일 N개를 따로 보관합니다.
+ * - 카운터: 캐시 적중, 실패 건수 등 단순 누적 값
+ *
+ * 여러 워커 스레드에서 동시에 기록해도 안전합니다.
+ * 작업 종료 시 print() 로 콘솔 요약을, writeReports() 로 JSON / CSV 보고서를 남깁니다.
+ * disabled() 인스턴스는 아무것도 기록하지 않으므로 측정이 필요 없는 곳의 기본값으로 사용합니다.
+ */
+public final class JobMetrics {
+
+    /** 파일 하나의 전체 처리 시간 단계 이름 */
+    public static final String FILE = "file";
+    public static final int DEFAULT_SLOWEST_FILES = 10;
+
+    private static final JobMetrics DISABLED = new JobMetrics("disabled", 0, false);
+    private static final double MS = 1_000_000.0;
+
+    private final String jobName;
+    private final int slowestLimit;
+    private final boolean enabled;
+    private final long startNanos = System.nanoTime();
+    private volatile long elapsedNanos = -1;
+
+    private final Map<String, Stage> stages = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final AtomicInteger stageSeq = new AtomicInteger();
+    // 처리 시간이 짧은 파일이 먼저 나오는 힙 (크기 slowestLimit 유지)
+    private final PriorityQueue<FileSample> slowest = new PriorityQueue<>(Comparator.comparingLong(s -> s.nanos));
+
+    private JobMetrics(String jobName, int slowestLimit, boolean enabled) {
+        this.jobName = jobName;
+        this.slowestLimit = slowestLimit;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 측정 시작
+     *
+     * @param jobName 보고서에 표시할 작업 이름 (보고서 파일명에도 사용)
+     */
+    public static JobMetrics start(String jobName) {
+        return start(jobName, DEFAULT_SLOWEST_FILES);
+    }
+
+    /**
+     * @param slowestFiles 보관할 가장 느린 파일 수
+     */
+    public static JobMetrics start(String jobName, int slowestFiles) {
+        return new JobMetrics(jobName, Math.max(0, slowestFiles), true);
+    }
+
+    /**
+     * 아무것도 기록하지 않는 인스턴스
+     */
+    public static JobMetrics disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    // ========== 기록 ==========
+
+    /**
+     * 구간 측정 시작 시각 (end 에 그대로 전달)
+     */
+    public long begin() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void end(String stage, long begin) {
+        end(stage, begin, 0L);
+    }
+
+    /**
+     * begin() 이후 경과 시간을 단계에 기록합니다.
+     *
+     * @param bytes 처리한 바이트 수 (초당 처리량 계산용, 모르면 0)
+     */
+    public void end(String stage, long begin, long bytes) {
+        if (enabled) {
+            record(stage, System.nanoTime() - begin, bytes);
+        }
+    }
+
+    public void record(String stage, long nanos, long bytes) {
+        if (enabled) {
+            stages.computeIfAbsent(stage, name -> new Stage(name, stageSeq.getAndIncrement())).add(nanos, bytes);
+        }
+    }
+
+    /**
+     * 파일 하나의 전체 처리 시간을 기록합니다 (file 단계 + 가장 느린 파일 목록).
+     */
+    public void fileDone(String file, long begin, long bytes) {
+        if (!enabled) {
+            return;
+        }
+        long nanos = System.nanoTime() - begin;
+        record(FILE, nanos, bytes);
+        if (slowestLimit == 0) {
+            return;
+        }
+        synchronized (slowest) {
+            if (slowest.size() < slowestLimit) {
+                slowest.add(new FileSample(file, nanos, bytes));
+            } else if (slowest.peek().nanos < nanos) {
+                slowest.poll();
+                slowest.add(new FileSample(file, nanos, bytes));
+            }
+        }
+    }
+
+    public void increment(String counter) {
+        add(counter, 1L);
+    }
+
+    public void add(String counter, long delta) {
+        if (enabled) {
+            counters.computeIfAbsent(counter, k -> new LongAdder()).add(delta);
+        }
+    }
+
+    /**
+     * 측정 종료 (전체 경과 시간 확정). 호출하지 않으면 보고 시점까지의 시간을 사용합니다.
+     */
+    public JobMetrics finish() {
+        elapsedNanos = System.nanoTime() - startNanos;
+        return this;
+    }
+
+    // ========== 조회 ==========
+
+    public long getElapsedMs() {
+        return (long) (elapsedNanos() / MS);
+    }
+
+    public long getCounter(String counter) {
+        LongAdder adder = counters.get(counter);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /**
+     * 단계 통계 (기록이 없으면 null)
+     */
+    public Stage getStage(String stage) {
+        return stages.get(stage);
+    }
+
+    /**
+     * 기록된 단계 목록 (처음 기록된 순서)
+     */
+    public List<Stage> getStages() {
+        List<Stage> list = new ArrayList<>(stages.values());
+        list.sort(Comparator.comparingInt(s -> s.seq));
+        return list;
+    }
+
+    /**
+     * 가장 오래 걸린 파일 목록 (느린 순)
+     */
+    public List<FileSample> getSlowestFiles() {
+        List<FileSample> list;
+        synchronized (slowest) {
+            list = new ArrayList<>(slowest);
+        }
+        list.sort(Comparator.comparingLong((FileSample s) -> s.nanos).reversed());
+        return list;
+    }
+
+    private long elapsedNanos() {
+        long elapsed = elapsedNanos;
+        return elapsed >= 0 ? elapsed : System.nanoTime() - startNanos;
+    }
+
+    // ========== 보고서 ==========
+
+    /**
+     * 콘솔 요약 출력
+     */
+    public void print() {
+        if (!enabled) {
+            return;
+        }
+        System.out.println("========================================");
+        System.out.printf("[Metrics] %s - Elapsed: %,d ms%n", jobName, getElapsedMs());
+        System.out.printf(Locale.ROOT, "  %-16s %8s %10s %9s %9s %9s %9s %9s%n",
+                "stage", "count", "total ms", "p50 ms", "p95 ms", "p99 ms", "max ms", "MB/s");
+        for (Stage s : getStages()) {
+            System.out.printf(Locale.ROOT, "  %-16s %,8d %,10.1f %9.3f %9.3f %9.3f %9.3f %9.2f%n",
+                    s.name, s.getCount(), s.getTotalMs(), s.percentileMs(50), s.percentileMs(95),
+                    s.percentileMs(99), s.getMaxMs(), s.getMBPerSecond());
+        }
+        for (Map.Entry<String, Long> e : sortedCounters()) {
+            System.out.printf("  %s: %,d%n", e.getKey(), e.getValue());
+        }
+        List<FileSample> files = getSlowestFiles();
+        if (!files.isEmpty()) {
+            System.out.println("  Slowest files:");
+            for (FileSample f : files) {
+                System.out.printf(Locale.ROOT, "    %,10.1f ms  %,12d bytes  %s%n", f.getMs(), f.bytes, f.file);
+            }
+        }
+        System.out.println("========================================");
+    }
+
+    /**
+     * JSON 보고서 문자열
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("{\n");
+        sb.append("  \"job\": ").append(quote(jobName)).append(",\n");
+        sb.append("  \"elapsedMs\": ").append(getElapsedMs()).append(",\n");
+        sb.append("  \"counters\": {");
+        List<Map.Entry<String, Long>> counterList = sortedCounters();
+        for (int i = 0; i < counterList.size(); i++) {
+            Map.Entry<String, Long> e = counterList.get(i);
+            sb.append(i == 0 ? "\n" : ",\n").append("    ").append(quote(e.getKey())).append(": ").append(e.getValue());
+        }
+        sb.append(counterList.isEmpty() ? "},\n" : "\n  },\n");
+        sb.append("  \"stages\": [");
+        List<Stage> stageList = getStages();
+        for (int i = 0; i < stageList.size(); i++) {
+            Stage s = stageList.get(i);
+            sb.append(i == 0 ? "\n" : ",\n").append("    {")
+                    .append("\"stage\": ").append(quote(s.name))
+                    .append(", \"count\": ").append(s.getCount())
+                    .append(", \"totalMs\": ").append(number(s.getTotalMs()))
+                    .append(", \"p50Ms\": ").append(number(s.percentileMs(50)))
+                    .append(", \"p95Ms\": ").append(number(s.percentileMs(95)))
+                    .append(", \"p99Ms\": ").append(number(s.percentileMs(99)))
+                    .append(", \"maxMs\": ").append(number(s.getMaxMs()))
+                    .append(", \"bytes\": ").append(s.getBytes())
+                    .append(", \"bytesPerSec\": ").append(number(s.getBytesPerSecond()))
+                    .append('}');
+        }
+        sb.append(stageList.isEmpty() ? "],\n" : "\n  ],\n");
+        sb.append("  \"slowestFiles\": [");
+        List<FileSample> files = getSlowestFiles();
+        for (int i = 0; i < files.size(); i++) {
+            FileSample f = files.get(i);
+            sb.append(i == 0 ? "\n" : ",\n").append("    {")
+                    .append("\"file\": ").append(quote(f.file))
+                    .append(", \"ms\": ").append(number(f.getMs()))
+                    .append(", \"bytes\": ").append(f.bytes)
+                    .append('}');
+        }
+        sb.append(files.isEmpty() ? "]\n" : "\n  ]\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * CSV 보고서 문자열 (TYPE 컬럼: STAGE / COUNTER / SLOW_FILE)
+     */
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("TYPE,NAME,COUNT,TOTAL_MS,P50_MS,P95_MS,P99_MS,MAX_MS,BYTES,BYTES_PER_SEC\n");
+        sb.append("JOB,").append(csv(jobName)).append(",,").append(getElapsedMs()).append(",,,,,,\n");
+        for (Stage s : getStages()) {
+            sb.append("STAGE,").append(csv(s.name)).append(',')
+                    .append(s.getCount()).append(',')
+                    .append(number(s.getTotalMs())).append(',')
+                    .append(number(s.percentileMs(50))).append(',')
+                    .append(number(s.percentileMs(95))).append(',')
+                    .append(number(s.percentileMs(99))).append(',')
+                    .append(number(s.getMaxMs())).append(',')
+                    .append(s.getBytes()).append(',')
+                    .append(number(s.getBytesPerSecond())).append('\n');
+        }
+        for (Map.Entry<String, Long> e : sortedCounters()) {
+            sb.append("COUNTER,").append(csv(e.getKey())).append(',').append(e.getValue()).append(",,,,,,,\n");
+        }
+        for (FileSample f : getSlowestFiles()) {
+            sb.append("SLOW_FILE,").append(csv(f.file)).append(",1,").append(number(f.getMs()))
+                    .append(",,,,,").append(f.bytes).append(",\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * dir 에 "<작업 이름>-metrics.json", "<작업 이름>-metrics.csv" 보고서를 저장합니다.
+     *
+     * @return 저장한 JSON, CSV 파일 경로
+     */
+    public List<Path> writeReports(Path dir) throws IOException {
+        if (!enabled) {
+            return List.of();
+        }
+        Files.createDirectories(dir);
+        Path json = Files.write(dir.resolve(jobName + "-metrics.json"), toJson().getBytes(StandardCharsets.UTF_8));
+        Path csv = Files.write(dir.resolve(jobName + "-metrics.csv"), toCsv().getBytes(StandardCharsets.UTF_8));
+        return List.of(json, csv);
+    }
+
+    /**
+     * print() 후 보고서를 저장하고 저장 위치를 출력합니다 (저장 실패는 로그만 남김).
+     */
+    public void report(Path dir) {
+        if (!enabled) {
+            return;
+        }
+        finish();
+        print();
+        try {
+            for (Path p : writeReports(dir)) {
+                System.out.println("[Metrics] Report saved: " + p);
+            }
+        } catch (IOException ex) {
+            System.err.println("[Metrics] Failed to save report: " + ex.getMessage());
+        }
+    }
+
+    private List<Map.Entry<String, Long>> sortedCounters() {
+        List<Map.Entry<String, Long>> list = new ArrayList<>();
+        counters.forEach((k, v) -> list.add(Map.entry(k, v.sum())));
+        list.sort(Map.Entry.comparingByKey());
+        return list;
+    }
+
+    private static String number(double v) {
+        return String.format(Locale.ROOT, "%.3f", v);
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static String csv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    /**
+     * 단계 하나의 측정값 (호출마다 소요 시간을 보관해 정확한 백분위를 계산)
+     */
+    public static final class Stage {
+        private final String name;
+        private final int seq;
+        private long[] samples = new long[64];
+        private int count;
+        private long totalNanos;
+        private long maxNanos;
+        private long bytes;
+
+        private Stage(String name, int seq) {
+            this.name = name;
+            this.seq = seq;
+        }
+
+        private synchronized void add(long nanos, long byteCount) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            bytes += byteCount;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public synchronized int getCount() {
+            return count;
+        }
+
+        public synchronized long getBytes() {
+            return bytes;
+        }
+
+        public synchronized double getTotalMs() {
+            return totalNanos / MS;
+        }
+
+        public synchronized double getMaxMs() {
+            return maxNanos / MS;
+        }
+
+        /**
+         * 백분위 (nearest-rank, 밀리초)
+         */
+        public double percentileMs(double percentile) {
+            long[] sorted;
+            synchronized (this) {
+                if (count == 0) {
+                    return 0;
+                }
+                sorted = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1] / MS;
+        }
+
+        /**
+         * 단계 합계 시간 기준 초당 바이트 (여러 스레드 합계이므로 워커당 처리량)
+         */
+        public synchronized double getBytesPerSecond() {
+            return totalNanos == 0 ? 0 : bytes * 1e9 / totalNanos;
+        }
+
+        public double getMBPerSecond() {
+            return getBytesPerSecond() / (1024.0 * 1024.0);
+        }
+    }
+
+    /**
+     * 처리 시간이 긴 파일 기록
+     */
+    public static final class FileSample {
+        private final String file;
+        private final long nanos;
+        private final long bytes;
+
+        private FileSample(String file, long nanos, long bytes) {
+            this.file = file;
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public double getMs() {
+            return nanos / MS;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+    }
+}
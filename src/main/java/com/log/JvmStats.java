@@ -0,0 +1,88 @@
+package com.log;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * 디렉터리 단위 실행의 최대 힙 사용량 / GC 횟수·시간 측정 유틸리티
+ *
+ * start() 시점에 힙 메모리 풀의 최대 사용량을 초기화하고 GC 누적값을 기록해 두었다가
+ * summary() 에서 그 이후 구간의 값을 한 줄로 돌려줍니다.
+ * 최대 힙은 풀(Eden/Survivor/Old)별 최대치의 합이므로 실제 동시 최대치보다 조금 클 수 있습니다(상한값).
+ */
+public final class JvmStats {
+    private static final long MB = 1024L * 1024L;
+
+    private final long startNanos;
+    private final long startGcCount;
+    private final long startGcTimeMs;
+
+    private JvmStats() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+            }
+        }
+        this.startGcCount = totalGcCount();
+        this.startGcTimeMs = totalGcTimeMs();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * 측정 시작 (힙 최대 사용량 초기화)
+     */
+    public static JvmStats start() {
+        return new JvmStats();
+    }
+
+    /**
+     * 시작 이후 힙 메모리 풀별 최대 사용량의 합 (바이트)
+     */
+    public long getPeakHeapBytes() {
+        long sum = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                sum += pool.getPeakUsage().getUsed();
+            }
+        }
+        return sum;
+    }
+
+    public long getGcCount() {
+        return totalGcCount() - startGcCount;
+    }
+
+    public long getGcTimeMs() {
+        return totalGcTimeMs() - startGcTimeMs;
+    }
+
+    public long getElapsedMs() {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    /**
+     * 예: "Elapsed: 1,234 ms, Peak heap: 312 MB, GC: 14 times / 87 ms"
+     */
+    public String summary() {
+        return String.format("Elapsed: %,d ms, Peak heap: %,d MB, GC: %,d times / %,d ms",
+                getElapsedMs(), getPeakHeapBytes() / MB, getGcCount(), getGcTimeMs());
+    }
+
+    private static long totalGcCount() {
+        long sum = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sum += Math.max(0, gc.getCollectionCount());
+        }
+        return sum;
+    }
+
+    private static long totalGcTimeMs() {
+        long sum = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sum += Math.max(0, gc.getCollectionTime());
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,161 @@
+package com.regex;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 정규식 매칭 시간 / 단계 예산 (catastrophic backtracking 방지용)
+ *
+ * java.util.regex 는 매칭 도중 중단할 방법이 없으므로, 입력 CharSequence 를 감싸서
+ * 정규식 엔진이 charAt 을 호출할 때마다 단계 수를 세고 일정 간격으로 마감 시각을 확인합니다.
+ * 한도를 넘으면 MatchTimeoutException 을 던져 매칭을 끊습니다.
+ *
+ * 사용법
+ * <pre>
+ * MatchBudget budget = MatchBudget.of(30_000L, 0L);
+ * TablesInfo info = budget.call(() -> parser.extractTables(sql));
+ * </pre>
+ * call() 안에서 guardCurrent(input) 로 감싼 입력은 같은 예산을 공유합니다.
+ * 예산은 한 스레드(한 파일)에서만 사용하며, 스레드 간에 공유하지 않습니다.
+ * 한 파일을 여러 스레드로 나눠 처리할 때는 작업마다 fork() 로 만든 예산을 사용합니다.
+ */
+public final class MatchBudget {
+
+    /** 마감 시각 확인 간격 (charAt 호출 수, 2의 거듭제곱 - 1) */
+    private static final long CHECK_MASK = 1023L;
+
+    private static final ThreadLocal<MatchBudget> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private final long deadlineNanos;
+    private final long timeoutMillis;
+    private final long maxSteps;
+    private long steps;
+
+    private MatchBudget(long timeoutMillis, long maxSteps) {
+        this(System.nanoTime(), timeoutMillis, maxSteps);
+    }
+
+    private MatchBudget(long startNanos, long timeoutMillis, long maxSteps) {
+        this.startNanos = startNanos;
+        this.timeoutMillis = timeoutMillis;
+        this.deadlineNanos = startNanos + timeoutMillis * 1_000_000L;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * 지금부터 시작하는 예산을 생성합니다.
+     *
+     * @param timeoutMillis 최대 매칭 시간 (0 이하면 제한 없음)
+     * @param maxSteps 최대 charAt 호출 수 (0 이하면 제한 없음)
+     */
+    public static MatchBudget of(long timeoutMillis, long maxSteps) {
+        return new MatchBudget(timeoutMillis, maxSteps);
+    }
+
+    /**
+     * 현재 스레드에 적용 중인 예산 (없으면 null)
+     */
+    public static MatchBudget current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 현재 스레드에 예산이 적용 중이면 input 을 감싸서 반환하고, 아니면 input 을 그대로 반환합니다.
+     * 이미 감싼 입력은 다시 감싸지 않습니다.
+     */
+    public static CharSequence guardCurrent(CharSequence input) {
+        MatchBudget budget = CURRENT.get();
+        if (budget == null || input instanceof Guarded) {
+            return input;
+        }
+        return budget.guard(input);
+    }
+
+    /**
+     * 이 예산을 현재 스레드에 적용한 상태로 task 를 실행합니다 (중첩 호출 시 끝나면 이전 예산으로 복원).
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        MatchBudget previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 다른 스레드에서 사용할 예산을 만듭니다.
+     * 시작 시각과 마감 시각은 이 예산과 같고, 단계 한도는 지금까지 쓰고 남은 단계 수입니다 (작업마다 따로 셈).
+     */
+    public MatchBudget fork() {
+        long remaining = maxSteps > 0 ? Math.max(1L, maxSteps - steps) : 0L;
+        return new MatchBudget(startNanos, timeoutMillis, remaining);
+    }
+
+    /**
+     * input 을 이 예산으로 감싼 CharSequence 를 반환합니다.
+     */
+    public CharSequence guard(CharSequence input) {
+        return new Guarded(input, this);
+    }
+
+    /**
+     * 단계 하나를 소비하고 한도를 넘었으면 MatchTimeoutException 을 던집니다.
+     */
+    public void step() {
+        long n = ++steps;
+        if (maxSteps > 0 && n > maxSteps) {
+            throw new MatchTimeoutException("정규식 매칭 단계 한도 초과 (" + maxSteps + ")", getElapsedMillis(), n);
+        }
+        if (timeoutMillis > 0 && (n & CHECK_MASK) == 0 && System.nanoTime() - deadlineNanos > 0) {
+            throw new MatchTimeoutException("정규식 매칭 시간 초과 (" + timeoutMillis + " ms)", getElapsedMillis(), n);
+        }
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    public long getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    /**
+     * charAt 마다 예산을 소비하는 CharSequence 뷰
+     */
+    private static final class Guarded implements CharSequence {
+        private final CharSequence text;
+        private final MatchBudget budget;
+
+        Guarded(CharSequence text, MatchBudget budget) {
+            this.text = text;
+            this.budget = budget;
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            budget.step();
+            return text.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new Guarded(text.subSequence(start, end), budget);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
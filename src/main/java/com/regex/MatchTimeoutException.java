@@ -0,0 +1,31 @@
+package com.regex;
+
+/**
+ * 정규식 매칭이 MatchBudget 의 시간 / 단계 한도를 넘었을 때 발생하는 예외
+ *
+ * 매칭 도중(CharSequence.charAt 호출 시점)에 던져지므로 진행 중이던 파싱은 중단되고,
+ * 호출한 쪽(작업 러너)에서 해당 파일을 격리(quarantine)하고 다음 파일로 넘어가면 됩니다.
+ */
+public class MatchTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long elapsedMillis;
+    private final long steps;
+
+    public MatchTimeoutException(String message, long elapsedMillis, long steps) {
+        super(message);
+        this.elapsedMillis = elapsedMillis;
+        this.steps = steps;
+    }
+
+    /** 예산 시작부터 중단 시점까지 걸린 시간 (ms) */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /** 중단 시점까지 읽은 문자 수 (charAt 호출 수) */
+    public long getSteps() {
+        return steps;
+    }
+}
@@ -0,0 +1,471 @@
+package service.analyze.bigQuery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * BigQuery 절차형 스크립트의 BEGIN ... END 블록 중첩 구조 인덱스
+ *
+ * 스크립트를 한 번만 선형으로 훑으면서 주석(--, #, 블록 주석)과 문자열/백틱 식별자를 건너뛰고
+ * BEGIN / END 키워드로 블록 트리(시작/끝 위치, 부모/자식, STEP 라벨)를 만듭니다.
+ * 이전 구현처럼 END 를 만날 때마다 남은 스크립트를 substring 하고 정규식을 다시 컴파일하지 않으므로
+ * 수십 MB 스크립트도 입력 길이에 비례하는 시간에 처리합니다.
+ *
+ * 블록으로 보지 않는 END / BEGIN:
+ * - END IF / END LOOP / END WHILE / END REPEAT / END FOR (해당 제어문의 끝)
+ * - CASE ... END, CASE ... END CASE (CASE 식 / 문의 끝)
+ * - BEGIN TRANSACTION / BEGIN TRAN (트랜잭션 시작)
+ *
+ * STEP 라벨: BEGIN 바로 앞의 단어가 STEPnnn 으로 끝나거나, 바로 앞의 주석이 STEPnnn 으로 끝나면
+ * (예: "-- STEP001" 다음 줄의 BEGIN) 그 블록의 라벨입니다. 라벨과 BEGIN 사이에는 공백과 주석만 올 수 있습니다.
+ */
+public final class BeginEndIndex {
+
+    private final List<Block> roots;
+    private final List<Block> blocks;
+    private final int unmatchedEnds;
+
+    private BeginEndIndex(List<Block> roots, List<Block> blocks, int unmatchedEnds) {
+        this.roots = Collections.unmodifiableList(roots);
+        this.blocks = Collections.unmodifiableList(blocks);
+        this.unmatchedEnds = unmatchedEnds;
+    }
+
+    /**
+     * 스크립트 전체를 한 번 스캔하여 인덱스를 생성합니다.
+     *
+     * @param script BigQuery 스크립트
+     * @return BEGIN/END 블록 인덱스
+     */
+    public static BeginEndIndex build(CharSequence script) {
+        Scanner scanner = new Scanner(script);
+        List<Block> roots = new ArrayList<>();
+        List<Block> blocks = new ArrayList<>();
+        // 열린 BEGIN 블록, CASE 는 null 로 표시
+        List<Block> open = new ArrayList<>();
+        int unmatchedEnds = 0;
+
+        // STEP 라벨 후보: 직전 단어가 STEPnnn 으로 끝나는 경우의 위치
+        int labelStart = -1;
+        int labelEnd = -1;
+
+        while (scanner.nextWord()) {
+            int start = scanner.start;
+            int end = scanner.end;
+
+            if (scanner.is("BEGIN")) {
+                if (scanner.peekWord("TRANSACTION") || scanner.peekWord("TRAN")) {
+                    scanner.skipPeeked();
+                } else {
+                    String label = null;
+                    // 직전 단어보다 뒤에 있는 주석 라벨이 더 가까운 후보
+                    if (scanner.commentLabelEnd > labelEnd && scanner.onlyGapBetween(scanner.commentEnd, start)) {
+                        label = script.subSequence(scanner.commentLabelStart, scanner.commentLabelEnd).toString();
+                    } else if (labelEnd >= 0 && scanner.onlyGapBetween(labelEnd, start)) {
+                        label = script.subSequence(labelStart, labelEnd).toString();
+                    }
+                    Block parent = innermostBlock(open);
+                    Block block = new Block(label, start, end, parent);
+                    if (parent == null) {
+                        roots.add(block);
+                    } else {
+                        parent.children.add(block);
+                    }
+                    blocks.add(block);
+                    open.add(block);
+                }
+            } else if (scanner.is("CASE")) {
+                open.add(null);
+            } else if (scanner.is("END")) {
+                if (scanner.peekWord("IF") || scanner.peekWord("LOOP") || scanner.peekWord("WHILE")
+                        || scanner.peekWord("REPEAT") || scanner.peekWord("FOR")) {
+                    scanner.skipPeeked();
+                } else if (scanner.peekWord("CASE")) {
+                    scanner.skipPeeked();
+                    popCase(open);
+                } else if (!open.isEmpty() && open.get(open.size() - 1) == null) {
+                    open.remove(open.size() - 1);
+                } else if (!open.isEmpty()) {
+                    Block block = open.remove(open.size() - 1);
+                    block.endStart = start;
+                    block.endEnd = end;
+                } else {
+                    unmatchedEnds++;
+                }
+            }
+
+            labelStart = -1;
+            labelEnd = -1;
+            int stepAt = end - 7;
+            if (stepAt >= start && isStepLabel(script, stepAt)) {
+                labelStart = stepAt;
+                labelEnd = end;
+            }
+        }
+
+        return new BeginEndIndex(roots, blocks, unmatchedEnds);
+    }
+
+    private static Block innermostBlock(List<Block> open) {
+        for (int i = open.size() - 1; i >= 0; i--) {
+            if (open.get(i) != null) {
+                return open.get(i);
+            }
+        }
+        return null;
+    }
+
+    private static void popCase(List<Block> open) {
+        if (!open.isEmpty() && open.get(open.size() - 1) == null) {
+            open.remove(open.size() - 1);
+        }
+    }
+
+    /**
+     * script[at, at + 7) 이 STEPnnn (대소문자 무시) 인지 확인합니다.
+     */
+    private static boolean isStepLabel(CharSequence script, int at) {
+        return Character.toUpperCase(script.charAt(at)) == 'S'
+                && Character.toUpperCase(script.charAt(at + 1)) == 'T'
+                && Character.toUpperCase(script.charAt(at + 2)) == 'E'
+                && Character.toUpperCase(script.charAt(at + 3)) == 'P'
+                && isDigit(script.charAt(at + 4)) && isDigit(script.charAt(at + 5)) && isDigit(script.charAt(at + 6));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /** 최상위 블록 (스크립트 순서) */
+    public List<Block> getRoots() {
+        return roots;
+    }
+
+    /** 모든 블록 (BEGIN 위치 순서, 닫히지 않은 블록 포함) */
+    public List<Block> getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * STEP 라벨이 있고 END 로 닫힌 블록 (BEGIN 위치 순서, 중첩된 STEP 포함)
+     */
+    public List<Block> getStepBlocks() {
+        List<Block> steps = new ArrayList<>();
+        for (Block block : blocks) {
+            if (block.label != null && block.isClosed()) {
+                steps.add(block);
+            }
+        }
+        return steps;
+    }
+
+    /** 짝이 되는 BEGIN 없이 나온 END 수 */
+    public int getUnmatchedEndCount() {
+        return unmatchedEnds;
+    }
+
+    /** END 로 닫히지 않은 BEGIN 수 */
+    public int getUnclosedCount() {
+        int count = 0;
+        for (Block block : blocks) {
+            if (!block.isClosed()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * BEGIN ... END 블록 하나 (위치는 원본 스크립트 기준)
+     */
+    public static final class Block {
+        private final String label;
+        private final int beginStart;
+        private final int beginEnd;
+        private final Block parent;
+        private final int depth;
+        private final List<Block> children = new ArrayList<>();
+        private int endStart = -1;
+        private int endEnd = -1;
+
+        Block(String label, int beginStart, int beginEnd, Block parent) {
+            this.label = label;
+            this.beginStart = beginStart;
+            this.beginEnd = beginEnd;
+            this.parent = parent;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+        }
+
+        /** STEP 라벨 (예: STEP001), 없으면 null */
+        public String getLabel() {
+            return label;
+        }
+
+        /** BEGIN 키워드 시작 위치 */
+        public int getBeginStart() {
+            return beginStart;
+        }
+
+        /** BEGIN 키워드 바로 뒤 위치 (블록 본문 시작) */
+        public int getBodyStart() {
+            return beginEnd;
+        }
+
+        /** END 키워드 시작 위치, 닫히지 않았으면 -1 */
+        public int getEndStart() {
+            return endStart;
+        }
+
+        /** END 키워드 바로 뒤 위치, 닫히지 않았으면 -1 */
+        public int getEndEnd() {
+            return endEnd;
+        }
+
+        public boolean isClosed() {
+            return endEnd >= 0;
+        }
+
+        /** 바깥 BEGIN 블록, 최상위면 null */
+        public Block getParent() {
+            return parent;
+        }
+
+        /** BEGIN 블록 중첩 깊이 (최상위 0) */
+        public int getDepth() {
+            return depth;
+        }
+
+        /** 바로 안쪽 블록 (스크립트 순서) */
+        public List<Block> getChildren() {
+            return Collections.unmodifiableList(children);
+        }
+    }
+
+    /**
+     * 주석 / 문자열 / 백틱 식별자를 건너뛰며 단어 토큰만 돌려주는 스캐너 (단어 하나 선행 조회)
+     */
+    private static final class Scanner {
+        private final CharSequence text;
+        private final int length;
+        private int pos;
+        int start;
+        int end;
+
+        // peekWord 로 미리 읽은 다음 단어
+        private int peekStart = -1;
+        private int peekEnd = -1;
+
+        // 마지막으로 지나간 "STEPnnn 으로 끝나는 주석"의 라벨 위치와 주석 끝 위치
+        int commentLabelStart = -1;
+        int commentLabelEnd = -1;
+        int commentEnd = -1;
+
+        Scanner(CharSequence text) {
+            this.text = text;
+            this.length = text.length();
+        }
+
+        /**
+         * 다음 단어로 이동합니다.
+         *
+         * @return 단어가 없으면 false
+         */
+        boolean nextWord() {
+            if (peekStart >= 0) {
+                start = peekStart;
+                end = peekEnd;
+                pos = peekEnd;
+                peekStart = -1;
+                return true;
+            }
+            if (!scan()) {
+                return false;
+            }
+            start = peekStart;
+            end = peekEnd;
+            peekStart = -1;
+            return true;
+        }
+
+        /**
+         * 현재 단어 바로 다음(공백만 사이에 둠) 단어가 word 인지 확인합니다 (다음 nextWord 가 그 단어를 돌려줌).
+         */
+        boolean peekWord(String word) {
+            if (peekStart < 0) {
+                int saved = pos;
+                if (!scan()) {
+                    pos = saved;
+                    return false;
+                }
+            }
+            // END; IF ... 처럼 다른 문장의 첫 단어는 제외 (공백으로만 이어진 경우)
+            return matches(peekStart, peekEnd, word) && onlySpacesBetween(end, peekStart);
+        }
+
+        /** peekWord 로 확인한 단어를 건너뜁니다. */
+        void skipPeeked() {
+            pos = peekEnd;
+            peekStart = -1;
+        }
+
+        boolean is(String word) {
+            return matches(start, end, word);
+        }
+
+        /**
+         * [from, to) 가 공백과 주석뿐인지 확인합니다.
+         */
+        boolean onlyGapBetween(int from, int to) {
+            int i = from;
+            while (i < to) {
+                char c = text.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '-' && i + 1 < to && text.charAt(i + 1) == '-' || c == '#') {
+                    while (i < to && text.charAt(i) != '\n') {
+                        i++;
+                    }
+                } else if (c == '/' && i + 1 < to && text.charAt(i + 1) == '*') {
+                    i += 2;
+                    while (i + 1 < to && !(text.charAt(i) == '*' && text.charAt(i + 1) == '/')) {
+                        i++;
+                    }
+                    i += 2;
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * [from, to) 가 공백뿐인지 확인합니다.
+         */
+        boolean onlySpacesBetween(int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (!Character.isWhitespace(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean matches(int from, int to, String word) {
+            if (to - from != word.length()) {
+                return false;
+            }
+            for (int i = 0; i < word.length(); i++) {
+                if (Character.toUpperCase(text.charAt(from + i)) != word.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * pos 부터 다음 단어를 찾아 peekStart / peekEnd 에 기록하고 pos 를 단어 뒤로 옮깁니다.
+         */
+        private boolean scan() {
+            while (pos < length) {
+                char c = text.charAt(pos);
+                if (isWordChar(c)) {
+                    int from = pos;
+                    while (pos < length && isWordChar(text.charAt(pos))) {
+                        pos++;
+                    }
+                    peekStart = from;
+                    peekEnd = pos;
+                    return true;
+                }
+                if (c == '-' && pos + 1 < length && text.charAt(pos + 1) == '-' || c == '#') {
+                    int from = pos;
+                    skipLine();
+                    noteCommentLabel(from, pos, pos);
+                } else if (c == '/' && pos + 1 < length && text.charAt(pos + 1) == '*') {
+                    int from = pos;
+                    skipBlockComment();
+                    boolean closed = pos - from >= 4 && text.charAt(pos - 1) == '/' && text.charAt(pos - 2) == '*';
+                    noteCommentLabel(from + 2, closed ? pos - 2 : pos, pos);
+                } else if (c == '\'' || c == '"') {
+                    skipString(c);
+                } else if (c == '`') {
+                    skipQuoted('`');
+                } else {
+                    pos++;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 주석 내용 [from, to) 이 (뒤 공백 제외) STEPnnn 단어로 끝나면 라벨 후보로 기록합니다.
+         */
+        private void noteCommentLabel(int from, int to, int after) {
+            while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+                to--;
+            }
+            int at = to - 7;
+            if (at >= from && isStepLabel(text, at) && (at == from || !isWordChar(text.charAt(at - 1)))) {
+                commentLabelStart = at;
+                commentLabelEnd = to;
+                commentEnd = after;
+            }
+        }
+
+        private void skipLine() {
+            while (pos < length && text.charAt(pos) != '\n') {
+                pos++;
+            }
+        }
+
+        private void skipBlockComment() {
+            pos += 2;
+            while (pos + 1 < length && !(text.charAt(pos) == '*' && text.charAt(pos + 1) == '/')) {
+                pos++;
+            }
+            pos = Math.min(length, pos + 2);
+        }
+
+        private void skipString(char quote) {
+            // 삼중 따옴표 ('''...''' / """...""")
+            if (pos + 2 < length && text.charAt(pos + 1) == quote && text.charAt(pos + 2) == quote) {
+                pos += 3;
+                while (pos < length) {
+                    char c = text.charAt(pos);
+                    if (c == '\\') {
+                        pos += 2;
+                    } else if (c == quote && pos + 2 < length && text.charAt(pos + 1) == quote && text.charAt(pos + 2) == quote) {
+                        pos += 3;
+                        return;
+                    } else {
+                        pos++;
+                    }
+                }
+                pos = length;
+                return;
+            }
+            skipQuoted(quote);
+        }
+
+        private void skipQuoted(char quote) {
+            pos++;
+            while (pos < length) {
+                char c = text.charAt(pos);
+                if (c == '\\') {
+                    pos += 2;
+                } else if (c == quote) {
+                    pos++;
+                    return;
+                } else {
+                    pos++;
+                }
+            }
+            pos = length;
+        }
+
+        private static boolean isWordChar(char c) {
+            return c == '_' || Character.isLetterOrDigit(c);
+        }
+    }
+}
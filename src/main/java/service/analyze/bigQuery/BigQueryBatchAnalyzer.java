@@ -0,0 +1,339 @@
+package service.analyze.bigQuery;
+
+import service.analyze.bigQuery.BigQueryScriptAnalyzer4.AnalysisResult;
+import service.analyze.bigQuery.BigQueryScriptAnalyzer4.AnalyzerConfig;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * BigQueryScriptAnalyzer4 디렉터리 배치 분석 (--dir)
+ *
+ * 입력 디렉터리 아래 .sql 파일을 고정 크기 스레드 풀에서 파일 단위로 병렬 분석하고
+ * 결과를 상대 경로 순으로 모아 하나의 CSV / HTML 리포트로 저장합니다.
+ * - CSV 는 맨 앞에 File 열을 추가하고, HTML 은 파일별 구역 아래에 STEP 구역을 둡니다.
+ * - 중복 테이블 / 컬럼 통계는 모든 파일의 STEP 을 합쳐서 계산합니다.
+ * - 배치 전체 경과 시간과 파일별 읽기 / 분석 시간을 콘솔과 HTML 에 남깁니다.
+ *
+ * 큰 파일이 마지막에 혼자 남지 않도록 크기가 큰 파일부터 제출하며, 출력 순서는 제출 순서와 무관합니다.
+ * 읽을 수 없는 파일은 파일 오류로 기록하고 나머지 파일은 계속 분석합니다.
+ */
+final class BigQueryBatchAnalyzer {
+
+    private BigQueryBatchAnalyzer() {
+    }
+
+    static void runCli(AnalyzerConfig config) {
+        Path dir = Paths.get(config.inputDir);
+        if (!Files.isDirectory(dir)) {
+            System.err.println("디렉터리 오류: " + dir + " 는 디렉터리가 아닙니다.");
+            return;
+        }
+
+        try {
+            BatchReport report = analyzeDirectory(dir, config.threads, config.stepTimeoutMillis);
+            if (report.files.isEmpty()) {
+                System.out.println("분석할 .sql 파일이 없습니다: " + dir);
+                return;
+            }
+
+            printTimings(report);
+
+            if (config.writeCsv) {
+                writeCsv(report, config.csvPath);
+                System.out.println("CSV 저장 완료: " + config.csvPath);
+            }
+
+            if (config.writeHtml) {
+                writeHtml(report, config.htmlPath);
+                System.out.println("HTML 저장 완료: " + config.htmlPath);
+            }
+
+            if (config.printStats) {
+                BigQueryScriptAnalyzer4.printDuplicateStats(report.allResults());
+            }
+
+            System.out.println(buildSummaryMessage(report));
+        } catch (IOException e) {
+            System.err.println("파일 오류: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 디렉터리 아래 .sql 파일을 threads 개 스레드로 분석합니다.
+     *
+     * @param threads 분석 스레드 수 (0 이하면 CPU 코어 수, 파일 수보다 많으면 파일 수)
+     * @param stepTimeoutMillis STEP 하나의 정규식 분석 제한 시간 (0 이면 제한 없음)
+     */
+    static BatchReport analyzeDirectory(Path dir, int threads, long stepTimeoutMillis) throws IOException {
+        long start = System.nanoTime();
+        List<Path> files = listSqlFiles(dir);
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        workers = Math.max(1, Math.min(workers, files.size()));
+
+        FileAnalysis[] analyses = new FileAnalysis[files.size()];
+        if (workers <= 1) {
+            for (int i = 0; i < files.size(); i++) {
+                analyses[i] = analyzeFile(dir, files.get(i), stepTimeoutMillis);
+            }
+            return new BatchReport(dir, List.of(analyses), workers, System.nanoTime() - start);
+        }
+
+        // 큰 파일부터 제출 (결과는 analyses 의 원래 위치에 저장)
+        List<Integer> order = new ArrayList<>(files.size());
+        long[] sizes = new long[files.size()];
+        for (int i = 0; i < files.size(); i++) {
+            order.add(i);
+            sizes[i] = sizeOf(files.get(i));
+        }
+        order.sort(Comparator.comparingLong((Integer i) -> sizes[i]).reversed());
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers, newThreadFactory());
+        try {
+            List<Future<FileAnalysis>> futures = new ArrayList<>(files.size());
+            for (int i : order) {
+                Path file = files.get(i);
+                futures.add(executor.submit(() -> analyzeFile(dir, file, stepTimeoutMillis)));
+            }
+            for (int k = 0; k < order.size(); k++) {
+                int i = order.get(k);
+                analyses[i] = await(futures.get(k), dir, files.get(i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new BatchReport(dir, List.of(analyses), workers, System.nanoTime() - start);
+    }
+
+    /**
+     * 입력 디렉터리 아래의 .sql 파일을 상대 경로 순으로 정렬하여 반환합니다.
+     */
+    static List<Path> listSqlFiles(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(p -> p.getFileName().toString().endsWith(".sql"))
+                    .sorted(Comparator.comparing(p -> relativeName(dir, p)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 파일 하나를 읽어 STEP 단위로 분석합니다. 읽기 / 분석 중 오류는 FileAnalysis 의 오류로 남깁니다.
+     */
+    static FileAnalysis analyzeFile(Path dir, Path file, long stepTimeoutMillis) {
+        String name = relativeName(dir, file);
+        long start = System.nanoTime();
+        long readNanos = 0L;
+        try {
+            String script = BigQueryScriptAnalyzer4.readFile(file.toString());
+            readNanos = System.nanoTime() - start;
+            List<AnalysisResult> results = BigQueryScriptAnalyzer4.analyzeSteps(
+                    BigQueryScriptAnalyzer4.extractNestedStepBlocks(script), stepTimeoutMillis);
+            return new FileAnalysis(name, results, null, readNanos, System.nanoTime() - start);
+        } catch (IOException | RuntimeException ex) {
+            System.err.println("❗ " + name + " 분석 실패: " + ex.getMessage());
+            return new FileAnalysis(name, Collections.emptyList(), "파일 분석 실패: " + ex.getMessage(),
+                    readNanos, System.nanoTime() - start);
+        }
+    }
+
+    private static FileAnalysis await(Future<FileAnalysis> future, Path dir, Path file) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("배치 분석이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            // analyzeFile 이 잡지 못한 Error (예: OutOfMemoryError) 도 해당 파일의 오류로 남김
+            return new FileAnalysis(relativeName(dir, file), Collections.emptyList(),
+                    "파일 분석 실패: " + e.getCause(), 0L, 0L);
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static String relativeName(Path dir, Path file) {
+        return dir.relativize(file).toString().replace("\\", "/");
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "bq-analyzer-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    static void writeCsv(BatchReport report, String csvPath) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(csvPath), StandardCharsets.UTF_8))) {
+            writer.println("File,Step,Table,Column,Condition,Alias->Original,Error");
+            for (FileAnalysis file : report.files) {
+                if (file.error != null) {
+                    writer.printf("%s,,,,,,%s%n", file.fileName, file.error);
+                } else if (file.results.isEmpty()) {
+                    writer.printf("%s,,,,,,%s%n", file.fileName, "분석 가능한 STEP 블록 없음");
+                }
+                BigQueryScriptAnalyzer4.writeCsvRows(writer, file.fileName + ",", file.results);
+            }
+        }
+    }
+
+    static void writeHtml(BatchReport report, String htmlPath) throws IOException {
+        List<AnalysisResult> all = report.allResults();
+        Map<String, Integer> tableCounts = BigQueryScriptAnalyzer4.countOccurrences(all, r -> r.tables);
+        Map<String, Integer> columnCounts = BigQueryScriptAnalyzer4.countOccurrences(all, r -> r.columns);
+
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(htmlPath), StandardCharsets.UTF_8))) {
+            writer.println("<html><head><meta charset='UTF-8'><title>배치 분석 결과</title></head><body>");
+            writer.println("<h1>BigQuery 배치 분석 리포트</h1>");
+
+            writer.println("<h2>요약</h2><ul>");
+            writer.println("<li>입력 디렉터리: " + report.dir + "</li>");
+            writer.println("<li>파일 수: " + report.files.size() + "</li>");
+            writer.println("<li>STEP 수: " + all.size() + "</li>");
+            writer.println("<li>총 테이블 수: " + all.stream().mapToInt(r -> r.tables.size()).sum() + "</li>");
+            writer.println("<li>총 컬럼 수: " + all.stream().mapToInt(r -> r.columns.size()).sum() + "</li>");
+            writer.println("<li>총 조건절 수: " + all.stream().mapToInt(r -> r.conditions.size()).sum() + "</li>");
+            writer.println("<li>발견된 오류 수: " + report.errorCount() + "</li>");
+            writer.println("<li>중복 테이블 (전체 파일): " + BigQueryScriptAnalyzer4.formatDuplicates(tableCounts) + "</li>");
+            writer.println("<li>중복 컬럼 (전체 파일): " + BigQueryScriptAnalyzer4.formatDuplicates(columnCounts) + "</li>");
+            writer.println("<li>분석 스레드: " + report.threads + "개</li>");
+            writer.println("<li>전체 경과 시간: " + formatMillis(report.elapsedNanos)
+                    + " (파일별 합계 " + formatMillis(report.totalFileNanos()) + ")</li>");
+            writer.println("</ul>");
+
+            writer.println("<h2>파일별 분석 시간</h2>");
+            writer.println("<table border='1' cellspacing='0' cellpadding='4'>");
+            writer.println("<tr><th>파일</th><th>STEP 수</th><th>읽기</th><th>분석</th><th>합계</th><th>오류</th></tr>");
+            for (int i = 0; i < report.files.size(); i++) {
+                FileAnalysis file = report.files.get(i);
+                writer.println("<tr><td><a href='#file-" + i + "'>" + file.fileName + "</a></td>"
+                        + "<td>" + file.results.size() + "</td>"
+                        + "<td>" + formatMillis(file.readNanos) + "</td>"
+                        + "<td>" + formatMillis(file.totalNanos - file.readNanos) + "</td>"
+                        + "<td>" + formatMillis(file.totalNanos) + "</td>"
+                        + "<td>" + file.errorCount() + "</td></tr>");
+            }
+            writer.println("</table>");
+
+            for (int i = 0; i < report.files.size(); i++) {
+                FileAnalysis file = report.files.get(i);
+                writer.println("<hr><h2 id='file-" + i + "'>" + file.fileName + "</h2>");
+                writer.println("<p>STEP " + file.results.size() + "개, " + formatMillis(file.totalNanos) + "</p>");
+                if (file.error != null) {
+                    writer.println("<p style='color:red;'>" + file.error + "</p>");
+                }
+                BigQueryScriptAnalyzer4.writeStepSections(writer, file.results);
+            }
+
+            writer.println("</body></html>");
+        }
+    }
+
+    private static void printTimings(BatchReport report) {
+        System.out.println("⏱ 파일별 분석 시간:");
+        for (FileAnalysis file : report.files) {
+            System.out.println(" - " + file.fileName + ": STEP " + file.results.size() + "개, 읽기 "
+                    + formatMillis(file.readNanos) + ", 합계 " + formatMillis(file.totalNanos)
+                    + (file.error != null ? " ❗ " + file.error : ""));
+        }
+    }
+
+    static String buildSummaryMessage(BatchReport report) {
+        List<AnalysisResult> all = report.allResults();
+        return String.format("파일 %d개, STEP %d개, 테이블 %d개, 컬럼 %d개, 조건 %d개 분석 완료 (스레드 %d개, 전체 %s, 파일별 합계 %s)",
+                report.files.size(), all.size(),
+                all.stream().mapToInt(r -> r.tables.size()).sum(),
+                all.stream().mapToInt(r -> r.columns.size()).sum(),
+                all.stream().mapToInt(r -> r.conditions.size()).sum(),
+                report.threads, formatMillis(report.elapsedNanos), formatMillis(report.totalFileNanos()));
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.1f ms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * 파일 하나의 분석 결과와 소요 시간
+     */
+    static class FileAnalysis {
+        final String fileName;
+        final List<AnalysisResult> results;
+        /** 파일을 읽거나 분석하지 못한 경우의 오류 (정상이면 null) */
+        final String error;
+        final long readNanos;
+        final long totalNanos;
+
+        FileAnalysis(String fileName, List<AnalysisResult> results, String error, long readNanos, long totalNanos) {
+            this.fileName = fileName;
+            this.results = results;
+            this.error = error;
+            this.readNanos = readNanos;
+            this.totalNanos = totalNanos;
+        }
+
+        int errorCount() {
+            return BigQueryScriptAnalyzer4.collectErrors(results).size() + (error != null ? 1 : 0);
+        }
+    }
+
+    /**
+     * 배치 전체 결과 (files 는 상대 경로 순)
+     */
+    static class BatchReport {
+        final Path dir;
+        final List<FileAnalysis> files;
+        final int threads;
+        final long elapsedNanos;
+
+        BatchReport(Path dir, List<FileAnalysis> files, int threads, long elapsedNanos) {
+            this.dir = dir;
+            this.files = files;
+            this.threads = threads;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * 모든 파일의 STEP 결과 (파일 순서, 파일 안에서는 STEP 순서)
+         */
+        List<AnalysisResult> allResults() {
+            List<AnalysisResult> all = new ArrayList<>();
+            for (FileAnalysis file : files) {
+                all.addAll(file.results);
+            }
+            return all;
+        }
+
+        int errorCount() {
+            return files.stream().mapToInt(FileAnalysis::errorCount).sum();
+        }
+
+        long totalFileNanos() {
+            return files.stream().mapToLong(f -> f.totalNanos).sum();
+        }
+    }
+}
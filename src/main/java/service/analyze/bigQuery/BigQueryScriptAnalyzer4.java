@@ -3,7 +3,13 @@ package service.analyze.bigQuery;
 // BigQueryScriptAnalyzer.java
 
 // 위에 있는 기존 import 유지
+import com.io.CharsetDetector;
+import com.io.MappedTextReader;
+import com.regex.MatchBudget;
+import com.regex.MatchTimeoutException;
+
 import java.io.*;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -26,6 +32,14 @@ public class BigQueryScriptAnalyzer4 {
 
     private static final String DEFAULT_CSV = "output.csv";
     private static final String DEFAULT_HTML = "output.html";
+    /**
+     * STEP 하나의 정규식 분석 제한 시간 기본값 (ms, 0 이면 제한 없음)
+     * 제한을 걸면 정규식 입력의 charAt 마다 시간 확인이 추가되므로 SqlReader 와 같이 기본으로는 켜지 않습니다.
+     */
+    private static final long DEFAULT_STEP_TIMEOUT_MS = 0L;
+
+    // 파일마다 문자셋 판별 (UTF-8 이 아니면 MS949), 디코딩 버퍼는 스레드별 재사용
+    private static final MappedTextReader TEXT_READER = MappedTextReader.autoDetect(CharsetDetector.MS949);
 
     public static void main(String[] args) {
         AnalyzerConfig config;
@@ -47,6 +61,11 @@ public class BigQueryScriptAnalyzer4 {
             return;
         }
 
+        if (config.inputDir != null) {
+            BigQueryBatchAnalyzer.runCli(config);
+            return;
+        }
+
         if (config.inputPath == null) {
             printUsage();
             return;
@@ -57,7 +76,7 @@ public class BigQueryScriptAnalyzer4 {
 
     private static void runCli(AnalyzerConfig config) {
         try {
-            AnalysisSession session = analyze(config.inputPath);
+            AnalysisSession session = analyze(config.inputPath, config.stepTimeoutMillis);
             if (session.results.isEmpty()) {
                 System.out.println("분석 가능한 STEP 블록이 없습니다.");
                 return;
@@ -83,10 +102,10 @@ public class BigQueryScriptAnalyzer4 {
         }
     }
 
-    private static AnalysisSession analyze(String inputPath) throws IOException {
+    private static AnalysisSession analyze(String inputPath, long stepTimeoutMillis) throws IOException {
         String script = readFile(inputPath);
         List<StepBlock> steps = extractNestedStepBlocks(script);
-        List<AnalysisResult> results = analyzeSteps(steps);
+        List<AnalysisResult> results = analyzeSteps(steps, stepTimeoutMillis);
         return new AnalysisSession(results, collectErrors(results));
     }
 
@@ -103,86 +122,79 @@ public class BigQueryScriptAnalyzer4 {
         System.out.println("옵션:");
         System.out.println("  -h, --help           도움말 표시");
         System.out.println("  -i, --input <path>   입력 SQL 파일 경로");
+        System.out.println("  -d, --dir <path>     입력 디렉터리 아래 .sql 파일 전체를 병렬 분석해 하나의 리포트로 저장");
+        System.out.println("      --threads <n>    --dir 분석 스레드 수 (기본: CPU 코어 수)");
         System.out.println("      --csv <path>     CSV 출력 경로 (기본: output.csv)");
         System.out.println("      --html <path>    HTML 출력 경로 (기본: output.html)");
         System.out.println("      --no-csv         CSV 저장 생략");
         System.out.println("      --no-html        HTML 저장 생략");
         System.out.println("      --no-stats       중복 통계 출력 생략");
+        System.out.println("      --timeout <ms>   STEP 하나의 정규식 분석 제한 시간 (기본: 0 = 제한 없음)");
         System.out.println("      --gui            JavaFX GUI 실행");
         System.out.println("예시: java ...BigQueryScriptAnalyzer4 --input sample.sql --csv result.csv");
+        System.out.println("      java ...BigQueryScriptAnalyzer4 --dir ./procedures --threads 8 --html report.html");
     }
 
-    private static String readFile(String path) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
-            StringBuilder sb = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                sb.append(line).append('\n');
-            }
-            return sb.toString();
+    /**
+     * 파일 전체를 한 번에 디코딩해 읽습니다 (줄 단위 BufferedReader / StringBuilder 복사 없음).
+     * 줄 끝은 이전과 같이 \n 으로 통일합니다.
+     */
+    static String readFile(String path) throws IOException {
+        String script = TEXT_READER.readString(Paths.get(path));
+        if (script.indexOf('\r') >= 0) {
+            script = script.replace("\r\n", "\n").replace('\r', '\n');
         }
+        return script;
     }
 
-    private static List<StepBlock> extractNestedStepBlocks(String script) {
+    /**
+     * STEPnnn BEGIN ... END 블록을 BEGIN 위치 순서로 추출합니다 (중첩된 STEP 도 각각 추출).
+     * BEGIN/END 짝은 BeginEndIndex 로 스크립트를 한 번 훑어서 찾으며, 주석과 문자열 안의 키워드,
+     * END IF / END LOOP 등 제어문의 끝, CASE ... END 는 블록 끝으로 보지 않습니다.
+     */
+    static List<StepBlock> extractNestedStepBlocks(String script) {
         List<StepBlock> blocks = new ArrayList<>();
-        Pattern stepPattern = Pattern.compile("(STEP\\d{3})\\s*BEGIN", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = stepPattern.matcher(script);
-
-        while (matcher.find()) {
-            String stepName = matcher.group(1);
-            int beginIndex = matcher.end();
-            int endIndex = findMatchingEnd(script, beginIndex);
-            if (endIndex == -1) {
-                continue;
-            }
-            String content = script.substring(beginIndex, endIndex).trim();
-            blocks.add(new StepBlock(stepName, content));
+        for (BeginEndIndex.Block block : BeginEndIndex.build(script).getStepBlocks()) {
+            String content = script.substring(block.getBodyStart(), block.getEndEnd()).trim();
+            blocks.add(new StepBlock(block.getLabel(), content));
         }
-
         return blocks;
     }
 
-    private static int findMatchingEnd(String script, int start) {
-        int level = 1;
-        int index = start;
-        while (index < script.length()) {
-            String sub = script.substring(index);
-            Matcher begin = Pattern.compile("\\bBEGIN\\b", Pattern.CASE_INSENSITIVE).matcher(sub);
-            Matcher end = Pattern.compile("\\bEND\\b", Pattern.CASE_INSENSITIVE).matcher(sub);
-
-            int nextBegin = begin.find() ? begin.start() : Integer.MAX_VALUE;
-            int nextEnd = end.find() ? end.start() : Integer.MAX_VALUE;
-
-            if (nextBegin < nextEnd) {
-                level++;
-                index += nextBegin + 5;
-            } else if (nextEnd < nextBegin) {
-                level--;
-                index += nextEnd + 3;
-                if (level == 0) {
-                    return index;
-                }
-            } else {
-                break;
-            }
-        }
-        return -1;
-    }
-
-    private static List<AnalysisResult> analyzeSteps(List<StepBlock> steps) {
+    /**
+     * STEP 별로 테이블/컬럼/조건/별칭을 추출합니다.
+     * 정규식 분석이 제한 시간을 넘긴 STEP 은 추출 결과 없이 오류만 남기고 다음 STEP 으로 넘어갑니다.
+     */
+    static List<AnalysisResult> analyzeSteps(List<StepBlock> steps, long stepTimeoutMillis) {
         List<AnalysisResult> results = new ArrayList<>();
         for (StepBlock step : steps) {
-            Set<String> tables = extractTableNames(step.content);
-            Set<String> columns = extractColumnNames(step.content);
-            Set<String> conditions = extractConditions(step.content);
-            Map<String, String> aliases = extractTableAliases(step.content);
-            List<String> errors = detectErrors(step.content);
-            results.add(new AnalysisResult(step.stepName, tables, columns, conditions, aliases, errors));
+            CharSequence sql = guard(step.content, stepTimeoutMillis);
+            try {
+                Set<String> tables = extractTableNames(sql);
+                Set<String> columns = extractColumnNames(sql);
+                Set<String> conditions = extractConditions(sql);
+                Map<String, String> aliases = extractTableAliases(sql);
+                List<String> errors = detectErrors(step.content);
+                results.add(new AnalysisResult(step.stepName, tables, columns, conditions, aliases, errors));
+            } catch (MatchTimeoutException ex) {
+                System.err.println("❗ " + step.stepName + " 분석 중단: " + ex.getMessage());
+                List<String> errors = new ArrayList<>();
+                errors.add("정규식 분석 시간 초과로 STEP 건너뜀 (" + ex.getElapsedMillis() + " ms)");
+                results.add(new AnalysisResult(step.stepName, new LinkedHashSet<>(), new LinkedHashSet<>(),
+                        new LinkedHashSet<>(), new LinkedHashMap<>(), errors));
+            }
         }
         return results;
     }
 
-    private static List<String> collectErrors(List<AnalysisResult> results) {
+    /**
+     * 제한 시간이 있으면 매칭 예산을 건 입력을, 없으면(0 이하) 원본을 그대로 반환합니다.
+     */
+    static CharSequence guard(String content, long stepTimeoutMillis) {
+        return stepTimeoutMillis > 0 ? MatchBudget.of(stepTimeoutMillis, 0L).guard(content) : content;
+    }
+
+    static List<String> collectErrors(List<AnalysisResult> results) {
         List<String> allErrors = new ArrayList<>();
         for (AnalysisResult result : results) {
             allErrors.addAll(result.errors);
@@ -190,7 +202,7 @@ public class BigQueryScriptAnalyzer4 {
         return allErrors;
     }
 
-    private static Set<String> extractTableNames(String sql) {
+    private static Set<String> extractTableNames(CharSequence sql) {
         Set<String> tables = new LinkedHashSet<>();
         Pattern pattern = Pattern.compile("\\b(FROM|JOIN|INTO|UPDATE|MERGE\\s+INTO|RENAME\\s+TO)\\s+([`\\w\\.]+)", Pattern.CASE_INSENSITIVE);
         Matcher matcher = pattern.matcher(sql);
@@ -200,7 +212,7 @@ public class BigQueryScriptAnalyzer4 {
         return tables;
     }
 
-    private static Set<String> extractColumnNames(String sql) {
+    private static Set<String> extractColumnNames(CharSequence sql) {
         Set<String> columns = new LinkedHashSet<>();
         Pattern selectPattern = Pattern.compile("SELECT\\s+(.*?)\\s+FROM", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
         Matcher matcher = selectPattern.matcher(sql);
@@ -229,7 +241,7 @@ public class BigQueryScriptAnalyzer4 {
         return columns;
     }
 
-    private static Set<String> extractConditions(String sql) {
+    private static Set<String> extractConditions(CharSequence sql) {
         Set<String> conds = new LinkedHashSet<>();
         Pattern pattern = Pattern.compile("\\b(WHERE|ON)\\b\\s+(.*?)(\\bGROUP BY\\b|\\bORDER BY\\b|;|\\n|\\bWHEN\\b)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
         Matcher matcher = pattern.matcher(sql);
@@ -239,7 +251,7 @@ public class BigQueryScriptAnalyzer4 {
         return conds;
     }
 
-    private static Map<String, String> extractTableAliases(String sql) {
+    private static Map<String, String> extractTableAliases(CharSequence sql) {
         Map<String, String> aliasMap = new LinkedHashMap<>();
         Pattern pattern = Pattern.compile("(\\w+(?:\\.\\w+)*)\\s+(?:AS\\s+)?(\\w+)", Pattern.CASE_INSENSITIVE);
         Matcher matcher = pattern.matcher(sql);
@@ -281,27 +293,33 @@ public class BigQueryScriptAnalyzer4 {
     private static void writeResultsToCSV(List<AnalysisResult> results, String csvPath) throws IOException {
         try (PrintWriter writer = new PrintWriter(new FileWriter(csvPath))) {
             writer.println("Step,Table,Column,Condition,Alias->Original,Error");
+            writeCsvRows(writer, "", results);
+        }
+    }
 
-            for (AnalysisResult r : results) {
-                int size = Math.max(Math.max(r.tables.size(), r.columns.size()), Math.max(r.conditions.size(), r.aliases.size()));
-                size = Math.max(size, r.errors.size());
-
-                List<String> tables = new ArrayList<>(r.tables);
-                List<String> columns = new ArrayList<>(r.columns);
-                List<String> conditions = new ArrayList<>(r.conditions);
-                List<String> aliases = new ArrayList<>();
-                for (Map.Entry<String, String> e : r.aliases.entrySet()) {
-                    aliases.add(e.getKey() + " -> " + e.getValue());
-                }
+    /**
+     * STEP 별 CSV 행을 씁니다. prefix 는 각 행 앞에 그대로 붙습니다 (배치 리포트의 파일 열).
+     */
+    static void writeCsvRows(PrintWriter writer, String prefix, List<AnalysisResult> results) {
+        for (AnalysisResult r : results) {
+            int size = Math.max(Math.max(r.tables.size(), r.columns.size()), Math.max(r.conditions.size(), r.aliases.size()));
+            size = Math.max(size, r.errors.size());
+
+            List<String> tables = new ArrayList<>(r.tables);
+            List<String> columns = new ArrayList<>(r.columns);
+            List<String> conditions = new ArrayList<>(r.conditions);
+            List<String> aliases = new ArrayList<>();
+            for (Map.Entry<String, String> e : r.aliases.entrySet()) {
+                aliases.add(e.getKey() + " -> " + e.getValue());
+            }
 
-                for (int i = 0; i < size; i++) {
-                    String table = i < tables.size() ? tables.get(i) : "";
-                    String column = i < columns.size() ? columns.get(i) : "";
-                    String cond = i < conditions.size() ? conditions.get(i) : "";
-                    String alias = i < aliases.size() ? aliases.get(i) : "";
-                    String error = i < r.errors.size() ? r.errors.get(i) : "";
-                    writer.printf("%s,%s,%s,%s,%s,%s%n", r.stepName, table, column, cond, alias, error);
-                }
+            for (int i = 0; i < size; i++) {
+                String table = i < tables.size() ? tables.get(i) : "";
+                String column = i < columns.size() ? columns.get(i) : "";
+                String cond = i < conditions.size() ? conditions.get(i) : "";
+                String alias = i < aliases.size() ? aliases.get(i) : "";
+                String error = i < r.errors.size() ? r.errors.get(i) : "";
+                writer.printf("%s%s,%s,%s,%s,%s,%s%n", prefix, r.stepName, table, column, cond, alias, error);
             }
         }
     }
@@ -328,36 +346,43 @@ public class BigQueryScriptAnalyzer4 {
             writer.println("<li>중복 컬럼: " + formatDuplicates(columnCounts) + "</li>");
             writer.println("</ul>");
 
-            for (AnalysisResult r : results) {
-                writer.println("<hr><h3>" + r.stepName + "</h3>");
-                writer.println("<b>테이블:</b><ul>");
-                for (String t : r.tables) {
-                    writer.println("<li>" + t + "</li>");
-                }
-                writer.println("</ul><b>컬럼:</b><ul>");
-                for (String c : r.columns) {
-                    writer.println("<li>" + c + "</li>");
-                }
-                writer.println("</ul><b>조건:</b><ul>");
-                for (String c : r.conditions) {
-                    writer.println("<li>" + c + "</li>");
-                }
-                writer.println("</ul><b>테이블 변경 추적:</b><ul>");
-                for (Map.Entry<String, String> e : r.aliases.entrySet()) {
-                    writer.println("<li>" + e.getKey() + " → " + e.getValue() + "</li>");
-                }
-                writer.println("</ul><b>오류:</b><ul>");
-                for (String e : r.errors) {
-                    writer.println("<li style='color:red;'>" + e + "</li>");
-                }
-                writer.println("</ul>");
-            }
+            writeStepSections(writer, results);
 
             writer.println("</body></html>");
         }
     }
 
-    private static Map<String, Integer> countOccurrences(List<AnalysisResult> results, Function<AnalysisResult, Collection<String>> mapper) {
+    /**
+     * STEP 별 HTML 구역(테이블 / 컬럼 / 조건 / 변경 추적 / 오류)을 씁니다.
+     */
+    static void writeStepSections(PrintWriter writer, List<AnalysisResult> results) {
+        for (AnalysisResult r : results) {
+            writer.println("<hr><h3>" + r.stepName + "</h3>");
+            writer.println("<b>테이블:</b><ul>");
+            for (String t : r.tables) {
+                writer.println("<li>" + t + "</li>");
+            }
+            writer.println("</ul><b>컬럼:</b><ul>");
+            for (String c : r.columns) {
+                writer.println("<li>" + c + "</li>");
+            }
+            writer.println("</ul><b>조건:</b><ul>");
+            for (String c : r.conditions) {
+                writer.println("<li>" + c + "</li>");
+            }
+            writer.println("</ul><b>테이블 변경 추적:</b><ul>");
+            for (Map.Entry<String, String> e : r.aliases.entrySet()) {
+                writer.println("<li>" + e.getKey() + " → " + e.getValue() + "</li>");
+            }
+            writer.println("</ul><b>오류:</b><ul>");
+            for (String e : r.errors) {
+                writer.println("<li style='color:red;'>" + e + "</li>");
+            }
+            writer.println("</ul>");
+        }
+    }
+
+    static Map<String, Integer> countOccurrences(List<AnalysisResult> results, Function<AnalysisResult, Collection<String>> mapper) {
         Map<String, Integer> counts = new LinkedHashMap<>();
         for (AnalysisResult result : results) {
             for (String value : mapper.apply(result)) {
@@ -367,7 +392,7 @@ public class BigQueryScriptAnalyzer4 {
         return counts;
     }
 
-    private static String formatDuplicates(Map<String, Integer> counts) {
+    static String formatDuplicates(Map<String, Integer> counts) {
         return counts.entrySet().stream()
                 .filter(e -> e.getValue() > 1)
                 .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
@@ -375,7 +400,7 @@ public class BigQueryScriptAnalyzer4 {
                 .collect(Collectors.joining(", "));
     }
 
-    private static void printDuplicateStats(List<AnalysisResult> results) {
+    static void printDuplicateStats(List<AnalysisResult> results) {
         Map<String, Integer> tableCount = countOccurrences(results, r -> r.tables);
         Map<String, Integer> columnCount = countOccurrences(results, r -> r.columns);
 
@@ -461,6 +486,7 @@ public class BigQueryScriptAnalyzer4 {
 
     static class AnalyzerConfig {
         final String inputPath;
+        final String inputDir;
         final String csvPath;
         final String htmlPath;
         final boolean writeCsv;
@@ -468,9 +494,13 @@ public class BigQueryScriptAnalyzer4 {
         final boolean printStats;
         final boolean launchGui;
         final boolean showHelp;
+        final long stepTimeoutMillis;
+        /** --dir 분석 스레드 수 (0 이면 CPU 코어 수) */
+        final int threads;
 
         private AnalyzerConfig(Builder builder) {
             this.inputPath = builder.inputPath;
+            this.inputDir = builder.inputDir;
             this.csvPath = builder.csvPath;
             this.htmlPath = builder.htmlPath;
             this.writeCsv = builder.writeCsv;
@@ -478,6 +508,8 @@ public class BigQueryScriptAnalyzer4 {
             this.printStats = builder.printStats;
             this.launchGui = builder.launchGui;
             this.showHelp = builder.showHelp;
+            this.stepTimeoutMillis = builder.stepTimeoutMillis;
+            this.threads = builder.threads;
         }
 
         static AnalyzerConfig fromArgs(String[] args) {
@@ -503,6 +535,13 @@ public class BigQueryScriptAnalyzer4 {
                     case "--input":
                         builder.inputPath(requireValue(args, ++i, arg));
                         break;
+                    case "-d":
+                    case "--dir":
+                        builder.inputDir(requireValue(args, ++i, arg));
+                        break;
+                    case "--threads":
+                        builder.threads(parseThreads(requireValue(args, ++i, arg), arg));
+                        break;
                     case "--csv":
                         builder.csvPath(requireValue(args, ++i, arg));
                         break;
@@ -521,10 +560,16 @@ public class BigQueryScriptAnalyzer4 {
                     case "--gui":
                         builder.launchGui(true);
                         break;
+                    case "--timeout":
+                        builder.stepTimeoutMillis(parseMillis(requireValue(args, ++i, arg), arg));
+                        break;
                     default:
                         throw new IllegalArgumentException("알 수 없는 옵션: " + arg);
                 }
             }
+            if (builder.inputPath != null && builder.inputDir != null) {
+                throw new IllegalArgumentException("--input 과 --dir 은 함께 사용할 수 없습니다.");
+            }
             return builder.build();
         }
 
@@ -535,12 +580,33 @@ public class BigQueryScriptAnalyzer4 {
             return args[index];
         }
 
+        private static long parseMillis(String value, String option) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException(option + " 옵션 값은 밀리초 숫자여야 합니다: " + value);
+            }
+        }
+
+        private static int parseThreads(String value, String option) {
+            try {
+                int threads = Integer.parseInt(value);
+                if (threads < 1) {
+                    throw new IllegalArgumentException(option + " 옵션 값은 1 이상이어야 합니다: " + value);
+                }
+                return threads;
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException(option + " 옵션 값은 숫자여야 합니다: " + value);
+            }
+        }
+
         static Builder builder() {
             return new Builder();
         }
 
         static class Builder {
             private String inputPath;
+            private String inputDir;
             private String csvPath = DEFAULT_CSV;
             private String htmlPath = DEFAULT_HTML;
             private boolean writeCsv = true;
@@ -548,12 +614,19 @@ public class BigQueryScriptAnalyzer4 {
             private boolean printStats = true;
             private boolean launchGui = false;
             private boolean showHelp = false;
+            private long stepTimeoutMillis = DEFAULT_STEP_TIMEOUT_MS;
+            private int threads = 0;
 
             Builder inputPath(String inputPath) {
                 this.inputPath = inputPath;
                 return this;
             }
 
+            Builder inputDir(String inputDir) {
+                this.inputDir = inputDir;
+                return this;
+            }
+
             Builder csvPath(String csvPath) {
                 this.csvPath = csvPath;
                 return this;
@@ -589,6 +662,16 @@ public class BigQueryScriptAnalyzer4 {
                 return this;
             }
 
+            Builder stepTimeoutMillis(long stepTimeoutMillis) {
+                this.stepTimeoutMillis = stepTimeoutMillis;
+                return this;
+            }
+
+            Builder threads(int threads) {
+                this.threads = threads;
+                return this;
+            }
+
             AnalyzerConfig build() {
                 return new AnalyzerConfig(this);
             }
@@ -706,9 +789,10 @@ public class BigQueryScriptAnalyzer4 {
                             .writeCsv(csvEnabled)
                             .writeHtml(htmlEnabled)
                             .printStats(statsEnabled)
+                            .stepTimeoutMillis(initialConfig.stepTimeoutMillis)
                             .build();
 
-                    AnalysisSession session = analyze(config.inputPath);
+                    AnalysisSession session = analyze(config.inputPath, config.stepTimeoutMillis);
                     if (config.writeCsv) {
                         writeResultsToCSV(session.results, config.csvPath);
                     }
@@ -64,7 +64,8 @@ public class SqlFileExecutor {
         return splitStatements(sql);
     }
 
-    private List<String> splitStatements(String sql) {
+    /** 따옴표 밖의 세미콜론 기준으로 SQL 문장을 나눕니다. (마지막 문장은 세미콜론이 없어도 포함) */
+    public static List<String> splitStatements(String sql) {
         List<String> statements = new ArrayList<>();
         StringBuilder builder = new StringBuilder();
         boolean inSingleQuote = false;
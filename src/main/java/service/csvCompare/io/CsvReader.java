@@ -2,115 +2,55 @@ package service.csvCompare.io;
 
 import service.csvCompare.model.CsvTable;
 import service.csvCompare.model.DataRow;
+import service.csvCompare.model.HeaderIndex;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.*;
 
-/** 외부 라이브러리 없이 RFC4180 스타일 CSV 읽기 */
+/**
+ * 외부 라이브러리 없이 RFC4180 스타일 CSV 읽기
+ *
+ * 파일 전체를 문자열로 읽지 않고 CsvRecordReader 로 레코드를 하나씩 읽어 행을 만듭니다.
+ * 테이블 전체가 필요 없는 경우(스트리밍 비교 등)에는 CsvRecordReader 를 직접 사용하세요.
+ */
 public class CsvReader {
 
     public static CsvTable read(Path path) throws IOException {
-        String text = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
-        List<List<String>> records = parseCsv(text);
-
-        if (records.isEmpty()) {
-            throw new IllegalStateException("헤더가 없습니다: " + path);
-        }
-
-        List<String> headers = records.get(0);
-        List<DataRow> rows = new ArrayList<>();
+        try (CsvRecordReader reader = CsvRecordReader.open(path)) {
+            List<String> headers = reader.readRecord();
+            if (headers == null) {
+                throw new IllegalStateException("헤더가 없습니다: " + path);
+            }
 
-        for (int i = 1; i < records.size(); i++) {
-            List<String> rec = records.get(i);
-            Map<String, String> values = new LinkedHashMap<>();
-            for (int c = 0; c < headers.size(); c++) {
-                String col = headers.get(c);
-                String val = c < rec.size() ? rec.get(c) : "";
-                values.put(col, val);
+            HeaderIndex headerIndex = new HeaderIndex(headers);
+            List<DataRow> rows = new ArrayList<>();
+            List<String> rec;
+            while ((rec = reader.readRecord()) != null) {
+                rows.add(toRow(headerIndex, rec));
             }
-            rows.add(new DataRow(values));
+            return new CsvTable(headerIndex, rows);
         }
-        return new CsvTable(headers, rows);
+    }
+
+    /** 레코드를 헤더 순서의 행으로 변환 (모자란 컬럼은 빈 문자열) */
+    public static DataRow toRow(HeaderIndex header, List<String> rec) {
+        return new DataRow(header, rec);
     }
 
     /** 간이 CSV 파서 (따옴표/콤마/개행/이중따옴표 처리, CRLF 지원) */
-    static List<List<String>> parseCsv(String s) {
+    public static List<List<String>> parseCsv(String s) {
         List<List<String>> out = new ArrayList<>();
-        List<String> record = new ArrayList<>();
-        StringBuilder field = new StringBuilder();
-
-        int i = 0, n = s.length();
-        boolean inQuotes = false;
-        boolean fieldStarted = false;
-
-        while (i < n) {
-            char ch = s.charAt(i);
-
-            if (inQuotes) {
-                if (ch == '"') {
-                    // 다음이 "이면 이스케이프, 아니면 인용 종료
-                    if (i + 1 < n && s.charAt(i + 1) == '"') {
-                        field.append('"');
-                        i += 2;
-                        continue;
-                    } else {
-                        inQuotes = false;
-                        i++;
-                        continue;
-                    }
-                } else {
-                    field.append(ch);
-                    i++;
-                    continue;
-                }
-            } else {
-                if (ch == '"') {
-                    inQuotes = true;
-                    fieldStarted = true;
-                    i++;
-                    continue;
-                } else if (ch == ',') {
-                    record.add(field.toString());
-                    field.setLength(0);
-                    fieldStarted = false;
-                    i++;
-                    continue;
-                } else if (ch == '\r') {
-                    // CRLF 처리
-                    if (i + 1 < n && s.charAt(i + 1) == '\n') i++;
-                    record.add(field.toString());
-                    out.add(record);
-                    record = new ArrayList<>();
-                    field.setLength(0);
-                    fieldStarted = false;
-                    i++;
-                    continue;
-                } else if (ch == '\n') {
-                    record.add(field.toString());
-                    out.add(record);
-                    record = new ArrayList<>();
-                    field.setLength(0);
-                    fieldStarted = false;
-                    i++;
-                    continue;
-                } else {
-                    field.append(ch);
-                    fieldStarted = true;
-                    i++;
-                    continue;
-                }
+        try (CsvRecordReader reader = new CsvRecordReader(new StringReader(s))) {
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                out.add(record);
             }
-        }
-
-        // 마지막 필드/레코드 플러시
-        if (field.length() > 0 || fieldStarted || !record.isEmpty()) {
-            record.add(field.toString());
-            out.add(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
         return out;
     }
 }
-
@@ -0,0 +1,242 @@
+package service.csvCompare.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 스트리밍 RFC4180 CSV 레코드 리더
+ *
+ * 고정 크기 char 버퍼 하나로 Reader 를 읽으면서 레코드를 하나씩 돌려줍니다.
+ * 파일 전체를 메모리에 올리지 않으므로 메모리 사용량은 버퍼 크기 + 현재 레코드 크기로 제한됩니다.
+ * 따옴표/콤마/개행/이중따옴표/CRLF 처리 규칙은 CsvReader.parseCsv 와 동일합니다.
+ */
+public class CsvRecordReader implements Closeable, Iterable<List<String>> {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final Reader in;
+    private final char[] buf;
+    private final StringBuilder field = new StringBuilder();
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private long recordCount;
+    private int lastFieldCount = 10;
+
+    public CsvRecordReader(Reader in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param in 입력 Reader (버퍼링은 이 클래스가 직접 수행하므로 BufferedReader 가 필요 없음)
+     * @param bufferSize char 버퍼 크기
+     */
+    public CsvRecordReader(Reader in, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("버퍼 크기는 1 이상이어야 합니다: " + bufferSize);
+        }
+        this.in = in;
+        this.buf = new char[bufferSize];
+    }
+
+    /**
+     * UTF-8 CSV 파일을 엽니다. (잘못된 바이트는 CsvReader.read 와 동일하게 대체 문자로 변환)
+     */
+    public static CsvRecordReader open(Path path) throws IOException {
+        return open(path, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE);
+    }
+
+    public static CsvRecordReader open(Path path, Charset charset, int bufferSize) throws IOException {
+        return new CsvRecordReader(new InputStreamReader(Files.newInputStream(path), charset), bufferSize);
+    }
+
+    /**
+     * 파일의 첫 레코드(헤더)만 읽습니다.
+     */
+    public static List<String> readHeader(Path path) throws IOException {
+        try (CsvRecordReader reader = open(path)) {
+            List<String> headers = reader.readRecord();
+            if (headers == null) {
+                throw new IllegalStateException("헤더가 없습니다: " + path);
+            }
+            return headers;
+        }
+    }
+
+    /**
+     * 파일의 모든 레코드를 순서대로 handler 에 전달합니다.
+     *
+     * @return 전달한 레코드 수
+     */
+    public static long forEach(Path path, RecordHandler handler) throws IOException {
+        try (CsvRecordReader reader = open(path)) {
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                handler.handle(record);
+            }
+            return reader.getRecordCount();
+        }
+    }
+
+    /**
+     * 다음 레코드를 읽습니다.
+     *
+     * @return 필드 목록, 더 이상 레코드가 없으면 null
+     */
+    public List<String> readRecord() throws IOException {
+        if (eof) {
+            return null;
+        }
+
+        List<String> record = new ArrayList<>(lastFieldCount);
+        field.setLength(0);
+        boolean inQuotes = false;
+        boolean fieldStarted = false;
+
+        while (true) {
+            if (pos >= limit && !fill()) {
+                // 마지막 필드/레코드 플러시
+                eof = true;
+                if (field.length() > 0 || fieldStarted || !record.isEmpty()) {
+                    record.add(field.toString());
+                    return finish(record);
+                }
+                return null;
+            }
+
+            if (inQuotes) {
+                // 따옴표 안: 다음 " 까지 한 번에 복사
+                int start = pos;
+                while (pos < limit && buf[pos] != '"') pos++;
+                field.append(buf, start, pos - start);
+                if (pos < limit) {
+                    pos++;
+                    // 다음이 "이면 이스케이프, 아니면 인용 종료
+                    if (peek() == '"') {
+                        field.append('"');
+                        pos++;
+                    } else {
+                        inQuotes = false;
+                    }
+                }
+                continue;
+            }
+
+            // 따옴표 밖: 특수 문자가 나올 때까지 한 번에 복사
+            int start = pos;
+            while (pos < limit && !isSpecial(buf[pos])) pos++;
+            if (pos > start) {
+                field.append(buf, start, pos - start);
+                fieldStarted = true;
+                continue;
+            }
+
+            char ch = buf[pos++];
+            if (ch == '"') {
+                inQuotes = true;
+                fieldStarted = true;
+            } else if (ch == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+                fieldStarted = false;
+            } else {
+                // CR, LF, CRLF 처리
+                if (ch == '\r' && peek() == '\n') pos++;
+                record.add(field.toString());
+                return finish(record);
+            }
+        }
+    }
+
+    /**
+     * 지금까지 읽은 레코드 수 (헤더 포함)
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * 레코드를 하나씩 돌려주는 Iterator. 읽기 오류는 UncheckedIOException 으로 전달됩니다.
+     */
+    @Override
+    public Iterator<List<String>> iterator() {
+        return new Iterator<List<String>>() {
+            private List<String> next = advance();
+
+            private List<String> advance() {
+                try {
+                    return readRecord();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public List<String> next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                List<String> current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private List<String> finish(List<String> record) {
+        recordCount++;
+        lastFieldCount = record.size();
+        return record;
+    }
+
+    private static boolean isSpecial(char ch) {
+        return ch == '"' || ch == ',' || ch == '\r' || ch == '\n';
+    }
+
+    private int peek() throws IOException {
+        if (pos >= limit && !fill()) {
+            return -1;
+        }
+        return buf[pos];
+    }
+
+    private boolean fill() throws IOException {
+        int n;
+        do {
+            n = in.read(buf, 0, buf.length);
+        } while (n == 0);
+        if (n < 0) {
+            return false;
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    /** 레코드 단위 콜백 */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void handle(List<String> record) throws IOException;
+    }
+}
@@ -3,6 +3,7 @@ package service.csvCompare.io;
 import service.csvCompare.model.OutputRow;
 
 import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
@@ -12,20 +13,30 @@ import java.util.List;
 public class CsvWriter {
 
     public static void write(Path outPath, List<String> headers, List<OutputRow> rows) throws IOException {
+        try (RowWriter writer = open(outPath, headers)) {
+            for (OutputRow r : rows) {
+                writer.write(r);
+            }
+        }
+    }
+
+    /**
+     * 헤더를 기록하고 행을 하나씩 기록할 수 있는 writer 를 엽니다.
+     * 결과 행 전체를 리스트로 모으지 않고 비교와 동시에 기록할 때 사용합니다.
+     */
+    public static RowWriter open(Path outPath, List<String> headers) throws IOException {
         if (outPath.getParent() != null) {
             Files.createDirectories(outPath.getParent());
         }
-        try (BufferedWriter bw = Files.newBufferedWriter(outPath, StandardCharsets.UTF_8,
-                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
-
+        BufferedWriter bw = Files.newBufferedWriter(outPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
             writeRow(bw, headers);
-
-            for (OutputRow r : rows) {
-                // 값 + RESULT + DIFF_DETAIL
-                List<String> fields = r.toOutputFields();
-                writeRow(bw, fields);
-            }
+        } catch (IOException e) {
+            bw.close();
+            throw e;
         }
+        return new RowWriter(bw);
     }
 
     public static void writeRow(BufferedWriter bw, List<String> fields) throws IOException {
@@ -52,5 +63,36 @@ public class CsvWriter {
         }
         bw.write('"');
     }
-}
 
+    /** 출력 행을 순서대로 기록하는 스트리밍 writer */
+    public static class RowWriter implements Closeable {
+        private final BufferedWriter bw;
+        private long rowCount;
+
+        private RowWriter(BufferedWriter bw) {
+            this.bw = bw;
+        }
+
+        public void write(OutputRow r) throws IOException {
+            // 값 + RESULT + DIFF_DETAIL (필드 리스트를 만들지 않고 배열에서 바로 기록)
+            for (int i = 0; i < r.valueCount(); i++) {
+                writeField(bw, r.getValue(i));
+                bw.write(',');
+            }
+            writeField(bw, r.getResultType().name());
+            bw.write(',');
+            writeField(bw, r.getDiffDetail());
+            bw.write("\r\n"); // RFC 4180
+            rowCount++;
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            bw.close();
+        }
+    }
+}
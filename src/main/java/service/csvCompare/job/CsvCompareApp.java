@@ -2,8 +2,10 @@ package service.csvCompare.job;
 
 import service.csvCompare.process.CompositeKeyStrategy;
 import service.csvCompare.process.CsvComparator;
+import service.csvCompare.process.ExternalSortComparator;
 import service.csvCompare.process.KeyStrategy;
 import service.csvCompare.io.CsvReader;
+import service.csvCompare.io.CsvRecordReader;
 import service.csvCompare.io.CsvWriter;
 import service.csvCompare.model.*;
 
@@ -15,11 +17,20 @@ import java.util.stream.Collectors;
  * Entry point.
  * - 외부 라이브러리 없이 작동
  * - 결과 파일: 원본1과 동일 경로에 result_<원본1파일명>
+ * - 두 파일 크기 합이 임계값 이하: 파일1 메모리 적재 + 파일2 스트리밍 비교
+ * - 임계값 초과: 외부 정렬 + 병합 조인 비교 (ExternalSortComparator, 결과 동일)
+ * - 메모리 비교에서 스레드 수가 2 이상이면 두 파일을 모두 적재하여 해시 파티션 병렬 비교 (결과 동일)
+ *
+ * 임계값/메모리 한도/스레드 수는 시스템 프로퍼티로 변경할 수 있습니다.
+ *   -DcsvCompare.externalThreshold=바이트 (기본 256MB)
+ *   -DcsvCompare.memoryBudget=바이트 (기본 64MB)
+ *   -DcsvCompare.threads=스레드 수 (기본 1)
  */
 public class CsvCompareApp {
 
     private static final String RESULT_COL = "RESULT";
     private static final String DIFF_DETAIL_COL = "DIFF_DETAIL";
+    private static final long DEFAULT_EXTERNAL_THRESHOLD = 256L * 1024 * 1024;
 
     public static void main(String[] args) {
         if (args.length < 2) {
@@ -44,25 +55,34 @@ public class CsvCompareApp {
         }
 
         try {
-            CsvTable t1 = CsvReader.read(file1);
-            CsvTable t2 = CsvReader.read(file2);
+            long totalBytes = Files.size(file1) + Files.size(file2);
+            long threshold = Long.getLong("csvCompare.externalThreshold", DEFAULT_EXTERNAL_THRESHOLD);
+            boolean external = totalBytes > threshold;
+            int threads = Integer.getInteger("csvCompare.threads", 1);
+            System.out.println("[모드] " + (external ? "외부 정렬 병합 조인" : threads > 1 ? "메모리 병렬 비교 x" + threads : "메모리 비교")
+                    + " (입력 " + totalBytes + " bytes, 임계값 " + threshold + " bytes)");
+
+            // 메모리 비교: 파일1만 메모리에 적재하고 파일2는 비교 시 스트리밍 (헤더만 먼저 읽음)
+            CsvTable t1 = external ? null : CsvReader.read(file1);
+            List<String> headers1 = external ? CsvRecordReader.readHeader(file1) : t1.getHeaders();
+            List<String> headers2 = CsvRecordReader.readHeader(file2);
 
             // 키 전략 결정
             KeyStrategy keyStrategy;
             if (userKeys != null && !userKeys.isEmpty()) {
-                ensureKeysExist(userKeys, t1.getHeaders(), t2.getHeaders());
+                ensureKeysExist(userKeys, headers1, headers2);
                 keyStrategy = new CompositeKeyStrategy(userKeys);
             } else {
-                if (t1.getHeaders().isEmpty() || t2.getHeaders().isEmpty()) {
+                if (headers1.isEmpty() || headers2.isEmpty()) {
                     throw new IllegalStateException("헤더가 비어 있습니다.");
                 }
-                String defaultKey = t1.getHeaders().get(0);
-                System.out.println("t1.getHeaders(): " + t1.getHeaders());
-                System.out.println("t2.getHeaders(): " + t2.getHeaders());
+                String defaultKey = headers1.get(0);
+                System.out.println("t1.getHeaders(): " + headers1);
+                System.out.println("t2.getHeaders(): " + headers2);
 
 
 
-                if (!new HashSet<>(t2.getHeaders()).contains(defaultKey)) {
+                if (!new HashSet<>(headers2).contains(defaultKey)) {
                     throw new IllegalStateException("키 컬럼이 지정되지 않았고, 두 파일의 첫 헤더가 다릅니다. 키를 명시하세요. 예) ID 또는 ID,DATE");
                 }
                 System.out.println("[안내] 키 미지정: 첫 번째 헤더 컬럼을 키로 사용합니다 -> " + defaultKey);
@@ -70,9 +90,7 @@ public class CsvCompareApp {
             }
 
             CsvComparator comparator = new CsvComparator();
-            List<String> unifiedHeaders = comparator.unifyHeaders(t1.getHeaders(), t2.getHeaders());
-
-            List<OutputRow> results = comparator.compareTables(t1, t2, keyStrategy, unifiedHeaders);
+            List<String> unifiedHeaders = comparator.unifyHeaders(headers1, headers2);
 
             // 결과 헤더: 합집합 + RESULT + DIFF_DETAIL
             List<String> outputHeaders = new ArrayList<>(unifiedHeaders);
@@ -83,7 +101,20 @@ public class CsvCompareApp {
                     ? Paths.get("result_" + file1.getFileName().toString())
                     : file1.getParent().resolve("result_" + file1.getFileName().toString());
 
-            CsvWriter.write(out, outputHeaders, results);
+            try (CsvWriter.RowWriter writer = CsvWriter.open(out, outputHeaders)) {
+                if (external) {
+                    long budget = Long.getLong("csvCompare.memoryBudget", ExternalSortComparator.DEFAULT_MEMORY_BUDGET);
+                    new ExternalSortComparator(budget, Paths.get(System.getProperty("java.io.tmpdir")))
+                            .compare(file1, file2, keyStrategy, unifiedHeaders, writer::write);
+                } else if (threads > 1) {
+                    CsvTable t2 = CsvReader.read(file2);
+                    for (OutputRow row : comparator.compareTablesPartitioned(t1, t2, keyStrategy, unifiedHeaders, threads)) {
+                        writer.write(row);
+                    }
+                } else {
+                    comparator.compareStreaming(t1, file2, keyStrategy, unifiedHeaders, writer::write);
+                }
+            }
 
             System.out.println("완료: " + out.toAbsolutePath());
         } catch (Exception e) {
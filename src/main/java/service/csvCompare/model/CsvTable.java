@@ -3,16 +3,21 @@ package service.csvCompare.model;
 import java.util.Collections;
 import java.util.List;
 
-/** 헤더 + 데이터 행들의 테이블 */
+/** 헤더 + 데이터 행들의 테이블 (행들은 같은 HeaderIndex 를 공유) */
 public class CsvTable {
-    private final List<String> headers;
+    private final HeaderIndex headerIndex;
     private final List<DataRow> rows;
 
     public CsvTable(List<String> headers, List<DataRow> rows) {
-        this.headers = headers;
+        this(new HeaderIndex(headers), rows);
+    }
+
+    public CsvTable(HeaderIndex headerIndex, List<DataRow> rows) {
+        this.headerIndex = headerIndex;
         this.rows = rows;
     }
 
-    public List<String> getHeaders() { return Collections.unmodifiableList(headers); }
+    public List<String> getHeaders() { return headerIndex.names(); }
+    public HeaderIndex getHeaderIndex() { return headerIndex; }
     public List<DataRow> getRows() { return Collections.unmodifiableList(rows); }
 }
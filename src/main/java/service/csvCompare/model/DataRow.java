@@ -1,24 +1,115 @@
 package service.csvCompare.model;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
-/** 한 행: 컬럼명 -> 값 */
+/**
+ * 한 행: 헤더 순서의 값들
+ *
+ * 컬럼명은 테이블 단위로 공유하는 HeaderIndex 에만 두고, 행은 모든 값을 이어 붙인 문자열 하나와
+ * 값별 끝 위치 배열만 가집니다. 값마다 String 객체를 두지 않으므로 행당 힙 사용량이 작습니다.
+ *
+ * 반복 비교에서는 HeaderIndex.indexOf 로 위치를 한 번 구한 뒤 위치 기반 메서드
+ * (getValue(int), appendValue, sameTrimmedValue)를 사용하세요.
+ */
 public class DataRow {
-    private final Map<String, String> values;
+    private final HeaderIndex header;
+    private final String packed;
+    private final int[] ends;
 
+    /**
+     * @param header 테이블 공유 헤더 인덱스
+     * @param values 헤더 순서의 값 (모자란 컬럼은 빈 문자열, 넘치는 값은 무시)
+     */
+    public DataRow(HeaderIndex header, List<String> values) {
+        this.header = header;
+        int count = header.size();
+        this.ends = new int[count];
+
+        int length = 0;
+        for (int i = 0; i < count && i < values.size(); i++) {
+            String v = values.get(i);
+            if (v != null) length += v.length();
+        }
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < count; i++) {
+            String v = i < values.size() ? values.get(i) : null;
+            if (v != null) sb.append(v);
+            ends[i] = sb.length();
+        }
+        this.packed = sb.toString();
+    }
+
+    public DataRow(HeaderIndex header, String[] values) {
+        this(header, Arrays.asList(values));
+    }
+
+    /** 컬럼명 -> 값 맵으로 행 생성 (맵 순서를 헤더 순서로 사용) */
     public DataRow(Map<String, String> values) {
-        // 보존된 순서 유지
-        this.values = new LinkedHashMap<>(values);
+        this(new HeaderIndex(new ArrayList<>(values.keySet())), new ArrayList<>(values.values()));
     }
 
+    public HeaderIndex getHeader() {
+        return header;
+    }
+
+    /** 컬럼명 -> 값 맵 (요청 시 생성되는 읽기 전용 복사본) */
     public Map<String, String> getValues() {
-        return Collections.unmodifiableMap(values);
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            map.put(header.name(i), getValue(i));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /** 위치로 값 조회 (범위 밖이나 -1 이면 null) */
+    public String getValue(int index) {
+        if (index < 0 || index >= ends.length) return null;
+        return packed.substring(start(index), ends[index]);
     }
 
     public String getValue(String column) {
-        return values.get(column);
+        return getValue(header.indexOf(column));
     }
-}
 
+    /** 위치의 값을 문자열 생성 없이 sb 에 덧붙임 (범위 밖이면 아무것도 붙이지 않음) */
+    public void appendValue(int index, StringBuilder sb) {
+        if (index < 0 || index >= ends.length) return;
+        sb.append(packed, start(index), ends[index]);
+    }
+
+    /**
+     * 이 행의 index 값과 other 행의 otherIndex 값을 앞뒤 공백 제거(trim) 후 비교합니다.
+     * 없는 컬럼(-1)은 빈 문자열로 봅니다. 문자열을 새로 만들지 않습니다.
+     */
+    public boolean sameTrimmedValue(int index, DataRow other, int otherIndex) {
+        long a = trimmedRange(index);
+        long b = other.trimmedRange(otherIndex);
+        int aStart = (int) (a >>> 32), aEnd = (int) a;
+        int bStart = (int) (b >>> 32), bEnd = (int) b;
+        int len = aEnd - aStart;
+        return len == bEnd - bStart && packed.regionMatches(aStart, other.packed, bStart, len);
+    }
+
+    public int size() {
+        return ends.length;
+    }
+
+    private int start(int index) {
+        return index == 0 ? 0 : ends[index - 1];
+    }
+
+    /** String.trim 과 같은 규칙으로 공백을 뺀 [start, end) 구간 (상위 32비트 start, 하위 32비트 end) */
+    private long trimmedRange(int index) {
+        if (index < 0 || index >= ends.length) return 0L;
+        int s = start(index);
+        int e = ends[index];
+        while (s < e && packed.charAt(s) <= ' ') s++;
+        while (e > s && packed.charAt(e - 1) <= ' ') e--;
+        return ((long) s << 32) | e;
+    }
+}
@@ -0,0 +1,53 @@
+package service.csvCompare.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 헤더 컬럼명 -> 컬럼 위치 인덱스
+ *
+ * 한 CsvTable 의 모든 DataRow 가 같은 인스턴스를 공유하므로 컬럼명은 테이블당 한 번만 저장됩니다.
+ * 같은 이름의 컬럼이 여러 번 나오면 마지막 위치를 사용합니다(기존 Map 기반 행과 동일).
+ */
+public class HeaderIndex {
+    private final List<String> names;
+    private final Map<String, Integer> positions;
+
+    public HeaderIndex(List<String> names) {
+        this.names = Collections.unmodifiableList(new ArrayList<>(names));
+        this.positions = new HashMap<>(names.size() * 2);
+        for (int i = 0; i < names.size(); i++) {
+            positions.put(names.get(i), i);
+        }
+    }
+
+    /** 컬럼 위치 (없으면 -1) */
+    public int indexOf(String column) {
+        Integer pos = positions.get(column);
+        return pos == null ? -1 : pos;
+    }
+
+    /** 여러 컬럼의 위치를 한 번에 조회 (없는 컬럼은 -1) */
+    public int[] indexesOf(List<String> columns) {
+        int[] idx = new int[columns.size()];
+        for (int i = 0; i < idx.length; i++) {
+            idx[i] = indexOf(columns.get(i));
+        }
+        return idx;
+    }
+
+    public String name(int index) {
+        return names.get(index);
+    }
+
+    public List<String> names() {
+        return names;
+    }
+
+    public int size() {
+        return names.size();
+    }
+}
@@ -1,28 +1,51 @@
 package service.csvCompare.model;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
-/** 출력용 행: 값 + RESULT + DIFF_DETAIL */
+/** 출력용 행: 값(통합 헤더 순서 배열) + RESULT + DIFF_DETAIL */
 public class OutputRow {
-    private final Map<String, String> valuesInUnifiedHeaderOrder;
+    private final String[] values;
     private final ResultType resultType;
     private final String diffDetail;
 
-    public OutputRow(Map<String, String> baseValues, ResultType resultType, String diffDetail) {
-        // baseValues는 이미 unifiedHeaders 순서로 구성되었다고 가정
-        this.valuesInUnifiedHeaderOrder = new LinkedHashMap<>(baseValues);
+    /**
+     * @param values unifiedHeaders 순서의 값 (배열을 복사하지 않고 그대로 보관)
+     */
+    public OutputRow(String[] values, ResultType resultType, String diffDetail) {
+        this.values = values;
         this.resultType = resultType;
         this.diffDetail = diffDetail == null ? "" : diffDetail;
     }
 
+    public OutputRow(Map<String, String> baseValues, ResultType resultType, String diffDetail) {
+        // baseValues는 이미 unifiedHeaders 순서로 구성되었다고 가정
+        this(baseValues.values().toArray(new String[0]), resultType, diffDetail);
+    }
+
+    public int valueCount() {
+        return values.length;
+    }
+
+    public String getValue(int index) {
+        return values[index];
+    }
+
+    public ResultType getResultType() {
+        return resultType;
+    }
+
+    public String getDiffDetail() {
+        return diffDetail;
+    }
+
     public List<String> toOutputFields() {
-        List<String> fields = new ArrayList<>(valuesInUnifiedHeaderOrder.values());
+        List<String> fields = new ArrayList<>(values.length + 2);
+        fields.addAll(Arrays.asList(values));
         fields.add(resultType.name());
         fields.add(diffDetail);
         return fields;
     }
 }
-
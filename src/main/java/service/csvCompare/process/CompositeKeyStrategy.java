@@ -1,14 +1,23 @@
 package service.csvCompare.process;
 
+import service.csvCompare.model.DataRow;
+import service.csvCompare.model.HeaderIndex;
+
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /** 복합 키 전략: 지정된 컬럼들의 값을 결합하여 키 생성 */
 public class CompositeKeyStrategy implements KeyStrategy {
-    private static final char SEP = 0x1D; // Unit Separator: 충돌 최소화
+    private static final char SEP = RowKey.SEPARATOR; // Unit Separator: 충돌 최소화
+
+    /** 스레드별 재사용 키 생성기 */
+    private static final ThreadLocal<RowKey.Builder> BUILDER = ThreadLocal.withInitial(RowKey.Builder::new);
+
     private final List<String> keyColumns;
 
+    /** 마지막으로 사용한 헤더의 키 컬럼 위치 (테이블 단위로 한 번만 조회) */
+    private volatile ResolvedColumns resolved;
+
     public CompositeKeyStrategy(List<String> keyColumns) {
         if (keyColumns == null || keyColumns.isEmpty()) {
             throw new IllegalArgumentException("키 컬럼이 비어 있습니다.");
@@ -18,17 +27,58 @@ public class CompositeKeyStrategy implements KeyStrategy {
 
     @Override
     public String buildKey(Map<String, String> rowValues) {
-        return keyColumns.stream()
-                .map(c -> {
-                    String v = rowValues.get(c);
-                    return v == null ? "" : v;
-                })
-                .collect(Collectors.joining(String.valueOf(SEP)));
+        StringBuilder sb = new StringBuilder(keyColumns.size() * 16);
+        for (int i = 0; i < keyColumns.size(); i++) {
+            if (i > 0) sb.append(SEP);
+            String v = rowValues.get(keyColumns.get(i));
+            if (v != null) sb.append(v);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String buildKey(DataRow row) {
+        int[] idx = resolve(row.getHeader());
+        StringBuilder sb = new StringBuilder(idx.length * 16);
+        for (int i = 0; i < idx.length; i++) {
+            if (i > 0) sb.append(SEP);
+            row.appendValue(idx[i], sb);
+        }
+        return sb.toString();
+    }
+
+    /** 키 컬럼 위치 배열 + 재사용 빌더로 키 객체 생성 (키 객체 외 할당 없음) */
+    @Override
+    public RowKey buildRowKey(DataRow row) {
+        int[] idx = resolve(row.getHeader());
+        RowKey.Builder builder = BUILDER.get().reset();
+        for (int i : idx) {
+            builder.append(row, i);
+        }
+        return builder.build();
+    }
+
+    private int[] resolve(HeaderIndex header) {
+        ResolvedColumns r = resolved;
+        if (r == null || r.header != header) {
+            r = new ResolvedColumns(header, header.indexesOf(keyColumns));
+            resolved = r;
+        }
+        return r.indexes;
     }
 
     @Override
     public String toString() {
         return "CompositeKey" + keyColumns;
     }
-}
 
+    private static final class ResolvedColumns {
+        final HeaderIndex header;
+        final int[] indexes;
+
+        ResolvedColumns(HeaderIndex header, int[] indexes) {
+            this.header = header;
+            this.indexes = indexes;
+        }
+    }
+}
@@ -1,12 +1,26 @@
 package service.csvCompare.process;
 
+import service.csvCompare.io.CsvReader;
+import service.csvCompare.io.CsvRecordReader;
 import service.csvCompare.model.*;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /** 두 CSV 테이블을 비교하는 서비스 */
 public class CsvComparator {
 
+    /** 스레드당 파티션 수 (파티션 크기 편차를 줄이기 위해 스레드 수보다 많이 나눔) */
+    private static final int PARTITIONS_PER_THREAD = 4;
+
     /** 헤더 합집합(파일1 순서 우선, 파일2에만 있는 컬럼 뒤에 추가) */
     public List<String> unifyHeaders(List<String> h1, List<String> h2) {
         LinkedHashSet<String> set = new LinkedHashSet<>(h1);
@@ -19,77 +33,375 @@ public class CsvComparator {
                                          KeyStrategy keyStrategy,
                                          List<String> unifiedHeaders) {
 
-        Map<String, DataRow> map1 = toKeyedMap(t1, keyStrategy, "FILE1");
-        Map<String, DataRow> map2 = toKeyedMap(t2, keyStrategy, "FILE2");
+        Map<RowKey, DataRow> map1 = toKeyedMap(t1, keyStrategy, "FILE1");
+        Map<RowKey, DataRow> map2 = toKeyedMap(t2, keyStrategy, "FILE2");
+        Columns c1 = new Columns(unifiedHeaders);
+        Columns c2 = new Columns(unifiedHeaders);
 
         // 키 합집합 (file1 순서 우선)
-        LinkedHashSet<String> allKeys = new LinkedHashSet<>();
+        LinkedHashSet<RowKey> allKeys = new LinkedHashSet<>();
         allKeys.addAll(map1.keySet());
-        for (String k : map2.keySet()) if (!allKeys.contains(k)) allKeys.add(k);
+        for (RowKey k : map2.keySet()) if (!allKeys.contains(k)) allKeys.add(k);
 
         List<OutputRow> out = new ArrayList<>(allKeys.size());
-        for (String key : allKeys) {
+        for (RowKey key : allKeys) {
             DataRow r1 = map1.get(key);
             DataRow r2 = map2.get(key);
 
-            Map<String, String> baseValues = new LinkedHashMap<>();
-            for (String h : unifiedHeaders) {
-                String v = (r1 != null) ? r1.getValue(h) : (r2 != null ? r2.getValue(h) : "");
-                baseValues.put(h, v == null ? "" : v);
-            }
-
             ResultType result;
             String diffDetail = "";
 
             if (r1 != null && r2 != null) {
-                List<String> mismatched = new ArrayList<>();
-                for (String h : unifiedHeaders) {
-                    String a = normalize(r1.getValue(h));
-                    String b = normalize(r2.getValue(h));
-                    if (!Objects.equals(a, b)) mismatched.add(h);
-                }
-                if (mismatched.isEmpty()) {
-                    result = ResultType.MATCHED;
-                } else {
-                    result = ResultType.MISMATCHED;
-                    diffDetail = buildDiffDetail(mismatched, r1, r2);
-                }
+                diffDetail = diffDetailOrNull(r1, c1.of(r1), r2, c2.of(r2), unifiedHeaders);
+                result = diffDetail == null ? ResultType.MATCHED : ResultType.MISMATCHED;
             } else if (r1 != null) {
                 result = ResultType.ONLY_IN_FILE1;
             } else {
                 result = ResultType.ONLY_IN_FILE2;
             }
 
-            out.add(new OutputRow(baseValues, result, diffDetail));
+            out.add(new OutputRow(r1 != null ? baseValues(r1, c1.of(r1)) : baseValues(r2, c2.of(r2)), result, diffDetail));
         }
 
         return out;
     }
 
-    private Map<String, DataRow> toKeyedMap(CsvTable t, KeyStrategy keyStrategy, String tag) {
-        Map<String, DataRow> map = new LinkedHashMap<>();
+    /**
+     * 해시 파티션 병렬 비교: compareTables 와 같은 결과를 여러 스레드로 계산합니다.
+     *
+     * 1. 두 테이블의 키를 행 구간별로 병렬 생성
+     * 2. 키 해시로 행 번호를 파티션(threads x 4개)에 나눔 (같은 키는 항상 같은 파티션)
+     * 3. 파티션별로 키 맵 구성 + 행 비교를 병렬 수행, 결과는 원래 행 위치의 배열 칸에 기록
+     * 4. 파일1 행 순서, 이어서 파일2 전용 행 순서로 결과를 모음
+     *
+     * 키 중복 시 compareTables 와 같이 파일1을 먼저 보고, 각 파일에서 처음 중복된 행의 키로 예외를 냅니다.
+     *
+     * @param threads 사용할 스레드 수 (1 이하면 compareTables 와 동일하게 단일 스레드 처리)
+     */
+    public List<OutputRow> compareTablesPartitioned(CsvTable t1, CsvTable t2,
+                                                    KeyStrategy keyStrategy,
+                                                    List<String> unifiedHeaders,
+                                                    int threads) {
+        if (threads <= 1) {
+            return compareTables(t1, t2, keyStrategy, unifiedHeaders);
+        }
+
+        List<DataRow> rows1 = t1.getRows();
+        List<DataRow> rows2 = t2.getRows();
+        int partitions = threads * PARTITIONS_PER_THREAD;
+        ExecutorService executor = Executors.newFixedThreadPool(threads, newThreadFactory());
+        try {
+            RowKey[] keys1 = buildKeys(rows1, keyStrategy, executor, threads);
+            RowKey[] keys2 = buildKeys(rows2, keyStrategy, executor, threads);
+            int[][] parts1 = partition(keys1, partitions);
+            int[][] parts2 = partition(keys2, partitions);
+
+            OutputRow[] out1 = new OutputRow[rows1.size()];
+            OutputRow[] out2 = new OutputRow[rows2.size()];
+            List<Callable<int[]>> tasks = new ArrayList<>(partitions);
+            for (int p = 0; p < partitions; p++) {
+                int[] idx1 = parts1[p];
+                int[] idx2 = parts2[p];
+                tasks.add(() -> comparePartition(idx1, idx2, rows1, rows2, keys1, keys2, unifiedHeaders, out1, out2));
+            }
+
+            int firstDup1 = Integer.MAX_VALUE;
+            int firstDup2 = Integer.MAX_VALUE;
+            for (int[] dup : invokeAll(executor, tasks)) {
+                firstDup1 = Math.min(firstDup1, dup[0]);
+                firstDup2 = Math.min(firstDup2, dup[1]);
+            }
+            if (firstDup1 != Integer.MAX_VALUE) {
+                throw duplicateKey("FILE1", keys1[firstDup1].toString(), keyStrategy);
+            }
+            if (firstDup2 != Integer.MAX_VALUE) {
+                throw duplicateKey("FILE2", keys2[firstDup2].toString(), keyStrategy);
+            }
+
+            List<OutputRow> out = new ArrayList<>(out1.length + out2.length);
+            Collections.addAll(out, out1);
+            for (OutputRow row : out2) {
+                if (row != null) out.add(row);
+            }
+            return out;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 파티션 하나 비교. 결과는 out1[파일1 행 번호], out2[파일2 전용 행 번호] 에 기록합니다.
+     *
+     * @return {파일1 첫 중복 행 번호, 파일2 첫 중복 행 번호} (없으면 Integer.MAX_VALUE)
+     */
+    private static int[] comparePartition(int[] idx1, int[] idx2,
+                                          List<DataRow> rows1, List<DataRow> rows2,
+                                          RowKey[] keys1, RowKey[] keys2,
+                                          List<String> unifiedHeaders,
+                                          OutputRow[] out1, OutputRow[] out2) {
+        int[] dup = {Integer.MAX_VALUE, Integer.MAX_VALUE};
+
+        // 행 번호 오름차순이므로 처음 발견한 중복이 이 파티션의 가장 앞선 중복
+        Map<RowKey, Integer> map1 = new HashMap<>(Math.max(16, idx1.length * 4 / 3 + 1));
+        for (int i : idx1) {
+            if (map1.putIfAbsent(keys1[i], i) != null) {
+                dup[0] = i;
+                return dup;
+            }
+        }
+
+        Columns c1 = new Columns(unifiedHeaders);
+        Columns c2 = new Columns(unifiedHeaders);
+        Set<RowKey> seen2 = new HashSet<>(Math.max(16, idx2.length * 4 / 3 + 1));
+        for (int j : idx2) {
+            RowKey key = keys2[j];
+            if (!seen2.add(key)) {
+                dup[1] = j;
+                return dup;
+            }
+            Integer i = map1.get(key);
+            DataRow r2 = rows2.get(j);
+            if (i != null) {
+                DataRow r1 = rows1.get(i);
+                String diffDetail = diffDetailOrNull(r1, c1.of(r1), r2, c2.of(r2), unifiedHeaders);
+                ResultType result = diffDetail == null ? ResultType.MATCHED : ResultType.MISMATCHED;
+                out1[i] = new OutputRow(baseValues(r1, c1.of(r1)), result, diffDetail);
+            } else {
+                out2[j] = new OutputRow(baseValues(r2, c2.of(r2)), ResultType.ONLY_IN_FILE2, "");
+            }
+        }
+
+        for (int i : idx1) {
+            if (out1[i] == null) {
+                DataRow r1 = rows1.get(i);
+                out1[i] = new OutputRow(baseValues(r1, c1.of(r1)), ResultType.ONLY_IN_FILE1, "");
+            }
+        }
+        return dup;
+    }
+
+    /** 행 구간을 스레드 수만큼 나눠 키를 병렬 생성 */
+    private static RowKey[] buildKeys(List<DataRow> rows, KeyStrategy keyStrategy,
+                                      ExecutorService executor, int threads) {
+        RowKey[] keys = new RowKey[rows.size()];
+        int chunk = (rows.size() + threads - 1) / threads;
+        List<Callable<int[]>> tasks = new ArrayList<>(threads);
+        for (int from = 0; from < rows.size(); from += chunk) {
+            int start = from;
+            int end = Math.min(rows.size(), from + chunk);
+            tasks.add(() -> {
+                for (int i = start; i < end; i++) {
+                    keys[i] = keyStrategy.buildRowKey(rows.get(i));
+                }
+                return null;
+            });
+        }
+        invokeAll(executor, tasks);
+        return keys;
+    }
+
+    /** 키 해시로 행 번호를 파티션별 오름차순 배열로 분배 (계수 정렬) */
+    private static int[][] partition(RowKey[] keys, int partitions) {
+        int[] bucket = new int[keys.length];
+        int[] counts = new int[partitions];
+        for (int i = 0; i < keys.length; i++) {
+            int h = keys[i].hashCode();
+            h ^= (h >>> 16);
+            bucket[i] = (h & 0x7fffffff) % partitions;
+            counts[bucket[i]]++;
+        }
+        int[][] parts = new int[partitions][];
+        for (int p = 0; p < partitions; p++) {
+            parts[p] = new int[counts[p]];
+        }
+        int[] fill = new int[partitions];
+        for (int i = 0; i < keys.length; i++) {
+            int p = bucket[i];
+            parts[p][fill[p]++] = i;
+        }
+        return parts;
+    }
+
+    private static <T> List<T> invokeAll(ExecutorService executor, List<Callable<T>> tasks) {
+        try {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("병렬 비교 중 인터럽트 발생", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException("병렬 비교 실패", cause);
+        }
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "csv-compare-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * 스트리밍 비교: 파일1 테이블만 메모리에 두고 파일2는 CsvRecordReader 로 두 번 스트리밍합니다.
+     *
+     * 1차 스캔에서 파일2의 각 행을 파일1 행과 비교해 결과(RESULT/DIFF_DETAIL)만 기록하고,
+     * 파일1 순서로 결과를 내보낸 뒤 2차 스캔에서 파일2에만 있는 행을 파일2 순서로 내보냅니다.
+     * 출력 순서와 내용은 compareTables 와 동일하며, 파일2는 키 집합만 메모리에 유지합니다.
+     *
+     * @param sink 결과 행을 순서대로 받는 함수 (예: CsvWriter.RowWriter::write)
+     * @return 출력한 행 수
+     */
+    public long compareStreaming(CsvTable t1, Path file2,
+                                 KeyStrategy keyStrategy,
+                                 List<String> unifiedHeaders,
+                                 RowSink sink) throws IOException {
+
+        List<DataRow> rows1 = t1.getRows();
+        Columns c1 = new Columns(unifiedHeaders);
+        Columns c2 = new Columns(unifiedHeaders);
+        Map<RowKey, Integer> index1 = new HashMap<>(Math.max(16, rows1.size() * 4 / 3 + 1));
+        for (int i = 0; i < rows1.size(); i++) {
+            RowKey key = keyStrategy.buildRowKey(rows1.get(i));
+            if (index1.putIfAbsent(key, i) != null) {
+                throw duplicateKey("FILE1", key.toString(), keyStrategy);
+            }
+        }
+
+        // 파일1 행별 비교 결과 (null = 파일2에 없음)
+        ResultType[] results = new ResultType[rows1.size()];
+        String[] diffDetails = new String[rows1.size()];
+        Set<RowKey> keys2 = new HashSet<>();
+
+        try (CsvRecordReader reader = CsvRecordReader.open(file2)) {
+            HeaderIndex headers2 = readHeader(reader, file2);
+            List<String> rec;
+            while ((rec = reader.readRecord()) != null) {
+                DataRow r2 = CsvReader.toRow(headers2, rec);
+                RowKey key = keyStrategy.buildRowKey(r2);
+                if (!keys2.add(key)) {
+                    throw duplicateKey("FILE2", key.toString(), keyStrategy);
+                }
+                Integer i = index1.get(key);
+                if (i != null) {
+                    DataRow r1 = rows1.get(i);
+                    String diffDetail = diffDetailOrNull(r1, c1.of(r1), r2, c2.of(r2), unifiedHeaders);
+                    results[i] = diffDetail == null ? ResultType.MATCHED : ResultType.MISMATCHED;
+                    diffDetails[i] = diffDetail;
+                }
+            }
+        }
+
+        long count = 0;
+        for (int i = 0; i < rows1.size(); i++) {
+            ResultType result = results[i] == null ? ResultType.ONLY_IN_FILE1 : results[i];
+            DataRow r1 = rows1.get(i);
+            sink.accept(new OutputRow(baseValues(r1, c1.of(r1)), result, diffDetails[i]));
+            count++;
+        }
+
+        try (CsvRecordReader reader = CsvRecordReader.open(file2)) {
+            HeaderIndex headers2 = readHeader(reader, file2);
+            List<String> rec;
+            while ((rec = reader.readRecord()) != null) {
+                DataRow r2 = CsvReader.toRow(headers2, rec);
+                if (!index1.containsKey(keyStrategy.buildRowKey(r2))) {
+                    sink.accept(new OutputRow(baseValues(r2, c2.of(r2)), ResultType.ONLY_IN_FILE2, ""));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private Map<RowKey, DataRow> toKeyedMap(CsvTable t, KeyStrategy keyStrategy, String tag) {
+        Map<RowKey, DataRow> map = new LinkedHashMap<>();
         for (DataRow row : t.getRows()) {
-            String key = keyStrategy.buildKey(row.getValues());
-            if (map.containsKey(key)) {
-                throw new IllegalStateException("키 중복 감지(" + tag + "): " + key + " (키전략=" + keyStrategy + ")");
+            RowKey key = keyStrategy.buildRowKey(row);
+            if (map.putIfAbsent(key, row) != null) {
+                throw duplicateKey(tag, key.toString(), keyStrategy);
             }
-            map.put(key, row);
         }
         return map;
     }
 
-    private String buildDiffDetail(List<String> cols, DataRow r1, DataRow r2) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < cols.size(); i++) {
-            String c = cols.get(i);
-            String v1 = safe(r1.getValue(c));
-            String v2 = safe(r2.getValue(c));
-            if (i > 0) sb.append("; ");
-            sb.append(c).append(": '").append(v1).append("' -> '").append(v2).append("'");
+    static IllegalStateException duplicateKey(String tag, String key, KeyStrategy keyStrategy) {
+        return new IllegalStateException("키 중복 감지(" + tag + "): " + key + " (키전략=" + keyStrategy + ")");
+    }
+
+    static HeaderIndex readHeader(CsvRecordReader reader, Path path) throws IOException {
+        List<String> headers = reader.readRecord();
+        if (headers == null) {
+            throw new IllegalStateException("헤더가 없습니다: " + path);
+        }
+        return new HeaderIndex(headers);
+    }
+
+    /** 출력 값: unifiedHeaders 순서의 값 배열 (행에 없는 컬럼은 빈 문자열) */
+    static String[] baseValues(DataRow row, int[] columns) {
+        String[] values = new String[columns.length];
+        for (int h = 0; h < columns.length; h++) {
+            String v = row.getValue(columns[h]);
+            values[h] = v == null ? "" : v;
+        }
+        return values;
+    }
+
+    /**
+     * 두 행의 값이 모두 같으면 null, 다르면 DIFF_DETAIL 문자열
+     * 형식: 컬럼명: '값1' -> '값2'; 컬럼명2: ...
+     */
+    static String diffDetailOrNull(DataRow r1, int[] c1, DataRow r2, int[] c2, List<String> unifiedHeaders) {
+        StringBuilder sb = null;
+        for (int h = 0; h < c1.length; h++) {
+            if (r1.sameTrimmedValue(c1[h], r2, c2[h])) continue;
+
+            String v1 = r1.getValue(c1[h]);
+            String v2 = r2.getValue(c2[h]);
+            if (sb == null) {
+                sb = new StringBuilder();
+            } else {
+                sb.append("; ");
+            }
+            sb.append(unifiedHeaders.get(h)).append(": '").append(safe(v1)).append("' -> '").append(safe(v2)).append("'");
         }
-        return sb.toString();
+        return sb == null ? null : sb.toString();
     }
 
     private static String safe(String s) { return s == null ? "" : s; }
-    private static String normalize(String s) { return s == null ? "" : s.trim(); }
+
+    /**
+     * unifiedHeaders 각 컬럼의 행 내 위치 캐시
+     * 같은 테이블의 행들은 HeaderIndex 를 공유하므로 위치 계산은 헤더가 바뀔 때만 수행됩니다.
+     */
+    static final class Columns {
+        private final List<String> unifiedHeaders;
+        private HeaderIndex header;
+        private int[] positions;
+
+        Columns(List<String> unifiedHeaders) {
+            this.unifiedHeaders = unifiedHeaders;
+        }
+
+        int[] of(DataRow row) {
+            if (row.getHeader() != header) {
+                header = row.getHeader();
+                positions = header.indexesOf(unifiedHeaders);
+            }
+            return positions;
+        }
+    }
+
+    /** 비교 결과 행을 순서대로 받는 함수 */
+    @FunctionalInterface
+    public interface RowSink {
+        void accept(OutputRow row) throws IOException;
+    }
 }
@@ -0,0 +1,176 @@
+package service.csvCompare.process;
+
+import service.csvCompare.io.CsvRecordReader;
+import service.csvCompare.model.DataRow;
+import service.csvCompare.model.HeaderIndex;
+import service.csvCompare.model.OutputRow;
+import service.csvCompare.model.ResultType;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 외부 정렬 + 병합 조인 방식의 대용량 CSV 비교 엔진
+ *
+ * 처리 순서:
+ * 1. 각 파일을 스트리밍으로 읽어 (키, 행 번호) 순으로 외부 정렬 (메모리 한도를 넘으면 런 파일로 분할)
+ * 2. 정렬된 두 스트림을 키 순서로 병합 조인하여 MATCHED/MISMATCHED/ONLY_IN_FILE1/ONLY_IN_FILE2 판정
+ * 3. 결과를 (파일1 행 순서, 이어서 파일2 전용 행 순서)로 다시 외부 정렬하여 출력
+ *
+ * 3단계 덕분에 출력 순서와 내용(DIFF_DETAIL 포함)이 CsvComparator.compareTables 와 동일합니다.
+ * 메모리 사용량은 memoryBudget (세 정렬기가 1/3씩 사용) + 병합 시 런별 읽기 버퍼로 제한됩니다.
+ *
+ * 키 중복은 정렬된 스트림에서 인접한 같은 키로 검출하며, 양쪽 파일에 모두 중복이 있으면
+ * 병합 중 먼저 만나는 쪽을 보고합니다.
+ */
+public class ExternalSortComparator {
+
+    public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    private static final String ORDER_FILE1 = "1";
+    private static final String ORDER_FILE2_ONLY = "2";
+
+    private final long memoryBudget;
+    private final Path tempDir;
+
+    public ExternalSortComparator() {
+        this(DEFAULT_MEMORY_BUDGET, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * @param memoryBudget 정렬 버퍼 전체 메모리 한도 (추정 바이트)
+     * @param tempDir 런 파일을 만들 디렉터리
+     */
+    public ExternalSortComparator(long memoryBudget, Path tempDir) {
+        this.memoryBudget = memoryBudget;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * 두 파일을 비교하여 결과 행을 순서대로 sink 에 전달합니다.
+     *
+     * @return 출력한 행 수
+     */
+    public long compare(Path file1, Path file2,
+                        KeyStrategy keyStrategy,
+                        List<String> unifiedHeaders,
+                        CsvComparator.RowSink sink) throws IOException {
+
+        long share = Math.max(1, memoryBudget / 3);
+        try (ExternalSorter sorter1 = new ExternalSorter(share, tempDir);
+             ExternalSorter sorter2 = new ExternalSorter(share, tempDir);
+             ExternalSorter output = new ExternalSorter(share, tempDir)) {
+
+            HeaderIndex h1 = sortByKey(file1, keyStrategy, sorter1);
+            HeaderIndex h2 = sortByKey(file2, keyStrategy, sorter2);
+            System.out.println("[ExternalSort] FILE1 rows=" + sorter1.getRecordCount() + ", spills=" + sorter1.getSpillCount()
+                    + " / FILE2 rows=" + sorter2.getRecordCount() + ", spills=" + sorter2.getSpillCount());
+
+            mergeJoin(sorter1, h1, sorter2, h2, keyStrategy, unifiedHeaders, output);
+
+            long count = 0;
+            int valueCount = unifiedHeaders.size();
+            try (ExternalSorter.RecordCursor cursor = output.sorted()) {
+                ExternalSorter.SortRecord r;
+                while ((r = cursor.next()) != null) {
+                    List<String> fields = r.getFields();
+                    String[] values = fields.subList(0, valueCount).toArray(new String[0]);
+                    ResultType result = ResultType.valueOf(fields.get(valueCount));
+                    sink.accept(new OutputRow(values, result, fields.get(valueCount + 1)));
+                    count++;
+                }
+            }
+            System.out.println("[ExternalSort] output rows=" + count + ", spills=" + output.getSpillCount());
+            return count;
+        }
+    }
+
+    /** 파일을 스트리밍으로 읽어 (키, 행 번호) 순 정렬기에 추가하고 헤더를 반환 */
+    private HeaderIndex sortByKey(Path file, KeyStrategy keyStrategy, ExternalSorter sorter) throws IOException {
+        try (CsvRecordReader reader = CsvRecordReader.open(file)) {
+            HeaderIndex header = CsvComparator.readHeader(reader, file);
+            long rowNo = 0;
+            List<String> rec;
+            while ((rec = reader.readRecord()) != null) {
+                String key = keyStrategy.buildKey(new DataRow(header, rec));
+                sorter.add(key, rowNo++, rec);
+            }
+            return header;
+        }
+    }
+
+    private void mergeJoin(ExternalSorter sorter1, HeaderIndex h1,
+                           ExternalSorter sorter2, HeaderIndex h2,
+                           KeyStrategy keyStrategy, List<String> unifiedHeaders,
+                           ExternalSorter output) throws IOException {
+        CsvComparator.Columns c1 = new CsvComparator.Columns(unifiedHeaders);
+        CsvComparator.Columns c2 = new CsvComparator.Columns(unifiedHeaders);
+
+        try (ExternalSorter.RecordCursor cursor1 = sorter1.sorted();
+             ExternalSorter.RecordCursor cursor2 = sorter2.sorted()) {
+            UniqueKeyCursor in1 = new UniqueKeyCursor(cursor1, "FILE1", keyStrategy);
+            UniqueKeyCursor in2 = new UniqueKeyCursor(cursor2, "FILE2", keyStrategy);
+            ExternalSorter.SortRecord r1 = in1.next();
+            ExternalSorter.SortRecord r2 = in2.next();
+
+            while (r1 != null || r2 != null) {
+                int cmp = r1 == null ? 1 : r2 == null ? -1 : r1.getKey().compareTo(r2.getKey());
+                if (cmp == 0) {
+                    DataRow d1 = new DataRow(h1, r1.getFields());
+                    DataRow d2 = new DataRow(h2, r2.getFields());
+                    String diffDetail = CsvComparator.diffDetailOrNull(d1, c1.of(d1), d2, c2.of(d2), unifiedHeaders);
+                    ResultType result = diffDetail == null ? ResultType.MATCHED : ResultType.MISMATCHED;
+                    output.add(ORDER_FILE1, r1.getSeq(), outputFields(CsvComparator.baseValues(d1, c1.of(d1)), result, diffDetail));
+                    r1 = in1.next();
+                    r2 = in2.next();
+                } else if (cmp < 0) {
+                    DataRow d1 = new DataRow(h1, r1.getFields());
+                    output.add(ORDER_FILE1, r1.getSeq(), outputFields(CsvComparator.baseValues(d1, c1.of(d1)), ResultType.ONLY_IN_FILE1, null));
+                    r1 = in1.next();
+                } else {
+                    DataRow d2 = new DataRow(h2, r2.getFields());
+                    output.add(ORDER_FILE2_ONLY, r2.getSeq(), outputFields(CsvComparator.baseValues(d2, c2.of(d2)), ResultType.ONLY_IN_FILE2, null));
+                    r2 = in2.next();
+                }
+            }
+        }
+    }
+
+    /** 출력 정렬용 필드: 값들 + RESULT + DIFF_DETAIL */
+    private static List<String> outputFields(String[] values, ResultType result, String diffDetail) {
+        List<String> fields = new ArrayList<>(values.length + 2);
+        fields.addAll(Arrays.asList(values));
+        fields.add(result.name());
+        fields.add(diffDetail == null ? "" : diffDetail);
+        return fields;
+    }
+
+    /** 정렬된 커서에서 인접한 같은 키(중복 키)를 검출하는 래퍼 */
+    private static final class UniqueKeyCursor {
+        private final ExternalSorter.RecordCursor cursor;
+        private final String tag;
+        private final KeyStrategy keyStrategy;
+        private String previousKey;
+
+        UniqueKeyCursor(ExternalSorter.RecordCursor cursor, String tag, KeyStrategy keyStrategy) {
+            this.cursor = cursor;
+            this.tag = tag;
+            this.keyStrategy = keyStrategy;
+        }
+
+        ExternalSorter.SortRecord next() throws IOException {
+            ExternalSorter.SortRecord r = cursor.next();
+            if (r != null) {
+                if (r.getKey().equals(previousKey)) {
+                    throw CsvComparator.duplicateKey(tag, r.getKey(), keyStrategy);
+                }
+                previousKey = r.getKey();
+            }
+            return r;
+        }
+    }
+}
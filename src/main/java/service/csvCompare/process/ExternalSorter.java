@@ -0,0 +1,264 @@
+package service.csvCompare.process;
+
+import service.csvCompare.io.CsvRecordReader;
+import service.csvCompare.io.CsvWriter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 메모리 한도를 넘으면 정렬된 런(run)을 임시 파일로 내보내는 외부 정렬기
+ *
+ * 레코드는 (정렬 키 문자열, 순번) 순으로 정렬됩니다. 버퍼의 추정 크기가 memoryBudget 을 넘을 때마다
+ * 버퍼를 정렬해 CSV 형식 런 파일로 기록하고, sorted() 에서 런들을 k-way 병합합니다.
+ * 런 수가 MAX_FAN_IN 을 넘으면 중간 병합으로 줄인 뒤 최종 병합합니다.
+ * 한 번도 넘치지 않았다면 디스크를 쓰지 않고 메모리에서 정렬합니다.
+ *
+ * close() 시 모든 임시 파일을 삭제합니다. 런 파일은 만들자마자 runs 에 등록하므로 기록 중 오류가 나도
+ * close() 에서 지워집니다 (deleteOnExit 는 JVM 종료까지 경로를 쌓아두므로 사용하지 않음).
+ */
+public class ExternalSorter implements Closeable {
+
+    /** 한 번에 병합하는 최대 런 수 (동시에 여는 파일 수) */
+    public static final int MAX_FAN_IN = 64;
+
+    private static final Comparator<SortRecord> ORDER =
+            Comparator.comparing((SortRecord r) -> r.key).thenComparingLong(r -> r.seq);
+
+    private final long memoryBudget;
+    private final Path tempDir;
+    private final List<SortRecord> buffer = new ArrayList<>();
+    private final List<Path> runs = new ArrayList<>();
+    private final List<Closeable> openCursors = new ArrayList<>();
+    private long bufferedBytes;
+    private long recordCount;
+    private int spillCount;
+
+    /**
+     * @param memoryBudget 메모리 버퍼 한도 (추정 바이트)
+     * @param tempDir 런 파일을 만들 디렉터리
+     */
+    public ExternalSorter(long memoryBudget, Path tempDir) {
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("메모리 한도는 0보다 커야 합니다: " + memoryBudget);
+        }
+        this.memoryBudget = memoryBudget;
+        this.tempDir = tempDir;
+    }
+
+    public void add(String key, long seq, List<String> fields) throws IOException {
+        SortRecord record = new SortRecord(key, seq, fields);
+        buffer.add(record);
+        bufferedBytes += record.estimateBytes();
+        recordCount++;
+        if (bufferedBytes >= memoryBudget) {
+            spill();
+        }
+    }
+
+    /**
+     * 추가된 모든 레코드를 정렬 순서로 읽는 커서를 반환합니다. 이후 add 는 호출하면 안 됩니다.
+     */
+    public RecordCursor sorted() throws IOException {
+        if (runs.isEmpty()) {
+            buffer.sort(ORDER);
+            Iterator<SortRecord> it = buffer.iterator();
+            return register(() -> it.hasNext() ? it.next() : null);
+        }
+
+        if (!buffer.isEmpty()) {
+            spill();
+        }
+        while (runs.size() > MAX_FAN_IN) {
+            // 병합이 끝날 때까지 group 도 runs 에 남겨 둠 (실패해도 close() 가 삭제)
+            List<Path> group = new ArrayList<>(runs.subList(0, MAX_FAN_IN));
+            Path merged = newRunFile();
+            try (MergeCursor cursor = new MergeCursor(group)) {
+                writeRun(merged, cursor);
+            }
+            for (Path p : group) {
+                Files.deleteIfExists(p);
+            }
+            runs.subList(0, MAX_FAN_IN).clear();
+        }
+        return register(new MergeCursor(runs));
+    }
+
+    /** 추가된 레코드 수 */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /** 디스크로 내보낸 횟수 (0이면 메모리 정렬만 수행) */
+    public int getSpillCount() {
+        return spillCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Closeable c : openCursors) {
+            c.close();
+        }
+        openCursors.clear();
+        buffer.clear();
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        runs.clear();
+    }
+
+    private RecordCursor register(RecordCursor cursor) {
+        openCursors.add(cursor);
+        return cursor;
+    }
+
+    private void spill() throws IOException {
+        buffer.sort(ORDER);
+        Path run = newRunFile();
+        Iterator<SortRecord> it = buffer.iterator();
+        writeRun(run, () -> it.hasNext() ? it.next() : null);
+        buffer.clear();
+        bufferedBytes = 0;
+        spillCount++;
+    }
+
+    /**
+     * 새 런 파일을 만들고 runs 에 등록합니다 (close() 에서 삭제).
+     */
+    private Path newRunFile() throws IOException {
+        Path run = Files.createTempFile(tempDir, "csvcompare-run-", ".csv");
+        runs.add(run);
+        return run;
+    }
+
+    /** 런 파일 형식: 정렬 키, 순번, 필드들 (CSV 한 줄) */
+    private static void writeRun(Path run, RecordCursor cursor) throws IOException {
+        try (BufferedWriter bw = Files.newBufferedWriter(run, StandardCharsets.UTF_8)) {
+            List<String> line = new ArrayList<>();
+            SortRecord r;
+            while ((r = cursor.next()) != null) {
+                line.clear();
+                line.add(r.key);
+                line.add(Long.toString(r.seq));
+                line.addAll(r.fields);
+                CsvWriter.writeRow(bw, line);
+            }
+        }
+    }
+
+    private static SortRecord readRecord(CsvRecordReader reader) throws IOException {
+        List<String> line = reader.readRecord();
+        if (line == null) {
+            return null;
+        }
+        return new SortRecord(line.get(0), Long.parseLong(line.get(1)), line.subList(2, line.size()));
+    }
+
+    /** 정렬 단위 레코드 */
+    public static final class SortRecord {
+        private final String key;
+        private final long seq;
+        private final List<String> fields;
+
+        SortRecord(String key, long seq, List<String> fields) {
+            this.key = key;
+            this.seq = seq;
+            this.fields = fields;
+        }
+
+        public String getKey() { return key; }
+        public long getSeq() { return seq; }
+        public List<String> getFields() { return fields; }
+
+        /** 힙 사용량 추정치 (객체 헤더 + 문자열) */
+        long estimateBytes() {
+            long bytes = 64 + 40 + 2L * key.length() + 16 + 4L * fields.size();
+            for (String f : fields) {
+                bytes += 40 + 2L * f.length();
+            }
+            return bytes;
+        }
+    }
+
+    /** 정렬된 레코드를 하나씩 읽는 커서 (끝이면 null) */
+    @FunctionalInterface
+    public interface RecordCursor extends Closeable {
+        SortRecord next() throws IOException;
+
+        @Override
+        default void close() throws IOException {
+        }
+    }
+
+    /** 런 파일들의 k-way 병합 커서 */
+    private static final class MergeCursor implements RecordCursor {
+        private final PriorityQueue<Head> heads = new PriorityQueue<>();
+        private final List<CsvRecordReader> readers = new ArrayList<>();
+
+        MergeCursor(List<Path> runFiles) throws IOException {
+            try {
+                for (int i = 0; i < runFiles.size(); i++) {
+                    CsvRecordReader reader = CsvRecordReader.open(runFiles.get(i), StandardCharsets.UTF_8, 16 * 1024);
+                    readers.add(reader);
+                    SortRecord first = readRecord(reader);
+                    if (first != null) {
+                        heads.add(new Head(first, reader, i));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public SortRecord next() throws IOException {
+            Head head = heads.poll();
+            if (head == null) {
+                return null;
+            }
+            SortRecord current = head.record;
+            SortRecord following = readRecord(head.reader);
+            if (following != null) {
+                heads.add(new Head(following, head.reader, head.runIndex));
+            }
+            return current;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (CsvRecordReader reader : readers) {
+                reader.close();
+            }
+            readers.clear();
+            heads.clear();
+        }
+    }
+
+    private static final class Head implements Comparable<Head> {
+        final SortRecord record;
+        final CsvRecordReader reader;
+        final int runIndex;
+
+        Head(SortRecord record, CsvRecordReader reader, int runIndex) {
+            this.record = record;
+            this.reader = reader;
+            this.runIndex = runIndex;
+        }
+
+        @Override
+        public int compareTo(Head o) {
+            int c = ORDER.compare(record, o.record);
+            return c != 0 ? c : Integer.compare(runIndex, o.runIndex);
+        }
+    }
+}
@@ -1,9 +1,23 @@
 package service.csvCompare.process;
 
+import service.csvCompare.model.DataRow;
+
 import java.util.Map;
 
 /** 키 생성 전략 */
 public interface KeyStrategy {
     String buildKey(Map<String, String> rowValues);
-}
 
+    /** 행에서 직접 키 생성 (기본 구현은 맵으로 변환 후 buildKey 호출, 구현체에서 재정의 권장) */
+    default String buildKey(DataRow row) {
+        return buildKey(row.getValues());
+    }
+
+    /**
+     * 비교용 키 객체 생성 (해시 맵 조회용). 기본 구현은 buildKey 문자열을 값 하나짜리 키로 감쌉니다.
+     * 같은 전략 안에서 buildKey 결과가 같으면 같은 키여야 합니다.
+     */
+    default RowKey buildRowKey(DataRow row) {
+        return RowKey.of(buildKey(row));
+    }
+}
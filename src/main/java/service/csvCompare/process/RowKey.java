@@ -0,0 +1,148 @@
+package service.csvCompare.process;
+
+import service.csvCompare.model.DataRow;
+
+import java.util.Arrays;
+
+/**
+ * 비교용 행 키: 키 컬럼 값들을 구분자로 이어 붙인 문자열 대신 쓰는 작은 불변 키 객체
+ *
+ * 값들을 이어 붙인 문자와 값 경계 위치를 문자열 하나에 담고, 해시는 생성 시 한 번만 계산합니다.
+ * equals 는 값 개수와 내용을 직접 비교하므로 값 안에 구분자 문자가 있어도 키가 섞이지 않습니다.
+ * 생성에는 스레드별로 재사용하는 Builder 를 사용하세요 (키 객체와 문자열 외 할당 없음).
+ *
+ * 문자열 구성: [값0][값1]...[값n-1][경계0]...[경계n-2]
+ * 경계는 값 부분 길이가 0xFFFF 미만이면 문자 하나, 아니면 상위/하위 16비트 두 문자로 저장합니다.
+ * (경계 값이 256 미만이면 Latin-1 범위라 compact string 그대로 유지됨)
+ */
+public final class RowKey {
+
+    /** toString 에서 값 사이에 넣는 구분자 (Unit Separator) */
+    public static final char SEPARATOR = 0x1D;
+
+    private final String chars;
+    private final int fieldCount;
+    private final int hash;
+
+    private RowKey(String chars, int fieldCount) {
+        this.chars = chars;
+        this.fieldCount = fieldCount;
+        this.hash = 31 * chars.hashCode() + fieldCount;
+    }
+
+    /** 값 목록으로 키 생성 (null 은 빈 문자열) */
+    public static RowKey of(String... values) {
+        Builder builder = new Builder();
+        for (String v : values) {
+            builder.append(v);
+        }
+        return builder.build();
+    }
+
+    /** 키 값 개수 */
+    public int size() {
+        return fieldCount;
+    }
+
+    /** 위치의 키 값 */
+    public String get(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("키 위치 범위 밖: " + index + " (크기=" + fieldCount + ")");
+        }
+        return chars.substring(start(index), end(index));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RowKey)) return false;
+        RowKey other = (RowKey) o;
+        return hash == other.hash && fieldCount == other.fieldCount && chars.equals(other.chars);
+    }
+
+    /** 값들을 SEPARATOR 로 이어 붙인 문자열 (KeyStrategy.buildKey 결과와 같은 형식) */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(chars.length());
+        for (int i = 0; i < fieldCount; i++) {
+            if (i > 0) sb.append(SEPARATOR);
+            sb.append(chars, start(i), end(i));
+        }
+        return sb.toString();
+    }
+
+    private int dataLength() {
+        return fieldCount <= 1 ? chars.length() : chars.length() - boundaryWidth() * (fieldCount - 1);
+    }
+
+    /** 경계 한 개의 문자 수 (두 문자 형식으로 가정한 값 부분 길이가 0xFFFF 이상일 때만 두 문자) */
+    private int boundaryWidth() {
+        return chars.length() - 2 * (fieldCount - 1) >= 0xFFFF ? 2 : 1;
+    }
+
+    private int start(int index) {
+        return index == 0 ? 0 : end(index - 1);
+    }
+
+    private int end(int index) {
+        if (index == fieldCount - 1) {
+            return dataLength();
+        }
+        int p = dataLength() + boundaryWidth() * index;
+        return boundaryWidth() == 1 ? chars.charAt(p) : (chars.charAt(p) << 16) | chars.charAt(p + 1);
+    }
+
+    /**
+     * RowKey 생성기: 내부 버퍼를 재사용하므로 행마다 build() 결과 외의 할당이 없습니다.
+     * 스레드 안전하지 않으므로 스레드별로 하나씩 사용하세요.
+     */
+    public static final class Builder {
+        private final StringBuilder buf = new StringBuilder(64);
+        private int[] ends = new int[8];
+        private int count;
+
+        /** 새 키 작성을 시작 (build() 후 자동으로 호출됨) */
+        public Builder reset() {
+            buf.setLength(0);
+            count = 0;
+            return this;
+        }
+
+        /** 행의 index 위치 값을 키 값으로 추가 (없는 컬럼은 빈 문자열) */
+        public Builder append(DataRow row, int index) {
+            row.appendValue(index, buf);
+            return endField();
+        }
+
+        /** 문자열을 키 값으로 추가 (null 은 빈 문자열) */
+        public Builder append(String value) {
+            if (value != null) buf.append(value);
+            return endField();
+        }
+
+        /** 지금까지 추가한 값들로 키를 만들고 빌더를 비웁니다. */
+        public RowKey build() {
+            int width = buf.length() < 0xFFFF ? 1 : 2;
+            for (int i = 0; i < count - 1; i++) {
+                if (width == 2) buf.append((char) (ends[i] >>> 16));
+                buf.append((char) ends[i]);
+            }
+            RowKey key = new RowKey(buf.toString(), count);
+            reset();
+            return key;
+        }
+
+        private Builder endField() {
+            if (count == ends.length) {
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            ends[count++] = buf.length();
+            return this;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package service.fileUtil.job;
+
+import service.fileUtil.reader.SqlReader;
+import service.fileUtil.writer.SqlWriter;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 디렉터리 변환 파이프라인 (읽기 / 변환 / 쓰기 단계 분리)
+ *
+ *   [reader]  디렉터리 순회 + 파일 읽기 (문자셋 판별)
+ *      |      readQueue (크기 제한)
+ *   [worker x N]  transformer 적용
+ *      |      writeQueue (크기 제한)
+ *   [writer]  출력 파일 쓰기
+ *
+ * 큐가 가득 차면 앞 단계가 대기하므로(backpressure) 메모리에는 최대 큐 크기만큼의 파일만 올라갑니다.
+ * 파일 하나의 읽기/변환/쓰기 실패는 로그를 남기고 건너뛰며 나머지 파일은 계속 처리합니다.
+ * 출력 파일 쓰기 순서는 디렉터리 순회 순서와 다를 수 있습니다 (파일별 결과는 동일).
+ * 한 단계가 파일 단위로 처리하지 못한 예외나 Error(OutOfMemoryError 등)로 끝나면 공유 실패 플래그를 세우고,
+ * 큐 대기(offer/poll)는 제한 시간마다 플래그를 확인하므로 나머지 단계도 멈추고 run 이 그 예외로 실패합니다.
+ */
+public class ConvertPipeline {
+    private static final Item END = new Item(null, null, null);
+    /** 큐 대기 중 실패 플래그를 확인하는 간격 */
+    private static final long POLL_MILLIS = 100L;
+
+    private final SqlReader reader;
+    private final SqlWriter writer;
+    private final int workers;
+    private final int queueCapacity;
+
+    public ConvertPipeline(SqlReader reader, SqlWriter writer, int workers) {
+        this(reader, writer, workers, Math.max(1, workers) * 4);
+    }
+
+    /**
+     * @param workers 변환 워커 수 (1 이상)
+     * @param queueCapacity 읽기/쓰기 큐에 쌓아 둘 최대 파일 수
+     */
+    public ConvertPipeline(SqlReader reader, SqlWriter writer, int workers, int queueCapacity) {
+        this.reader = reader;
+        this.writer = writer;
+        this.workers = Math.max(1, workers);
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
+
+    /**
+     * inputDir 아래 .sql 파일을 변환해 outputDir 에 같은 상대 경로로 저장합니다.
+     *
+     * @param fromCharset UTF-8 이 아닌 파일을 읽을 문자셋 (파일별로 판별)
+     * @param toCharset 출력 문자셋
+     * @param transformer 파일 내용 변환 함수 (여러 워커에서 동시에 호출됨)
+     * @return 처리 통계
+     */
+    public Summary run(Path inputDir, Path outputDir, Charset fromCharset, Charset toCharset,
+                       Function<String, String> transformer) {
+        BlockingQueue<Item> readQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Item> writeQueue = new ArrayBlockingQueue<>(queueCapacity);
+        Summary summary = new Summary(workers);
+
+        AtomicInteger seq = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers + 2, r -> {
+            Thread t = new Thread(r, "convert-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        Control control = new Control();
+        try {
+            Future<?> readStage = submit(executor, control, () -> readAll(inputDir, fromCharset, readQueue, summary, control));
+            List<Future<?>> workerStage = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                workerStage.add(submit(executor, control, () -> transformAll(transformer, readQueue, writeQueue, summary, control)));
+            }
+            Future<?> writeStage = submit(executor, control,
+                    () -> writeAll(inputDir, outputDir, toCharset, writeQueue, summary, control));
+
+            await(readStage);
+            for (Future<?> f : workerStage) {
+                await(f);
+            }
+            put(writeQueue, END, control);
+            await(writeStage);
+        } catch (Aborted e) {
+            // 다른 단계가 실패함: 아래 rethrow 에서 원인 예외를 던짐
+        } finally {
+            executor.shutdownNow();
+        }
+        control.rethrow();
+        summary.finish();
+        return summary;
+    }
+
+    /**
+     * 단계를 실행하고, 단계가 예외/Error 로 끝나면 실패 플래그를 세웁니다.
+     */
+    private static Future<?> submit(ExecutorService executor, Control control, Runnable stage) {
+        return executor.submit(() -> {
+            try {
+                stage.run();
+            } catch (Aborted e) {
+                // 다른 단계의 실패로 중단
+            } catch (Throwable t) {
+                control.fail(t);
+                throw t;
+            }
+        });
+    }
+
+    private void readAll(Path inputDir, Charset fromCharset, BlockingQueue<Item> readQueue, Summary summary,
+                         Control control) {
+        try (Stream<Path> paths = Files.walk(inputDir)) {
+            paths.filter(Files::isRegularFile)
+                    .filter(p -> p.getFileName().toString().endsWith(".sql"))
+                    .forEach(inputFile -> {
+                        try {
+                            Charset sourceCharset = reader.detectCharset(inputFile, fromCharset);
+                            String content = reader.readDetected(inputFile, fromCharset);
+                            summary.bytesRead.addAndGet(Files.size(inputFile));
+                            put(readQueue, new Item(inputFile, sourceCharset, content), control);
+                        } catch (IOException e) {
+                            summary.fail("read", inputFile, e);
+                        }
+                    });
+        } catch (IOException e) {
+            System.err.println("Failed to walk directory: " + inputDir + " - " + e.getMessage());
+        } finally {
+            for (int i = 0; i < workers; i++) {
+                put(readQueue, END, control);
+            }
+        }
+    }
+
+    private void transformAll(Function<String, String> transformer, BlockingQueue<Item> readQueue,
+                              BlockingQueue<Item> writeQueue, Summary summary, Control control) {
+        while (true) {
+            Item item = take(readQueue, control);
+            if (item == END) {
+                return;
+            }
+            try {
+                put(writeQueue, item.withContent(transformer.apply(item.content)), control);
+            } catch (Aborted e) {
+                throw e;
+            } catch (RuntimeException e) {
+                summary.fail("transform", item.file, e);
+            }
+        }
+    }
+
+    private void writeAll(Path inputDir, Path outputDir, Charset toCharset, BlockingQueue<Item> writeQueue, Summary summary,
+                          Control control) {
+        while (true) {
+            Item item = take(writeQueue, control);
+            if (item == END) {
+                return;
+            }
+            try {
+                writer.writeWithRelativePath(item.file, inputDir, outputDir, item.content, item.charset, toCharset);
+                summary.bytesWritten.addAndGet(Files.size(writer.resolveOutputFileWithRelativePath(item.file, inputDir, outputDir)));
+                summary.files.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                summary.fail("write", item.file, e);
+            }
+        }
+    }
+
+    private static void put(BlockingQueue<Item> queue, Item item, Control control) {
+        try {
+            while (!queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                control.check();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("변환 파이프라인 중단", e);
+        }
+    }
+
+    private static Item take(BlockingQueue<Item> queue, Control control) {
+        try {
+            Item item;
+            while ((item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                control.check();
+            }
+            return item;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("변환 파이프라인 중단", e);
+        }
+    }
+
+    /**
+     * 단계 종료를 기다립니다. 실패한 단계의 예외는 Control 에 기록되어 있으므로 여기서는 무시합니다.
+     */
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("변환 파이프라인 중단", e);
+        } catch (ExecutionException e) {
+            // control.rethrow() 에서 처리
+        }
+    }
+
+    /**
+     * 단계 간 공유 실패 플래그 (처음 실패한 예외만 보관)
+     */
+    private static final class Control {
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        void fail(Throwable t) {
+            failure.compareAndSet(null, t);
+        }
+
+        /** 다른 단계가 실패했으면 대기를 멈추고 Aborted 를 던짐 */
+        void check() {
+            if (failure.get() != null) {
+                throw new Aborted();
+            }
+        }
+
+        /** 실패한 단계가 있으면 Error 는 그대로, 그 외는 RuntimeException 으로 감싸 던짐 */
+        void rethrow() {
+            Throwable t = failure.get();
+            if (t == null) {
+                return;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            throw new RuntimeException("변환 파이프라인 오류", t);
+        }
+    }
+
+    /**
+     * 다른 단계의 실패로 대기를 멈출 때 사용하는 내부 신호
+     */
+    private static final class Aborted extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Aborted() {
+            super("다른 단계 실패로 중단", null, false, false);
+        }
+    }
+
+    /**
+     * 큐에 전달되는 파일 단위 작업
+     */
+    private static final class Item {
+        final Path file;
+        final Charset charset;
+        final String content;
+
+        Item(Path file, Charset charset, String content) {
+            this.file = file;
+            this.charset = charset;
+            this.content = content;
+        }
+
+        Item withContent(String newContent) {
+            return new Item(file, charset, newContent);
+        }
+    }
+
+    /**
+     * 파이프라인 처리 통계
+     */
+    public static final class Summary {
+        private final int workers;
+        private final long startNanos = System.nanoTime();
+        private long elapsedNanos;
+        private final AtomicInteger files = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicLong bytesRead = new AtomicLong();
+        private final AtomicLong bytesWritten = new AtomicLong();
+
+        Summary(int workers) {
+            this.workers = workers;
+        }
+
+        void fail(String stage, Path file, Exception e) {
+            failed.incrementAndGet();
+            System.err.println("Failed to convert file (" + stage + "): " + file + " - " + e.getMessage());
+        }
+
+        void finish() {
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+
+        public int getFiles() {
+            return files.get();
+        }
+
+        public int getFailed() {
+            return failed.get();
+        }
+
+        public long getBytesRead() {
+            return bytesRead.get();
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten.get();
+        }
+
+        public long getElapsedMs() {
+            return elapsedNanos / 1_000_000L;
+        }
+
+        public double getFilesPerSecond() {
+            return elapsedNanos == 0 ? 0 : files.get() * 1e9 / elapsedNanos;
+        }
+
+        public double getMBPerSecond() {
+            return elapsedNanos == 0 ? 0 : bytesRead.get() / (1024.0 * 1024.0) * 1e9 / elapsedNanos;
+        }
+
+        public void print() {
+            System.out.println("========================================");
+            System.out.printf("Workers: %d%n", workers);
+            System.out.printf("Files: %,d converted, %,d failed%n", getFiles(), getFailed());
+            System.out.printf("Input: %,.1f MB, Output: %,.1f MB%n",
+                    getBytesRead() / (1024.0 * 1024.0), getBytesWritten() / (1024.0 * 1024.0));
+            System.out.printf("Elapsed: %,d ms, Throughput: %,.1f files/s, %,.2f MB/s%n",
+                    getElapsedMs(), getFilesPerSecond(), getMBPerSecond());
+            System.out.println("========================================");
+        }
+    }
+}
@@ -7,46 +7,55 @@ import service.fileUtil.writer.SqlWriter;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.function.Function;
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.List;
 
 public class UtilJob {
     static SqlReader reader = new SqlReader();
     static SqlWriter writer = new SqlWriter();
     static ConvertStep processor = new ConvertStep();
 
+    // 디렉터리 변환 파이프라인의 변환 워커 수 (--threads=N)
+    static int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 사용법: java UtilJob <input_path> <output_path> [--mode=0..5] [--threads=N]
+     *   --mode    메뉴 번호를 미리 지정 (지정하면 표준 입력을 기다리지 않음, 배치 실행용)
+     *   --threads 디렉터리 변환 시 변환 워커 수 (기본: CPU 수)
+     */
     public static void main(String[] args) throws IOException {
         System.out.println("------- UtilJob started -------");
 
-        if (args.length < 2) {
-            System.err.println("Usage: java UtilJob <input_path> <output_path>");
+        List<String> paths = new ArrayList<>();
+        String mode = null;
+        for (String arg : args) {
+            if (arg.startsWith("--mode=")) {
+                mode = arg.substring("--mode=".length()).trim();
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()).trim());
+            } else {
+                paths.add(arg);
+            }
+        }
+
+        if (paths.size() < 2) {
+            System.err.println("Usage: java UtilJob <input_path> <output_path> [--mode=0..5] [--threads=N]");
             return;
         }
 
-        Path inputPath = Paths.get(args[0]);
-        Path outputPath = Paths.get(args[1]);
+        Path inputPath = Paths.get(paths.get(0));
+        Path outputPath = Paths.get(paths.get(1));
 
         System.out.println("Input Path: " + inputPath.toAbsolutePath());
         System.out.println("Output Path: " + outputPath.toAbsolutePath());
 
-        // 사용자 선택 프롬프트
-        System.out.println("\n========================================");
-        System.out.println("Select processing option:");
-        System.out.println("0. No conversion (read only)");
-        System.out.println("1. EUC-KR -> UTF-8");
-        System.out.println("2. UTF-8 -> EUC-KR");
-        System.out.println("3. Remove trailing spaces (UTF-8 -> UTF-8)");
-        System.out.println("4. Convert tabs to 2 spaces (UTF-8 -> UTF-8)");
-        System.out.println("5. Convert tabs to 4 spaces (UTF-8 -> UTF-8)");
-        System.out.println("========================================");
-        System.out.print("Enter your choice (0-5): ");
-
-        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
-        String choice = br.readLine().trim();
+        String choice = mode != null ? mode : promptChoice();
 
         switch (choice) {
             case "0":
@@ -55,25 +64,23 @@ public class UtilJob {
                 break;
             case "1":
                 System.out.println("\n>>> Converting: EUC-KR -> UTF-8\n");
-                processConversion(inputPath, outputPath, SqlReader.EUCKR, SqlReader.UTF8, processor::process);
+                processConversion(inputPath, outputPath, SqlReader.EUCKR, SqlReader.UTF8);
                 break;
             case "2":
                 System.out.println("\n>>> Converting: UTF-8 -> EUC-KR\n");
-                processConversion(inputPath, outputPath, SqlReader.UTF8, SqlReader.EUCKR, processor::process);
+                processConversion(inputPath, outputPath, SqlReader.UTF8, SqlReader.EUCKR);
                 break;
             case "3":
                 System.out.println("\n>>> Removing trailing spaces (UTF-8 -> UTF-8)\n");
-                processConversion(inputPath, outputPath, SqlReader.UTF8, SqlReader.UTF8, processor::removeTrailingSpaces);
+                processConversion(inputPath, outputPath, SqlReader.UTF8, SqlReader.UTF8, ConvertStep.trailingSpaces());
                 break;
             case "4":
                 System.out.println("\n>>> Converting tabs to 2 spaces (UTF-8 -> UTF-8)\n");
-                processConversion(inputPath, outputPath, SqlReader.UTF8, SqlReader.UTF8,
-                    content -> processor.convertTabsToSpaces(content, 2));
+                processConversion(inputPath, outputPath, SqlReader.UTF8, SqlReader.UTF8, ConvertStep.tabsToSpaces(2));
                 break;
             case "5":
                 System.out.println("\n>>> Converting tabs to 4 spaces (UTF-8 -> UTF-8)\n");
-                processConversion(inputPath, outputPath, SqlReader.UTF8, SqlReader.UTF8,
-                    content -> processor.convertTabsToSpaces(content, 4));
+                processConversion(inputPath, outputPath, SqlReader.UTF8, SqlReader.UTF8, ConvertStep.tabsToSpaces(4));
                 break;
             default:
                 System.err.println("Invalid choice: " + choice);
@@ -83,51 +90,54 @@ public class UtilJob {
         System.out.println("\n------- UtilJob finished -------");
     }
 
-    private static void processConversion(Path inputPath, Path outputPath, Charset fromCharset, Charset toCharset, Function<String, String> transformer) throws IOException {
+    private static String promptChoice() throws IOException {
+        // 사용자 선택 프롬프트
+        System.out.println("\n========================================");
+        System.out.println("Select processing option:");
+        System.out.println("0. No conversion (read only)");
+        System.out.println("1. EUC-KR -> UTF-8");
+        System.out.println("2. UTF-8 -> EUC-KR");
+        System.out.println("3. Remove trailing spaces (UTF-8 -> UTF-8)");
+        System.out.println("4. Convert tabs to 2 spaces (UTF-8 -> UTF-8)");
+        System.out.println("5. Convert tabs to 4 spaces (UTF-8 -> UTF-8)");
+        System.out.println("* Source charset is detected per file (BOM / UTF-8 check);");
+        System.out.println("  non-UTF-8 files are read as EUC-KR.");
+        System.out.println("========================================");
+        System.out.print("Enter your choice (0-5): ");
+
+        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+        String line = br.readLine();
+        return line == null ? "" : line.trim();
+    }
+
+    private static void processConversion(Path inputPath, Path outputPath, Charset fromCharset, Charset toCharset, ConvertStep.TextStage... stages) throws IOException {
         if (Files.isDirectory(inputPath)) {
-            processDirectory(inputPath, outputPath, fromCharset, toCharset, transformer);
+            processDirectory(inputPath, outputPath, fromCharset, toCharset, stages);
         } else if (Files.isRegularFile(inputPath)) {
-            processFile(inputPath, outputPath, fromCharset, toCharset, transformer);
+            processFile(inputPath, outputPath, fromCharset, toCharset, stages);
         } else {
             throw new IllegalArgumentException("Invalid path: " + inputPath);
         }
     }
 
-    private static void processDirectory(Path inputDir, Path outputDir, Charset fromCharset, Charset toCharset, Function<String, String> transformer) throws IOException {
+    private static void processDirectory(Path inputDir, Path outputDir, Charset fromCharset, Charset toCharset, ConvertStep.TextStage... stages) {
         System.out.println("Converting directory: " + inputDir.toAbsolutePath());
         System.out.println("Output directory: " + outputDir.toAbsolutePath());
-        System.out.println("From: " + fromCharset.name() + " -> To: " + toCharset.name());
-
-        try (Stream<Path> paths = Files.walk(inputDir)) {
-            paths.filter(Files::isRegularFile)
-                    .filter(p -> p.getFileName().toString().endsWith(".sql"))
-                    .forEach(inputFile -> {
-                        try {
-                            // Step 1: Read
-                            String content = reader.read(inputFile, fromCharset);
-
-                            // Step 2: Process
-                            String processedContent = transformer.apply(content);
-
-                            // Step 3: Write
-                            writer.writeWithRelativePath(inputFile, inputDir, outputDir, processedContent, fromCharset, toCharset);
-                        } catch (IOException e) {
-                            System.err.println("Failed to convert file: " + inputFile + " - " + e.getMessage());
-                        }
-                    });
-        }
-    }
+        System.out.println("From: " + fromCharset.name() + " (detected per file) -> To: " + toCharset.name());
 
-    private static void processFile(Path inputFile, Path outputPath, Charset fromCharset, Charset toCharset, Function<String, String> transformer) throws IOException {
-        // Step 1: Read
-        String content = reader.read(inputFile, fromCharset);
-
-        // Step 2: Process
-        String processedContent = transformer.apply(content);
+        // 읽기 / 변환(워커 threads 개) / 쓰기 단계를 큐로 연결해 디스크 I/O 와 변환을 겹쳐서 수행
+        ConvertPipeline pipeline = new ConvertPipeline(reader, writer, threads);
+        pipeline.run(inputDir, outputDir, fromCharset, toCharset, content -> processor.apply(content, stages)).print();
+    }
 
-        // Step 3: Write
+    private static void processFile(Path inputFile, Path outputPath, Charset fromCharset, Charset toCharset, ConvertStep.TextStage... stages) throws IOException {
+        // 읽기(문자셋 판별 + 디코딩) -> 변환 -> 쓰기(인코딩)를 한 번에 스트리밍 처리 (파일 전체를 메모리에 올리지 않음)
+        Charset sourceCharset = reader.detectCharset(inputFile, fromCharset);
         Path outputFile = writer.resolveOutputFile(inputFile, outputPath);
-        writer.writeWithLog(inputFile, outputFile, processedContent, fromCharset, toCharset);
+        try (Reader in = reader.openDetected(inputFile, fromCharset);
+             Writer out = writer.openWriter(outputFile, toCharset)) {
+            processor.transform(in, out, stages);
+        }
+        writer.logConverted(inputFile, outputFile, sourceCharset, toCharset);
     }
 }
-
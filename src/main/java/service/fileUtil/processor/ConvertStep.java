@@ -1,7 +1,37 @@
 package service.fileUtil.processor;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
 public class ConvertStep {
 
+    /**
+     * 스트리밍 변환 단계: 다음 Writer 를 받아 변환을 적용하는 Writer 를 돌려줍니다.
+     * 여러 단계를 transform / apply 에 넘기면 앞에서부터 순서대로 한 번에 적용됩니다.
+     */
+    @FunctionalInterface
+    public interface TextStage {
+        Writer wrap(Writer downstream);
+    }
+
+    /** 줄 끝 공백 제거 (\r\n 은 \n 으로) */
+    public static TextStage trailingSpaces() {
+        return TextFilters.TrailingSpaceWriter::new;
+    }
+
+    /** 탭을 spaceCount 개의 공백으로 변환 */
+    public static TextStage tabsToSpaces(int spaceCount) {
+        return out -> new TextFilters.TabExpandWriter(out, spaceCount);
+    }
+
+    /** 주석 안의 백틱(`) 제거 (문자열 리터럴과 주석 밖 백틱은 유지) */
+    public static TextStage commentBackticks() {
+        return TextFilters.CommentBacktickWriter::new;
+    }
+
     public String process(String content) {
         // 현재는 그대로 반환
         // 추후 여기에 변환 로직 추가 가능:
@@ -14,16 +44,65 @@ public class ConvertStep {
 
     public String removeTrailingSpaces(String content) {
         if (content == null) return null;
-        return java.util.Arrays.stream(content.split("\n", -1))
-                .map(line -> line.replaceAll("\\s+$", ""))
-                .collect(java.util.stream.Collectors.joining("\n"));
+        return apply(content, trailingSpaces());
     }
 
     public String convertTabsToSpaces(String content, int spaceCount) {
         if (content == null) return null;
         // 탭을 지정된 개수의 스페이스로 변환
-        char[] spaces = new char[spaceCount];
-        java.util.Arrays.fill(spaces, ' ');
-        return content.replace("\t", new String(spaces));
+        return apply(content, tabsToSpaces(spaceCount));
+    }
+
+    public String removeBackticksInComments(String content) {
+        if (content == null) return null;
+        return apply(content, commentBackticks());
+    }
+
+    /**
+     * 문자열에 변환 단계를 순서대로 한 번에 적용합니다.
+     */
+    public String apply(String content, TextStage... stages) {
+        if (stages.length == 0) {
+            return content;
+        }
+        StringWriter out = new StringWriter(content.length());
+        try {
+            Writer chain = chain(out, stages);
+            chain.write(content);
+            chain.close();
+        } catch (IOException e) {
+            // StringWriter 는 IOException 을 던지지 않음
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Reader 에서 읽은 내용을 변환 단계에 통과시켜 Writer 로 씁니다.
+     * 고정 크기 버퍼로 흘려보내므로 메모리 사용량은 입력 크기와 무관합니다.
+     * 문자셋 변환은 Reader(입력 문자셋 디코딩) / Writer(출력 문자셋 인코딩) 에서 같은 패스로 처리됩니다.
+     * out 은 flush 만 하고 닫지 않습니다.
+     *
+     * @return 읽은 문자 수
+     */
+    public long transform(Reader in, Writer out, TextStage... stages) throws IOException {
+        Writer chain = chain(out, stages);
+        char[] buf = new char[8192];
+        long total = 0;
+        int n;
+        while ((n = in.read(buf)) >= 0) {
+            chain.write(buf, 0, n);
+            total += n;
+        }
+        chain.close();
+        return total;
+    }
+
+    private static Writer chain(Writer out, TextStage... stages) {
+        Writer w = new TextFilters.NonClosingWriter(out);
+        for (int i = stages.length - 1; i >= 0; i--) {
+            w = stages[i].wrap(w);
+        }
+        return w;
     }
 }
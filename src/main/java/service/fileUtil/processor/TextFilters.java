@@ -0,0 +1,216 @@
+package service.fileUtil.processor;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * ConvertStep 의 스트리밍 변환 Writer 모음
+ *
+ * 각 Writer 는 받은 문자를 한 번만 훑어 다음 Writer 로 넘기므로 여러 변환을 이어 붙여도 한 번에 처리됩니다.
+ * 파일 크기와 관계없이 작은 출력 버퍼(와 줄 끝 공백 후보)만 메모리에 유지합니다.
+ * close() 시점에 남은 상태를 정리하고 다음 Writer 를 닫습니다.
+ */
+final class TextFilters {
+
+    private TextFilters() {
+    }
+
+    /**
+     * 출력 버퍼를 가진 변환 Writer 의 공통 부분
+     */
+    abstract static class StageWriter extends FilterWriter {
+        private final char[] buf = new char[8192];
+        private int count;
+
+        StageWriter(Writer out) {
+            super(out);
+        }
+
+        /** 문자 하나를 변환해 emit 으로 내보냅니다. */
+        abstract void accept(char c) throws IOException;
+
+        /** 입력이 끝났을 때 남은 상태를 정리합니다. */
+        void finish() throws IOException {
+        }
+
+        final void emit(char c) throws IOException {
+            if (count == buf.length) {
+                drain();
+            }
+            buf[count++] = c;
+        }
+
+        private void drain() throws IOException {
+            if (count > 0) {
+                out.write(buf, 0, count);
+                count = 0;
+            }
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            accept((char) c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            for (int i = off, end = off + len; i < end; i++) {
+                accept(cbuf[i]);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            for (int i = off, end = off + len; i < end; i++) {
+                accept(str.charAt(i));
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            drain();
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+            drain();
+            out.close();
+        }
+    }
+
+    /**
+     * 줄 끝 공백 제거: 줄바꿈(\n) 또는 입력 끝 앞의 공백 문자( , \t, \u000B, \f, \r)를 버립니다.
+     * 기존 split("\n") + replaceAll("\\s+$", "") 과 같은 결과입니다 (\r\n 은 \n 이 됨).
+     */
+    static final class TrailingSpaceWriter extends StageWriter {
+        // 아직 줄 끝인지 알 수 없는 공백 (다음 문자가 줄바꿈이면 버리고, 아니면 그대로 출력)
+        private final StringBuilder pending = new StringBuilder();
+
+        TrailingSpaceWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        void accept(char c) throws IOException {
+            if (c == ' ' || c == '\t' || c == '\u000B' || c == '\f' || c == '\r') {
+                pending.append(c);
+                return;
+            }
+            if (c != '\n') {
+                for (int i = 0; i < pending.length(); i++) {
+                    emit(pending.charAt(i));
+                }
+            }
+            pending.setLength(0);
+            emit(c);
+        }
+
+        @Override
+        void finish() {
+            pending.setLength(0);
+        }
+    }
+
+    /**
+     * 탭을 지정한 개수의 공백으로 바꿉니다 (기존 replace("\t", 공백) 과 동일).
+     */
+    static final class TabExpandWriter extends StageWriter {
+        private final int spaceCount;
+
+        TabExpandWriter(Writer out, int spaceCount) {
+            super(out);
+            this.spaceCount = spaceCount;
+        }
+
+        @Override
+        void accept(char c) throws IOException {
+            if (c != '\t') {
+                emit(c);
+                return;
+            }
+            for (int i = 0; i < spaceCount; i++) {
+                emit(' ');
+            }
+        }
+    }
+
+    /**
+     * 주석(-- 줄 주석, 블록 주석) 안의 백틱(`)만 제거합니다.
+     * 문자열 리터럴('...', "...") 안은 주석으로 보지 않으며, 주석 밖의 백틱(한글 테이블명 등)은 유지합니다.
+     * ConvertSqlStep1.removeBackticksInComments 와 같은 규칙을 한 글자 미리보기 없이 상태로 처리합니다.
+     */
+    static final class CommentBacktickWriter extends StageWriter {
+        private static final int NORMAL = 0;
+        private static final int STRING = 1;
+        private static final int LINE_COMMENT = 2;
+        private static final int BLOCK_COMMENT = 3;
+
+        private int state = NORMAL;
+        private char quote;
+        private boolean afterDash;
+        private boolean afterSlash;
+        private boolean afterStar;
+
+        CommentBacktickWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        void accept(char c) throws IOException {
+            switch (state) {
+                case LINE_COMMENT:
+                    if (c == '`') return;
+                    emit(c);
+                    if (c == '\n') state = NORMAL;
+                    return;
+                case BLOCK_COMMENT:
+                    if (c == '`') {
+                        afterStar = false;
+                        return;
+                    }
+                    emit(c);
+                    if (afterStar && c == '/') {
+                        state = NORMAL;
+                        afterStar = false;
+                    } else {
+                        afterStar = c == '*';
+                    }
+                    return;
+                case STRING:
+                    emit(c);
+                    if (c == quote) state = NORMAL;
+                    return;
+                default:
+                    emit(c);
+                    if (afterDash && c == '-') {
+                        state = LINE_COMMENT;
+                    } else if (afterSlash && c == '*') {
+                        state = BLOCK_COMMENT;
+                        afterStar = false;
+                    } else if (c == '\'' || c == '"') {
+                        state = STRING;
+                        quote = c;
+                    }
+                    afterDash = state == NORMAL && c == '-';
+                    afterSlash = state == NORMAL && c == '/';
+            }
+        }
+    }
+
+    /**
+     * 호출자가 넘긴 Writer 를 닫지 않도록 close() 를 flush() 로 바꾸는 Writer
+     */
+    static final class NonClosingWriter extends FilterWriter {
+        NonClosingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
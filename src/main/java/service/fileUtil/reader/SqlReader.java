@@ -1,9 +1,20 @@
 package service.fileUtil.reader;
 
+import com.io.CharsetDetector;
+import com.io.MappedTextReader;
+
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 public class SqlReader {
@@ -11,10 +22,51 @@ public class SqlReader {
     public static final Charset EUCKR = Charset.forName("EUC-KR");
     public static final Charset DEFAULT_CHARSET = UTF8;
 
+    // 대체 문자셋별 자동 판별 리더 (디코더/버퍼 재사용)
+    private final Map<Charset, MappedTextReader> detectingReaders = new ConcurrentHashMap<>();
+
     public String read(Path inputFile, Charset charset) throws IOException {
         return Files.readString(inputFile, charset);
     }
 
+    /**
+     * 파일의 실제 문자셋을 판별합니다 (BOM / UTF-8 유효성 검사, 파일별 캐시).
+     * UTF-8 이 아니면 fallback 을 반환합니다.
+     * 이미 UTF-8 이 아닌 것으로 판별된 파일이므로 fallback 이 UTF-8 이면 EUC-KR 을 사용합니다.
+     */
+    public Charset detectCharset(Path inputFile, Charset fallback) throws IOException {
+        return CharsetDetector.detect(inputFile).charset(legacyCharset(fallback));
+    }
+
+    /**
+     * 판별한 문자셋으로 파일을 읽습니다. BOM 은 제외하고, 깨지는 바이트는 대체 문자로 바꿉니다.
+     */
+    public String readDetected(Path inputFile, Charset fallback) throws IOException {
+        return detectingReaders.computeIfAbsent(legacyCharset(fallback), MappedTextReader::autoDetect).readString(inputFile);
+    }
+
+    /**
+     * 판별한 문자셋으로 파일을 여는 Reader (BOM 제외, 깨지는 바이트는 대체 문자). 스트리밍 변환용
+     */
+    public Reader openDetected(Path inputFile, Charset fallback) throws IOException {
+        CharsetDetector.Detection detection = CharsetDetector.detect(inputFile);
+        InputStream in = Files.newInputStream(inputFile);
+        try {
+            in.skipNBytes(detection.bomLength());
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        CharsetDecoder decoder = detection.charset(legacyCharset(fallback)).newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        return new BufferedReader(new InputStreamReader(in, decoder));
+    }
+
+    private static Charset legacyCharset(Charset fallback) {
+        return UTF8.equals(fallback) ? EUCKR : fallback;
+    }
+
     public void run(Path inputPath) throws IOException {
         if (Files.isDirectory(inputPath)) {
             processDirectory(inputPath);
@@ -43,11 +95,13 @@ public class SqlReader {
     private void processFile(Path file) throws IOException {
         String filePath = file.toAbsolutePath().toString();
         String fileName = file.getFileName().toString();
-        String content = Files.readString(file, DEFAULT_CHARSET);
+        Charset charset = detectCharset(file, EUCKR);
+        String content = readDetected(file, EUCKR);
 
         System.out.println("\n========================================");
         System.out.println("File: " + filePath);
         System.out.println("Name: " + fileName);
+        System.out.println("Charset: " + charset.name());
         System.out.println("Content length: " + content.length() + " characters");
         System.out.println("========================================");
     }
@@ -1,6 +1,7 @@
 package service.fileUtil.writer;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -17,11 +18,25 @@ public class SqlWriter {
         Files.writeString(outputFile, content, charset);
     }
 
+    /**
+     * 스트리밍 쓰기용 Writer (부모 디렉토리 생성, 인코딩 불가 문자는 write 와 같이 오류)
+     */
+    public Writer openWriter(Path outputFile, Charset charset) throws IOException {
+        if (outputFile.getParent() != null && !Files.exists(outputFile.getParent())) {
+            Files.createDirectories(outputFile.getParent());
+        }
+        return Files.newBufferedWriter(outputFile, charset);
+    }
+
     public void writeWithLog(Path inputFile, Path outputFile, String content, Charset fromCharset, Charset toCharset) throws IOException {
         // 파일 쓰기
         write(outputFile, content, toCharset);
 
         // 로그 출력
+        logConverted(inputFile, outputFile, fromCharset, toCharset);
+    }
+
+    public void logConverted(Path inputFile, Path outputFile, Charset fromCharset, Charset toCharset) {
         System.out.println("✓ Converted: " + inputFile.getFileName() +
                          " (" + fromCharset.name() + " -> " + toCharset.name() + ")" +
                          " -> " + outputFile.toAbsolutePath());
@@ -0,0 +1,361 @@
+package service.queryParser.cache;
+
+import service.queryParser.vo.TablesInfo;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 파일별 파싱 결과를 디스크에 보관하는 증분 스캔 캐시 클래스
+ *
+ * 입력 파일의 상대 경로를 키로 (크기, 수정 시각, 내용 SHA-256, 파싱 결과)를 저장합니다.
+ * - 크기와 수정 시각이 같으면 파일을 읽지 않고 캐시 결과를 사용합니다 (lookup).
+ * - 그 외에는 호출자가 파싱용으로 파일을 읽으면서 같은 버퍼를 newDigest() 에 넣고 verify 로 확정합니다.
+ *   내용 해시가 같으면(수정 시각만 바뀜) 캐시 결과를, 다르면 miss 로 처리합니다.
+ *   캐시는 파일을 직접 읽지 않으므로 SqlReader.readContent(file, digest) 의 매핑/재사용 버퍼 경로를 그대로 사용합니다.
+ *
+ * 파싱 결과는 STEP 이름 -> TablesInfo 맵으로 저장합니다. STEP 분할이 없는 Job 은
+ * 이름이 빈 문자열인 항목 하나만 사용합니다(lookup.tables(), put(lookup, info)).
+ *
+ * 캐시 파일 첫 줄의 서명(signature)이 현재 Job 의 서명과 다르면(파서 엔진 변경, 파서 LOGIC_VERSION 변경 등)
+ * 캐시 전체를 버립니다. Job 들은 processor.getParserName() (예: TableParser@3) 을 서명에 넣으므로
+ * 추출 결과가 바뀌는 파서 수정은 해당 파서의 LOGIC_VERSION 을 올리면 다음 실행에서 모든 파일을 다시 파싱합니다. save() 시에는 이번 실행에서 조회된 파일만 기록하므로
+ * 삭제된 입력 파일의 항목은 자연스럽게 정리됩니다.
+ *
+ * lookup/put 은 여러 워커 스레드에서 동시에 호출해도 안전합니다.
+ */
+public class ParseCache {
+
+    private static final String FORMAT_VERSION = "queryParser-cache-v1";
+    private static final String SINGLE_KEY = "";
+
+    private final Path cacheFile;
+    private final String signature;
+    private final Map<String, Entry> previous = new ConcurrentHashMap<>();
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+    private final AtomicInteger hitCount = new AtomicInteger();
+    private final AtomicInteger missCount = new AtomicInteger();
+
+    /**
+     * @param cacheFile 캐시 파일 경로 (보통 출력 디렉터리 아래)
+     * @param signature 캐시 유효성 서명 (Job 이름, 파서 종류 등 결과에 영향을 주는 설정)
+     */
+    public ParseCache(Path cacheFile, String signature) {
+        this.cacheFile = cacheFile;
+        this.signature = signature;
+    }
+
+    /**
+     * 캐시 파일을 읽어 캐시를 생성합니다. 파일이 없거나 손상되었으면 빈 캐시로 시작합니다.
+     */
+    public static ParseCache open(Path cacheFile, String signature) {
+        ParseCache cache = new ParseCache(cacheFile, signature);
+        cache.load();
+        return cache;
+    }
+
+    /**
+     * 캐시 파일을 읽습니다. 서명이 다르거나 형식이 잘못된 경우 기존 항목을 모두 무시합니다.
+     */
+    public void load() {
+        previous.clear();
+        try (BufferedReader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (!headerLine().equals(header)) {
+                System.out.println("[ParseCache] Signature changed, cache ignored: " + cacheFile);
+                return;
+            }
+
+            Map<String, Entry> loaded = new LinkedHashMap<>();
+            Entry entry = null;
+            TablesInfo info = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] fields = line.split("\t", -1);
+                switch (fields[0]) {
+                    case "F":
+                        entry = new Entry(Long.parseLong(fields[2]), Long.parseLong(fields[3]), fields[4],
+                                new LinkedHashMap<>());
+                        loaded.put(unescape(fields[1]), entry);
+                        info = null;
+                        break;
+                    case "S":
+                        info = new TablesInfo();
+                        entry.steps.put(unescape(fields[1]), info);
+                        break;
+                    case "s":
+                        info.addSource(unescape(fields[1]));
+                        break;
+                    case "t":
+                        info.addTarget(unescape(fields[1]));
+                        break;
+                    default:
+                        throw new IOException("알 수 없는 캐시 레코드: " + fields[0]);
+                }
+            }
+            previous.putAll(loaded);
+            System.out.println("[ParseCache] Loaded " + loaded.size() + " entries: " + cacheFile);
+        } catch (NoSuchFileException ex) {
+            // 최초 실행: 빈 캐시
+        } catch (IOException | RuntimeException ex) {
+            System.err.println("[ParseCache] Cache file ignored (corrupted): " + cacheFile + " - " + ex.getMessage());
+            previous.clear();
+        }
+    }
+
+    /**
+     * 파일의 캐시 항목을 크기와 수정 시각으로 조회합니다. 파일 내용은 읽지 않습니다.
+     * hit 가 아니면 호출자가 파일을 읽으면서 newDigest() 에 바이트를 넣고 verify 를 호출해야 합니다.
+     *
+     * @param relativePath 입력 디렉터리 기준 상대 경로 ('/' 구분)
+     * @param file 실제 파일 경로
+     * @return 조회 결과 (hit 이면 캐시된 결과, 아니면 내용 확인이 필요한 조회)
+     * @throws IOException 파일 정보 조회 실패 시
+     */
+    public Lookup lookup(String relativePath, Path file) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        long size = attrs.size();
+        long modified = attrs.lastModifiedTime().toMillis();
+
+        Entry cached = previous.get(relativePath);
+        if (cached != null && cached.size == size && cached.modified == modified) {
+            current.put(relativePath, cached);
+            hitCount.incrementAndGet();
+            return new Lookup(relativePath, size, modified, cached.hash, cached.steps);
+        }
+        return new Lookup(relativePath, size, modified, null, null);
+    }
+
+    /**
+     * 파일 내용 해시를 계산할 다이제스트 (SqlReader.readContent(file, digest) 에 넘김)
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", ex);
+        }
+    }
+
+    /**
+     * 호출자가 읽은 파일 내용의 해시로 조회를 확정합니다.
+     * 내용이 같고 수정 시각만 바뀐 경우 캐시 결과를 새 수정 시각으로 갱신해 hit 로 반환합니다.
+     *
+     * @param lookup hit 가 아닌 lookup 결과
+     * @param digest 파일 바이트 전체를 넣은 다이제스트 (newDigest())
+     * @return hit 이면 캐시된 결과, 아니면 put 에 넘길 miss 조회
+     */
+    public Lookup verify(Lookup lookup, MessageDigest digest) {
+        if (lookup.isHit()) {
+            return lookup;
+        }
+        String hash = hex(digest.digest());
+        Entry cached = previous.get(lookup.relativePath);
+        if (cached != null && cached.size == lookup.size && cached.hash.equals(hash)) {
+            // 내용은 같고 수정 시각만 바뀐 경우: 새 수정 시각으로 갱신
+            current.put(lookup.relativePath, new Entry(lookup.size, lookup.modified, hash, cached.steps));
+            hitCount.incrementAndGet();
+            return new Lookup(lookup.relativePath, lookup.size, lookup.modified, hash, cached.steps);
+        }
+
+        missCount.incrementAndGet();
+        return new Lookup(lookup.relativePath, lookup.size, lookup.modified, hash, null);
+    }
+
+    /**
+     * miss 로 조회된 파일의 STEP별 파싱 결과를 저장합니다.
+     */
+    public void put(Lookup lookup, Map<String, TablesInfo> steps) {
+        if (lookup.hash == null) {
+            throw new IllegalStateException("verify 로 내용 해시를 확정하지 않은 조회입니다: " + lookup.relativePath);
+        }
+        current.put(lookup.relativePath,
+                new Entry(lookup.size, lookup.modified, lookup.hash, new LinkedHashMap<>(steps)));
+    }
+
+    /**
+     * miss 로 조회된 파일의 파싱 결과(STEP 구분 없음)를 저장합니다.
+     */
+    public void put(Lookup lookup, TablesInfo info) {
+        put(lookup, Collections.singletonMap(SINGLE_KEY, info));
+    }
+
+    /**
+     * 이번 실행에서 조회된 항목만 캐시 파일에 기록합니다.
+     * 임시 파일에 쓴 뒤 교체하므로 기록 도중 중단되어도 기존 캐시가 깨지지 않습니다.
+     */
+    public void save() throws IOException {
+        List<String> keys = new ArrayList<>(current.keySet());
+        Collections.sort(keys);
+
+        Path dir = cacheFile.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, cacheFile.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(headerLine());
+                writer.write('\n');
+                for (String key : keys) {
+                    Entry entry = current.get(key);
+                    writer.write("F\t" + escape(key) + "\t" + entry.size + "\t" + entry.modified + "\t" + entry.hash + "\n");
+                    for (Map.Entry<String, TablesInfo> step : entry.steps.entrySet()) {
+                        writer.write("S\t" + escape(step.getKey()) + "\n");
+                        for (String source : step.getValue().getSources()) {
+                            writer.write("s\t" + escape(source) + "\n");
+                        }
+                        for (String target : step.getValue().getTargets()) {
+                            writer.write("t\t" + escape(target) + "\n");
+                        }
+                    }
+                }
+            }
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        System.out.println("[ParseCache] Saved " + keys.size() + " entries (hit=" + hitCount.get()
+                + ", miss=" + missCount.get() + "): " + cacheFile);
+    }
+
+    public int getHitCount() {
+        return hitCount.get();
+    }
+
+    public int getMissCount() {
+        return missCount.get();
+    }
+
+    private String headerLine() {
+        return "#" + FORMAT_VERSION + "\t" + escape(signature);
+    }
+
+    private static String hex(byte[] digest) {
+        StringBuilder sb = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 탭/개행/역슬래시를 이스케이프합니다. (레코드는 탭 구분, 한 줄 단위)
+     */
+    static String escape(String value) {
+        StringBuilder sb = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement;
+            switch (c) {
+                case '\\': replacement = "\\\\"; break;
+                case '\t': replacement = "\\t"; break;
+                case '\n': replacement = "\\n"; break;
+                case '\r': replacement = "\\r"; break;
+                default: replacement = null;
+            }
+            if (replacement != null && sb == null) {
+                sb = new StringBuilder(value.length() + 8).append(value, 0, i);
+            }
+            if (sb != null) {
+                if (replacement != null) {
+                    sb.append(replacement);
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        return sb == null ? value : sb.toString();
+    }
+
+    static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char n = value.charAt(++i);
+                sb.append(n == 't' ? '\t' : n == 'n' ? '\n' : n == 'r' ? '\r' : n);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 파일 하나의 캐시 항목
+     */
+    private static class Entry {
+        final long size;
+        final long modified;
+        final String hash;
+        final Map<String, TablesInfo> steps;
+
+        Entry(long size, long modified, String hash, Map<String, TablesInfo> steps) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+            this.steps = steps;
+        }
+    }
+
+    /**
+     * 캐시 조회 결과
+     */
+    public static class Lookup {
+        private final String relativePath;
+        private final long size;
+        private final long modified;
+        private final String hash;
+        private final Map<String, TablesInfo> steps;
+
+        Lookup(String relativePath, long size, long modified, String hash, Map<String, TablesInfo> steps) {
+            this.relativePath = relativePath;
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+            this.steps = steps;
+        }
+
+        /**
+         * 캐시된 결과를 사용할 수 있는지 여부
+         */
+        public boolean isHit() {
+            return steps != null;
+        }
+
+        /**
+         * 캐시된 STEP별 결과 (miss 이면 null)
+         */
+        public Map<String, TablesInfo> steps() {
+            return steps;
+        }
+
+        /**
+         * 캐시된 결과(STEP 구분 없음, miss 이면 null)
+         */
+        public TablesInfo tables() {
+            return steps == null ? null : steps.get(SINGLE_KEY);
+        }
+    }
+}
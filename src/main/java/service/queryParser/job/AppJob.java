@@ -1,5 +1,8 @@
 package service.queryParser.job;
 
+import com.log.JobMetrics;
+import com.log.JvmStats;
+import service.queryParser.cache.ParseCache;
 import service.queryParser.processor.FileParserProcessor;
 import service.queryParser.reader.SqlReader;
 import service.queryParser.writer.CsvWriter;
@@ -12,11 +15,13 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
 
 public class AppJob {
 
     private static final Path DEFAULT_INPUT_PATH = Paths.get("D:", "11. Project", "11. DB", "BigQuery");
     private static final Path DEFAULT_OUTPUT_PATH = Paths.get("D:", "11. Project", "11. DB", "BigQuery_out");
+    private static final String CACHE_FILE_NAME = ".appjob.cache";
 
     private final Path inputDir;
     private final SqlReader reader;
@@ -25,9 +30,35 @@ public class AppJob {
     private final CsvWriter csvWriter;
     private final SourceTableCsvWriter sourceTableCsvWriter;
     private final TargetTableCsvWriter targetTableCsvWriter;
+    private final int workers;
+    private final ParseCache cache;
+    private JobMetrics metrics = JobMetrics.disabled();
 
     public AppJob(Path inputDir, SqlReader reader, FileParserProcessor processor, TextWriter writer,
                   CsvWriter csvWriter, SourceTableCsvWriter sourceTableCsvWriter, TargetTableCsvWriter targetTableCsvWriter) {
+        this(inputDir, reader, processor, writer, csvWriter, sourceTableCsvWriter, targetTableCsvWriter, 1);
+    }
+
+    /**
+     * 병렬 처리용 생성자
+     *
+     * @param workers 파일을 동시에 읽고 파싱할 워커 스레드 수 (1이면 순차 처리)
+     */
+    public AppJob(Path inputDir, SqlReader reader, FileParserProcessor processor, TextWriter writer,
+                  CsvWriter csvWriter, SourceTableCsvWriter sourceTableCsvWriter, TargetTableCsvWriter targetTableCsvWriter,
+                  int workers) {
+        this(inputDir, reader, processor, writer, csvWriter, sourceTableCsvWriter, targetTableCsvWriter, workers, null);
+    }
+
+    /**
+     * 증분 스캔용 생성자
+     *
+     * @param workers 파일을 동시에 읽고 파싱할 워커 스레드 수 (1이면 순차 처리)
+     * @param cache 파싱 결과 캐시 (null 이면 매번 모든 파일을 파싱)
+     */
+    public AppJob(Path inputDir, SqlReader reader, FileParserProcessor processor, TextWriter writer,
+                  CsvWriter csvWriter, SourceTableCsvWriter sourceTableCsvWriter, TargetTableCsvWriter targetTableCsvWriter,
+                  int workers, ParseCache cache) {
         this.inputDir = inputDir;
         this.reader = reader;
         this.processor = processor;
@@ -35,28 +66,43 @@ public class AppJob {
         this.csvWriter = csvWriter;
         this.sourceTableCsvWriter = sourceTableCsvWriter;
         this.targetTableCsvWriter = targetTableCsvWriter;
+        this.workers = workers;
+        this.cache = cache;
     }
 
     public static AppJob createDefault() {
-        SqlReader reader = new SqlReader(SqlReader.DEFAULT_CHARSET);
+        return createDefault(1);
+    }
+
+    public static AppJob createDefault(int workers) {
+        SqlReader reader = SqlReader.autoDetect();
         FileParserProcessor processor = FileParserProcessor.withDefaults();
         TextWriter writer = new TextWriter(DEFAULT_OUTPUT_PATH, Charset.forName("UTF-8"));
         Path csvPath = DEFAULT_OUTPUT_PATH.resolve("summary.csv");
-        CsvWriter csvWriter = new CsvWriter(csvPath, Charset.forName("UTF-8"));
+        CsvWriter csvWriter = CsvWriter.streaming(csvPath, Charset.forName("UTF-8"));
         Path sourceTableCsvPath = DEFAULT_OUTPUT_PATH.resolve("source_table_mapping.csv");
-        SourceTableCsvWriter sourceTableCsvWriter = new SourceTableCsvWriter(sourceTableCsvPath, Charset.forName("UTF-8"));
+        SourceTableCsvWriter sourceTableCsvWriter = SourceTableCsvWriter.streaming(sourceTableCsvPath, Charset.forName("UTF-8"));
         Path targetTableCsvPath = DEFAULT_OUTPUT_PATH.resolve("target_table_mapping.csv");
-        TargetTableCsvWriter targetTableCsvWriter = new TargetTableCsvWriter(targetTableCsvPath, Charset.forName("UTF-8"));
-        return new AppJob(DEFAULT_INPUT_PATH, reader, processor, writer, csvWriter, sourceTableCsvWriter, targetTableCsvWriter);
+        TargetTableCsvWriter targetTableCsvWriter = TargetTableCsvWriter.streaming(targetTableCsvPath, Charset.forName("UTF-8"));
+        ParseCache cache = ParseCache.open(DEFAULT_OUTPUT_PATH.resolve(CACHE_FILE_NAME), "AppJob/" + processor.getParserName() + "/auto");
+        return new AppJob(DEFAULT_INPUT_PATH, reader, processor, writer, csvWriter, sourceTableCsvWriter, targetTableCsvWriter,
+                workers, cache);
     }
 
     public void stepRead() {
         System.out.println("========================================");
         System.out.println("Starting SQL file processing...");
         System.out.println("Input directory: " + inputDir);
+        System.out.println("Workers: " + workers);
+        System.out.println("Cache: " + (cache != null ? "enabled" : "disabled"));
         System.out.println("========================================");
 
-        reader.run(inputDir, this::handleFile);
+        JvmStats stats = JvmStats.start();
+        JobMetrics metrics = JobMetrics.start("AppJob");
+        attachMetrics(metrics);
+        // 읽기/파싱/텍스트 저장은 워커에서 병렬로, CSV 레코드 추가는 상대 경로 순서대로 수행
+        // 변경되지 않은 파일은 캐시 결과를 그대로 CSV 집계에 사용
+        reader.runFiles(inputDir, workers, this::handleFile, this::collectRecord);
 
         try {
             csvWriter.write();
@@ -87,23 +133,78 @@ public class AppJob {
         } catch (IOException ex) {
             System.err.println("Failed to save target table mapping CSV file: " + ex.getMessage());
         }
+
+        saveCache();
+        reader.reportQuarantine(writer.getOutputDir());
+        metrics.report(writer.getOutputDir());
+        attachMetrics(JobMetrics.disabled());
+        System.out.println(stats.summary());
     }
 
-    private void handleFile(Path file, String sql) {
-        try {
-            TablesInfo info = stepParse(sql);
+    /**
+     * 단계별 측정 객체를 reader / processor / writer 에 연결합니다.
+     */
+    private void attachMetrics(JobMetrics metrics) {
+        this.metrics = metrics;
+        reader.setMetrics(metrics);
+        processor.setMetrics(metrics);
+        writer.setMetrics(metrics);
+        csvWriter.setMetrics(metrics);
+        sourceTableCsvWriter.setMetrics(metrics);
+        targetTableCsvWriter.setMetrics(metrics);
+    }
+
+    private TablesInfo handleFile(Path file) throws IOException {
+        if (cache == null) {
+            TablesInfo info = stepParse(reader.readContent(file));
             stepWrite(file, info);
+            return info;
+        }
+
+        ParseCache.Lookup lookup = cache.lookup(relativeName(file), file);
+        CharSequence sql = null;
+        if (!lookup.isHit()) {
+            // 파싱에 쓸 매핑/재사용 버퍼를 그대로 해시 (파일은 한 번만 읽음)
+            MessageDigest digest = ParseCache.newDigest();
+            sql = reader.readContent(file, digest);
+            lookup = cache.verify(lookup, digest);
+        }
+        if (lookup.isHit()) {
+            // 변경 없는 파일: 파싱 생략, 출력 파일이 지워진 경우에만 다시 기록
+            metrics.increment("cache.hit");
+            TablesInfo info = lookup.tables();
+            if (!writer.exists(buildOutputFileName(file))) {
+                stepWrite(file, info);
+            }
+            return info;
+        }
+
+        metrics.increment("cache.miss");
+        TablesInfo info = stepParse(sql);
+        stepWrite(file, info);
+        cache.put(lookup, info);
+        return info;
+    }
 
-            String fileName = file.getFileName().toString();
-            csvWriter.addRecord(fileName, info);
-            sourceTableCsvWriter.addRecord(fileName, info);
-            targetTableCsvWriter.addRecord(fileName, info);
+    private void saveCache() {
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.save();
         } catch (IOException ex) {
-            System.err.println("File processing failed: " + file + " - " + ex.getMessage());
+            System.err.println("Failed to save parse cache: " + ex.getMessage());
         }
     }
 
-    private TablesInfo stepParse(String sql) {
+    private void collectRecord(Path file, TablesInfo info) {
+        String fileName = file.getFileName().toString();
+        csvWriter.addRecord(fileName, info);
+        sourceTableCsvWriter.addRecord(fileName, info);
+        targetTableCsvWriter.addRecord(fileName, info);
+    }
+
+    private TablesInfo stepParse(CharSequence sql) {
         return processor.parse(sql);
     }
 
@@ -112,14 +213,18 @@ public class AppJob {
         writer.writeTables(fileName, info);
     }
 
+    private String relativeName(Path file) {
+        return inputDir.relativize(file).toString().replace("\\", "/");
+    }
+
     private String buildOutputFileName(Path file) {
-        Path relative = inputDir.relativize(file);
-        String name = relative.toString().replace("\\", "/");
+        String name = relativeName(file);
         return name.replaceAll("\\.sql$", "_sql_tables.txt");
     }
 
     public static void main(String[] args) {
-        AppJob job = createDefault();
+        int workers = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        AppJob job = createDefault(workers);
         job.stepRead();
     }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package service.queryParser.job;
 
+import com.log.JobMetrics;
+import com.log.JvmStats;
+import service.queryParser.cache.ParseCache;
 import service.queryParser.processor.FileParserProcessor;
 import service.queryParser.reader.SqlReader;
 import service.queryParser.writer.SqlRunWriter;
@@ -9,30 +12,48 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
 
 public class AppRunJob {
 
     private static final Path DEFAULT_INPUT_PATH = Paths.get("sql", "in");
     private static final Path DEFAULT_OUTPUT_PATH = Paths.get("sql", "out");
     private static final String DEFAULT_BASE_DATE = "20260224";
+    private static final String CACHE_FILE_NAME = ".apprunjob.cache";
 
     private final Path inputDir;
     private final SqlReader reader;
     private final FileParserProcessor processor;
     private final SqlRunWriter writer;
+    private final ParseCache cache;
+    private JobMetrics metrics = JobMetrics.disabled();
 
     public AppRunJob(Path inputDir, SqlReader reader, FileParserProcessor processor, SqlRunWriter writer) {
+        this(inputDir, reader, processor, writer, null);
+    }
+
+    /**
+     * 증분 스캔용 생성자
+     *
+     * 생성되는 SQL 은 기준일자와 table_pk.list 에도 의존하므로, 캐시는 파싱 결과에만 적용하고
+     * 출력 SQL 파일은 매번 다시 생성합니다.
+     *
+     * @param cache 파싱 결과 캐시 (null 이면 매번 모든 파일을 파싱)
+     */
+    public AppRunJob(Path inputDir, SqlReader reader, FileParserProcessor processor, SqlRunWriter writer, ParseCache cache) {
         this.inputDir = inputDir;
         this.reader = reader;
         this.processor = processor;
         this.writer = writer;
+        this.cache = cache;
     }
 
     public static AppRunJob createDefault(String baseDate) {
-        SqlReader reader = new SqlReader(SqlReader.DEFAULT_CHARSET);
+        SqlReader reader = SqlReader.autoDetect();
         FileParserProcessor processor = FileParserProcessor.withDefaults();
         SqlRunWriter writer = new SqlRunWriter(DEFAULT_OUTPUT_PATH, StandardCharsets.UTF_8, baseDate);
-        return new AppRunJob(DEFAULT_INPUT_PATH, reader, processor, writer);
+        ParseCache cache = ParseCache.open(DEFAULT_OUTPUT_PATH.resolve(CACHE_FILE_NAME), "AppRunJob/" + processor.getParserName() + "/auto");
+        return new AppRunJob(DEFAULT_INPUT_PATH, reader, processor, writer, cache);
     }
 
     public void stepRead() {
@@ -41,23 +62,64 @@ public class AppRunJob {
         System.out.println("Input directory: " + inputDir);
         System.out.println("========================================");
 
-        reader.run(inputDir, this::handleFile);
+        JvmStats stats = JvmStats.start();
+        attachMetrics(JobMetrics.start("AppRunJob"));
+        reader.runFiles(inputDir, 1, this::handleFile, (file, info) -> { });
+
+        if (cache != null) {
+            try {
+                cache.save();
+            } catch (IOException ex) {
+                System.err.println("Failed to save parse cache: " + ex.getMessage());
+            }
+        }
 
         System.out.println("========================================");
         System.out.println("All SQL files processed successfully.");
+        System.out.println(stats.summary());
         System.out.println("========================================");
+        reader.reportQuarantine(writer.getOutputDir());
+        metrics.report(writer.getOutputDir());
+        attachMetrics(JobMetrics.disabled());
     }
 
-    private void handleFile(Path file, String sql) {
-        try {
-            TablesInfo info = stepParse(sql);
-            stepWrite(file, info);
-        } catch (IOException ex) {
-            System.err.println("File processing failed: " + file + " - " + ex.getMessage());
+    /**
+     * 단계별 측정 객체를 reader / processor / writer 에 연결합니다.
+     */
+    private void attachMetrics(JobMetrics metrics) {
+        this.metrics = metrics;
+        reader.setMetrics(metrics);
+        processor.setMetrics(metrics);
+        writer.setMetrics(metrics);
+    }
+
+    private TablesInfo handleFile(Path file) throws IOException {
+        TablesInfo info;
+        if (cache == null) {
+            info = stepParse(reader.readContent(file));
+        } else {
+            ParseCache.Lookup lookup = cache.lookup(relativeName(file), file);
+            CharSequence sql = null;
+            if (!lookup.isHit()) {
+                // 파싱에 쓸 매핑/재사용 버퍼를 그대로 해시 (파일은 한 번만 읽음)
+                MessageDigest digest = ParseCache.newDigest();
+                sql = reader.readContent(file, digest);
+                lookup = cache.verify(lookup, digest);
+            }
+            if (lookup.isHit()) {
+                metrics.increment("cache.hit");
+                info = lookup.tables();
+            } else {
+                metrics.increment("cache.miss");
+                info = stepParse(sql);
+                cache.put(lookup, info);
+            }
         }
+        stepWrite(file, info);
+        return info;
     }
 
-    private TablesInfo stepParse(String sql) {
+    private TablesInfo stepParse(CharSequence sql) {
         return processor.parse(sql);
     }
 
@@ -66,9 +128,12 @@ public class AppRunJob {
         writer.writeSqlFiles(fileName, info);
     }
 
+    private String relativeName(Path file) {
+        return inputDir.relativize(file).toString().replace("\\", "/");
+    }
+
     private String buildOutputFileName(Path file) {
-        Path relative = inputDir.relativize(file);
-        String name = relative.toString().replace("\\", "/");
+        String name = relativeName(file);
         return name.replaceAll("\\.sql$", "");
     }
 
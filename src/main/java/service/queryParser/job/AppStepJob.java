@@ -1,5 +1,8 @@
 package service.queryParser.job;
 
+import com.log.JobMetrics;
+import service.queryParser.cache.ParseCache;
+import service.queryParser.parser.TableStepParser;
 import service.queryParser.processor.FileStepParserProcessor;
 import service.queryParser.reader.SqlReader;
 import service.queryParser.writer.CsvStepWriter;
@@ -11,7 +14,9 @@ import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * STEP별로 SQL 파일을 처리하는 Job 클래스
@@ -22,25 +27,47 @@ import java.util.Map;
  * 경로 관리:
  * - 입력 경로: DEFAULT_INPUT_PATH 또는 main 메소드 인자로 지정
  * - 출력 경로: DEFAULT_OUTPUT_PATH
+ * - 파싱 캐시: 출력 경로/.appstepjob.cache (변경 없는 파일은 파싱/출력 생략)
+ * - STEP 병렬 파싱: -DstepParser.parallel=true (기준 STEP 수: -DstepParser.parallelThreshold,
+ *   병렬도: -DstepParser.parallelism, 기본 CPU 코어 수). 풀은 execute 마다 전용으로 만들고 끝나면 종료합니다.
  */
 public class AppStepJob {
 
     // 기본 입력/출력 경로 (AppStepJob에서만 관리)
     private static final Path DEFAULT_INPUT_PATH = Paths.get("D:", "11. Project", "11. DB", "BigQuery");
     private static final Path DEFAULT_OUTPUT_PATH = Paths.get("D:", "11. Project", "11. DB", "BigQuery_out");
+    private static final String CACHE_FILE_NAME = ".appstepjob.cache";
 
     private final Path inputPath;
     private final SqlReader reader;
     private final FileStepParserProcessor processor;
     private final TextStepWriter writer;
     private final CsvStepWriter csvWriter;
+    private final ParseCache cache;
+    private JobMetrics metrics = JobMetrics.disabled();
+
+    // STEP 병렬 파싱 설정 (parallelStepParser 가 null 이면 순차)
+    private TableStepParser parallelStepParser;
+    private int stepParallelism;
+    private int stepParallelThreshold;
 
     public AppStepJob(Path inputPath, SqlReader reader, FileStepParserProcessor processor, TextStepWriter writer, CsvStepWriter csvWriter) {
+        this(inputPath, reader, processor, writer, csvWriter, null);
+    }
+
+    /**
+     * 증분 스캔용 생성자
+     *
+     * @param cache 파싱 결과 캐시 (null 이면 매번 모든 파일을 파싱)
+     */
+    public AppStepJob(Path inputPath, SqlReader reader, FileStepParserProcessor processor, TextStepWriter writer,
+                      CsvStepWriter csvWriter, ParseCache cache) {
         this.inputPath = inputPath;
         this.reader = reader;
         this.processor = processor;
         this.writer = writer;
         this.csvWriter = csvWriter;
+        this.cache = cache;
     }
 
     public static AppStepJob createJob() {
@@ -52,18 +79,59 @@ public class AppStepJob {
     }
 
     public static AppStepJob createJob(Path inputPath, Path outputPath) {
-        SqlReader reader = new SqlReader(SqlReader.DEFAULT_CHARSET);
-        FileStepParserProcessor processor = FileStepParserProcessor.withDefaults();
+        SqlReader reader = SqlReader.autoDetect();
+        TableStepParser stepParser = new TableStepParser();
+        // -DstepParser.parallel=true: STEP 이 많은 파일은 STEP 단위로 병렬 파싱
+        FileStepParserProcessor processor = new FileStepParserProcessor(stepParser);
         TextStepWriter writer = new TextStepWriter(outputPath, Charset.forName("UTF-8"));
         Path csvPath = outputPath.resolve("step_summary.csv");
-        CsvStepWriter csvWriter = new CsvStepWriter(csvPath, Charset.forName("UTF-8"));
-        return new AppStepJob(inputPath, reader, processor, writer, csvWriter);
+        CsvStepWriter csvWriter = CsvStepWriter.streaming(csvPath, Charset.forName("UTF-8"));
+        ParseCache cache = ParseCache.open(outputPath.resolve(CACHE_FILE_NAME), "AppStepJob/" + processor.getParserName() + "/auto");
+        AppStepJob job = new AppStepJob(inputPath, reader, processor, writer, csvWriter, cache);
+        if (Boolean.getBoolean("stepParser.parallel")) {
+            job.setStepParallel(stepParser,
+                    Integer.getInteger("stepParser.parallelism", Runtime.getRuntime().availableProcessors()),
+                    Integer.getInteger("stepParser.parallelThreshold", TableStepParser.DEFAULT_PARALLEL_THRESHOLD));
+        }
+        return job;
+    }
+
+    /**
+     * STEP 병렬 파싱을 켭니다. execute 동안만 이 작업 전용 ForkJoinPool 을 stepParser 에 연결하고,
+     * 끝나면 풀을 종료합니다 (STEP 하나가 제한 시간까지 걸려도 JVM 공용 풀을 점유하지 않도록).
+     *
+     * @param stepParser processor 가 사용하는 STEP 파서
+     * @param parallelism 풀 스레드 수
+     * @param threshold 병렬로 파싱할 최소 STEP 수
+     */
+    public void setStepParallel(TableStepParser stepParser, int parallelism, int threshold) {
+        this.parallelStepParser = stepParser;
+        this.stepParallelism = Math.max(1, parallelism);
+        this.stepParallelThreshold = threshold;
     }
 
     public void execute() {
+        ForkJoinPool stepPool = null;
+        if (parallelStepParser != null) {
+            stepPool = new ForkJoinPool(stepParallelism);
+            parallelStepParser.setParallel(stepPool, stepParallelThreshold);
+        }
+        try {
+            run();
+        } finally {
+            if (stepPool != null) {
+                parallelStepParser.setParallel(null, stepParallelThreshold);
+                stepPool.shutdownNow();
+            }
+        }
+    }
+
+    private void run() {
+        attachMetrics(JobMetrics.start("AppStepJob"));
         if (Files.isDirectory(inputPath)) {
             System.out.println("[AppStepJob] Processing directory: " + inputPath);
-            reader.run(inputPath, this::processFile);
+            reader.runFiles(inputPath, 1, this::processFile, this::collectSteps);
+            reader.reportQuarantine(writer.getOutputDir());
         } else if (Files.isRegularFile(inputPath)) {
             System.out.println("[AppStepJob] Processing single file: " + inputPath);
             processSingleFile(inputPath);
@@ -81,28 +149,76 @@ public class AppStepJob {
         } catch (IOException ex) {
             System.err.println("[AppStepJob] Failed to save CSV file: " + ex.getMessage());
         }
+
+        if (cache != null) {
+            try {
+                cache.save();
+            } catch (IOException ex) {
+                System.err.println("[AppStepJob] Failed to save parse cache: " + ex.getMessage());
+            }
+        }
+
+        metrics.report(writer.getOutputDir());
+        attachMetrics(JobMetrics.disabled());
+    }
+
+    /**
+     * 단계별 측정 객체를 reader / processor / writer 에 연결합니다.
+     */
+    private void attachMetrics(JobMetrics metrics) {
+        this.metrics = metrics;
+        reader.setMetrics(metrics);
+        processor.setMetrics(metrics);
+        writer.setMetrics(metrics);
+        csvWriter.setMetrics(metrics);
     }
 
     private void processSingleFile(Path file) {
+        long begin = metrics.begin();
         try {
-            String sql = reader.readFile(file);
-            processFile(file, sql);
+            collectSteps(file, processFile(file));
+            metrics.fileDone(file.getFileName().toString(), begin, file.toFile().length());
         } catch (IOException ex) {
-            System.err.println("File read failed: " + file + " - " + ex.getMessage());
+            System.err.println("Step file processing failed: " + file + " - " + ex.getMessage());
         }
     }
 
-    private void processFile(Path file, String sql) {
-        try {
-            Map<String, TablesInfo> stepTables = process(sql);
+    private Map<String, TablesInfo> processFile(Path file) throws IOException {
+        if (cache == null) {
+            Map<String, TablesInfo> stepTables = process(reader.readFile(file));
             write(file, stepTables);
+            return stepTables;
+        }
 
-            // CSV 레코드 추가 (파일별로 모든 STEP 정보를 집계)
-            String fileName = file.getFileName().toString();
-            csvWriter.addFileSteps(fileName, stepTables);
-        } catch (IOException ex) {
-            System.err.println("Step file processing failed: " + file + " - " + ex.getMessage());
+        ParseCache.Lookup lookup = cache.lookup(baseDir().relativize(file).toString().replace("\\", "/"), file);
+        String sql = null;
+        if (!lookup.isHit()) {
+            // 파싱에 쓸 매핑/재사용 버퍼를 그대로 해시 (파일은 한 번만 읽음)
+            MessageDigest digest = ParseCache.newDigest();
+            sql = reader.readContent(file, digest).toString();
+            lookup = cache.verify(lookup, digest);
         }
+        if (lookup.isHit()) {
+            // 변경 없는 파일: 파싱 생략, 출력 파일이 지워진 경우에만 다시 기록
+            System.out.println("[AppStepJob] Unchanged (cached): " + file.getFileName());
+            metrics.increment("cache.hit");
+            if (!writer.exists(baseDir(), file)) {
+                write(file, lookup.steps());
+            }
+            return lookup.steps();
+        }
+
+        metrics.increment("cache.miss");
+        Map<String, TablesInfo> stepTables = process(sql);
+        write(file, stepTables);
+        cache.put(lookup, stepTables);
+        return stepTables;
+    }
+
+    private void collectSteps(Path file, Map<String, TablesInfo> stepTables) {
+        // CSV 레코드 추가 (파일별로 모든 STEP 정보를 집계)
+        String fileName = file.getFileName().toString();
+        csvWriter.addFileSteps(fileName, stepTables);
     }
 
     private Map<String, TablesInfo> process(String sql) {
@@ -121,8 +237,11 @@ public class AppStepJob {
     }
 
     private void write(Path file, Map<String, TablesInfo> stepTables) throws IOException {
-        Path baseDir = Files.isDirectory(inputPath) ? inputPath : inputPath.getParent();
-        writer.writeStepTables(baseDir, file, stepTables);
+        writer.writeStepTables(baseDir(), file, stepTables);
+    }
+
+    private Path baseDir() {
+        return Files.isDirectory(inputPath) ? inputPath : inputPath.getParent();
     }
 
     public static void main(String[] args) {
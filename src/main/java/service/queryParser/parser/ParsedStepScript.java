@@ -0,0 +1,227 @@
+package service.queryParser.parser;
+
+import com.regex.MatchBudget;
+import service.queryParser.vo.TablesInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * STEP 단위로 한 번 분할해 둔 SQL 스크립트
+ *
+ * TableStepParser.parse() 가 만들며, STEP 경계(시작/끝 위치)는 생성 시 한 번만 계산합니다.
+ * STEP별 SQL 은 원본을 복사하지 않는 (위치, 길이) 뷰이고, 주석을 제거한 SQL 도 주석 구간만 마스크로 가린 뷰입니다.
+ * 주석 제거 결과와 TablesInfo 는 처음 요청될 때 계산해서 보관(memoize)하므로
+ * 같은 스크립트에 STEP 수 / 특정 STEP 조회 / 전체 추출 / 포맷팅을 반복해도 파싱은 STEP마다 한 번만 일어납니다.
+ * 보관한 TablesInfo 는 여러 호출자가 공유하므로 읽기 전용이며, TableStepParser 의 extract* 메소드는 수정 가능한 복사본을 반환합니다.
+ *
+ * 여러 스레드에서 동시에 조회해도 안전합니다 (같은 STEP 을 동시에 처음 요청하면 한 번만 파싱).
+ *
+ * 병렬 풀이 지정되어 있고 STEP 수가 기준 이상이면 getStepTables() 는 STEP 들을 ForkJoinPool 에 나눠 파싱합니다.
+ * 결과 Map 은 병렬 여부와 관계없이 스크립트 순서이며, 호출 스레드의 MatchBudget 은 작업마다 fork() 해서 적용합니다.
+ */
+public final class ParsedStepScript {
+
+    private final String sql;
+    private final TableParser tableParser;
+    private final List<Step> steps;
+    private final Map<String, Step> byName;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private volatile Map<String, TablesInfo> stepTables;
+    private volatile String formatted;
+
+    ParsedStepScript(String sql, TableParser tableParser, List<Boundary> boundaries) {
+        this(sql, tableParser, boundaries, null, 0);
+    }
+
+    /**
+     * @param pool STEP 병렬 파싱용 풀 (null 이면 순차)
+     * @param parallelThreshold 병렬로 파싱할 최소 STEP 수
+     */
+    ParsedStepScript(String sql, TableParser tableParser, List<Boundary> boundaries,
+                     ForkJoinPool pool, int parallelThreshold) {
+        this.sql = sql;
+        this.tableParser = tableParser;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+        this.steps = new ArrayList<>(boundaries.size());
+        Map<String, Step> names = new HashMap<>();
+        for (Boundary boundary : boundaries) {
+            Step step = new Step(boundary.name, boundary.start, boundary.end);
+            steps.add(step);
+            // 같은 STEP 이름이 여러 번 나오면 마지막 STEP (extractTablesByStep 의 Map 과 동일)
+            names.put(step.name, step);
+        }
+        this.byName = names;
+    }
+
+    /** 분할한 원본 스크립트 */
+    public String getSql() {
+        return sql;
+    }
+
+    /** STEP 블록 수 (내용이 빈 STEP 제외, 같은 이름도 각각 셈) */
+    public int getStepCount() {
+        return steps.size();
+    }
+
+    /** STEP 이름 목록 (스크립트 순서) */
+    public List<String> getStepNames() {
+        List<String> names = new ArrayList<>(steps.size());
+        for (Step step : steps) {
+            names.add(step.name);
+        }
+        return names;
+    }
+
+    /**
+     * STEP 의 SQL (앞뒤 공백 제거, 원본 스크립트의 뷰), 없으면 null
+     */
+    public CharSequence getStepSql(String stepName) {
+        Step step = byName.get(stepName);
+        return step == null ? null : step.sql();
+    }
+
+    /**
+     * STEP 의 주석을 공백으로 가린 SQL (원본 스크립트의 뷰, 길이는 getStepSql 과 같음), 없으면 null
+     */
+    public CharSequence getCleanedSql(String stepName) {
+        Step step = byName.get(stepName);
+        return step == null ? null : step.cleaned();
+    }
+
+    /**
+     * 특정 STEP 의 테이블 정보 (해당 STEP 만 파싱, 읽기 전용), 없으면 null
+     */
+    public TablesInfo getTables(String stepName) {
+        Step step = byName.get(stepName);
+        return step == null ? null : step.tables();
+    }
+
+    /**
+     * STEP별 테이블 정보 (Key: STEP명, 스크립트 순서). 반환된 Map 과 TablesInfo 는 수정할 수 없습니다.
+     */
+    public Map<String, TablesInfo> getStepTables() {
+        Map<String, TablesInfo> result = stepTables;
+        if (result == null) {
+            if (pool != null && steps.size() >= Math.max(2, parallelThreshold)) {
+                pool.invoke(new ParseTask(MatchBudget.current(), 0, steps.size()));
+            }
+            Map<String, TablesInfo> map = new LinkedHashMap<>();
+            for (Step step : steps) {
+                map.put(step.name, step.tables());
+            }
+            result = Collections.unmodifiableMap(map);
+            stepTables = result;
+        }
+        return result;
+    }
+
+    /**
+     * TableStepParser.formatStepTables 와 같은 형식의 STEP별 테이블 목록 문자열
+     */
+    public String format() {
+        String result = formatted;
+        if (result == null) {
+            result = TableStepParser.format(getStepTables());
+            formatted = result;
+        }
+        return result;
+    }
+
+    /**
+     * steps[from, to) 를 반씩 나눠 파싱하는 작업 (결과는 각 Step 에 보관)
+     */
+    private final class ParseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final MatchBudget budget;
+        private final int from;
+        private final int to;
+
+        ParseTask(MatchBudget budget, int from, int to) {
+            this.budget = budget;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ParseTask(budget, from, mid), new ParseTask(budget, mid, to));
+                return;
+            }
+            Step step = steps.get(from);
+            if (budget == null) {
+                step.tables();
+                return;
+            }
+            try {
+                budget.fork().call(step::tables);
+            } catch (RuntimeException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    /**
+     * STEP 이름과 원본 스크립트에서의 위치 [start, end)
+     */
+    static final class Boundary {
+        final String name;
+        final int start;
+        final int end;
+
+        Boundary(String name, int start, int end) {
+            this.name = name;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * STEP 경계와 지연 계산 결과
+     */
+    private final class Step {
+        final String name;
+        final int start;
+        final int end;
+        private CharSequence cleaned;
+        private TablesInfo tables;
+
+        Step(String name, int start, int end) {
+            this.name = name;
+            this.start = start;
+            this.end = end;
+        }
+
+        CharSequence sql() {
+            return SqlTextView.of(ParsedStepScript.this.sql, start, end);
+        }
+
+        synchronized CharSequence cleaned() {
+            if (cleaned == null) {
+                cleaned = tableParser.stripComments(sql());
+            }
+            return cleaned;
+        }
+
+        synchronized TablesInfo tables() {
+            if (tables == null) {
+                // 보관한 결과를 여러 호출자가 공유하므로 읽기 전용 뷰로 보관
+                tables = tableParser.extractTables(sql()).readOnly();
+            }
+            return tables;
+        }
+    }
+}
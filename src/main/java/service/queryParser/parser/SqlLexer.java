@@ -0,0 +1,289 @@
+package service.queryParser.parser;
+
+/**
+ * SQL 스크립트를 한 번의 선형 스캔으로 토큰화하는 렉서 클래스
+ *
+ * 정규식 없이 문자 단위 상태 머신으로 동작하며, 토큰 객체를 만들지 않고
+ * 현재 토큰의 종류와 시작/끝 오프셋만 노출합니다.
+ *
+ * 토큰 종류:
+ * - NAME          : 테이블명 형태의 식별자 (schema.table, `테이블`, DW.`기지국05` 등)
+ * - STRING        : 문자열 리터럴 ('...', "...", '''...''', """...""")
+ * - LINE_COMMENT  : -- 주석
+ * - BLOCK_COMMENT : 블록 주석
+ * - SYMBOL        : 그 외 한 글자 기호 ( ) , ; 등
+ *
+ * 문자열 안의 역슬래시 처리는 Dialect 로 정합니다. 기본값은 BIGQUERY('It\'s' 허용)이며,
+ * ANSI 는 Oracle / ANSI 규칙대로 '' 만 이스케이프로 보므로 'C:\' 가 닫는 따옴표에서 끝납니다.
+ */
+public class SqlLexer {
+
+    public static final int EOF = 0;
+    public static final int NAME = 1;
+    public static final int STRING = 2;
+    public static final int LINE_COMMENT = 3;
+    public static final int BLOCK_COMMENT = 4;
+    public static final int SYMBOL = 5;
+
+    /**
+     * 문자열 리터럴 규칙
+     */
+    public enum Dialect {
+        /** BigQuery: 모든 문자열에서 역슬래시 이스케이프 허용 ('It\'s') */
+        BIGQUERY(true),
+        /** Oracle / ANSI: 역슬래시는 일반 문자, '' 만 이스케이프 ('C:\') */
+        ANSI(false);
+
+        private final boolean backslashEscapes;
+
+        Dialect(boolean backslashEscapes) {
+            this.backslashEscapes = backslashEscapes;
+        }
+
+        public boolean isBackslashEscapes() {
+            return backslashEscapes;
+        }
+    }
+
+    private final CharSequence sql;
+    private final int limit;
+    private final boolean backslashEscapes;
+    private int pos;
+
+    private int type = EOF;
+    private int start;
+    private int end;
+    private boolean spaceBefore;
+
+    /**
+     * 전체 문자열을 BigQuery 규칙으로 토큰화하는 렉서를 생성합니다.
+     *
+     * @param sql SQL 문자열
+     */
+    public SqlLexer(CharSequence sql) {
+        this(sql, Dialect.BIGQUERY);
+    }
+
+    /**
+     * 전체 문자열을 토큰화하는 렉서를 생성합니다.
+     *
+     * @param sql SQL 문자열
+     * @param dialect 문자열 리터럴 규칙
+     */
+    public SqlLexer(CharSequence sql, Dialect dialect) {
+        this(sql, 0, sql.length(), dialect);
+    }
+
+    /**
+     * 문자열의 일부 구간만 토큰화하는 렉서를 생성합니다.
+     *
+     * @param sql SQL 문자열
+     * @param from 시작 오프셋 (포함)
+     * @param to 끝 오프셋 (제외)
+     */
+    public SqlLexer(CharSequence sql, int from, int to) {
+        this(sql, from, to, Dialect.BIGQUERY);
+    }
+
+    /**
+     * 문자열의 일부 구간만 토큰화하는 렉서를 생성합니다.
+     *
+     * @param sql SQL 문자열
+     * @param from 시작 오프셋 (포함)
+     * @param to 끝 오프셋 (제외)
+     * @param dialect 문자열 리터럴 규칙
+     */
+    public SqlLexer(CharSequence sql, int from, int to, Dialect dialect) {
+        this.sql = sql;
+        this.pos = from;
+        this.limit = to;
+        this.backslashEscapes = dialect.isBackslashEscapes();
+    }
+
+    /**
+     * 다음 토큰으로 이동합니다. 주석도 하나의 토큰으로 반환합니다.
+     *
+     * @return 토큰 종류 (EOF이면 더 이상 토큰 없음)
+     */
+    public int next() {
+        spaceBefore = false;
+        while (pos < limit && Character.isWhitespace(sql.charAt(pos))) {
+            pos++;
+            spaceBefore = true;
+        }
+
+        start = pos;
+        if (pos >= limit) {
+            end = pos;
+            return type = EOF;
+        }
+
+        char c = sql.charAt(pos);
+        char n = pos + 1 < limit ? sql.charAt(pos + 1) : '\0';
+
+        if (c == '-' && n == '-') {
+            pos = skipLineComment(pos + 2);
+            type = LINE_COMMENT;
+        } else if (c == '/' && n == '*') {
+            pos = skipBlockComment(pos + 2);
+            type = BLOCK_COMMENT;
+        } else if (c == '\'' || c == '"') {
+            pos = skipString(pos, c);
+            type = STRING;
+        } else if (c == '`' || isWordChar(c)) {
+            pos = skipName(pos);
+            type = NAME;
+        } else {
+            pos++;
+            type = SYMBOL;
+        }
+        end = pos;
+        return type;
+    }
+
+    /**
+     * 다음 의미 있는 토큰으로 이동합니다. 주석은 공백으로 취급하여 건너뜁니다.
+     *
+     * @return 토큰 종류 (주석 제외)
+     */
+    public int nextSignificant() {
+        boolean spaced = false;
+        int t;
+        while ((t = next()) == LINE_COMMENT || t == BLOCK_COMMENT) {
+            spaced = true;
+        }
+        spaceBefore |= spaced;
+        return t;
+    }
+
+    public int type() {
+        return type;
+    }
+
+    public int start() {
+        return start;
+    }
+
+    public int end() {
+        return end;
+    }
+
+    /**
+     * 현재 토큰 앞에 공백 또는 주석이 있었는지 여부
+     */
+    public boolean hasSpaceBefore() {
+        return spaceBefore;
+    }
+
+    /**
+     * 현재 토큰이 단일 SYMBOL 문자 c 인지 확인합니다.
+     */
+    public boolean isSymbol(char c) {
+        return type == SYMBOL && sql.charAt(start) == c;
+    }
+
+    /**
+     * 현재 토큰 텍스트를 반환합니다.
+     */
+    public String text() {
+        return sql.subSequence(start, end).toString();
+    }
+
+    /**
+     * 테이블명 구성 문자 여부 (TableNamePattern.TABLE_NAME_REGEX 의 [A-Za-z0-9_$\p{L}-] 와 동일)
+     *
+     * @param c 문자
+     * @return 식별자 문자이면 true
+     */
+    public static boolean isWordChar(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                || c == '_' || c == '$' || c == '-' || Character.isLetter(c);
+    }
+
+    private int skipLineComment(int i) {
+        while (i < limit) {
+            char c = sql.charAt(i);
+            if (c == '\n') {
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private int skipBlockComment(int i) {
+        while (i + 1 < limit) {
+            if (sql.charAt(i) == '*' && sql.charAt(i + 1) == '/') {
+                return i + 2;
+            }
+            i++;
+        }
+        return limit;
+    }
+
+    private int skipString(int i, char quote) {
+        // 삼중 따옴표 문자열 (BigQuery)
+        if (i + 2 < limit && sql.charAt(i + 1) == quote && sql.charAt(i + 2) == quote) {
+            i += 3;
+            while (i + 2 < limit) {
+                char c = sql.charAt(i);
+                if (c == '\\' && backslashEscapes) {
+                    i += 2;
+                    continue;
+                }
+                if (c == quote && sql.charAt(i + 1) == quote && sql.charAt(i + 2) == quote) {
+                    return i + 3;
+                }
+                i++;
+            }
+            return limit;
+        }
+
+        i++;
+        while (i < limit) {
+            char c = sql.charAt(i);
+            if (c == '\\' && backslashEscapes) {
+                i += 2;
+                continue;
+            }
+            if (c == quote) {
+                // '' 는 이스케이프된 따옴표
+                if (i + 1 < limit && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return limit;
+    }
+
+    /**
+     * 점(.)으로 연결된 식별자/백틱 세그먼트 전체를 하나의 NAME 토큰으로 읽습니다.
+     */
+    private int skipName(int i) {
+        while (true) {
+            if (i < limit && sql.charAt(i) == '`') {
+                int close = i + 1;
+                while (close < limit && sql.charAt(close) != '`') {
+                    close++;
+                }
+                i = Math.min(close + 1, limit);
+            } else {
+                while (i < limit && isWordChar(sql.charAt(i))
+                        && !(sql.charAt(i) == '-' && i + 1 < limit && sql.charAt(i + 1) == '-')) {
+                    i++;
+                }
+            }
+
+            if (i + 1 < limit && sql.charAt(i) == '.'
+                    && (sql.charAt(i + 1) == '`' || isWordChar(sql.charAt(i + 1)))
+                    && !(sql.charAt(i + 1) == '-' && i + 2 < limit && sql.charAt(i + 2) == '-')) {
+                i++;
+                continue;
+            }
+            return i;
+        }
+    }
+}
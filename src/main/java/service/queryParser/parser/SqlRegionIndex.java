@@ -0,0 +1,137 @@
+package service.queryParser.parser;
+
+import java.util.Arrays;
+
+/**
+ * SQL 스크립트의 문자열 리터럴/주석 구간 인덱스 클래스
+ *
+ * 스크립트당 한 번 SqlLexer 로 선형 스캔하여 문자열과 주석 구간을 시작 오프셋 순으로
+ * 정렬된 배열에 저장합니다. "오프셋 X 가 문자열/주석 안인가?" 질의는 이진 탐색(O(log n))으로
+ * 처리하므로, 매칭마다 스크립트 처음부터 따옴표를 세던 방식(O(n·m))을 대체합니다.
+ *
+ * TableParser, TableStepParser 의 모든 추출기에서 같은 인덱스를 재사용할 수 있습니다.
+ */
+public class SqlRegionIndex {
+
+    /**
+     * 구간 종류: 문자열 리터럴
+     */
+    public static final byte STRING = 1;
+
+    /**
+     * 구간 종류: 주석 (-- 또는 블록 주석)
+     */
+    public static final byte COMMENT = 2;
+
+    private final int[] starts;
+    private final int[] ends;
+    private final byte[] kinds;
+    private final int size;
+
+    private SqlRegionIndex(int[] starts, int[] ends, byte[] kinds, int size) {
+        this.starts = starts;
+        this.ends = ends;
+        this.kinds = kinds;
+        this.size = size;
+    }
+
+    /**
+     * 스크립트 전체를 BigQuery 문자열 규칙으로 한 번 스캔하여 인덱스를 생성합니다.
+     *
+     * @param sql SQL 문자열
+     * @return 문자열/주석 구간 인덱스
+     */
+    public static SqlRegionIndex build(CharSequence sql) {
+        return build(sql, SqlLexer.Dialect.BIGQUERY);
+    }
+
+    /**
+     * 스크립트 전체를 한 번 스캔하여 인덱스를 생성합니다.
+     *
+     * @param sql SQL 문자열
+     * @param dialect 문자열 리터럴 규칙
+     * @return 문자열/주석 구간 인덱스
+     */
+    public static SqlRegionIndex build(CharSequence sql, SqlLexer.Dialect dialect) {
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        byte[] kinds = new byte[16];
+        int size = 0;
+
+        SqlLexer lexer = new SqlLexer(sql, dialect);
+        int type;
+        while ((type = lexer.next()) != SqlLexer.EOF) {
+            byte kind;
+            if (type == SqlLexer.STRING) {
+                kind = STRING;
+            } else if (type == SqlLexer.LINE_COMMENT || type == SqlLexer.BLOCK_COMMENT) {
+                kind = COMMENT;
+            } else {
+                continue;
+            }
+
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+                kinds = Arrays.copyOf(kinds, size * 2);
+            }
+            starts[size] = lexer.start();
+            ends[size] = lexer.end();
+            kinds[size] = kind;
+            size++;
+        }
+        return new SqlRegionIndex(starts, ends, kinds, size);
+    }
+
+    /**
+     * 오프셋이 문자열 리터럴 안(따옴표 포함)인지 확인합니다.
+     */
+    public boolean isInsideString(int offset) {
+        return kindAt(offset) == STRING;
+    }
+
+    /**
+     * 오프셋이 주석 안(주석 기호 포함)인지 확인합니다.
+     */
+    public boolean isInsideComment(int offset) {
+        return kindAt(offset) == COMMENT;
+    }
+
+    /**
+     * 오프셋이 문자열 또는 주석 안인지 확인합니다.
+     */
+    public boolean isInsideStringOrComment(int offset) {
+        return kindAt(offset) != 0;
+    }
+
+    /**
+     * 인덱스에 저장된 구간 수를 반환합니다.
+     */
+    public int regionCount() {
+        return size;
+    }
+
+    /**
+     * 오프셋을 포함하는 구간의 종류를 이진 탐색으로 찾습니다.
+     *
+     * @param offset 문자 오프셋
+     * @return STRING, COMMENT 또는 구간 밖이면 0
+     */
+    private byte kindAt(int offset) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] <= offset) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        // hi: start <= offset 인 마지막 구간
+        if (hi >= 0 && offset < ends[hi]) {
+            return kinds[hi];
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,148 @@
+package service.queryParser.parser;
+
+/**
+ * 원본 SQL 의 일부 구간을 복사 없이 보여주는 읽기 전용 CharSequence
+ *
+ * STEP 분할(ParsedStepScript)은 substring 대신 (시작 위치, 길이) 뷰를 만들고,
+ * 주석 제거(TableParser)는 주석 구간을 비트 마스크로 표시해 공백으로 보이게 합니다.
+ * 뷰 자체의 추가 메모리는 마스크(문자당 1비트)뿐이며, 정규식 추출용 String 이 필요하면
+ * copyOf() 로 주석을 가린 내용을 한 번에 복사합니다 (replaceAll 처럼 중간 문자열을 만들지 않음).
+ *
+ * 원본과 길이/위치가 같으므로 뷰에서 찾은 오프셋은 그대로 원본 구간의 오프셋입니다.
+ * 오래 보관할 값은 toString() 으로 복사해야 합니다.
+ */
+final class SqlTextView implements CharSequence {
+
+    // 이보다 큰 복사 버퍼는 스레드에 남겨두지 않음
+    private static final int RETAIN_LIMIT_CHARS = 1024 * 1024;
+
+    private static final ThreadLocal<char[]> SCRATCH = new ThreadLocal<>();
+
+    private final CharSequence base;
+    private final int offset;
+    private final int length;
+    private final long[] mask;
+    private final int maskOffset;
+
+    private SqlTextView(CharSequence base, int offset, int length, long[] mask, int maskOffset) {
+        this.base = base;
+        this.offset = offset;
+        this.length = length;
+        this.mask = mask;
+        this.maskOffset = maskOffset;
+    }
+
+    /**
+     * base 의 [start, end) 구간 뷰
+     */
+    static SqlTextView of(CharSequence base, int start, int end) {
+        if (start < 0 || end > base.length() || start > end) {
+            throw new IndexOutOfBoundsException("start=" + start + ", end=" + end + ", length=" + base.length());
+        }
+        return new SqlTextView(base, start, end - start, null, 0);
+    }
+
+    /**
+     * text 에서 mask 비트가 켜진 위치를 공백으로 보여주는 뷰 (mask 의 비트 i 는 text 의 i 번째 문자)
+     */
+    static SqlTextView masked(CharSequence text, long[] mask) {
+        // 마스크 없는 뷰는 한 단계만 감싸도록 원본 구간을 직접 참조
+        if (text instanceof SqlTextView view && view.mask == null) {
+            return new SqlTextView(view.base, view.offset, view.length, mask, 0);
+        }
+        return new SqlTextView(text, 0, text.length(), mask, 0);
+    }
+
+    /**
+     * length 문자용 빈 마스크
+     */
+    static long[] newMask(int length) {
+        return new long[(length + 63) >>> 6];
+    }
+
+    /**
+     * 마스크의 [start, end) 비트를 켭니다.
+     */
+    static void mark(long[] mask, int start, int end) {
+        for (int i = start; i < end; i++) {
+            mask[i >>> 6] |= 1L << i;
+        }
+    }
+
+    /**
+     * text 를 mask 구간만 공백으로 바꿔 String 으로 복사합니다 (mask 가 null 이면 그대로 복사).
+     * 스레드별 버퍼를 재사용하므로 할당은 결과 String 하나입니다.
+     */
+    static String copyOf(CharSequence text, long[] mask) {
+        int length = text.length();
+        if (mask == null) {
+            return text.toString();
+        }
+        char[] chars = SCRATCH.get();
+        if (chars == null || chars.length < length) {
+            chars = new char[length];
+            if (length <= RETAIN_LIMIT_CHARS) {
+                SCRATCH.set(chars);
+            }
+        }
+        if (text instanceof String s) {
+            s.getChars(0, length, chars, 0);
+        } else if (text instanceof SqlTextView view && view.mask == null && view.base instanceof String s) {
+            s.getChars(view.offset, view.offset + length, chars, 0);
+        } else {
+            for (int i = 0; i < length; i++) {
+                chars[i] = text.charAt(i);
+            }
+        }
+        for (int w = 0; w < mask.length; w++) {
+            long bits = mask[w];
+            while (bits != 0) {
+                chars[(w << 6) + Long.numberOfTrailingZeros(bits)] = ' ';
+                bits &= bits - 1;
+            }
+        }
+        return new String(chars, 0, length);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index=" + index + ", length=" + length);
+        }
+        if (mask != null) {
+            int bit = maskOffset + index;
+            if ((mask[bit >>> 6] & (1L << bit)) != 0) {
+                return ' ';
+            }
+        }
+        return base.charAt(offset + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start=" + start + ", end=" + end + ", length=" + length);
+        }
+        return new SqlTextView(base, offset + start, end - start, mask, maskOffset + start);
+    }
+
+    @Override
+    public String toString() {
+        if (mask == null) {
+            return base.subSequence(offset, offset + length).toString();
+        }
+        if (maskOffset == 0) {
+            return copyOf(new SqlTextView(base, offset, length, null, 0), mask);
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(i);
+        }
+        return new String(chars);
+    }
+}
@@ -1,13 +1,13 @@
 package service.queryParser.parser;
 
 import service.queryParser.pattern.TableNamePattern;
+import service.queryParser.pattern.TablePatternRegistry;
 import service.queryParser.pattern.TableSourcePattern;
 import service.queryParser.pattern.TableTargetPattern;
 import service.queryParser.vo.TablesInfo;
 
 import java.util.Set;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * SQL 쿼리에서 소스/타겟 테이블을 추출하는 파서 클래스
@@ -17,26 +17,85 @@ import java.util.regex.Pattern;
  */
 public class TableParser {
 
+    /**
+     * 추출 로직 버전 (파싱 캐시 서명에 포함)
+     * 같은 입력의 추출 결과가 달라지는 수정(패턴, 주석 / 문자열 처리, SqlLexer / SqlRegionIndex 등)을 하면 올립니다.
+     * 올리지 않으면 변경 없는 파일은 캐시에 남은 이전 결과가 계속 사용됩니다.
+     */
+    public static final int LOGIC_VERSION = 3;
+
+    /**
+     * 문자열 리터럴 규칙 (기본: BigQuery)
+     */
+    private final SqlLexer.Dialect dialect;
+
+    /**
+     * 기본 생성자 (BigQuery 문자열 규칙)
+     */
+    public TableParser() {
+        this(SqlLexer.Dialect.BIGQUERY);
+    }
+
+    /**
+     * 문자열 리터럴 규칙을 지정하는 생성자
+     *
+     * @param dialect 문자열 리터럴 규칙 (Oracle / ANSI 스크립트는 SqlLexer.Dialect.ANSI)
+     */
+    public TableParser(SqlLexer.Dialect dialect) {
+        this.dialect = dialect;
+    }
+
+    public SqlLexer.Dialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * 파서 이름과 추출 로직 버전 (예: TableParser@3, 파싱 캐시 서명에 사용)
+     * BigQuery 가 아닌 문자열 규칙이면 뒤에 규칙 이름이 붙습니다 (예: TableParser@3/ANSI).
+     */
+    public String getParserName() {
+        return nameWithDialect("TableParser@" + LOGIC_VERSION);
+    }
+
+    /**
+     * 기본(BigQuery)이 아닌 문자열 규칙을 파서 이름에 붙입니다.
+     */
+    protected String nameWithDialect(String name) {
+        return dialect == SqlLexer.Dialect.BIGQUERY ? name : name + "/" + dialect;
+    }
+
     /**
      * SQL 문자열에서 소스/타겟 테이블을 추출합니다.
      *
-     * @param sql SQL 문자열
+     * @param sql SQL 문자열 (파일 리더의 CharSequence 뷰도 복사 없이 사용 가능)
      * @return 추출된 테이블 정보
      */
-    public TablesInfo extractTables(String sql) {
+    public TablesInfo extractTables(CharSequence sql) {
+        try {
+            return extract(sql);
+        } finally {
+            // 캐시된 Matcher 가 이 입력을 계속 붙잡지 않도록
+            TablePatternRegistry.release();
+        }
+    }
+
+    private TablesInfo extract(CharSequence sql) {
         TablesInfo info = new TablesInfo();
 
-        // 주석 제거
+        // 주석 제거 (STEP 크기 복사 1회)
         String cleanedSql = removeComments(sql);
 
+        // 문자열 리터럴 구간 인덱스 (모든 추출기가 공유)
+        SqlRegionIndex literals = SqlRegionIndex.build(cleanedSql, dialect);
+
         // WITH 절 CTE 별칭 추출 (제외할 목록)
-        Set<String> cteAliases = extractCteAliases(cleanedSql);
+        Set<String> cteAliases = extractCteAliases(cleanedSql, literals);
 
         // 타겟 테이블 추출
-        extractTargetTables(cleanedSql, info.getTargets());
+        extractTargetTables(cleanedSql, literals, info.getTargets());
 
         // 소스 테이블 추출
-        extractSourceTables(cleanedSql, info.getSources());
+        extractSourceTables(cleanedSql, literals, info.getSources());
 
         // CTE 별칭 제외
         info.getSources().removeAll(cteAliases);
@@ -44,15 +103,66 @@ public class TableParser {
         return info;
     }
 
+    /**
+     * 블록 주석과 라인 주석을 공백으로 가린 SQL 을 반환합니다 (extractTables 가 파싱 전에 하는 것과 같은 구간).
+     * 원본을 복사하지 않는 뷰이며 길이와 위치는 원본과 같습니다.
+     *
+     * @param sql SQL 문자열
+     * @return 주석이 가려진 SQL (주석이 없으면 sql 그대로)
+     */
+    public CharSequence stripComments(CharSequence sql) {
+        long[] mask;
+        try {
+            mask = commentMask(sql);
+        } finally {
+            TablePatternRegistry.release();
+        }
+        return mask == null ? sql : SqlTextView.masked(sql, mask);
+    }
+
     /**
      * SQL 주석을 제거합니다.
+     * 주석 구간을 공백으로 바꾼 문자열을 한 번에 만들며, 주석이 없는 String 은 복사하지 않습니다.
+     * (정규식은 String 에서 가장 빠르므로 추출기에는 뷰 대신 STEP 크기의 String 하나를 넘김)
      *
      * @param sql SQL 문자열
-     * @return 주석이 제거된 SQL
+     * @return 주석이 제거된 SQL (길이와 위치는 원본과 같음)
      */
-    private String removeComments(String sql) {
-        return sql.replaceAll("(?s)/\\*.*?\\*/", " ")
-                  .replaceAll("--.*?(\r?\n|$)", " ");
+    private String removeComments(CharSequence sql) {
+        long[] mask = commentMask(sql);
+        if (mask == null && sql instanceof String) {
+            return (String) sql;
+        }
+        return SqlTextView.copyOf(sql, mask);
+    }
+
+    /**
+     * 주석 구간(라인 주석은 줄바꿈까지) 비트 마스크를 만듭니다.
+     * 블록 주석을 먼저 찾고, 블록 주석을 가린 상태에서 라인 주석을 찾습니다 (이전 replaceAll 2회와 같은 순서).
+     *
+     * @param sql SQL 문자열
+     * @return 주석 마스크, 주석이 없으면 null
+     */
+    private long[] commentMask(CharSequence sql) {
+        long[] mask = null;
+        Matcher block = TablePatternRegistry.matcher(TablePatternRegistry.BLOCK_COMMENT, sql);
+        while (block.find()) {
+            if (mask == null) {
+                mask = SqlTextView.newMask(sql.length());
+            }
+            SqlTextView.mark(mask, block.start(), block.end());
+        }
+
+        CharSequence noBlock = mask == null ? sql : SqlTextView.masked(sql, mask);
+        Matcher line = TablePatternRegistry.matcher(TablePatternRegistry.LINE_COMMENT, noBlock);
+        while (line.find()) {
+            if (mask == null) {
+                mask = SqlTextView.newMask(sql.length());
+            }
+            // 이미 지나간 구간만 표시하므로 찾는 도중 마스크를 바꿔도 됨
+            SqlTextView.mark(mask, line.start(), line.end());
+        }
+        return mask;
     }
 
     /**
@@ -63,18 +173,16 @@ public class TableParser {
      * 추출: `모수`, MOSU2
      *
      * @param sql SQL 문자열
+     * @param literals 문자열 리터럴 구간 인덱스
      * @return CTE 별칭 Set
      */
-    private Set<String> extractCteAliases(String sql) {
+    private Set<String> extractCteAliases(CharSequence sql, SqlRegionIndex literals) {
         Set<String> aliases = new java.util.HashSet<>();
 
         // WITH alias AS 패턴
-        Pattern ctePattern = Pattern.compile(
-            "(?is)\\bWITH\\s+" + TableNamePattern.TABLE_NAME_REGEX + "\\s+AS\\s*\\("
-        );
-
-        Matcher matcher = ctePattern.matcher(sql);
+        Matcher matcher = TablePatternRegistry.matcher(TablePatternRegistry.CTE_WITH, sql);
         while (matcher.find()) {
+            if (literals.isInsideString(matcher.start())) continue;
             String alias = matcher.group(1);
             String cleaned = TableNamePattern.cleanTableName(alias);
             if (!cleaned.isEmpty()) {
@@ -83,12 +191,9 @@ public class TableParser {
         }
 
         // , alias AS 패턴 (WITH 절 내 추가 CTE)
-        Pattern additionalCtePattern = Pattern.compile(
-            "(?is),\\s*" + TableNamePattern.TABLE_NAME_REGEX + "\\s+AS\\s*\\("
-        );
-
-        matcher = additionalCtePattern.matcher(sql);
+        matcher = TablePatternRegistry.matcher(TablePatternRegistry.CTE_ADDITIONAL, sql);
         while (matcher.find()) {
+            if (literals.isInsideString(matcher.start())) continue;
             String alias = matcher.group(1);
             String cleaned = TableNamePattern.cleanTableName(alias);
             if (!cleaned.isEmpty()) {
@@ -104,23 +209,24 @@ public class TableParser {
      * TableTargetPattern의 패턴 정의를 사용합니다.
      *
      * @param sql SQL 문자열
+     * @param literals 문자열 리터럴 구간 인덱스
      * @param targets 타겟 테이블을 저장할 Set
      */
-    private void extractTargetTables(String sql, Set<String> targets) {
+    private void extractTargetTables(CharSequence sql, SqlRegionIndex literals, Set<String> targets) {
         // MERGE INTO 패턴
-        extractByPattern(sql, TableTargetPattern.MERGE_PATTERN, targets);
+        extractByPattern(sql, literals, TableTargetPattern.MERGE_PATTERN, targets);
 
         // INSERT INTO 패턴
-        extractByPattern(sql, TableTargetPattern.INSERT_PATTERN, targets);
+        extractByPattern(sql, literals, TableTargetPattern.INSERT_PATTERN, targets);
 
         // DELETE FROM 패턴
-        extractByPattern(sql, TableTargetPattern.DELETE_FROM_PATTERN, targets);
+        extractByPattern(sql, literals, TableTargetPattern.DELETE_FROM_PATTERN, targets);
 
         // UPDATE 패턴
-        extractByPattern(sql, TableTargetPattern.UPDATE_PATTERN, targets);
+        extractByPattern(sql, literals, TableTargetPattern.UPDATE_PATTERN, targets);
 
         // DELETE 패턴 (Oracle 방식 - WHERE 앞에만)
-        extractDeletePattern(sql, targets);
+        extractDeletePattern(sql, literals, targets);
     }
 
     /**
@@ -128,15 +234,13 @@ public class TableParser {
      * DELETE table WHERE ... 형태를 처리합니다.
      *
      * @param sql SQL 문자열
+     * @param literals 문자열 리터럴 구간 인덱스
      * @param targets 타겟 테이블을 저장할 Set
      */
-    private void extractDeletePattern(String sql, Set<String> targets) {
-        Pattern pattern = Pattern.compile(
-            "(?is)\\bDELETE\\s+" + TableNamePattern.TABLE_NAME_REGEX + "\\s+(?:WHERE|$)"
-        );
-
-        Matcher matcher = pattern.matcher(sql);
+    private void extractDeletePattern(CharSequence sql, SqlRegionIndex literals, Set<String> targets) {
+        Matcher matcher = TablePatternRegistry.matcher(TablePatternRegistry.DELETE_WHERE, sql);
         while (matcher.find()) {
+            if (literals.isInsideString(matcher.start())) continue;
             String tableName = matcher.group(1);
             addTableIfValid(tableName, targets);
         }
@@ -147,48 +251,47 @@ public class TableParser {
      * TableSourcePattern의 패턴 정의를 사용합니다.
      *
      * @param sql SQL 문자열
+     * @param literals 문자열 리터럴 구간 인덱스
      * @param sources 소스 테이블을 저장할 Set
      */
-    private void extractSourceTables(String sql, Set<String> sources) {
+    private void extractSourceTables(CharSequence sql, SqlRegionIndex literals, Set<String> sources) {
         // FROM 절
-        extractByPattern(sql, TableSourcePattern.FROM_PATTERN, sources);
+        extractByPattern(sql, literals, TableSourcePattern.FROM_PATTERN, sources);
 
         // LEFT JOIN
-        extractByPattern(sql, TableSourcePattern.LEFT_JOIN_PATTERN, sources);
+        extractByPattern(sql, literals, TableSourcePattern.LEFT_JOIN_PATTERN, sources);
 
         // INNER JOIN
-        extractByPattern(sql, TableSourcePattern.INNER_JOIN_PATTERN, sources);
+        extractByPattern(sql, literals, TableSourcePattern.INNER_JOIN_PATTERN, sources);
 
         // RIGHT JOIN
-        extractByPattern(sql, TableSourcePattern.RIGHT_JOIN_PATTERN, sources);
+        extractByPattern(sql, literals, TableSourcePattern.RIGHT_JOIN_PATTERN, sources);
 
         // JOIN
-        extractByPattern(sql, TableSourcePattern.JOIN_PATTERN, sources);
+        extractByPattern(sql, literals, TableSourcePattern.JOIN_PATTERN, sources);
 
         // USING
-        extractByPattern(sql, TableSourcePattern.USING_PATTERN, sources);
+        extractByPattern(sql, literals, TableSourcePattern.USING_PATTERN, sources);
 
         // WITH 절 (CTE)
-        extractWithClause(sql, sources);
+        extractWithClause(sql, literals, sources);
 
         // Oracle 조인 (콤마)
-        extractOracleJoin(sql, sources);
+        extractOracleJoin(sql, literals, sources);
     }
 
     /**
      * WITH 절에서 소스 테이블을 추출합니다.
      *
      * @param sql SQL 문자열
+     * @param literals 문자열 리터럴 구간 인덱스
      * @param sources 소스 테이블을 저장할 Set
      */
-    private void extractWithClause(String sql, Set<String> sources) {
+    private void extractWithClause(CharSequence sql, SqlRegionIndex literals, Set<String> sources) {
         // WITH 절 내부의 FROM 절에서 테이블 추출
-        Pattern withPattern = Pattern.compile(
-            "(?is)\\bWITH\\s+.*?\\bFROM\\s+" + TableNamePattern.TABLE_NAME_REGEX
-        );
-
-        Matcher matcher = withPattern.matcher(sql);
+        Matcher matcher = TablePatternRegistry.matcher(TablePatternRegistry.WITH_FROM, sql);
         while (matcher.find()) {
+            if (literals.isInsideString(matcher.start(1))) continue;
             String tableName = matcher.group(1);
             addTableIfValid(tableName, sources);
         }
@@ -199,15 +302,19 @@ public class TableParser {
      * FROM table1, table2 형태를 처리합니다.
      *
      * @param sql SQL 문자열
+     * @param literals 문자열 리터럴 구간 인덱스
      * @param sources 소스 테이블을 저장할 Set
      */
-    private void extractOracleJoin(String sql, Set<String> sources) {
-        Pattern pattern = Pattern.compile(TableSourcePattern.FROM_CLAUSE_RANGE_PATTERN);
-        Matcher matcher = pattern.matcher(sql);
+    private void extractOracleJoin(CharSequence sql, SqlRegionIndex literals, Set<String> sources) {
+        Matcher matcher = TablePatternRegistry.matcher(TablePatternRegistry.FROM_CLAUSE_RANGE, sql);
 
-        while (matcher.find()) {
-            // 1) 문자열 리터럴 안의 FROM 은 무시
-            if (isInsideSingleQuotes(sql, matcher.start())) {
+        int from = 0;
+        while (from < sql.length() && matcher.find(from)) {
+            from = matcher.end();
+
+            // 1) 문자열 리터럴 안의 FROM 은 무시 (뒤따르는 실제 FROM 을 삼키지 않도록 다음 위치부터 재탐색)
+            if (literals.isInsideString(matcher.start())) {
+                from = matcher.start() + 1;
                 continue;
             }
 
@@ -239,20 +346,6 @@ public class TableParser {
         }
     }
 
-    /**
-     * 주어진 index 위치가 작은따옴표(') 기준으로
-     * 문자열 리터럴 내부인지 여부를 판단
-     */
-    private boolean isInsideSingleQuotes(String sql, int index) {
-        boolean inside = false;
-        for (int i = 0; i < index; i++) {
-            if (sql.charAt(i) == '\'') {
-                inside = !inside; // ' 만날 때마다 안/밖 토글
-            }
-        }
-        return inside;
-    }
-
     /**
      * 문자열에서 첫 번째 테이블명을 추출합니다 (별칭 제외).
      *
@@ -262,8 +355,7 @@ public class TableParser {
     private void extractFirstTable(String text, Set<String> tables) {
         if (text == null || text.isEmpty()) return;
 
-        Pattern pattern = Pattern.compile("^\\s*" + TableNamePattern.TABLE_NAME_REGEX);
-        Matcher matcher = pattern.matcher(text);
+        Matcher matcher = TablePatternRegistry.matcher(TablePatternRegistry.FIRST_TABLE, text);
 
         if (matcher.find()) {
             String tableName = matcher.group(1);
@@ -276,14 +368,16 @@ public class TableParser {
      * TableNamePattern의 패턴을 사용합니다.
      *
      * @param sql SQL 문자열
+     * @param literals 문자열 리터럴 구간 인덱스
      * @param keyword SQL 키워드
      * @param tables 테이블을 저장할 Set
      */
-    private void extractByPattern(String sql, String keyword, Set<String> tables) {
-        Pattern pattern = TableNamePattern.buildPattern(keyword);
-        Matcher matcher = pattern.matcher(sql);
+    private void extractByPattern(CharSequence sql, SqlRegionIndex literals, String keyword, Set<String> tables) {
+        Matcher matcher = TablePatternRegistry.matcher(TableNamePattern.buildPattern(keyword), sql);
 
         while (matcher.find()) {
+            // 문자열 리터럴 안의 키워드는 무시
+            if (literals.isInsideString(matcher.start())) continue;
             String tableName = matcher.group(1);
             addTableIfValid(tableName, tables);
         }
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -16,11 +17,44 @@ import java.util.regex.Pattern;
  * 1. SQL 스크립트를 STEP 단위로 분할
  * 2. 각 STEP별로 소스/타겟 테이블 추출
  * 3. STEP 정보와 테이블 정보를 함께 관리
+ *
+ * 분할 결과는 ParsedStepScript 로 보관하며, 마지막으로 분할한 스크립트(String)는 재사용합니다.
+ * 따라서 같은 스크립트에 countSteps / extractTablesForStep / extractTablesByStep 을 이어서 호출해도
+ * STEP 분할은 한 번, STEP별 파싱도 STEP마다 한 번만 일어납니다.
+ *
+ * setParallel() 로 병렬 풀을 지정하면 STEP 수가 기준 이상인 스크립트는 extractTablesByStep 에서
+ * STEP 들을 ForkJoinPool 에 나눠 파싱합니다 (결과 순서는 동일, 기준 미만은 순차).
  */
 public class TableStepParser {
 
+    /**
+     * STEP 구분자 패턴: /* STEP001 *&#47; 또는 -- STEP001
+     */
+    private static final Pattern STEP_PATTERN = Pattern.compile(
+        "(?:/\\*\\s*STEP(\\d+)\\s*\\*/|--\\s*STEP(\\d+))",
+        Pattern.CASE_INSENSITIVE
+    );
+
+    /**
+     * 병렬 파싱 기본 기준 STEP 수 (이보다 적으면 작업 분배 비용이 더 큼, StepParallelBenchmark 참고)
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 16;
+
+    /**
+     * STEP 분할 로직 버전 (파싱 캐시 서명에 포함, STEP 구분 / 이름 규칙이 바뀌면 올림)
+     */
+    public static final int LOGIC_VERSION = 1;
+
     private final TableParser tableParser;
 
+    private volatile ForkJoinPool pool;
+    private volatile int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /**
+     * 마지막으로 분할한 스크립트 (같은 String 으로 다시 요청하면 재사용)
+     */
+    private volatile ParsedStepScript lastParsed;
+
     /**
      * 기본 생성자
      */
@@ -37,59 +71,114 @@ public class TableStepParser {
         this.tableParser = tableParser;
     }
 
+    /**
+     * STEP별 추출에 사용하는 TableParser 이름과 추출 로직 버전을 반환합니다.
+     */
+    public String getTableParserName() {
+        return tableParser.getParserName();
+    }
+
+    /**
+     * STEP 분할 / 추출 로직 버전을 포함한 파서 구성 이름 (예: TableStepParser@1/TableParser@3)
+     */
+    public String getParserName() {
+        return "TableStepParser@" + LOGIC_VERSION + "/" + getTableParserName();
+    }
+
+    /**
+     * STEP 병렬 파싱을 설정합니다.
+     *
+     * @param pool 사용할 풀 (null 이면 순차 파싱)
+     * @param threshold 병렬로 파싱할 최소 STEP 수
+     */
+    public void setParallel(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.parallelThreshold = threshold;
+        this.lastParsed = null;
+    }
+
+    /**
+     * 공용 풀(ForkJoinPool.commonPool)과 기본 기준으로 STEP 병렬 파싱을 켭니다.
+     */
+    public void setParallel() {
+        setParallel(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    public boolean isParallel() {
+        return pool != null;
+    }
+
     /**
      * SQL 스크립트를 STEP별로 분할하고 각 STEP의 테이블을 추출합니다.
      *
      * @param sql 전체 SQL 스크립트
-     * @return STEP별 테이블 정보 Map (Key: STEP명, Value: TablesInfo)
+     * @return STEP별 테이블 정보 Map (Key: STEP명, Value: TablesInfo, 호출마다 새 복사본)
      */
     public Map<String, TablesInfo> extractTablesByStep(String sql) {
-        Map<String, TablesInfo> stepTables = new LinkedHashMap<>();
-
-        List<StepInfo> steps = splitBySteps(sql);
-
-        for (StepInfo step : steps) {
-            TablesInfo tables = tableParser.extractTables(step.sql);
-            stepTables.put(step.stepName, tables);
+        // 분할 결과에 보관된 TablesInfo 는 공유되므로 호출자에게는 수정 가능한 복사본을 반환
+        Map<String, TablesInfo> result = new LinkedHashMap<>();
+        for (Map.Entry<String, TablesInfo> entry : parse(sql).getStepTables().entrySet()) {
+            result.put(entry.getKey(), entry.getValue().copy());
         }
+        return result;
+    }
 
-        return stepTables;
+    /**
+     * SQL 스크립트를 STEP 단위로 분할한 결과를 반환합니다.
+     * STEP별 테이블은 요청될 때 파싱되어 보관되며, 직전에 분할한 스크립트와 같으면 그 결과를 그대로 반환합니다.
+     *
+     * @param sql 전체 SQL 스크립트
+     * @return 분할된 스크립트
+     */
+    public ParsedStepScript parse(String sql) {
+        ParsedStepScript parsed = lastParsed;
+        if (parsed != null && (parsed.getSql() == sql || parsed.getSql().equals(sql))) {
+            return parsed;
+        }
+        parsed = new ParsedStepScript(sql, tableParser, splitBySteps(sql), pool, parallelThreshold);
+        lastParsed = parsed;
+        return parsed;
     }
 
     /**
      * SQL 스크립트를 STEP 단위로 분할합니다.
      *
      * 지원 패턴: STEP001, STEP002 등
+     * STEP 내용은 원본 스크립트의 위치(앞뒤 공백 제외)로만 기록하고, 내용이 빈 STEP 은 제외합니다.
      *
      * @param sql 전체 SQL 스크립트
-     * @return STEP 정보 리스트
+     * @return STEP 경계 리스트
      */
-    private List<StepInfo> splitBySteps(String sql) {
-        List<StepInfo> steps = new ArrayList<>();
-
-        // STEP 패턴: /* STEP001 */ 또는 -- STEP001
-        Pattern stepPattern = Pattern.compile(
-            "(?:/\\*\\s*STEP(\\d+)\\s*\\*/|--\\s*STEP(\\d+))",
-            Pattern.CASE_INSENSITIVE
-        );
+    private List<ParsedStepScript.Boundary> splitBySteps(String sql) {
+        Matcher matcher = STEP_PATTERN.matcher(sql);
 
-        Matcher matcher = stepPattern.matcher(sql);
+        // 문자열 리터럴 안의 STEP 표기는 구분자로 보지 않음 (STEP 추출과 같은 문자열 규칙)
+        SqlRegionIndex regions = SqlRegionIndex.build(sql, tableParser.getDialect());
 
         List<StepMatch> matches = new ArrayList<>();
         while (matcher.find()) {
+            if (regions.isInsideString(matcher.start())) {
+                continue;
+            }
             String stepNumber = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
             matches.add(new StepMatch("STEP" + stepNumber, matcher.start(), matcher.end()));
         }
 
-        // STEP별로 SQL 분할
+        // STEP별 경계 계산 (String.trim 과 같은 기준으로 앞뒤 공백 제외)
+        List<ParsedStepScript.Boundary> steps = new ArrayList<>();
         for (int i = 0; i < matches.size(); i++) {
             StepMatch current = matches.get(i);
             int sqlStart = current.end;
             int sqlEnd = (i + 1 < matches.size()) ? matches.get(i + 1).start : sql.length();
 
-            String stepSql = sql.substring(sqlStart, sqlEnd).trim();
-            if (!stepSql.isEmpty()) {
-                steps.add(new StepInfo(current.stepName, stepSql));
+            while (sqlStart < sqlEnd && sql.charAt(sqlStart) <= ' ') {
+                sqlStart++;
+            }
+            while (sqlEnd > sqlStart && sql.charAt(sqlEnd - 1) <= ' ') {
+                sqlEnd--;
+            }
+            if (sqlStart < sqlEnd) {
+                steps.add(new ParsedStepScript.Boundary(current.stepName, sqlStart, sqlEnd));
             }
         }
 
@@ -106,19 +195,6 @@ public class TableStepParser {
         return tableParser.extractTables(sql);
     }
 
-    /**
-     * STEP 정보를 담는 내부 클래스
-     */
-    private static class StepInfo {
-        final String stepName;
-        final String sql;
-
-        StepInfo(String stepName, String sql) {
-            this.stepName = stepName;
-            this.sql = sql;
-        }
-    }
-
     /**
      * STEP 매칭 정보를 담는 내부 클래스
      */
@@ -141,6 +217,10 @@ public class TableStepParser {
      * @return 포맷팅된 문자열
      */
     public String formatStepTables(Map<String, TablesInfo> stepTables) {
+        return format(stepTables);
+    }
+
+    static String format(Map<String, TablesInfo> stepTables) {
         StringBuilder sb = new StringBuilder();
 
         for (Map.Entry<String, TablesInfo> entry : stepTables.entrySet()) {
@@ -182,18 +262,20 @@ public class TableStepParser {
      * @return STEP 개수
      */
     public int countSteps(String sql) {
-        return splitBySteps(sql).size();
+        return parse(sql).getStepCount();
     }
 
     /**
      * 특정 STEP의 테이블 정보를 추출합니다.
      *
      * @param sql SQL 스크립트
+     * 분할 결과를 재사용하며 해당 STEP 만 파싱합니다.
+     *
      * @param stepName STEP 이름 (예: "STEP001")
-     * @return 해당 STEP의 테이블 정보, 없으면 null
+     * @return 해당 STEP의 테이블 정보 (호출마다 새 복사본), 없으면 null
      */
     public TablesInfo extractTablesForStep(String sql, String stepName) {
-        Map<String, TablesInfo> stepTables = extractTablesByStep(sql);
-        return stepTables.get(stepName);
+        TablesInfo tables = parse(sql).getTables(stepName);
+        return tables == null ? null : tables.copy();
     }
 }
@@ -0,0 +1,294 @@
+package service.queryParser.parser;
+
+import service.queryParser.pattern.TableNamePattern;
+import service.queryParser.vo.TablesInfo;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 단일 패스 토크나이저 기반 테이블 파서 클래스
+ *
+ * TableParser 는 키워드마다 정규식을 한 번씩(주석 제거 포함 14회 이상) 전체 스크립트에 적용합니다.
+ * 이 클래스는 SqlLexer 로 스크립트를 한 번만 훑으면서 직전 토큰 3개를 기억하는 상태 머신으로
+ * 소스/타겟 테이블, CTE 별칭을 동시에 수집하고 같은 TablesInfo 를 채웁니다.
+ *
+ * TableParser 를 상속하므로 FileParserProcessor, TableStepParser 에 그대로 주입할 수 있으며,
+ * 정규식 버전과 결과를 비교 검증할 수 있습니다.
+ *
+ * 정규식 버전과의 차이:
+ * - 문자열 리터럴 안의 FROM/JOIN 등은 테이블로 인식하지 않음
+ * - 문자열 안의 -- 나 블록 주석 기호는 주석으로 취급하지 않음
+ */
+public class TokenTableParser extends TableParser {
+
+    /**
+     * 추출 로직 버전 (파싱 캐시 서명에 포함)
+     * 상태 머신이나 SqlLexer 수정으로 같은 입력의 추출 결과가 달라지면 올립니다.
+     */
+    public static final int LOGIC_VERSION = 3;
+
+    /**
+     * 기본 생성자 (BigQuery 문자열 규칙)
+     */
+    public TokenTableParser() {
+        super();
+    }
+
+    /**
+     * 문자열 리터럴 규칙을 지정하는 생성자
+     *
+     * @param dialect 문자열 리터럴 규칙
+     */
+    public TokenTableParser(SqlLexer.Dialect dialect) {
+        super(dialect);
+    }
+
+    @Override
+    public String getParserName() {
+        return nameWithDialect("TokenTableParser@" + LOGIC_VERSION);
+    }
+
+    /**
+     * 상태 머신이 인식하는 키워드
+     */
+    private enum Keyword {
+        NONE, FROM, JOIN, USING, INSERT, INTO, MERGE, DELETE, UPDATE, WITH, AS, WHERE
+    }
+
+    /**
+     * Oracle 콤마 조인(FROM a x, b y) 추적 상태
+     */
+    private enum FromState {
+        NONE, AFTER_TABLE, EXPECT_ALIAS, AFTER_ALIAS, EXPECT_TABLE
+    }
+
+    /**
+     * SQL 문자열에서 소스/타겟 테이블을 한 번의 스캔으로 추출합니다.
+     *
+     * @param sql SQL 문자열
+     * @return 추출된 테이블 정보
+     */
+    @Override
+    public TablesInfo extractTables(CharSequence sql) {
+        TablesInfo info = new TablesInfo();
+        Set<String> cteAliases = new HashSet<>();
+
+        SqlLexer lexer = new SqlLexer(sql, getDialect());
+        Token p3 = new Token();
+        Token p2 = new Token();
+        Token p1 = new Token();
+        Token cur = new Token();
+        FromState fromState = FromState.NONE;
+
+        while (true) {
+            int type = lexer.nextSignificant();
+            cur.set(lexer, type, keywordOf(sql, lexer));
+
+            if (type == SqlLexer.EOF) {
+                // DELETE table (스크립트 끝)
+                if (lexer.hasSpaceBefore() && isDeleteTarget(p2, p1)) {
+                    addTableIfValid(nameOf(sql, p1), info.getTargets());
+                }
+                break;
+            }
+
+            if (type == SqlLexer.NAME) {
+                fromState = onName(sql, cur, p1, p2, fromState, info);
+            } else if (cur.isSymbol(sql, ',')) {
+                fromState = (fromState == FromState.AFTER_TABLE || fromState == FromState.AFTER_ALIAS)
+                        ? FromState.EXPECT_TABLE : FromState.NONE;
+            } else {
+                // WITH alias AS ( / , alias AS (
+                if (cur.isSymbol(sql, '(') && isCteAlias(sql, p3, p2, p1)) {
+                    String cleaned = TableNamePattern.cleanTableName(nameOf(sql, p2));
+                    if (!cleaned.isEmpty()) {
+                        cteAliases.add(cleaned);
+                    }
+                }
+                fromState = FromState.NONE;
+            }
+
+            // 토큰 슬롯 회전 (객체 재사용)
+            Token recycled = p3;
+            p3 = p2;
+            p2 = p1;
+            p1 = cur;
+            cur = recycled;
+        }
+
+        info.getSources().removeAll(cteAliases);
+        return info;
+    }
+
+    /**
+     * NAME 토큰 하나를 처리하고 다음 FROM 상태를 반환합니다.
+     */
+    private FromState onName(CharSequence sql, Token cur, Token p1, Token p2, FromState fromState, TablesInfo info) {
+        // DELETE table WHERE
+        if (cur.keyword == Keyword.WHERE && cur.spaced && isDeleteTarget(p2, p1)) {
+            addTableIfValid(nameOf(sql, p1), info.getTargets());
+        }
+
+        if (cur.spaced) {
+            switch (p1.keyword) {
+                case FROM:
+                    addTableIfValid(nameOf(sql, cur), info.getSources());
+                    // DELETE FROM table
+                    if (p2.keyword == Keyword.DELETE && p1.spaced) {
+                        addTableIfValid(nameOf(sql, cur), info.getTargets());
+                    }
+                    return FromState.AFTER_TABLE;
+                case JOIN:
+                case USING:
+                    addTableIfValid(nameOf(sql, cur), info.getSources());
+                    return FromState.NONE;
+                case UPDATE:
+                    addTableIfValid(nameOf(sql, cur), info.getTargets());
+                    return FromState.NONE;
+                case INTO:
+                    if ((p2.keyword == Keyword.INSERT || p2.keyword == Keyword.MERGE) && p1.spaced) {
+                        addTableIfValid(nameOf(sql, cur), info.getTargets());
+                    }
+                    return FromState.NONE;
+                default:
+                    break;
+            }
+        }
+
+        switch (fromState) {
+            case EXPECT_TABLE:
+                addTableIfValid(nameOf(sql, cur), info.getSources());
+                return FromState.AFTER_TABLE;
+            case AFTER_TABLE:
+                if (cur.keyword == Keyword.AS) {
+                    return FromState.EXPECT_ALIAS;
+                }
+                return isAlias(sql, cur) ? FromState.AFTER_ALIAS : FromState.NONE;
+            case EXPECT_ALIAS:
+                return FromState.AFTER_ALIAS;
+            default:
+                return FromState.NONE;
+        }
+    }
+
+    private boolean isDeleteTarget(Token p2, Token p1) {
+        return p2.keyword == Keyword.DELETE && p1.type == SqlLexer.NAME && p1.spaced;
+    }
+
+    private boolean isCteAlias(CharSequence sql, Token p3, Token p2, Token p1) {
+        if (p1.keyword != Keyword.AS || !p1.spaced || p2.type != SqlLexer.NAME) {
+            return false;
+        }
+        return (p3.keyword == Keyword.WITH && p2.spaced) || p3.isSymbol(sql, ',');
+    }
+
+    /**
+     * 토큰에서 테이블명을 잘라냅니다.
+     * TABLE_NAME_REGEX 와 동일하게 백틱으로 시작하면 첫 백틱 세그먼트만 사용합니다.
+     */
+    private String nameOf(CharSequence sql, Token token) {
+        int end = token.end;
+        if (sql.charAt(token.start) == '`') {
+            for (int i = token.start + 1; i < end; i++) {
+                if (sql.charAt(i) == '`') {
+                    end = i + 1;
+                    break;
+                }
+            }
+        }
+        return sql.subSequence(token.start, end).toString();
+    }
+
+    private void addTableIfValid(String tableName, Set<String> tables) {
+        String cleaned = TableNamePattern.cleanTableName(tableName);
+        if (TableNamePattern.isValidTableName(cleaned)) {
+            tables.add(cleaned);
+        }
+    }
+
+    /**
+     * 점/백틱이 없는 단일 단어이면서 SQL 키워드가 아닌 토큰이면 별칭으로 봅니다.
+     */
+    private boolean isAlias(CharSequence sql, Token token) {
+        if (token.keyword != Keyword.NONE) {
+            return false;
+        }
+        for (int i = token.start; i < token.end; i++) {
+            char c = sql.charAt(i);
+            if (c == '.' || c == '`') {
+                return false;
+            }
+        }
+        return !TableNamePattern.isKeyword(sql.subSequence(token.start, token.end).toString());
+    }
+
+    /**
+     * NAME 토큰의 키워드를 판별합니다. (대소문자 무시, 할당 없음)
+     */
+    private static Keyword keywordOf(CharSequence sql, SqlLexer lexer) {
+        if (lexer.type() != SqlLexer.NAME) {
+            return Keyword.NONE;
+        }
+        int start = lexer.start();
+        switch (lexer.end() - start) {
+            case 2:
+                return matches(sql, start, "AS") ? Keyword.AS : Keyword.NONE;
+            case 4:
+                if (matches(sql, start, "FROM")) return Keyword.FROM;
+                if (matches(sql, start, "JOIN")) return Keyword.JOIN;
+                if (matches(sql, start, "INTO")) return Keyword.INTO;
+                if (matches(sql, start, "WITH")) return Keyword.WITH;
+                return Keyword.NONE;
+            case 5:
+                if (matches(sql, start, "USING")) return Keyword.USING;
+                if (matches(sql, start, "MERGE")) return Keyword.MERGE;
+                if (matches(sql, start, "WHERE")) return Keyword.WHERE;
+                return Keyword.NONE;
+            case 6:
+                if (matches(sql, start, "INSERT")) return Keyword.INSERT;
+                if (matches(sql, start, "DELETE")) return Keyword.DELETE;
+                if (matches(sql, start, "UPDATE")) return Keyword.UPDATE;
+                return Keyword.NONE;
+            default:
+                return Keyword.NONE;
+        }
+    }
+
+    /**
+     * String.regionMatches(true, ...) 와 같은 대소문자 무시 비교 (CharSequence 용)
+     */
+    private static boolean matches(CharSequence sql, int start, String keyword) {
+        for (int i = 0; i < keyword.length(); i++) {
+            char u = Character.toUpperCase(sql.charAt(start + i));
+            char k = keyword.charAt(i);
+            if (u != k && Character.toLowerCase(u) != Character.toLowerCase(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 직전 토큰 정보를 담는 재사용 슬롯
+     */
+    private static class Token {
+        int type = SqlLexer.EOF;
+        Keyword keyword = Keyword.NONE;
+        int start;
+        int end;
+        boolean spaced;
+
+        void set(SqlLexer lexer, int type, Keyword keyword) {
+            this.type = type;
+            this.keyword = keyword;
+            this.start = lexer.start();
+            this.end = lexer.end();
+            this.spaced = lexer.hasSpaceBefore();
+        }
+
+        boolean isSymbol(CharSequence sql, char c) {
+            return type == SqlLexer.SYMBOL && sql.charAt(start) == c;
+        }
+    }
+}
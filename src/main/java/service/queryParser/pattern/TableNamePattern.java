@@ -62,6 +62,16 @@ public class TableNamePattern {
         return !KEYWORDS.contains(withoutBacktick.toUpperCase()) && withoutBacktick.length() > 1;
     }
 
+    /**
+     * 제외 대상 SQL 키워드인지 검사 (대소문자 무시)
+     *
+     * @param word 단어
+     * @return SQL 키워드이면 true
+     */
+    public static boolean isKeyword(String word) {
+        return word != null && KEYWORDS.contains(word.toUpperCase());
+    }
+
     /**
      * 테이블명 정리 (끝의 불필요한 문자 제거)
      *
@@ -89,12 +99,12 @@ public class TableNamePattern {
     }
 
     /**
-     * 테이블명 패턴 컴파일
+     * 테이블명 패턴 조회 (TablePatternRegistry 에 캐시된 패턴 재사용)
      *
      * @param keyword SQL 키워드 (예: "FROM", "INSERT INTO")
      * @return 컴파일된 패턴
      */
     public static Pattern buildPattern(String keyword) {
-        return Pattern.compile("(?is)\\b" + keyword + "\\s+" + TABLE_NAME_REGEX);
+        return TablePatternRegistry.keywordPattern(keyword);
     }
 }
@@ -0,0 +1,133 @@
+package service.queryParser.pattern;
+
+import com.regex.MatchBudget;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 컴파일된 정규식 패턴 레지스트리 클래스
+ *
+ * TableParser 가 사용하는 모든 패턴을 클래스 로딩 시 한 번만 컴파일하여 스레드 간에 공유합니다.
+ * Pattern 은 불변이라 공유해도 안전하며, Matcher 는 스레드별로 하나씩 만들어 reset() 으로 재사용합니다.
+ *
+ * 주의: matcher() 로 얻은 Matcher 는 같은 스레드에서 같은 패턴으로 다시 matcher() 를 호출하면
+ * 재설정되므로, 동일 패턴의 매칭 루프를 중첩해서 사용하면 안 됩니다.
+ *
+ * 현재 스레드에 MatchBudget 이 적용 중이면 입력을 감싸서, 예산을 넘긴 매칭은 MatchTimeoutException 으로 중단됩니다.
+ */
+public final class TablePatternRegistry {
+
+    /**
+     * 블록 주석 패턴
+     */
+    public static final Pattern BLOCK_COMMENT = Pattern.compile("(?s)/\\*.*?\\*/");
+
+    /**
+     * 라인 주석 패턴
+     */
+    public static final Pattern LINE_COMMENT = Pattern.compile("--.*?(\r?\n|$)");
+
+    /**
+     * WITH alias AS ( 패턴 (CTE 별칭)
+     */
+    public static final Pattern CTE_WITH = Pattern.compile(
+            "(?is)\\bWITH\\s+" + TableNamePattern.TABLE_NAME_REGEX + "\\s+AS\\s*\\(");
+
+    /**
+     * , alias AS ( 패턴 (WITH 절 내 추가 CTE 별칭)
+     */
+    public static final Pattern CTE_ADDITIONAL = Pattern.compile(
+            "(?is),\\s*" + TableNamePattern.TABLE_NAME_REGEX + "\\s+AS\\s*\\(");
+
+    /**
+     * DELETE table WHERE 패턴 (Oracle 방식)
+     */
+    public static final Pattern DELETE_WHERE = Pattern.compile(
+            "(?is)\\bDELETE\\s+" + TableNamePattern.TABLE_NAME_REGEX + "\\s+(?:WHERE|$)");
+
+    /**
+     * WITH 절 내부 첫 FROM 테이블 패턴
+     */
+    public static final Pattern WITH_FROM = Pattern.compile(
+            "(?is)\\bWITH\\s+.*?\\bFROM\\s+" + TableNamePattern.TABLE_NAME_REGEX);
+
+    /**
+     * Oracle 조인용 FROM 절 범위 패턴
+     */
+    public static final Pattern FROM_CLAUSE_RANGE = Pattern.compile(TableSourcePattern.FROM_CLAUSE_RANGE_PATTERN);
+
+    /**
+     * 문자열 맨 앞 테이블명 패턴 (콤마로 분리된 FROM 절 조각용)
+     */
+    public static final Pattern FIRST_TABLE = Pattern.compile("^\\s*" + TableNamePattern.TABLE_NAME_REGEX);
+
+    /**
+     * 키워드별 테이블명 패턴 (키워드 문자열 -> 컴파일된 패턴)
+     */
+    private static final Map<String, Pattern> KEYWORD_PATTERNS = new ConcurrentHashMap<>();
+
+    /**
+     * 스레드별 Matcher 캐시 (패턴 동일성 기준)
+     * Matcher 는 마지막 입력을 참조하므로 파싱이 끝나면 release() 로 끊어야 합니다.
+     */
+    private static final ThreadLocal<Map<Pattern, Matcher>> MATCHERS =
+            ThreadLocal.withInitial(IdentityHashMap::new);
+
+    static {
+        for (String keyword : TableSourcePattern.ALL_SOURCE_PATTERNS) {
+            keywordPattern(keyword);
+        }
+        for (String keyword : TableTargetPattern.ALL_TARGET_PATTERNS) {
+            keywordPattern(keyword);
+        }
+    }
+
+    private TablePatternRegistry() {
+    }
+
+    /**
+     * "키워드 + 테이블명" 패턴을 반환합니다. 등록되지 않은 키워드는 최초 1회만 컴파일합니다.
+     *
+     * @param keyword SQL 키워드 정규식 (예: "FROM", "INSERT\\s+INTO")
+     * @return 컴파일된 패턴
+     */
+    public static Pattern keywordPattern(String keyword) {
+        return KEYWORD_PATTERNS.computeIfAbsent(keyword,
+                k -> Pattern.compile("(?is)\\b" + k + "\\s+" + TableNamePattern.TABLE_NAME_REGEX));
+    }
+
+    /**
+     * 현재 스레드의 재사용 Matcher 를 입력 문자열로 초기화하여 반환합니다.
+     * MatchBudget 이 적용 중이면 입력을 예산 검사 뷰로 감쌉니다.
+     *
+     * @param pattern 컴파일된 패턴
+     * @param input 매칭 대상 문자열
+     * @return 초기화된 Matcher
+     */
+    public static Matcher matcher(Pattern pattern, CharSequence input) {
+        input = MatchBudget.guardCurrent(input);
+        Map<Pattern, Matcher> cache = MATCHERS.get();
+        Matcher matcher = cache.get(pattern);
+        if (matcher == null) {
+            matcher = pattern.matcher(input);
+            cache.put(pattern, matcher);
+            return matcher;
+        }
+        return matcher.reset(input);
+    }
+
+    /**
+     * 현재 스레드의 캐시된 Matcher 들이 마지막 입력을 참조하지 않도록 빈 문자열로 초기화합니다.
+     * 파싱 한 번이 끝날 때 호출합니다 (풀 스레드에 남은 Matcher 가 끝난 파일의 스크립트 / 읽기 버퍼를 붙잡지 않도록).
+     * 이 스레드에서 사용 중인 Matcher 가 없을 때만 호출해야 합니다.
+     */
+    public static void release() {
+        for (Matcher matcher : MATCHERS.get().values()) {
+            matcher.reset("");
+        }
+    }
+}
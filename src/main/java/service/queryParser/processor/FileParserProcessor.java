@@ -1,6 +1,8 @@
 package service.queryParser.processor;
 
+import com.log.JobMetrics;
 import service.queryParser.parser.TableParser;
+import service.queryParser.parser.TokenTableParser;
 import service.queryParser.vo.TablesInfo;
 
 /**
@@ -8,6 +10,7 @@ import service.queryParser.vo.TablesInfo;
  */
 public class FileParserProcessor {
     private final TableParser parser;
+    private volatile JobMetrics metrics = JobMetrics.disabled();
 
     public FileParserProcessor(TableParser parser) {
         this.parser = parser;
@@ -17,7 +20,31 @@ public class FileParserProcessor {
         return new FileParserProcessor(new TableParser());
     }
 
-    public TablesInfo parse(String sql) {
-        return parser.extractTables(sql);
+    /**
+     * 단일 패스 토크나이저(TokenTableParser)를 사용하는 Processor를 생성합니다.
+     */
+    public static FileParserProcessor withTokenParser() {
+        return new FileParserProcessor(new TokenTableParser());
+    }
+
+    /**
+     * 사용 중인 파서 이름과 추출 로직 버전 (파싱 캐시 서명에 사용, 버전이 바뀌면 캐시 전체 무효화)
+     */
+    public String getParserName() {
+        return parser.getParserName();
+    }
+
+    /**
+     * 파싱 시간을 기록할 측정 객체를 지정합니다 (parse 단계, 바이트 대신 문자 수 기록).
+     */
+    public void setMetrics(JobMetrics metrics) {
+        this.metrics = metrics == null ? JobMetrics.disabled() : metrics;
+    }
+
+    public TablesInfo parse(CharSequence sql) {
+        long begin = metrics.begin();
+        TablesInfo info = parser.extractTables(sql);
+        metrics.end("parse", begin, sql.length());
+        return info;
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package service.queryParser.processor;
 
+import com.log.JobMetrics;
 import service.queryParser.parser.TableStepParser;
+import service.queryParser.parser.TokenTableParser;
 import service.queryParser.vo.TablesInfo;
 
 import java.util.Map;
@@ -10,6 +12,7 @@ import java.util.Map;
  */
 public class FileStepParserProcessor {
     private final TableStepParser parser;
+    private volatile JobMetrics metrics = JobMetrics.disabled();
 
     public FileStepParserProcessor(TableStepParser parser) {
         this.parser = parser;
@@ -19,8 +22,33 @@ public class FileStepParserProcessor {
         return new FileStepParserProcessor(new TableStepParser());
     }
 
+    /**
+     * 단일 패스 토크나이저(TokenTableParser)를 사용하는 Processor를 생성합니다.
+     */
+    public static FileStepParserProcessor withTokenParser() {
+        return new FileStepParserProcessor(new TableStepParser(new TokenTableParser()));
+    }
+
+    /**
+     * 사용 중인 파서 구성 이름과 로직 버전 (파싱 캐시 서명에 사용, 버전이 바뀌면 캐시 전체 무효화)
+     */
+    public String getParserName() {
+        return parser.getParserName();
+    }
+
+    /**
+     * 파싱 시간을 기록할 측정 객체를 지정합니다 (parse 단계, 바이트 대신 문자 수 기록 / steps 카운터).
+     */
+    public void setMetrics(JobMetrics metrics) {
+        this.metrics = metrics == null ? JobMetrics.disabled() : metrics;
+    }
+
     public Map<String, TablesInfo> parse(String sql) {
-        return parser.extractTablesByStep(sql);
+        long begin = metrics.begin();
+        Map<String, TablesInfo> steps = parser.extractTablesByStep(sql);
+        metrics.end("parse", begin, sql.length());
+        metrics.add("steps", steps.size());
+        return steps;
     }
 }
 
@@ -1,23 +1,52 @@
 package service.queryParser.reader;
 
+import com.io.CharsetDetector;
+import com.io.MappedTextReader;
+import com.log.JobMetrics;
+import com.regex.MatchBudget;
+import com.regex.MatchTimeoutException;
+
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetDecoder;
-import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * 지정한 문자셋으로 SQL 파일을 읽어들이는 유틸리티 클래스입니다.
  * 다양한 인코딩을 다루면서 안전하게 내용을 가져올 때 사용합니다.
+ *
+ * run / runFiles 는 제한 시간(-Dparse.timeoutMs)이나 단계 수(-Dparse.maxSteps, setParseTimeout)가 지정된 경우에만
+ * 파일마다 정규식 매칭 예산(MatchBudget)을 적용합니다 (기본: 예산 없음).
+ * 예산을 넘긴 파일은 격리 목록(quarantine)에 남기고 나머지 파일은 계속 처리합니다.
+ * 예산을 적용하면 정규식 입력의 charAt 마다 단계 확인이 추가되어 TableParser.extractTables 가
+ * 600KB~900KB 스크립트 기준 약 5~50% 느려지므로 (측정 환경에 따라 차이), 기본으로는 켜지 않습니다.
  */
 public class SqlReader {
     public static final Charset UTF8 = Charset.forName("UTF-8");
     public static final Charset DEFAULT_CHARSET = UTF8;
+    public static final String QUARANTINE_FILE_NAME = "quarantine.csv";
 
     private final Charset charset;
+    private final MappedTextReader textReader;
+    private volatile JobMetrics metrics = JobMetrics.disabled();
+    private volatile long parseTimeoutMillis = Long.getLong("parse.timeoutMs", 0L);
+    private volatile long parseMaxSteps = Long.getLong("parse.maxSteps", 0L);
+    private final List<QuarantinedFile> quarantined = new ArrayList<>();
 
     /**
      * 기본 생성자: 문자셋을 UTF-8로 설정합니다.
@@ -32,7 +61,122 @@ public class SqlReader {
      * @param charset 사용할 문자셋
      */
     public SqlReader(Charset charset) {
-        this.charset = charset;
+        this(charset, MappedTextReader.DEFAULT_MAP_THRESHOLD);
+    }
+
+    /**
+     * 메모리 매핑 임계값을 지정하는 생성자입니다.
+     *
+     * @param charset 사용할 문자셋
+     * @param mapThreshold 이 크기(바이트) 이상인 파일은 메모리 매핑으로 읽음
+     */
+    public SqlReader(Charset charset, long mapThreshold) {
+        this(new MappedTextReader(charset, mapThreshold));
+    }
+
+    private SqlReader(MappedTextReader textReader) {
+        this.charset = textReader.getCharset();
+        this.textReader = textReader;
+    }
+
+    /**
+     * 파일마다 문자셋을 자동 판별하는 SqlReader 를 생성합니다.
+     * BOM / UTF-8 유효성으로 판별하고, UTF-8 이 아니면 MS949(EUC-KR 상위 호환)로 읽습니다.
+     * UTF-8 과 EUC-KR 파일이 섞인 디렉터리도 변환 없이 그대로 처리할 수 있습니다.
+     */
+    public static SqlReader autoDetect() {
+        return autoDetect(CharsetDetector.MS949);
+    }
+
+    /**
+     * @param fallback UTF-8 이 아닌 파일에 사용할 문자셋
+     */
+    public static SqlReader autoDetect(Charset fallback) {
+        return new SqlReader(MappedTextReader.autoDetect(fallback));
+    }
+
+    /**
+     * 고정 문자셋 (자동 판별이면 UTF-8 이 아닌 파일에 쓰는 대체 문자셋)
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * 디렉터리 순회(walk), 파일 읽기(read), 디코딩(decode), 파일별 전체 처리 시간(file)을 기록할 측정 객체를 지정합니다.
+     */
+    public void setMetrics(JobMetrics metrics) {
+        this.metrics = metrics == null ? JobMetrics.disabled() : metrics;
+    }
+
+    public JobMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 파일별 정규식 매칭 예산을 지정합니다.
+     *
+     * @param timeoutMillis 파일 하나의 처리 제한 시간 (0 이하면 제한 없음)
+     * @param maxSteps 파일 하나에서 정규식이 읽을 수 있는 최대 문자 수 (0 이하면 제한 없음)
+     */
+    public void setParseTimeout(long timeoutMillis, long maxSteps) {
+        this.parseTimeoutMillis = timeoutMillis;
+        this.parseMaxSteps = maxSteps;
+    }
+
+    public long getParseTimeoutMillis() {
+        return parseTimeoutMillis;
+    }
+
+    /**
+     * 마지막 run / runFiles 에서 매칭 예산을 넘겨 격리된 파일 목록 (상대 경로 순)
+     */
+    public List<QuarantinedFile> getQuarantined() {
+        synchronized (quarantined) {
+            List<QuarantinedFile> copy = new ArrayList<>(quarantined);
+            copy.sort(Comparator.comparing(QuarantinedFile::getFile));
+            return copy;
+        }
+    }
+
+    /**
+     * 격리된 파일 목록을 출력하고 outputDir/quarantine.csv 로 저장합니다.
+     * 격리된 파일이 없으면 이전 실행의 quarantine.csv 를 지웁니다.
+     */
+    public void reportQuarantine(Path outputDir) {
+        List<QuarantinedFile> files = getQuarantined();
+        Path report = outputDir.resolve(QUARANTINE_FILE_NAME);
+        try {
+            if (files.isEmpty()) {
+                Files.deleteIfExists(report);
+                return;
+            }
+            System.out.println("========================================");
+            System.out.println("Quarantined files: " + files.size());
+            StringBuilder csv = new StringBuilder("FILE,ELAPSED_MS,REASON\n");
+            for (QuarantinedFile file : files) {
+                System.out.println("  " + file.getFile() + " (" + file.getElapsedMillis() + " ms) - " + file.getReason());
+                csv.append(file.getFile()).append(',')
+                        .append(file.getElapsedMillis()).append(',')
+                        .append(file.getReason().replace(",", " ")).append('\n');
+            }
+            System.out.println("========================================");
+            Files.createDirectories(outputDir);
+            Files.write(report, csv.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            System.err.println("격리 파일 목록 저장 실패: " + ex.getMessage());
+        }
+    }
+
+    public boolean isAutoDetect() {
+        return textReader.isAutoDetect();
+    }
+
+    /**
+     * 파일에 적용되는 문자셋 (자동 판별 결과는 파일별로 캐시)
+     */
+    public Charset charsetOf(Path file) throws IOException {
+        return textReader.charsetOf(file);
     }
 
     /**
@@ -43,32 +187,268 @@ public class SqlReader {
      * @throws IOException 파일 읽기 중 문제가 발생한 경우
      */
     public String readFile(Path file) throws IOException {
-        byte[] bytes = Files.readAllBytes(file);
-        CharsetDecoder dec = charset.newDecoder()
-                .onMalformedInput(CodingErrorAction.REPLACE)
-                .onUnmappableCharacter(CodingErrorAction.REPLACE);
-        return dec.decode(ByteBuffer.wrap(bytes)).toString();
+        long begin = metrics.begin();
+        String content = textReader.readString(file);
+        metrics.end("read", begin, sizeOf(file));
+        return content;
+    }
+
+    /**
+     * readFile 과 같지만 String 으로 복사하지 않은 CharSequence 뷰를 반환합니다.
+     * 큰 파일은 메모리 매핑으로 읽고, 디코더와 문자 버퍼는 스레드별로 재사용합니다.
+     * 반환값은 같은 스레드에서 다음 readContent/decodeContent 호출 전까지만 유효하므로
+     * 바로 파싱하고 보관하지 않아야 합니다.
+     *
+     * @param file 읽을 파일 경로
+     * @return 파일 내용 뷰
+     * @throws IOException 파일 읽기 중 문제가 발생한 경우
+     */
+    public CharSequence readContent(Path file) throws IOException {
+        return readContent(file, null);
+    }
+
+    /**
+     * readContent 와 같지만 읽은 파일 바이트를 digest 에도 넣습니다 (파싱 캐시의 내용 해시용).
+     * 매핑/재사용 버퍼를 그대로 해시하므로 파일을 한 번만 읽습니다.
+     *
+     * @param file 읽을 파일 경로
+     * @param digest 파일 바이트를 넣을 다이제스트 (null 이면 해시 생략)
+     * @return 파일 내용 뷰
+     * @throws IOException 파일 읽기 중 문제가 발생한 경우
+     */
+    public CharSequence readContent(Path file, MessageDigest digest) throws IOException {
+        long begin = metrics.begin();
+        CharSequence content = textReader.read(file, digest);
+        metrics.end("read", begin, sizeOf(file));
+        return content;
+    }
+
+    /**
+     * 이미 읽어 둔 파일 바이트를 설정된 문자셋으로 디코딩합니다.
+     * 깨지는 문자는 readFile 과 동일하게 대체합니다.
+     *
+     * @param bytes 파일 내용 바이트
+     * @return 디코딩된 문자열
+     */
+    public String decode(byte[] bytes) throws IOException {
+        return decodeContent(bytes).toString();
+    }
+
+    /**
+     * decode 와 같지만 복사하지 않은 CharSequence 뷰를 반환합니다 (유효 범위는 readContent 와 동일).
+     */
+    public CharSequence decodeContent(byte[] bytes) throws IOException {
+        long begin = metrics.begin();
+        CharSequence content = textReader.decode(bytes);
+        metrics.end("decode", begin, bytes.length);
+        return content;
     }
 
 
     /**
      * 입력 디렉터리를 순회하며 SQL 파일을 읽고 핸들러에 전달합니다.
+     * 파일은 상대 경로 순으로 처리되므로 실행할 때마다 같은 순서가 보장됩니다.
      */
     public void run(Path inputDir, SqlFileHandler handler) {
+        clearQuarantine();
+        for (Path path : listSqlFiles(inputDir)) {
+            handle(inputDir, path, handler);
+        }
+    }
+
+    /**
+     * 여러 워커 스레드로 SQL 파일을 동시에 읽고 처리합니다.
+     *
+     * processor 는 워커 스레드에서 동시에 호출되고(읽기 + 파싱 등),
+     * collector 는 호출 스레드에서 상대 경로 순서대로 한 번씩 호출됩니다.
+     * 따라서 collector 에서 결과를 모으면 워커 수와 관계없이 출력 순서가 결정적입니다.
+     *
+     * @param inputDir 입력 디렉터리
+     * @param workers 워커 스레드 수 (1 이하면 호출 스레드에서 순차 처리)
+     * @param processor 파일별 처리 함수 (null 반환 시 collector 호출 생략)
+     * @param collector 순서가 보장되는 결과 수집 함수
+     */
+    public <T> void run(Path inputDir, int workers, SqlFileProcessor<T> processor, SqlResultCollector<T> collector) {
+        runFiles(inputDir, workers, path -> processor.process(path, readFile(path)), collector);
+    }
+
+    /**
+     * run(inputDir, workers, processor, collector) 와 같지만 파일을 미리 읽지 않고 경로만 전달합니다.
+     * 캐시 조회처럼 파일 내용을 읽을지 여부를 processor 가 직접 결정해야 할 때 사용합니다.
+     *
+     * @param inputDir 입력 디렉터리
+     * @param workers 워커 스레드 수 (1 이하면 호출 스레드에서 순차 처리)
+     * @param processor 경로별 처리 함수 (null 반환 시 collector 호출 생략)
+     * @param collector 순서가 보장되는 결과 수집 함수
+     */
+    public <T> void runFiles(Path inputDir, int workers, SqlPathProcessor<T> processor, SqlResultCollector<T> collector) {
+        clearQuarantine();
+        List<Path> files = listSqlFiles(inputDir);
+
+        if (workers <= 1) {
+            for (Path path : files) {
+                T result = process(inputDir, path, processor);
+                if (result != null) {
+                    collector.collect(path, result);
+                }
+            }
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers, newThreadFactory());
+        try {
+            // 메모리 사용량을 제한하기 위해 워커 수의 4배까지만 앞서서 제출
+            int window = workers * 4;
+            Deque<Future<T>> pending = new ArrayDeque<>();
+            Deque<Path> pendingPaths = new ArrayDeque<>();
+            int next = 0;
+
+            while (next < files.size() || !pending.isEmpty()) {
+                while (next < files.size() && pending.size() < window) {
+                    Path path = files.get(next++);
+                    pending.add(executor.submit(() -> process(inputDir, path, processor)));
+                    pendingPaths.add(path);
+                }
+
+                Path path = pendingPaths.poll();
+                T result = await(pending.poll(), path);
+                if (result != null) {
+                    collector.collect(path, result);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 입력 디렉터리 아래의 .sql 파일을 상대 경로 순으로 정렬하여 반환합니다.
+     */
+    public List<Path> listSqlFiles(Path inputDir) {
+        long begin = metrics.begin();
         try (Stream<Path> paths = Files.walk(inputDir)) {
-            paths.filter(Files::isRegularFile)
+            List<Path> files = paths.filter(Files::isRegularFile)
                     .filter(p -> p.getFileName().toString().endsWith(".sql"))
-                    .forEach(path -> handle(path, handler));
+                    .sorted(Comparator.comparing(p -> relativeName(inputDir, p)))
+                    .collect(Collectors.toList());
+            metrics.end("walk", begin);
+            metrics.add("files.found", files.size());
+            return files;
         } catch (IOException e) {
             throw new RuntimeException("입력 디렉터리 순회 중 오류", e);
         }
     }
 
-    private void handle(Path path, SqlFileHandler handler) {
+    private static String relativeName(Path inputDir, Path file) {
+        return inputDir.relativize(file).toString().replace("\\", "/");
+    }
+
+    private void handle(Path inputDir, Path path, SqlFileHandler handler) {
+        process(inputDir, path, p -> {
+            handler.handle(p, readFile(p));
+            return null;
+        });
+    }
+
+    private <T> T process(Path inputDir, Path path, SqlPathProcessor<T> processor) {
+        long begin = metrics.begin();
+        String name = relativeName(inputDir, path);
+        try {
+            // 예산이 없으면 입력을 감싸지 않음 (guardCurrent 가 입력을 그대로 반환)
+            T result = parseTimeoutMillis > 0 || parseMaxSteps > 0
+                    ? MatchBudget.of(parseTimeoutMillis, parseMaxSteps).call(() -> processor.process(path))
+                    : processor.process(path);
+            metrics.fileDone(name, begin, sizeOf(path));
+            return result;
+        } catch (MatchTimeoutException ex) {
+            quarantine(name, ex);
+            return null;
+        } catch (IOException ex) {
+            metrics.increment("files.failed");
+            System.err.println("파일 처리 실패: " + path + " - " + ex.getMessage());
+            return null;
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private void quarantine(String name, MatchTimeoutException ex) {
+        metrics.increment("files.quarantined");
+        System.err.println("파일 격리 (매칭 예산 초과): " + name + " - " + ex.getMessage());
+        synchronized (quarantined) {
+            quarantined.add(new QuarantinedFile(name, ex.getElapsedMillis(), ex.getMessage()));
+        }
+    }
+
+    private void clearQuarantine() {
+        synchronized (quarantined) {
+            quarantined.clear();
+        }
+    }
+
+    /**
+     * 측정 중일 때만 파일 크기를 조회합니다 (처리량 계산용).
+     */
+    private long sizeOf(Path file) {
+        if (!metrics.isEnabled()) {
+            return 0L;
+        }
         try {
-            handler.handle(path, readFile(path));
+            return Files.size(file);
         } catch (IOException ex) {
-            System.err.println("파일 읽기 실패: " + path + " - " + ex.getMessage());
+            return 0L;
+        }
+    }
+
+    private <T> T await(Future<T> future, Path path) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("병렬 처리 중 인터럽트 발생", ex);
+        } catch (ExecutionException ex) {
+            metrics.increment("files.failed");
+            System.err.println("파일 처리 실패: " + path + " - " + ex.getCause());
+            return null;
+        }
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "sql-reader-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * 매칭 예산을 넘겨 격리된 파일 정보
+     */
+    public static final class QuarantinedFile {
+        private final String file;
+        private final long elapsedMillis;
+        private final String reason;
+
+        QuarantinedFile(String file, long elapsedMillis, String reason) {
+            this.file = file;
+            this.elapsedMillis = elapsedMillis;
+            this.reason = reason;
+        }
+
+        /** 입력 디렉터리 기준 상대 경로 */
+        public String getFile() {
+            return file;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public String getReason() {
+            return reason;
         }
     }
 
@@ -76,4 +456,28 @@ public class SqlReader {
     public interface SqlFileHandler {
         void handle(Path path, String sql) throws IOException;
     }
+
+    /**
+     * 워커 스레드에서 실행되는 파일별 처리 함수
+     */
+    @FunctionalInterface
+    public interface SqlFileProcessor<T> {
+        T process(Path path, String sql) throws IOException;
+    }
+
+    /**
+     * 워커 스레드에서 실행되는 경로별 처리 함수 (파일 읽기는 구현체가 담당)
+     */
+    @FunctionalInterface
+    public interface SqlPathProcessor<T> {
+        T process(Path path) throws IOException;
+    }
+
+    /**
+     * 호출 스레드에서 상대 경로 순서대로 실행되는 결과 수집 함수
+     */
+    @FunctionalInterface
+    public interface SqlResultCollector<T> {
+        void collect(Path path, T result);
+    }
 }
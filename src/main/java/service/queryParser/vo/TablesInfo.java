@@ -6,8 +6,32 @@ import java.util.*;
  * Source/Target 테이블 목록을 보관하는 VO.
  */
 public class TablesInfo {
-    private final Set<String> sources = new LinkedHashSet<>();
-    private final Set<String> targets = new LinkedHashSet<>();
+    private final Set<String> sources;
+    private final Set<String> targets;
+
+    public TablesInfo() {
+        this(new LinkedHashSet<>(), new LinkedHashSet<>());
+    }
+
+    private TablesInfo(Set<String> sources, Set<String> targets) {
+        this.sources = sources;
+        this.targets = targets;
+    }
+
+    /**
+     * 수정 가능한 복사본을 반환합니다 (순서 유지).
+     */
+    public TablesInfo copy() {
+        return new TablesInfo(new LinkedHashSet<>(sources), new LinkedHashSet<>(targets));
+    }
+
+    /**
+     * 이 객체를 복사하지 않고 감싼 읽기 전용 뷰를 반환합니다.
+     * 뷰의 getSources()/getTargets() 수정이나 addSource/addTarget 은 UnsupportedOperationException 을 던집니다.
+     */
+    public TablesInfo readOnly() {
+        return new TablesInfo(Collections.unmodifiableSet(sources), Collections.unmodifiableSet(targets));
+    }
 
     public Set<String> getSources() {
         return sources;
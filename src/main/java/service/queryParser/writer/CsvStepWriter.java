@@ -1,9 +1,11 @@
 package service.queryParser.writer;
 
+import com.log.JobMetrics;
 import service.queryParser.vo.TablesInfo;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -13,11 +15,20 @@ import java.util.*;
 /**
  * STEP별 테이블 정보를 파일명을 PK로 하여 CSV로 저장하는 Writer 클래스입니다.
  * 파일별로 모든 STEP 정보를 한 행에 집계하여 저장합니다.
+ *
+ * streaming() 으로 만들면 파일 단위로 집계가 끝나는 즉시(addFileSteps 호출 시, 또는 addStepRecord 의 파일명이 바뀔 때)
+ * 한 행씩 파일에 추가합니다. 같은 파일의 STEP 은 연속해서 추가해야 하며, 작업이 중간에 중단되어도
+ * 그때까지 끝난 파일의 행은 파일에 남습니다.
  */
 public class CsvStepWriter {
     private final Path outputPath;
     private final Charset charset;
     private final Map<String, FileStepRecord> fileRecords;
+    private final boolean streaming;
+    private BufferedWriter streamWriter;
+    private FileStepRecord pending;
+    private int streamedCount;
+    private volatile JobMetrics metrics = JobMetrics.disabled();
 
     /**
      * CsvStepWriter 인스턴스를 생성합니다.
@@ -26,9 +37,24 @@ public class CsvStepWriter {
      * @param charset 파일 인코딩 (기본: UTF-8 권장)
      */
     public CsvStepWriter(Path outputPath, Charset charset) {
+        this(outputPath, charset, false);
+    }
+
+    private CsvStepWriter(Path outputPath, Charset charset, boolean streaming) {
         this.outputPath = outputPath;
         this.charset = charset;
         this.fileRecords = new LinkedHashMap<>();
+        this.streaming = streaming;
+    }
+
+    /**
+     * 파일 단위로 집계가 끝날 때마다 바로 기록하는 CsvStepWriter 를 생성합니다.
+     *
+     * @param outputPath CSV 파일이 저장될 경로 (파일 경로여야 함)
+     * @param charset 파일 인코딩 (기본: UTF-8 권장)
+     */
+    public static CsvStepWriter streaming(Path outputPath, Charset charset) {
+        return new CsvStepWriter(outputPath, charset, true);
     }
 
     /**
@@ -40,7 +66,7 @@ public class CsvStepWriter {
      * @param tablesInfo 해당 STEP의 테이블 정보
      */
     public void addStepRecord(String fileName, String stepName, TablesInfo tablesInfo) {
-        FileStepRecord record = fileRecords.computeIfAbsent(fileName, k -> new FileStepRecord(fileName));
+        FileStepRecord record = recordFor(fileName);
         record.addStep(stepName, tablesInfo);
     }
 
@@ -51,19 +77,98 @@ public class CsvStepWriter {
      * @param stepTables STEP별 테이블 정보 맵
      */
     public void addFileSteps(String fileName, Map<String, TablesInfo> stepTables) {
-        FileStepRecord record = fileRecords.computeIfAbsent(fileName, k -> new FileStepRecord(fileName));
+        FileStepRecord record = recordFor(fileName);
         for (Map.Entry<String, TablesInfo> entry : stepTables.entrySet()) {
             record.addStep(entry.getKey(), entry.getValue());
         }
+        if (streaming) {
+            flushPending();
+        }
+    }
+
+    /**
+     * 파일명의 집계 레코드를 반환합니다.
+     * 스트리밍 모드는 직전 파일과 이름이 다르면 직전 파일의 행을 먼저 기록합니다.
+     */
+    private FileStepRecord recordFor(String fileName) {
+        if (!streaming) {
+            return fileRecords.computeIfAbsent(fileName, k -> new FileStepRecord(fileName));
+        }
+        if (pending != null && !pending.fileName.equals(fileName)) {
+            flushPending();
+        }
+        if (pending == null) {
+            pending = new FileStepRecord(fileName);
+        }
+        return pending;
+    }
+
+    /**
+     * 스트리밍 모드: 집계 중인 파일의 행을 파일에 추가합니다.
+     */
+    private void flushPending() {
+        if (pending == null) {
+            return;
+        }
+        long begin = metrics.begin();
+        try {
+            if (streamWriter == null) {
+                streamWriter = openStream();
+            }
+            writeRecord(streamWriter, pending);
+            streamWriter.flush();
+            streamedCount++;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("STEP CSV 행 추가 실패: " + outputPath, ex);
+        } finally {
+            pending = null;
+        }
+        metrics.end("write.stepCsv", begin);
+    }
+
+    /**
+     * 스트리밍 모드: 파일을 새로 만들고 BOM 과 헤더를 씁니다.
+     */
+    private BufferedWriter openStream() throws IOException {
+        Path parent = outputPath.getParent();
+        if (parent != null && !Files.exists(parent)) {
+            Files.createDirectories(parent);
+        }
+        BufferedWriter writer = Files.newBufferedWriter(outputPath, charset,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        if (charset.name().equalsIgnoreCase("UTF-8")) {
+            writer.write('\ufeff');
+        }
+        writeHeader(writer);
+        streamedCount = 0;
+        return writer;
+    }
+
+    /**
+     * 쓰기 시간을 기록할 측정 객체를 지정합니다 (write.stepCsv 단계).
+     */
+    public void setMetrics(JobMetrics metrics) {
+        this.metrics = metrics == null ? JobMetrics.disabled() : metrics;
     }
 
     /**
      * 모든 레코드를 CSV 파일로 저장합니다.
      * UTF-8 BOM을 추가하여 엑셀에서 한글이 정상적으로 표시되도록 합니다.
+     * 스트리밍 모드에서는 집계 중인 마지막 파일의 행을 기록하고 파일을 닫으며(레코드가 없었으면 헤더만 기록),
+     * 이후 레코드를 추가하면 파일을 새로 만듭니다.
      *
      * @throws IOException 파일 쓰기 중 오류 발생 시
      */
     public void write() throws IOException {
+        long begin = metrics.begin();
+        if (streaming) {
+            flushPending();
+            BufferedWriter writer = streamWriter != null ? streamWriter : openStream();
+            streamWriter = null;
+            writer.close();
+            metrics.end("write.stepCsv", begin, metrics.isEnabled() ? Files.size(outputPath) : 0L);
+            return;
+        }
         // 출력 디렉토리가 없으면 생성
         Path parent = outputPath.getParent();
         if (parent != null && !Files.exists(parent)) {
@@ -88,6 +193,7 @@ public class CsvStepWriter {
 
             writer.flush();
         }
+        metrics.end("write.stepCsv", begin, metrics.isEnabled() ? Files.size(outputPath) : 0L);
     }
 
     /**
@@ -150,6 +256,9 @@ public class CsvStepWriter {
      * 현재 저장된 파일 레코드 수를 반환합니다.
      */
     public int getRecordCount() {
+        if (streaming) {
+            return streamedCount + (pending != null ? 1 : 0);
+        }
         return fileRecords.size();
     }
 
@@ -1,9 +1,11 @@
 package service.queryParser.writer;
 
+import com.log.JobMetrics;
 import service.queryParser.vo.TablesInfo;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -13,13 +15,21 @@ import java.util.*;
 /**
  * CSV 형식으로 테이블 정보를 저장하는 Writer 클래스입니다.
  * 확장 가능한 구조로 설계되어 새로운 컬럼 추가가 용이합니다.
+ * 레코드 추가/저장 메서드는 동기화되어 있어 여러 스레드에서 동시에 호출해도 안전합니다.
+ *
+ * streaming() 으로 만들면 레코드를 모으지 않고 addRecord 때마다 파일에 바로 한 행씩 추가(flush)합니다.
+ * 메모리 사용량이 파일 수와 무관하고, 작업이 중간에 중단되어도 그때까지 처리한 행은 파일에 남습니다.
  */
 public class CsvWriter {
     private final Path outputPath;
     private final Charset charset;
     private final List<String> headers;
     private final List<CsvRecord> records;
+    private final boolean streaming;
+    private BufferedWriter streamWriter;
+    private int streamedCount;
     private boolean headerWritten;
+    private volatile JobMetrics metrics = JobMetrics.disabled();
 
     /**
      * CsvWriter 인스턴스를 생성합니다.
@@ -28,14 +38,30 @@ public class CsvWriter {
      * @param charset 파일 인코딩 (기본: UTF-8 권장)
      */
     public CsvWriter(Path outputPath, Charset charset) {
+        this(outputPath, charset, false);
+    }
+
+    private CsvWriter(Path outputPath, Charset charset, boolean streaming) {
         this.outputPath = outputPath;
         this.charset = charset;
         this.headers = new ArrayList<>();
         this.records = new ArrayList<>();
+        this.streaming = streaming;
         this.headerWritten = false;
         initializeDefaultHeaders();
     }
 
+    /**
+     * 레코드를 추가할 때마다 파일에 바로 기록하는 CsvWriter 를 생성합니다.
+     * 첫 레코드를 추가할 때 파일을 새로 만들고 헤더를 쓰므로, 추가 헤더는 그 전에 addHeader 로 지정해야 합니다.
+     *
+     * @param outputPath CSV 파일이 저장될 경로 (파일 경로여야 함)
+     * @param charset 파일 인코딩 (기본: UTF-8 권장)
+     */
+    public static CsvWriter streaming(Path outputPath, Charset charset) {
+        return new CsvWriter(outputPath, charset, true);
+    }
+
     /**
      * 기본 헤더를 초기화합니다.
      * 새로운 컬럼을 추가하려면 이 메서드를 수정하거나 addHeader() 메서드를 사용하세요.
@@ -51,7 +77,7 @@ public class CsvWriter {
      *
      * @param headerName 추가할 헤더명
      */
-    public void addHeader(String headerName) {
+    public synchronized void addHeader(String headerName) {
         if (headerWritten) {
             throw new IllegalStateException("Headers already written. Cannot add more headers.");
         }
@@ -64,12 +90,12 @@ public class CsvWriter {
      * @param fileName 파일명
      * @param tablesInfo 테이블 정보
      */
-    public void addRecord(String fileName, TablesInfo tablesInfo) {
+    public synchronized void addRecord(String fileName, TablesInfo tablesInfo) {
         CsvRecord record = new CsvRecord();
         record.put("File Name", fileName);
         record.put("Source Tables", joinTables(tablesInfo.getSortedSources()));
         record.put("Target Tables", joinTables(tablesInfo.getSortedTargets()));
-        records.add(record);
+        addRecord(record);
     }
 
     /**
@@ -79,7 +105,7 @@ public class CsvWriter {
      * @param tablesInfo 테이블 정보
      * @param additionalFields 추가 필드 (key: 헤더명, value: 값)
      */
-    public void addRecord(String fileName, TablesInfo tablesInfo, Map<String, String> additionalFields) {
+    public synchronized void addRecord(String fileName, TablesInfo tablesInfo, Map<String, String> additionalFields) {
         CsvRecord record = new CsvRecord();
         record.put("File Name", fileName);
         record.put("Source Tables", joinTables(tablesInfo.getSortedSources()));
@@ -91,7 +117,45 @@ public class CsvWriter {
                 record.put(entry.getKey(), entry.getValue());
             }
         }
-        records.add(record);
+        addRecord(record);
+    }
+
+    private void addRecord(CsvRecord record) {
+        if (!streaming) {
+            records.add(record);
+            return;
+        }
+        long begin = metrics.begin();
+        try {
+            if (streamWriter == null) {
+                streamWriter = openStream();
+            }
+            writeRecord(streamWriter, record);
+            streamWriter.flush();
+            streamedCount++;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("CSV 행 추가 실패: " + outputPath, ex);
+        }
+        metrics.end("write.csv", begin);
+    }
+
+    /**
+     * 스트리밍 모드: 파일을 새로 만들고 BOM 과 헤더를 씁니다.
+     */
+    private BufferedWriter openStream() throws IOException {
+        Path parent = outputPath.getParent();
+        if (parent != null && !Files.exists(parent)) {
+            Files.createDirectories(parent);
+        }
+        BufferedWriter writer = Files.newBufferedWriter(outputPath, charset,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        if (charset.name().equalsIgnoreCase("UTF-8")) {
+            writer.write('\ufeff');
+        }
+        writeHeaders(writer);
+        headerWritten = true;
+        streamedCount = 0;
+        return writer;
     }
 
     /**
@@ -115,13 +179,30 @@ public class CsvWriter {
         return sb.toString();
     }
 
+    /**
+     * 쓰기 시간을 기록할 측정 객체를 지정합니다 (write.csv 단계).
+     */
+    public void setMetrics(JobMetrics metrics) {
+        this.metrics = metrics == null ? JobMetrics.disabled() : metrics;
+    }
+
     /**
      * 모든 레코드를 CSV 파일로 저장합니다.
      * UTF-8 BOM을 추가하여 엑셀에서 한글이 정상적으로 표시되도록 합니다.
+     * 스트리밍 모드에서는 이미 기록한 파일을 닫기만 하며(레코드가 없었으면 헤더만 기록),
+     * 이후 addRecord 는 파일을 새로 만듭니다.
      *
      * @throws IOException 파일 쓰기 중 오류 발생 시
      */
-    public void write() throws IOException {
+    public synchronized void write() throws IOException {
+        long begin = metrics.begin();
+        if (streaming) {
+            BufferedWriter writer = streamWriter != null ? streamWriter : openStream();
+            streamWriter = null;
+            writer.close();
+            metrics.end("write.csv", begin, metrics.isEnabled() ? Files.size(outputPath) : 0L);
+            return;
+        }
         // 출력 디렉토리가 없으면 생성
         Path parent = outputPath.getParent();
         if (parent != null && !Files.exists(parent)) {
@@ -147,6 +228,7 @@ public class CsvWriter {
 
             writer.flush();
         }
+        metrics.end("write.csv", begin, metrics.isEnabled() ? Files.size(outputPath) : 0L);
     }
 
     /**
@@ -202,8 +284,8 @@ public class CsvWriter {
      *
      * @return 현재 저장된 레코드 수
      */
-    public int getRecordCount() {
-        return records.size();
+    public synchronized int getRecordCount() {
+        return streaming ? streamedCount : records.size();
     }
 
     /**
@@ -1,5 +1,6 @@
 package service.queryParser.writer;
 
+import com.log.JobMetrics;
 import service.queryParser.vo.TablesInfo;
 
 import java.io.BufferedWriter;
@@ -16,6 +17,7 @@ public class SqlRunWriter {
     private final Charset charset;
     private final String baseDate;
     private final Map<String, List<String>> pkColumnsByTable;
+    private volatile JobMetrics metrics = JobMetrics.disabled();
 
     public SqlRunWriter(Path outputDir, Charset charset, String baseDate) {
         this.outputDir = outputDir;
@@ -24,7 +26,19 @@ public class SqlRunWriter {
         this.pkColumnsByTable = loadPkColumns(Paths.get("sql", "in", "table_pk.list"));
     }
 
+    /**
+     * 쓰기 시간을 기록할 측정 객체를 지정합니다 (write.sql 단계).
+     */
+    public void setMetrics(JobMetrics metrics) {
+        this.metrics = metrics == null ? JobMetrics.disabled() : metrics;
+    }
+
+    public Path getOutputDir() {
+        return outputDir;
+    }
+
     public void writeSqlFiles(String relativeFileName, TablesInfo info) throws IOException {
+        long begin = metrics.begin();
         String relativeNoExt = normalizeRelativeNoExt(relativeFileName);
 
         String bqContent = generateBigQuerySql(info);
@@ -34,6 +48,7 @@ public class SqlRunWriter {
         String oracleContent = generateOracleSql(info);
         Path oraPath = outputDir.resolve(relativeNoExt + "_oracle.sql");
         writeFile(oraPath, oracleContent);
+        metrics.end("write.sql", begin, metrics.isEnabled() ? Files.size(bqPath) + Files.size(oraPath) : 0L);
 
         System.out.println("✓ Generated SQL files: " + relativeNoExt + "_bq.sql, " + relativeNoExt + "_oracle.sql");
     }
@@ -0,0 +1,140 @@
+package service.queryParser.writer;
+
+import service.csvCompare.process.ExternalSorter;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 테이블 -> 프로그램 역매핑을 메모리 한도 안에서 모으는 정렬기 (Source/TargetTableCsvWriter 스트리밍 모드용)
+ *
+ * (테이블, 프로그램, 관련 테이블들) 을 ExternalSorter 에 넣어 두고, 한도를 넘으면 정렬된 런 파일로 내보냅니다.
+ * forEach() 는 런들을 병합하면서 같은 (테이블, 프로그램) 의 관련 테이블을 합쳐
+ * 기존 TreeMap 구현과 같은 순서(테이블명, 프로그램명 순)로 한 행씩 전달합니다.
+ */
+class TableMappingSorter {
+
+    /** 기본 메모리 한도 (추정 바이트) */
+    static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    /** 정렬 키 구분자: 테이블명 뒤에 두어 (테이블, 프로그램) 순서가 문자열 비교와 같아지도록 함 */
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final long memoryBudget;
+    private final Path tempDir;
+    private ExternalSorter sorter;
+    private long seq;
+    private int lastSpillCount;
+
+    TableMappingSorter(long memoryBudget, Path tempDir) {
+        this.memoryBudget = memoryBudget;
+        this.tempDir = tempDir;
+    }
+
+    void add(String table, String program, Set<String> related) throws IOException {
+        if (sorter == null) {
+            Files.createDirectories(tempDir);
+            sorter = new ExternalSorter(memoryBudget, tempDir);
+        }
+        List<String> fields = new ArrayList<>(2 + related.size());
+        fields.add(table);
+        fields.add(program);
+        fields.addAll(related);
+        sorter.add(table + KEY_SEPARATOR + program, seq++, fields);
+    }
+
+    /**
+     * 병합된 행을 정렬 순서로 전달하고 임시 파일을 정리합니다. 이후 다시 add 할 수 있습니다.
+     *
+     * @return 서로 다른 테이블 수
+     */
+    int forEach(RowHandler handler) throws IOException {
+        if (sorter == null) {
+            return 0;
+        }
+        int tables = 0;
+        lastSpillCount = sorter.getSpillCount();
+        try (ExternalSorter s = sorter; ExternalSorter.RecordCursor cursor = s.sorted()) {
+            String key = null;
+            String table = null;
+            String program = null;
+            Set<String> related = new TreeSet<>();
+            ExternalSorter.SortRecord record;
+            while ((record = cursor.next()) != null) {
+                if (!record.getKey().equals(key)) {
+                    if (key != null) {
+                        handler.row(table, program, related);
+                    }
+                    List<String> fields = record.getFields();
+                    if (!fields.get(0).equals(table)) {
+                        tables++;
+                    }
+                    key = record.getKey();
+                    table = fields.get(0);
+                    program = fields.get(1);
+                    related = new TreeSet<>();
+                }
+                List<String> fields = record.getFields();
+                related.addAll(fields.subList(2, fields.size()));
+            }
+            if (key != null) {
+                handler.row(table, program, related);
+            }
+        } finally {
+            sorter = null;
+            seq = 0;
+        }
+        return tables;
+    }
+
+    /** 디스크로 내보낸 횟수 (forEach 이후에는 마지막으로 병합한 데이터 기준) */
+    int getSpillCount() {
+        return sorter == null ? lastSpillCount : sorter.getSpillCount();
+    }
+
+    /**
+     * 출력 파일별 런 파일 디렉터리 (출력 파일 옆의 &lt;파일명&gt;.spill)
+     */
+    static Path spillDir(Path outputPath) {
+        return outputPath.resolveSibling(outputPath.getFileName() + ".spill");
+    }
+
+    static void deleteSpillDir(Path outputPath) throws IOException {
+        try {
+            Files.deleteIfExists(spillDir(outputPath));
+        } catch (DirectoryNotEmptyException ex) {
+            // 이전에 비정상 종료된 실행의 런 파일이 남아 있으면 디렉터리는 그대로 둠
+        }
+    }
+
+    /**
+     * 출력 파일을 교체하기 전에 내용을 쓸 임시 파일 (같은 디렉터리)
+     */
+    static Path tempFile(Path outputPath) {
+        return outputPath.resolveSibling(outputPath.getFileName() + ".tmp");
+    }
+
+    /**
+     * 다 쓴 임시 파일로 출력 파일을 교체합니다 (가능하면 원자적으로).
+     */
+    static void replace(Path temp, Path outputPath) throws IOException {
+        try {
+            Files.move(temp, outputPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temp, outputPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @FunctionalInterface
+    interface RowHandler {
+        void row(String table, String program, Set<String> related) throws IOException;
+    }
+}
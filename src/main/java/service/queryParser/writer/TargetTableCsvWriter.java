@@ -1,30 +1,73 @@
 package service.queryParser.writer;
 
+import com.log.JobMetrics;
 import service.queryParser.vo.TablesInfo;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.*;
 
+/**
+ * 타겟 테이블별로 (프로그램, 소스 테이블) 을 모아 target_table_mapping.csv 로 저장하는 Writer 클래스입니다.
+ *
+ * 기본 생성자는 모든 매핑을 메모리(TreeMap)에 모읍니다.
+ * streaming() 으로 만들면 매핑을 메모리 한도 안에서만 들고 있다가 넘치면 정렬된 임시 파일로 내보내고,
+ * write() 에서 병합하며 기록하므로 파일 수가 많아도 메모리 사용량이 늘지 않습니다. 출력 내용은 두 방식이 같습니다.
+ * 파일은 임시 파일에 쓴 뒤 교체하므로 쓰는 도중 중단되어도 이전 결과가 깨지지 않습니다.
+ */
 public class TargetTableCsvWriter {
     private final Path outputPath;
     private final Charset charset;
     private final Map<String, TableMapping> tableMappings;
+    private final TableMappingSorter sorter;
+    private int tableCount;
+    private volatile JobMetrics metrics = JobMetrics.disabled();
 
     public TargetTableCsvWriter(Path outputPath, Charset charset) {
+        this(outputPath, charset, null);
+    }
+
+    private TargetTableCsvWriter(Path outputPath, Charset charset, TableMappingSorter sorter) {
         this.outputPath = outputPath;
         this.charset = charset;
         this.tableMappings = new TreeMap<>();
+        this.sorter = sorter;
     }
 
-    public void addRecord(String fileName, TablesInfo tablesInfo) {
+    /**
+     * 매핑을 메모리 한도(기본 64MB) 안에서만 모으고 넘치면 디스크로 내보내는 Writer 를 생성합니다.
+     */
+    public static TargetTableCsvWriter streaming(Path outputPath, Charset charset) {
+        return streaming(outputPath, charset, TableMappingSorter.DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * @param memoryBudget 메모리에 모아 둘 매핑의 추정 바이트 한도
+     */
+    public static TargetTableCsvWriter streaming(Path outputPath, Charset charset, long memoryBudget) {
+        return new TargetTableCsvWriter(outputPath, charset,
+                new TableMappingSorter(memoryBudget, TableMappingSorter.spillDir(outputPath)));
+    }
+
+    public synchronized void addRecord(String fileName, TablesInfo tablesInfo) {
         Set<String> sourceTables = tablesInfo.getSortedSources();
         Set<String> targetTables = tablesInfo.getSortedTargets();
 
+        if (sorter != null) {
+            try {
+                for (String targetTable : targetTables) {
+                    sorter.add(targetTable, fileName, sourceTables);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("타겟 테이블 매핑 임시 파일 쓰기 실패", ex);
+            }
+            return;
+        }
+
         for (String targetTable : targetTables) {
             tableMappings.putIfAbsent(targetTable, new TableMapping(targetTable));
             TableMapping mapping = tableMappings.get(targetTable);
@@ -32,14 +75,25 @@ public class TargetTableCsvWriter {
         }
     }
 
-    public void write() throws IOException {
+    /**
+     * 쓰기 시간을 기록할 측정 객체를 지정합니다 (write.targetCsv 단계).
+     */
+    public void setMetrics(JobMetrics metrics) {
+        this.metrics = metrics == null ? JobMetrics.disabled() : metrics;
+    }
+
+    /**
+     * 모든 매핑을 CSV 파일로 저장합니다. 스트리밍 모드는 저장 후 모은 매핑을 비우고 임시 파일을 삭제합니다.
+     */
+    public synchronized void write() throws IOException {
+        long begin = metrics.begin();
         Path parent = outputPath.getParent();
         if (parent != null && !Files.exists(parent)) {
             Files.createDirectories(parent);
         }
 
-        try (BufferedWriter writer = Files.newBufferedWriter(outputPath, charset,
-                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+        Path temp = TableMappingSorter.tempFile(outputPath);
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, charset)) {
 
             if (charset.name().equalsIgnoreCase("UTF-8")) {
                 writer.write('\ufeff');
@@ -48,28 +102,41 @@ public class TargetTableCsvWriter {
             writer.write("Program,Target Table,Source Tables");
             writer.newLine();
 
-            for (TableMapping mapping : tableMappings.values()) {
-                writeMapping(writer, mapping);
+            if (sorter != null) {
+                tableCount = sorter.forEach((targetTable, program, sourceTables) ->
+                        writeRow(writer, program, targetTable, sourceTables));
+                TableMappingSorter.deleteSpillDir(outputPath);
+            } else {
+                for (TableMapping mapping : tableMappings.values()) {
+                    writeMapping(writer, mapping);
+                }
             }
 
             writer.flush();
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
         }
+        TableMappingSorter.replace(temp, outputPath);
+        metrics.end("write.targetCsv", begin, metrics.isEnabled() ? Files.size(outputPath) : 0L);
     }
 
     private void writeMapping(BufferedWriter writer, TableMapping mapping) throws IOException {
         String targetTable = mapping.getTargetTable();
 
         for (Map.Entry<String, Set<String>> entry : mapping.getProgramMappings().entrySet()) {
-            String program = entry.getKey();
-            Set<String> sourceTables = entry.getValue();
+            writeRow(writer, entry.getKey(), targetTable, entry.getValue());
+        }
+    }
 
-            String sourceTablesStr = joinTables(sourceTables);
+    private void writeRow(BufferedWriter writer, String program, String targetTable, Set<String> sourceTables)
+            throws IOException {
+        String sourceTablesStr = joinTables(sourceTables);
 
-            writer.write(escapeCsv(program) + "," +
-                        escapeCsv(targetTable) + "," +
-                        escapeCsv(sourceTablesStr));
-            writer.newLine();
-        }
+        writer.write(escapeCsv(program) + "," +
+                    escapeCsv(targetTable) + "," +
+                    escapeCsv(sourceTablesStr));
+        writer.newLine();
     }
 
     private String joinTables(Set<String> tables) {
@@ -98,8 +165,18 @@ public class TargetTableCsvWriter {
         return value;
     }
 
-    public int getTableCount() {
-        return tableMappings.size();
+    /**
+     * 타겟 테이블 수 (스트리밍 모드는 마지막 write() 기준)
+     */
+    public synchronized int getTableCount() {
+        return sorter != null ? tableCount : tableMappings.size();
+    }
+
+    /**
+     * 스트리밍 모드에서 매핑을 디스크로 내보낸 횟수 (0이면 메모리에서만 정렬)
+     */
+    public synchronized int getSpillCount() {
+        return sorter != null ? sorter.getSpillCount() : 0;
     }
 
     private static class TableMapping {
@@ -1,5 +1,6 @@
 package service.queryParser.writer;
 
+import com.log.JobMetrics;
 import service.queryParser.vo.TablesInfo;
 
 import java.io.IOException;
@@ -12,12 +13,24 @@ public class TextStepWriter {
 
     private final Path outputDir;
     private final Charset charset;
+    private volatile JobMetrics metrics = JobMetrics.disabled();
 
     public TextStepWriter(Path outputDir, Charset charset) {
         this.outputDir = outputDir;
         this.charset = charset;
     }
 
+    /**
+     * 쓰기 시간을 기록할 측정 객체를 지정합니다 (write.text 단계).
+     */
+    public void setMetrics(JobMetrics metrics) {
+        this.metrics = metrics == null ? JobMetrics.disabled() : metrics;
+    }
+
+    public Path getOutputDir() {
+        return outputDir;
+    }
+
     public Path writeStepTables(Path inputDir, Path file, Map<String, TablesInfo> stepTables) throws IOException {
         System.out.println("[StepWriter] Processing step table info: " + file.getFileName());
         String relativeName = buildOutputName(inputDir, file);
@@ -31,6 +44,13 @@ public class TextStepWriter {
         return write(relativeFile, content);
     }
 
+    /**
+     * 입력 파일에 대응하는 STEP 결과 파일이 이미 존재하는지 확인합니다.
+     */
+    public boolean exists(Path inputDir, Path file) {
+        return Files.isRegularFile(outputDir.resolve(buildOutputName(inputDir, file)));
+    }
+
     private String formatStepTables(Map<String, TablesInfo> stepTables) {
         StringBuilder sb = new StringBuilder();
 
@@ -64,7 +84,10 @@ public class TextStepWriter {
         System.out.println("[StepWriter] Creating output directory: " + target.getParent());
         Files.createDirectories(target.getParent());
         System.out.println("[StepWriter] Writing file: " + target.getFileName());
-        Path result = Files.write(target, content.getBytes(charset));
+        long begin = metrics.begin();
+        byte[] bytes = content.getBytes(charset);
+        Path result = Files.write(target, bytes);
+        metrics.end("write.text", begin, bytes.length);
         System.out.println("[StepWriter] File write completed: " + target);
         return result;
     }
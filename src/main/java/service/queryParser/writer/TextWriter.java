@@ -1,5 +1,6 @@
 package service.queryParser.writer;
 
+import com.log.JobMetrics;
 import service.queryParser.vo.TablesInfo;
 
 import java.io.IOException;
@@ -14,6 +15,7 @@ import java.nio.file.Path;
 public class TextWriter {
     private final Path outputDir;
     private final Charset charset;
+    private volatile JobMetrics metrics = JobMetrics.disabled();
 
     public TextWriter(Path outputDir) {
         this(outputDir, StandardCharsets.UTF_8);
@@ -24,10 +26,25 @@ public class TextWriter {
         this.charset = charset;
     }
 
+    /**
+     * 쓰기 시간을 기록할 측정 객체를 지정합니다 (write.text 단계).
+     */
+    public void setMetrics(JobMetrics metrics) {
+        this.metrics = metrics == null ? JobMetrics.disabled() : metrics;
+    }
+
+    public Path getOutputDir() {
+        return outputDir;
+    }
+
     public Path write(String relativeFile, String content) throws IOException {
+        long begin = metrics.begin();
         Path target = outputDir.resolve(relativeFile);
         Files.createDirectories(target.getParent());
-        return Files.write(target, content.getBytes(charset));
+        byte[] bytes = content.getBytes(charset);
+        Path result = Files.write(target, bytes);
+        metrics.end("write.text", begin, bytes.length);
+        return result;
     }
 
     /**
@@ -37,6 +54,12 @@ public class TextWriter {
         return write(relativeFile, formatTables(info));
     }
 
+    /**
+     * 출력 디렉토리에 해당 파일이 이미 존재하는지 확인합니다.
+     */
+    public boolean exists(String relativeFile) {
+        return Files.isRegularFile(outputDir.resolve(relativeFile));
+    }
 
     private String formatTables(TablesInfo info) {
         StringBuilder sb = new StringBuilder();
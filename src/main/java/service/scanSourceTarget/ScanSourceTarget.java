@@ -1,5 +1,6 @@
 package service.scanSourceTarget;
 
+import com.log.JvmStats;
 import service.scanSourceTarget.scan.processor.SqlFileProcessor;
 import service.scanSourceTarget.scan.processor.SqlFileScanner;
 
@@ -36,8 +37,10 @@ public class ScanSourceTarget {
         SqlFileScanner scanner = new SqlFileScanner(processor);
 
         // 스캔 실행
+        JvmStats stats = JvmStats.start();
         int count = scanner.scanDirectory(SRC_ROOT);
 
         System.out.println("\n[완료] 스캔한 SQL 파일 수: " + count + "개");
+        System.out.println("[통계] " + stats.summary());
     }
 }
@@ -1,33 +1,46 @@
 package service.scanSourceTarget.scan.io;
 
+import com.io.CharsetDetector;
+import com.io.MappedTextReader;
+
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetDecoder;
-import java.nio.charset.CodingErrorAction;
-import java.nio.file.Files;
 import java.nio.file.Path;
 
 /**
- * 파일 읽기 유틸리티 (기본 MS949)
+ * 파일 읽기 유틸리티 (기본: 파일별 문자셋 자동 판별, UTF-8 이 아니면 MS949)
+ * 큰 파일은 메모리 매핑으로 읽고 디코더/문자 버퍼는 스레드별로 재사용 (MappedTextReader)
  */
 public class FileReaderUtil {
-    private final Charset charset;
+    private final MappedTextReader textReader;
 
     public FileReaderUtil() {
-        this(Charset.forName("MS949"));
+        this(MappedTextReader.autoDetect(CharsetDetector.MS949));
     }
 
+    /**
+     * 고정 문자셋으로 읽습니다 (자동 판별 안 함).
+     */
     public FileReaderUtil(Charset charset) {
-        this.charset = charset;
+        this(charset, MappedTextReader.DEFAULT_MAP_THRESHOLD);
+    }
+
+    public FileReaderUtil(Charset charset, long mapThreshold) {
+        this(new MappedTextReader(charset, mapThreshold));
+    }
+
+    public FileReaderUtil(MappedTextReader textReader) {
+        this.textReader = textReader;
     }
 
     public String readFile(Path file) throws IOException {
-        byte[] bytes = Files.readAllBytes(file);
-        CharsetDecoder dec = charset.newDecoder()
-                .onMalformedInput(CodingErrorAction.REPLACE)
-                .onUnmappableCharacter(CodingErrorAction.REPLACE);
-        return dec.decode(ByteBuffer.wrap(bytes)).toString();
+        return textReader.readString(file);
     }
-}
 
+    /**
+     * 복사하지 않은 파일 내용 뷰 (같은 스레드의 다음 호출 전까지만 유효)
+     */
+    public CharSequence readContent(Path file) throws IOException {
+        return textReader.read(file);
+    }
+}
@@ -21,10 +21,11 @@ public class TableExtractor {
     private final Pattern deleteFrom = Pattern.compile("(?is)\\bDELETE\\s+FROM\\s+" + TABLE_ID);
     private final Pattern fromSrc    = Pattern.compile("(?is)\\bFROM\\s+" + TABLE_ID);
     private final Pattern joinSrc    = Pattern.compile("(?is)\\bJOIN\\s+" + TABLE_ID);
+    private static final Pattern BLOCK_COMMENT = Pattern.compile("(?s)/\\*.*?\\*/");
 
-    public TablesInfo extractTables(String sql) {
+    public TablesInfo extractTables(CharSequence sql) {
         TablesInfo t = new TablesInfo();
-        String s = sql.replaceAll("(?s)/\\*.*?\\*/", " ");
+        String s = BLOCK_COMMENT.matcher(sql).replaceAll(" ");
         findTables(s, insertInto, t.getTargets());
         findTables(s, updateTgt , t.getTargets());
         findTables(s, mergeInto , t.getTargets());
@@ -31,8 +31,7 @@ public class SqlFileProcessor {
     }
 
     public void processFile(Path sqlFile) throws IOException {
-        String content = reader.readFile(sqlFile);
-        TablesInfo tables = extractor.extractTables(content);
+        TablesInfo tables = extractor.extractTables(reader.readContent(sqlFile));
         String report = reporter.buildReport(sqlFile, tables);
         Path outFile = resolveOutFile(sqlFile);
         write(outFile, report);
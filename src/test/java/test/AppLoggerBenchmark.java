@@ -0,0 +1,136 @@
+package test;
+
+import com.log.AppLogger;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * AppLogger 비활성 레벨 호출 비용 벤치마크 (PerfHarness 사용)
+ *
+ * 레벨이 INFO 일 때 debug 호출 1,000번을 연산 1회로 측정합니다 (B/op, ns 는 호출 1번 기준으로 환산해 출력).
+ * - eager   : 이전 구현처럼 레벨 확인 전에 String.format 을 호출하는 비용 (비교용으로 이 클래스에서 재현)
+ * - args1/2 : debug(format, arg) / debug(format, arg1, arg2) 고정 인자 메소드
+ * - varargs : debug(format, a, b, c) varargs 메소드 (레벨 확인 후 포맷)
+ * - supplier: debug(() -> ...) Supplier 메소드
+ * - guard   : if (log.isDebugEnabled()) 확인
+ * 마지막으로 활성 레벨(info) 호출 비용을 참고용으로 측정합니다 (콘솔 출력은 버림, 파일은 임시 디렉토리).
+ *
+ * 사용법: java test.AppLoggerBenchmark [--quick]
+ */
+public class AppLoggerBenchmark {
+
+    private static final int CALLS = 1_000;
+    private static boolean pass = true;
+
+    public static void main(String[] args) throws Exception {
+        boolean quick = args.length > 0 && args[0].equals("--quick");
+        Path logDir = Files.createTempDirectory("logger-bench");
+        System.setProperty("log.dir", logDir.toString());
+        System.setProperty("log.overflow", "DROP");
+        PrintStream out = System.out;
+        try {
+            AppLogger log = AppLogger.getLogger(AppLoggerBenchmark.class);
+            AppLogger.setLevel(AppLogger.Level.INFO);
+            PerfHarness harness = new PerfHarness(quick ? 1 : 3, quick ? 2 : 5, quick ? 200 : 1000, null);
+            String fileName = "sample.sql";
+            Integer count = 1234;
+            Long elapsed = 567L;
+
+            harness.run("debug (disabled)", "eager", () -> {
+                int len = 0;
+                for (int i = 0; i < CALLS; i++) {
+                    String message = String.format("파일: %s (%d건, %d ms)", fileName, count, elapsed);
+                    if (log.isDebugEnabled()) {
+                        log.debug(message);
+                    }
+                    len += message.length();
+                }
+                return len;
+            });
+            harness.run("debug (disabled)", "args1", () -> {
+                for (int i = 0; i < CALLS; i++) {
+                    log.debug("파일: %s", fileName);
+                }
+                return null;
+            });
+            harness.run("debug (disabled)", "args2", () -> {
+                for (int i = 0; i < CALLS; i++) {
+                    log.debug("파일: %s (%d건)", fileName, count);
+                }
+                return null;
+            });
+            harness.run("debug (disabled)", "varargs", () -> {
+                for (int i = 0; i < CALLS; i++) {
+                    log.debug("파일: %s (%d건, %d ms)", fileName, count, elapsed);
+                }
+                return null;
+            });
+            harness.run("debug (disabled)", "supplier", () -> {
+                for (int i = 0; i < CALLS; i++) {
+                    log.debug(() -> "파일: " + fileName + " (" + count + "건)");
+                }
+                return null;
+            });
+            harness.run("debug (disabled)", "guard", () -> {
+                int n = 0;
+                for (int i = 0; i < CALLS; i++) {
+                    if (log.isDebugEnabled()) {
+                        n++;
+                    }
+                }
+                return n;
+            });
+
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                harness.run("info (enabled)", "args2", () -> {
+                    for (int i = 0; i < CALLS; i++) {
+                        log.info("파일: %s (%d건)", fileName, count);
+                    }
+                    return null;
+                });
+            } finally {
+                System.setOut(out);
+            }
+            AppLogger.flush();
+
+            System.out.println("\n=== 호출 1번 기준 ===");
+            List<PerfHarness.Result> results = harness.getResults();
+            double eagerNs = 0;
+            double worstDisabledNs = 0;
+            double worstDisabledBytes = 0;
+            for (PerfHarness.Result r : results) {
+                double ns = 1e9 / r.opsPerSec / CALLS;
+                double bytes = r.allocBytesPerOp / CALLS;
+                System.out.printf("  %-18s %-9s %,10.1f ns/call %,10.1f B/call%n", r.name, r.param, ns, bytes);
+                if (r.param.equals("eager")) {
+                    eagerNs = ns;
+                } else if (r.name.startsWith("debug")) {
+                    worstDisabledNs = Math.max(worstDisabledNs, ns);
+                    worstDisabledBytes = Math.max(worstDisabledBytes, bytes);
+                }
+            }
+            System.out.println();
+            check("비활성 레벨 호출 할당 < 1 B/call", worstDisabledBytes >= 0 && worstDisabledBytes < 1.0);
+            check("비활성 레벨 호출이 eager 포맷보다 10배 이상 빠름", worstDisabledNs * 10 < eagerNs);
+        } finally {
+            System.setOut(out);
+            try (Stream<Path> s = Files.walk(logDir)) {
+                s.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL"));
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+}
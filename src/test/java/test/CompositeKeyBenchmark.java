@@ -0,0 +1,140 @@
+package test;
+
+import service.csvCompare.model.DataRow;
+import service.csvCompare.model.HeaderIndex;
+import service.csvCompare.process.CompositeKeyStrategy;
+import service.csvCompare.process.RowKey;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * CompositeKeyStrategy 키 생성 벤치마크 (1, 3, 6 컬럼 키)
+ *
+ * 방식별 초당 키 생성 수와 키당 할당 바이트를 비교합니다.
+ * - stream  : 이전 구현 (Stream + Collectors.joining 으로 문자열 키 생성, 비교용으로 이 클래스에 재현)
+ * - string  : buildKey(DataRow) 문자열 키
+ * - rowKey  : buildRowKey(DataRow) 키 객체 (ExternalSort 외 비교 경로에서 사용)
+ * 마지막 열은 생성한 키로 HashMap 조회까지 했을 때의 처리량입니다.
+ *
+ * 사용법: java test.CompositeKeyBenchmark [행 수(기본 200000)] [반복 수(기본 5)]
+ */
+public class CompositeKeyBenchmark {
+
+    private static final List<String> HEADERS =
+            Arrays.asList("ID", "BASE_DT", "CUST_NO", "BRANCH", "PRODUCT", "SEQ", "NAME", "AMT");
+    private static final int[] KEY_SIZES = {1, 3, 6};
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        List<DataRow> rows = generate(rowCount);
+
+        System.out.println("========================================");
+        System.out.printf("CompositeKeyStrategy 키 생성 벤치마크: %,d행, 반복 %d회%n", rowCount, rounds);
+        System.out.printf("%-8s %-8s %16s %14s %18s%n", "키컬럼", "방식", "keys/s", "bytes/key", "build+get keys/s");
+        System.out.println("========================================");
+
+        for (int size : KEY_SIZES) {
+            List<String> keyColumns = HEADERS.subList(0, size);
+            CompositeKeyStrategy strategy = new CompositeKeyStrategy(keyColumns);
+
+            List<Map<String, String>> maps = new ArrayList<>(rows.size());
+            for (DataRow row : rows) maps.add(row.getValues());
+
+            run(size, "stream", rounds, rows.size(), i -> legacyKey(keyColumns, maps.get(i)));
+            run(size, "string", rounds, rows.size(), i -> strategy.buildKey(rows.get(i)));
+            run(size, "rowKey", rounds, rows.size(), i -> strategy.buildRowKey(rows.get(i)));
+
+            // 구현 일관성 확인: 문자열 키와 키 객체의 toString 이 같아야 함
+            for (int i = 0; i < rows.size(); i += 997) {
+                RowKey key = strategy.buildRowKey(rows.get(i));
+                if (!key.toString().equals(strategy.buildKey(rows.get(i)))
+                        || !key.equals(strategy.buildRowKey(rows.get(i)))) {
+                    System.out.println("❌ FAIL: 키 불일치 row=" + i);
+                    System.exit(1);
+                }
+            }
+        }
+        System.out.println("========================================");
+        System.out.println("✅ 키 일관성 확인 완료");
+    }
+
+    private static void run(int size, String name, int rounds, int n, IntFunction<Object> build) {
+        Map<Object, Integer> map = new HashMap<>(n * 4 / 3 + 1);
+        for (int i = 0; i < n; i++) {
+            map.put(build.apply(i), i);
+        }
+
+        // 워밍업
+        for (int i = 0; i < n; i++) sink = build.apply(i);
+
+        long best = Long.MAX_VALUE;
+        long bestLookup = Long.MAX_VALUE;
+        long allocated = Long.MAX_VALUE;
+        for (int r = 0; r < rounds; r++) {
+            long alloc0 = allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < n; i++) sink = build.apply(i);
+            best = Math.min(best, System.nanoTime() - start);
+            allocated = Math.min(allocated, allocatedBytes() - alloc0);
+
+            start = System.nanoTime();
+            int hits = 0;
+            for (int i = 0; i < n; i++) {
+                if (map.get(build.apply(i)) != null) hits++;
+            }
+            bestLookup = Math.min(bestLookup, System.nanoTime() - start);
+            sink = hits;
+        }
+        System.out.printf("%-8d %-8s %,16.0f %,14.1f %,18.0f%n", size, name,
+                n / (best / 1e9), allocated < 0 ? Double.NaN : (double) allocated / n, n / (bestLookup / 1e9));
+    }
+
+    /** 이전 CompositeKeyStrategy.buildKey(Map) 구현 */
+    private static String legacyKey(List<String> keyColumns, Map<String, String> rowValues) {
+        return keyColumns.stream()
+                .map(c -> {
+                    String v = rowValues.get(c);
+                    return v == null ? "" : v;
+                })
+                .collect(Collectors.joining(String.valueOf(RowKey.SEPARATOR)));
+    }
+
+    /** 현재 스레드의 누적 할당 바이트 (지원하지 않는 JVM 이면 -1) */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static List<DataRow> generate(int rowCount) {
+        HeaderIndex header = new HeaderIndex(HEADERS);
+        Random random = new Random(3L);
+        List<DataRow> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new DataRow(header, new String[]{
+                    Integer.toString(i),
+                    "2025-12-" + (10 + i % 18),
+                    "C" + random.nextInt(1_000_000),
+                    "B" + (i % 500),
+                    "P" + random.nextInt(40),
+                    Integer.toString(i % 97),
+                    "N" + random.nextInt(1000),
+                    Integer.toString(random.nextInt(100_000))
+            }));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,122 @@
+package test;
+
+import service.csvCompare.model.CsvTable;
+import service.csvCompare.model.DataRow;
+import service.csvCompare.model.HeaderIndex;
+import service.csvCompare.model.OutputRow;
+import service.csvCompare.process.CompositeKeyStrategy;
+import service.csvCompare.process.CsvComparator;
+import service.csvCompare.process.KeyStrategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * CsvComparator 해시 파티션 병렬 비교 스케일링 벤치마크
+ *
+ * 합성 테이블(파일2는 파일1의 일부 행 삭제/변경/추가)을 메모리에 만든 뒤
+ * compareTables(단일 스레드)와 compareTablesPartitioned(1, 2, 4, 8 스레드)의 처리량(행/초)을 비교합니다.
+ * 각 스레드 수의 결과가 compareTables 결과와 행 단위로 동일한지도 검증합니다.
+ *
+ * 사용법: java -Xmx8g test.CsvCompareParallelBenchmark [행 수(기본 1000000)] [반복 수(기본 3)]
+ * 예: 10M 행 -> java -Xmx24g test.CsvCompareParallelBenchmark 10000000 1
+ */
+public class CsvCompareParallelBenchmark {
+
+    private static final List<String> HEADERS = Arrays.asList("ID", "BASE_DT", "CUST_NO", "AMT", "STATUS");
+    private static final int[] THREADS = {1, 2, 4, 8};
+
+    public static void main(String[] args) {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        CsvTable[] tables = generate(rowCount);
+        KeyStrategy keyStrategy = new CompositeKeyStrategy(Arrays.asList("ID", "BASE_DT"));
+        CsvComparator comparator = new CsvComparator();
+        long totalRows = tables[0].getRows().size() + (long) tables[1].getRows().size();
+
+        System.out.println("========================================");
+        System.out.printf("CsvComparator 병렬 비교 벤치마크: 파일1 %,d행 / 파일2 %,d행, CPU %d개%n",
+                tables[0].getRows().size(), tables[1].getRows().size(),
+                Runtime.getRuntime().availableProcessors());
+        System.out.println("========================================");
+
+        List<OutputRow> expected = comparator.compareTables(tables[0], tables[1], keyStrategy, HEADERS);
+        double baseline = measure("compareTables", rounds, totalRows,
+                () -> comparator.compareTables(tables[0], tables[1], keyStrategy, HEADERS));
+
+        boolean allSame = true;
+        for (int threads : THREADS) {
+            List<OutputRow> actual = comparator.compareTablesPartitioned(tables[0], tables[1], keyStrategy, HEADERS, threads);
+            boolean same = sameRows(expected, actual);
+            allSame &= same;
+            double rate = measure("partitioned x" + threads, rounds, totalRows,
+                    () -> comparator.compareTablesPartitioned(tables[0], tables[1], keyStrategy, HEADERS, threads));
+            System.out.printf("    -> 단일 대비 %.2f배, 결과 동일: %s%n", rate / baseline, same ? "✅ PASS" : "❌ FAIL");
+        }
+
+        System.out.println("========================================");
+        System.out.println(allSame ? "✅ 모든 스레드 수에서 결과 동일" : "❌ 결과 불일치 발생");
+        if (!allSame) {
+            System.exit(1);
+        }
+    }
+
+    /** 워밍업 1회 후 rounds 회 측정, 최고 처리량(행/초)을 출력하고 반환 */
+    private static double measure(String name, int rounds, long totalRows, Runnable run) {
+        run.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double rate = totalRows / (best / 1e9);
+        System.out.printf("%-18s %,10.1f ms  %,14.0f rows/s%n", name, best / 1e6, rate);
+        return rate;
+    }
+
+    /** 파일1: rowCount 행, 파일2: 1/10 삭제 + 1/7 값 변경 + 1/20 신규 행 */
+    private static CsvTable[] generate(int rowCount) {
+        HeaderIndex header = new HeaderIndex(HEADERS);
+        Random random = new Random(7L);
+        List<DataRow> rows1 = new ArrayList<>(rowCount);
+        List<DataRow> rows2 = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            String[] values = {
+                    Integer.toString(i),
+                    "2025-12-" + (10 + i % 18),
+                    "C" + random.nextInt(1_000_000),
+                    Integer.toString(random.nextInt(100_000)),
+                    i % 3 == 0 ? "Y" : "N"
+            };
+            rows1.add(new DataRow(header, values));
+            if (i % 10 == 0) {
+                continue;
+            }
+            if (i % 7 == 0) {
+                values = values.clone();
+                values[3] = Integer.toString(random.nextInt(100_000));
+            }
+            rows2.add(new DataRow(header, values));
+            if (i % 20 == 0) {
+                rows2.add(new DataRow(header, new String[]{"N" + i, "2025-12-31", "C0", "0", "N"}));
+            }
+        }
+        return new CsvTable[]{new CsvTable(header, rows1), new CsvTable(header, rows2)};
+    }
+
+    private static boolean sameRows(List<OutputRow> expected, List<OutputRow> actual) {
+        if (expected.size() != actual.size()) {
+            return false;
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            if (!expected.get(i).toOutputFields().equals(actual.get(i).toOutputFields())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
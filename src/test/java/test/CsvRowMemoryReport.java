@@ -0,0 +1,74 @@
+package test;
+
+import service.csvCompare.io.CsvReader;
+import service.csvCompare.model.CsvTable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * csvCompare 행 모델 힙 사용량 리포트
+ *
+ * 합성 CSV(기본 200,000행 x 8컬럼)를 CsvReader.read 로 적재한 뒤 GC 후 증가한 힙을 행 수로 나눠 보고합니다.
+ * 같은 클래스를 이전 리비전에서도 실행하면 행당 힙 사용량 변경 전/후를 비교할 수 있습니다.
+ *
+ * 사용법: java -Xmx2g test.CsvRowMemoryReport [행 수]
+ */
+public class CsvRowMemoryReport {
+
+    private static final String[] HEADERS = {"ID", "BASE_DT", "CUST_NO", "NAME", "AMT", "QTY", "STATUS", "MEMO"};
+
+    public static void main(String[] args) throws IOException {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        Path file = Files.createTempFile("csv-row-memory", ".csv");
+        try {
+            generate(file, rowCount);
+            long fileSize = Files.size(file);
+
+            long before = usedHeap();
+            CsvTable table = CsvReader.read(file);
+            long after = usedHeap();
+
+            long bytes = after - before;
+            System.out.println("========================================");
+            System.out.printf("행 %,d개 / 파일 %,d bytes%n", table.getRows().size(), fileSize);
+            System.out.printf("적재 후 힙 증가: %,d bytes (행당 %,.1f bytes)%n", bytes, (double) bytes / rowCount);
+            System.out.println("========================================");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void generate(Path file, int rowCount) throws IOException {
+        Random random = new Random(1L);
+        StringBuilder sb = new StringBuilder(rowCount * 64);
+        sb.append(String.join(",", HEADERS)).append("\r\n");
+        for (int i = 0; i < rowCount; i++) {
+            sb.append(i).append(",2025-12-").append(String.format("%02d", 1 + i % 28))
+              .append(",C").append(random.nextInt(1_000_000))
+              .append(",N").append(random.nextInt(1000))
+              .append(',').append(random.nextInt(100_000))
+              .append(',').append(random.nextInt(100))
+              .append(',').append(i % 3 == 0 ? "Y" : "N")
+              .append(",m").append(i % 1000).append("\r\n");
+        }
+        Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
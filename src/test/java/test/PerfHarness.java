@@ -0,0 +1,315 @@
+package test;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 외부 라이브러리 없는 마이크로 벤치마크 실행기 (PerfSuite 에서 사용)
+ *
+ * 케이스마다 워밍업 반복 후 측정 반복을 수행하고 다음을 기록합니다.
+ * - 처리량: 초당 연산 수 (ops/s)
+ * - 지연 시간 백분위: 연산 1회 소요 시간의 p50/p90/p99/p99.9/max (us)
+ * - 할당량: 측정 스레드의 연산당 할당 바이트, 초당 할당 MB (com.sun.management.ThreadMXBean)
+ * - GC: 측정 구간의 GC 횟수/시간
+ *
+ * 결과는 JSON 으로 저장하며 (결과 한 건이 한 줄), 이전 결과 JSON 을 기준으로 처리량 변화를 비교할 수 있습니다.
+ */
+public class PerfHarness {
+
+    /** 측정 대상 연산 (반환 값은 최적화로 제거되지 않도록 소비됨) */
+    @FunctionalInterface
+    public interface Op {
+        Object run() throws Exception;
+    }
+
+    /** 케이스 하나의 측정 결과 */
+    public static final class Result {
+        final String name;
+        final String param;
+        final long ops;
+        final double opsPerSec;
+        final double[] percentilesUs;
+        final double maxUs;
+        final double allocBytesPerOp;
+        final double allocMbPerSec;
+        final long gcCount;
+        final long gcTimeMs;
+
+        Result(String name, String param, long ops, double opsPerSec, double[] percentilesUs, double maxUs,
+               double allocBytesPerOp, double allocMbPerSec, long gcCount, long gcTimeMs) {
+            this.name = name;
+            this.param = param;
+            this.ops = ops;
+            this.opsPerSec = opsPerSec;
+            this.percentilesUs = percentilesUs;
+            this.maxUs = maxUs;
+            this.allocBytesPerOp = allocBytesPerOp;
+            this.allocMbPerSec = allocMbPerSec;
+            this.gcCount = gcCount;
+            this.gcTimeMs = gcTimeMs;
+        }
+
+        String key() {
+            return name + "|" + param;
+        }
+    }
+
+    /** 보고하는 백분위 */
+    static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /** 케이스당 보관하는 최대 지연 시간 표본 수 (넘으면 이후 연산은 처리량에만 반영) */
+    private static final int MAX_SAMPLES = 2_000_000;
+
+    private static volatile Object sink;
+
+    private final int warmupIterations;
+    private final int measureIterations;
+    private final long iterationNanos;
+    private final Pattern filter;
+    private final List<Result> results = new ArrayList<>();
+
+    /**
+     * @param warmupIterations 워밍업 반복 수
+     * @param measureIterations 측정 반복 수
+     * @param iterationMillis 반복 1회 시간 (최소 1회 연산은 항상 수행)
+     * @param filter 실행할 케이스 이름 정규식 (null 이면 전체)
+     */
+    public PerfHarness(int warmupIterations, int measureIterations, long iterationMillis, String filter) {
+        this.warmupIterations = warmupIterations;
+        this.measureIterations = measureIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+        this.filter = filter == null ? null : Pattern.compile(filter);
+    }
+
+    /** 케이스 이름이 필터에 맞는지 (코퍼스 준비를 건너뛸 때 사용) */
+    public boolean accepts(String name) {
+        return filter == null || filter.matcher(name).find();
+    }
+
+    /** 케이스 하나를 측정하고 결과를 콘솔에 한 줄 출력 */
+    public void run(String name, String param, Op op) throws Exception {
+        if (!accepts(name)) {
+            return;
+        }
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(op, null);
+        }
+
+        Sampler sampler = new Sampler();
+        long ops = 0;
+        long elapsed = 0;
+        long gcCount0 = gcCount();
+        long gcTime0 = gcTimeMs();
+        long alloc0 = allocatedBytes();
+        for (int i = 0; i < measureIterations; i++) {
+            long begin = System.nanoTime();
+            ops += iteration(op, sampler);
+            elapsed += System.nanoTime() - begin;
+        }
+        long alloc = allocatedBytes() - alloc0 - sampler.grownBytes;
+        long gcCount = gcCount() - gcCount0;
+        long gcTime = gcTimeMs() - gcTime0;
+
+        sampler.sort();
+        double[] percentiles = new double[PERCENTILES.length];
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            percentiles[i] = sampler.percentile(PERCENTILES[i]) / 1000.0;
+        }
+        double maxUs = sampler.max() / 1000.0;
+        double seconds = elapsed / 1e9;
+        boolean allocKnown = alloc0 >= 0;
+        Result r = new Result(name, param, ops, ops / seconds, percentiles, maxUs,
+                allocKnown ? (double) alloc / ops : -1, allocKnown ? alloc / seconds / (1024 * 1024) : -1,
+                gcCount, gcTime);
+        results.add(r);
+        System.out.printf(Locale.ROOT, "%-40s %-8s %,14.1f ops/s  p50 %,10.1f  p99 %,10.1f  max %,10.1f us  %,12.0f B/op  gc %d%n",
+                name, param, r.opsPerSec, percentiles[0], percentiles[2], maxUs, r.allocBytesPerOp, gcCount);
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    /** 반복 1회: 최소 한 번, iterationNanos 가 지날 때까지 연산 수행 */
+    private long iteration(Op op, Sampler sampler) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + iterationNanos;
+        long ops = 0;
+        long now = start;
+        do {
+            sink = op.run();
+            long end = System.nanoTime();
+            if (sampler != null) {
+                sampler.add(end - now);
+            }
+            now = end;
+            ops++;
+        } while (now < deadline);
+        return ops;
+    }
+
+    /** 연산 1회 지연 시간 표본 (ns, 측정 반복 전체에 걸쳐 누적) */
+    private static final class Sampler {
+        private long[] data = new long[1024];
+        private int count;
+        /** 표본 배열 확장으로 할당한 바이트 (할당량 측정에서 제외) */
+        private long grownBytes;
+
+        void add(long nanos) {
+            if (count >= MAX_SAMPLES) return;
+            if (count == data.length) {
+                data = Arrays.copyOf(data, Math.min(MAX_SAMPLES, count * 2));
+                grownBytes += 16 + 8L * data.length;
+            }
+            data[count++] = nanos;
+        }
+
+        void sort() {
+            Arrays.sort(data, 0, count);
+        }
+
+        /** sort() 후 호출 (nearest-rank) */
+        long percentile(double p) {
+            if (count == 0) return 0;
+            int idx = (int) Math.ceil(p / 100.0 * count) - 1;
+            return data[Math.max(0, Math.min(count - 1, idx))];
+        }
+
+        long max() {
+            return count == 0 ? 0 : data[count - 1];
+        }
+    }
+
+    // ========== JSON 저장 / 기준 비교 ==========
+
+    /** 결과를 JSON 으로 저장 (results 배열의 항목 하나가 한 줄) */
+    public void writeJson(Path out, Map<String, String> environment) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"timestamp\": ").append(quote(OffsetDateTime.now().toString())).append(",\n");
+        for (Map.Entry<String, String> e : environment.entrySet()) {
+            sb.append("  ").append(quote(e.getKey())).append(": ").append(quote(e.getValue())).append(",\n");
+        }
+        sb.append("  \"warmupIterations\": ").append(warmupIterations).append(",\n");
+        sb.append("  \"measureIterations\": ").append(measureIterations).append(",\n");
+        sb.append("  \"iterationMillis\": ").append(iterationNanos / 1_000_000).append(",\n");
+        sb.append("  \"results\": [\n");
+        for (int i = 0; i < results.size(); i++) {
+            Result r = results.get(i);
+            sb.append("    {\"name\":").append(quote(r.name))
+              .append(",\"param\":").append(quote(r.param))
+              .append(",\"opsPerSec\":").append(number(r.opsPerSec))
+              .append(",\"ops\":").append(r.ops);
+            for (int p = 0; p < PERCENTILES.length; p++) {
+                sb.append(",\"p").append(percentileLabel(PERCENTILES[p])).append("Us\":").append(number(r.percentilesUs[p]));
+            }
+            sb.append(",\"maxUs\":").append(number(r.maxUs))
+              .append(",\"allocBytesPerOp\":").append(number(r.allocBytesPerOp))
+              .append(",\"allocMBPerSec\":").append(number(r.allocMbPerSec))
+              .append(",\"gcCount\":").append(r.gcCount)
+              .append(",\"gcTimeMs\":").append(r.gcTimeMs)
+              .append('}').append(i < results.size() - 1 ? "," : "").append('\n');
+        }
+        sb.append("  ]\n}\n");
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        Files.write(out, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final Pattern RESULT_LINE =
+            Pattern.compile("\"name\":\"((?:[^\"\\\\]|\\\\.)*)\",\"param\":\"((?:[^\"\\\\]|\\\\.)*)\",\"opsPerSec\":([0-9.Ee+-]+)");
+
+    /**
+     * 이전 결과 JSON(writeJson 형식)과 처리량을 비교해 출력합니다.
+     *
+     * @param threshold 회귀로 보는 처리량 감소 비율 (예: 0.10 = 10%)
+     * @return 회귀 케이스 수
+     */
+    public int compareWith(Path baseline, double threshold) throws IOException {
+        Map<String, Double> base = new HashMap<>();
+        for (String line : Files.readAllLines(baseline, StandardCharsets.UTF_8)) {
+            Matcher m = RESULT_LINE.matcher(line);
+            if (m.find()) {
+                base.put(m.group(1) + "|" + m.group(2), Double.parseDouble(m.group(3)));
+            }
+        }
+
+        int regressions = 0;
+        System.out.println("========================================");
+        System.out.println("기준 결과 비교: " + baseline + " (회귀 기준 -" + Math.round(threshold * 100) + "%)");
+        for (Result r : results) {
+            Double before = base.get(r.key());
+            if (before == null || before <= 0) {
+                System.out.printf("%-40s %-8s (기준 없음)%n", r.name, r.param);
+                continue;
+            }
+            double change = r.opsPerSec / before - 1;
+            boolean regression = change < -threshold;
+            if (regression) regressions++;
+            System.out.printf(Locale.ROOT, "%-40s %-8s %,14.1f -> %,14.1f ops/s (%+6.1f%%) %s%n",
+                    r.name, r.param, before, r.opsPerSec, change * 100, regression ? "❌ 회귀" : "");
+        }
+        return regressions;
+    }
+
+    private static String percentileLabel(double p) {
+        return p == Math.rint(p) ? Integer.toString((int) p) : Double.toString(p).replace(".", "");
+    }
+
+    private static String number(double v) {
+        if (Double.isNaN(v) || Double.isInfinite(v)) return "null";
+        return String.format(Locale.ROOT, "%.3f", v);
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') sb.append('\\').append(c);
+            else if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+            else sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+
+    // ========== JVM 지표 ==========
+
+    /** 현재 스레드의 누적 할당 바이트 (지원하지 않는 JVM 이면 -1) */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static long gcCount() {
+        long n = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            n += Math.max(0, gc.getCollectionCount());
+        }
+        return n;
+    }
+
+    private static long gcTimeMs() {
+        long n = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            n += Math.max(0, gc.getCollectionTime());
+        }
+        return n;
+    }
+}
@@ -0,0 +1,258 @@
+package test;
+
+import service.analyze.sql.SqlFileExecutor;
+import service.csvCompare.io.CsvReader;
+import service.csvCompare.io.CsvWriter;
+import service.csvCompare.model.CsvTable;
+import service.csvCompare.model.OutputRow;
+import service.csvCompare.process.CompositeKeyStrategy;
+import service.csvCompare.process.CsvComparator;
+import service.csvCompare.process.KeyStrategy;
+import service.queryParser.parser.TableParser;
+import service.queryParser.parser.TableStepParser;
+import service.scanSourceTarget.scan.parser.TableExtractor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * 파서 / CSV 입출력 / 비교 성능 회귀 측정 스위트
+ *
+ * 합성 코퍼스를 만들어 PerfHarness 로 측정하고 결과를 JSON 으로 저장합니다.
+ * - SQL: SqlCorpusGenerator 스크립트 small(STEP 10) / medium(STEP 200) / huge(STEP 2000)
+ *        (백틱 한글 테이블명, CTE, JOIN, MERGE 포함)
+ * - CSV: tall(8컬럼 x 100,000행) / wide(300컬럼 x 1,000행), 따옴표/콤마/한글 값 포함
+ *
+ * 측정 대상: TableParser, TableStepParser, TableExtractor, SqlFileExecutor.splitStatements,
+ *           TableStepParser STEP 병렬 파싱(StepParallelBenchmark, STEP 10/100/1000 순차 / 병렬 / 기본 기준),
+ *           CsvReader.parseCsv / read, CsvWriter.open, CsvComparator
+ *
+ * 사용법: java -Xmx4g test.PerfSuite [옵션]
+ *   --filter=정규식          케이스 이름 필터 (예: --filter=Csv)
+ *   --warmup=N --iterations=N --time=밀리초   (기본 3 / 5 / 1000)
+ *   --quick                  빠른 확인용 (1 / 2 / 200)
+ *   --out=경로               결과 JSON (기본 target/benchmark/perf-result.json)
+ *   --baseline=경로          이전 결과 JSON 과 처리량 비교
+ *   --threshold=비율         회귀 기준 처리량 감소율 (기본 0.10)
+ *   --failOnRegression       회귀가 있으면 종료 코드 1
+ *
+ * Maven: mvn -Pbenchmark test  (인자는 -Dbenchmark.args="--filter=Csv --baseline=...")
+ */
+public class PerfSuite {
+
+    private static final Map<String, Integer> SQL_SIZES = new LinkedHashMap<>();
+    static {
+        SQL_SIZES.put("small", 10);
+        SQL_SIZES.put("medium", 200);
+        SQL_SIZES.put("huge", 2000);
+    }
+
+    private static final String[] CSV_CASES = {
+            "CsvReader.parseCsv", "CsvReader.read", "CsvComparator.compareTables", "CsvComparator.compareStreaming",
+            "CsvComparator.compareTablesPartitioned", "CsvWriter.write"
+    };
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parseArgs(args);
+        boolean quick = opts.containsKey("quick");
+        PerfHarness harness = new PerfHarness(
+                intOpt(opts, "warmup", quick ? 1 : 3),
+                intOpt(opts, "iterations", quick ? 2 : 5),
+                intOpt(opts, "time", quick ? 200 : 1000),
+                opts.get("filter"));
+        Path out = Paths.get(opts.getOrDefault("out", "target/benchmark/perf-result.json"));
+
+        System.out.println("========================================");
+        System.out.printf("PerfSuite: CPU %d개, 최대 힙 %,d MB, Java %s%n",
+                Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().maxMemory() / (1024 * 1024),
+                System.getProperty("java.version"));
+        System.out.println("========================================");
+
+        runSqlCases(harness);
+        StepParallelBenchmark.run(harness, Runtime.getRuntime().availableProcessors());
+        Path dir = Files.createTempDirectory("perf-suite");
+        try {
+            runCsvCases(harness, dir);
+        } finally {
+            deleteRecursively(dir);
+        }
+
+        harness.writeJson(out, environment());
+        System.out.println("========================================");
+        System.out.println("결과 저장: " + out.toAbsolutePath());
+
+        if (opts.containsKey("baseline")) {
+            double threshold = Double.parseDouble(opts.getOrDefault("threshold", "0.10"));
+            int regressions = harness.compareWith(Paths.get(opts.get("baseline")), threshold);
+            System.out.println(regressions == 0 ? "✅ 회귀 없음" : "❌ 회귀 " + regressions + "건");
+            if (regressions > 0 && opts.containsKey("failOnRegression")) {
+                System.exit(1);
+            }
+        }
+    }
+
+    private static void runSqlCases(PerfHarness harness) throws Exception {
+        Map<String, String> scripts = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> e : SQL_SIZES.entrySet()) {
+            scripts.put(e.getKey(), new SqlCorpusGenerator(42L).generate(e.getValue()));
+        }
+
+        TableParser tableParser = new TableParser();
+        TableExtractor extractor = new TableExtractor();
+        for (Map.Entry<String, String> e : scripts.entrySet()) {
+            String sql = e.getValue();
+            harness.run("TableParser.extractTables", e.getKey(), () -> tableParser.extractTables(sql));
+            // 같은 스크립트는 분할 결과가 재사용되므로 매번 새 파서로 측정
+            harness.run("TableStepParser.extractTablesByStep", e.getKey(), () -> new TableStepParser(tableParser).extractTablesByStep(sql));
+            harness.run("TableExtractor.extractTables", e.getKey(), () -> extractor.extractTables(sql));
+            harness.run("SqlFileExecutor.splitStatements", e.getKey(), () -> SqlFileExecutor.splitStatements(sql));
+        }
+    }
+
+    private static void runCsvCases(PerfHarness harness, Path dir) throws Exception {
+        if (Stream.of(CSV_CASES).noneMatch(harness::accepts)) {
+            return;
+        }
+        String tall = generateCsv(100_000, 8, 1L, false);
+        String wide = generateCsv(1_000, 300, 2L, false);
+        Path tall1 = write(dir.resolve("tall1.csv"), tall);
+        Path tall2 = write(dir.resolve("tall2.csv"), generateCsv(100_000, 8, 1L, true));
+        Path wide1 = write(dir.resolve("wide1.csv"), wide);
+        Path wide2 = write(dir.resolve("wide2.csv"), generateCsv(1_000, 300, 2L, true));
+
+        harness.run("CsvReader.parseCsv", "tall", () -> CsvReader.parseCsv(tall));
+        harness.run("CsvReader.parseCsv", "wide", () -> CsvReader.parseCsv(wide));
+        harness.run("CsvReader.read", "tall", () -> CsvReader.read(tall1));
+        harness.run("CsvReader.read", "wide", () -> CsvReader.read(wide1));
+
+        KeyStrategy keyStrategy = new CompositeKeyStrategy(Arrays.asList("ID", "C1"));
+        CsvComparator comparator = new CsvComparator();
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path outFile = dir.resolve("result.csv");
+
+        for (String size : Arrays.asList("tall", "wide")) {
+            CsvTable t1 = CsvReader.read(size.equals("tall") ? tall1 : wide1);
+            Path file2 = size.equals("tall") ? tall2 : wide2;
+            CsvTable t2 = CsvReader.read(file2);
+            List<String> unified = comparator.unifyHeaders(t1.getHeaders(), t2.getHeaders());
+            List<String> outputHeaders = new ArrayList<>(unified);
+            outputHeaders.add("RESULT");
+            outputHeaders.add("DIFF_DETAIL");
+
+            harness.run("CsvComparator.compareTables", size, () -> comparator.compareTables(t1, t2, keyStrategy, unified));
+            harness.run("CsvComparator.compareStreaming", size, () -> {
+                long[] count = {0};
+                comparator.compareStreaming(t1, file2, keyStrategy, unified, row -> count[0]++);
+                return count[0];
+            });
+            if (threads > 1) {
+                harness.run("CsvComparator.compareTablesPartitioned", size + "-x" + threads,
+                        () -> comparator.compareTablesPartitioned(t1, t2, keyStrategy, unified, threads));
+            }
+
+            List<OutputRow> rows = comparator.compareTables(t1, t2, keyStrategy, unified);
+            harness.run("CsvWriter.write", size, () -> {
+                try (CsvWriter.RowWriter writer = CsvWriter.open(outFile, outputHeaders)) {
+                    for (OutputRow row : rows) {
+                        writer.write(row);
+                    }
+                    return writer.getRowCount();
+                }
+            });
+        }
+    }
+
+    /**
+     * 합성 CSV: ID + C1..C(columns-1). 일부 값은 따옴표/콤마/한글/개행을 포함합니다.
+     * variant 이면 1/10 행 삭제, 1/7 행 값 변경, 1/20 행 신규 추가 (비교 입력용)
+     */
+    static String generateCsv(int rows, int columns, long seed, boolean variant) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(rows * columns * 8);
+        sb.append("ID");
+        for (int c = 1; c < columns; c++) sb.append(",C").append(c);
+        sb.append("\r\n");
+        for (int i = 0; i < rows; i++) {
+            boolean drop = variant && i % 10 == 0;
+            boolean change = variant && i % 7 == 0;
+            StringBuilder line = new StringBuilder(columns * 8);
+            line.append(i);
+            for (int c = 1; c < columns; c++) {
+                line.append(',');
+                int v = random.nextInt(100_000);
+                if (c == 1) {
+                    line.append("2025-12-").append(10 + i % 18);
+                } else if (change && c == 2) {
+                    line.append(v + 1);
+                } else if (c % 5 == 0) {
+                    line.append("\"값, ").append(v).append('"');
+                } else if (c % 11 == 0 && i % 50 == 0) {
+                    line.append("\"여러\r\n줄 \"\"").append(v).append("\"\"\"");
+                } else {
+                    line.append(v);
+                }
+            }
+            if (!drop) {
+                sb.append(line).append("\r\n");
+            }
+            if (variant && i % 20 == 0) {
+                sb.append("N").append(i).append(line.substring(line.indexOf(","))).append("\r\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static Map<String, String> environment() {
+        Map<String, String> env = new LinkedHashMap<>();
+        env.put("javaVersion", System.getProperty("java.version"));
+        env.put("javaVm", System.getProperty("java.vm.name"));
+        env.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        env.put("cpus", Integer.toString(Runtime.getRuntime().availableProcessors()));
+        env.put("maxHeapMB", Long.toString(Runtime.getRuntime().maxMemory() / (1024 * 1024)));
+        return env;
+    }
+
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg == null || arg.trim().isEmpty()) {
+                continue;
+            }
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("알 수 없는 인자: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                opts.put(arg.substring(2), "true");
+            } else {
+                opts.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return opts;
+    }
+
+    private static int intOpt(Map<String, String> opts, String name, int defaultValue) {
+        String v = opts.get(name);
+        return v == null ? defaultValue : Integer.parseInt(v);
+    }
+
+    private static Path write(Path file, String content) throws IOException {
+        return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted((a, b) -> b.getNameCount() - a.getNameCount()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
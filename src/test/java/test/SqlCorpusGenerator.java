@@ -0,0 +1,77 @@
+package test;
+
+import java.util.Random;
+
+/**
+ * 벤치마크용 합성 SQL 스크립트 생성기
+ *
+ * STEP 주석, 백틱으로 감싼 한글 테이블명, CTE, JOIN, Oracle 콤마 조인, MERGE/DELETE 가 섞인
+ * BigQuery 배치 스크립트 형태의 문자열을 만듭니다. 같은 seed 는 항상 같은 스크립트를 만듭니다.
+ */
+public class SqlCorpusGenerator {
+
+    private static final String[] SCHEMAS = {"DW", "DM", "ODS", "STG"};
+    private static final String[] NAMES = {"기지국", "부서", "가입자", "RED_CARE_SALES", "월서비스", "SERVICE", "요약"};
+
+    private final Random random;
+
+    public SqlCorpusGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * STEP 블록 stepCount 개로 구성된 스크립트를 생성합니다.
+     *
+     * @param stepCount STEP 개수
+     * @return SQL 스크립트
+     */
+    public String generate(int stepCount) {
+        StringBuilder sb = new StringBuilder(stepCount * 700);
+        sb.append("-- 합성 배치 스크립트\nBEGIN\n");
+        for (int i = 1; i <= stepCount; i++) {
+            sb.append(String.format("/* STEP%03d */%n", i));
+            appendStep(sb, i);
+        }
+        sb.append("END;\n");
+        return sb.toString();
+    }
+
+    private void appendStep(StringBuilder sb, int step) {
+        switch (step % 4) {
+            case 0:
+                sb.append("INSERT INTO ").append(table()).append('\n')
+                  .append("WITH `모수` AS (\n")
+                  .append("  SELECT A.ID, A.NAME FROM ").append(table()).append(" AS A\n")
+                  .append("  WHERE A.BASE_DT = '2025-12-10' -- FROM 문자열 아님\n")
+                  .append("), MOSU2 AS (\n")
+                  .append("  SELECT B.ID FROM ").append(table()).append(" B LEFT OUTER JOIN ")
+                  .append(table()).append(" C ON B.ID = C.ID\n")
+                  .append(")\nSELECT * FROM `모수` M INNER JOIN MOSU2 N ON M.ID = N.ID;\n");
+                break;
+            case 1:
+                sb.append("/* 다중 테이블 Oracle 조인 */\n")
+                  .append("INSERT INTO ").append(table()).append(" (ID, AMT)\n")
+                  .append("SELECT X.ID, SUM(Y.AMT)\n  FROM ").append(table()).append(" X, ")
+                  .append(table()).append(" Y, ").append(table()).append(" Z\n")
+                  .append(" WHERE X.ID = Y.ID AND Y.ID = Z.ID AND X.MSG <> 'select from dual'\n")
+                  .append(" GROUP BY X.ID;\n");
+                break;
+            case 2:
+                sb.append("MERGE INTO ").append(table()).append(" T\nUSING ").append(table()).append(" S\n")
+                  .append("ON T.ID = S.ID\nWHEN MATCHED THEN UPDATE SET T.V = S.V\n")
+                  .append("WHEN NOT MATCHED THEN INSERT (ID, V) VALUES (S.ID, S.V);\n");
+                break;
+            default:
+                sb.append("DELETE FROM ").append(table()).append(" WHERE BASE_DT < DATE_SUB(CURRENT_DATE(), INTERVAL 7 DAY);\n")
+                  .append("UPDATE ").append(table()).append(" SET FLAG = 'Y' WHERE ID IN (SELECT ID FROM ")
+                  .append(table()).append(");\n");
+                break;
+        }
+    }
+
+    private String table() {
+        String schema = SCHEMAS[random.nextInt(SCHEMAS.length)];
+        String name = NAMES[random.nextInt(NAMES.length)] + String.format("%02d", random.nextInt(100));
+        return random.nextBoolean() ? schema + ".`" + name + "`" : schema + "." + name;
+    }
+}
@@ -0,0 +1,95 @@
+package test;
+
+import service.queryParser.parser.TableParser;
+import service.queryParser.parser.TableStepParser;
+
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * TableStepParser STEP 병렬 파싱 벤치마크 (PerfHarness 사용)
+ *
+ * 합성 스크립트(STEP 10/100/1000개)를 순차(seq) / 병렬 기준 2, 항상 병렬(par) / 병렬 기본 기준(dflt)으로
+ * extractTablesByStep 하는 케이스를 "TableStepParser.stepParallel" 로 등록합니다.
+ * 같은 스크립트는 분할 결과가 재사용되므로 매번 새 TableStepParser 로 측정합니다.
+ * PerfSuite 도 같은 케이스를 등록하므로 JSON 결과와 --baseline 회귀 비교에 포함됩니다.
+ *
+ * 사용법: java test.StepParallelBenchmark [--quick] [--parallelism=N] [--out=경로]
+ *   (기본: 워밍업 3 / 측정 5 / 1000ms, 병렬도 = 코어 수, JSON 은 --out 지정 시에만 저장)
+ */
+public class StepParallelBenchmark {
+
+    static final String CASE_NAME = "TableStepParser.stepParallel";
+
+    private static final int[] STEP_COUNTS = {10, 100, 1000};
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = PerfSuite.parseArgs(args);
+        boolean quick = opts.containsKey("quick");
+        int parallelism = Integer.parseInt(opts.getOrDefault("parallelism",
+                Integer.toString(Runtime.getRuntime().availableProcessors())));
+        PerfHarness harness = new PerfHarness(quick ? 1 : 3, quick ? 2 : 5, quick ? 200 : 1000, null);
+
+        System.out.println("========================================");
+        System.out.println("TableStepParser STEP 병렬 파싱 벤치마크 (병렬도 " + parallelism
+                + ", 기본 기준 " + TableStepParser.DEFAULT_PARALLEL_THRESHOLD + " STEP)");
+        System.out.println("========================================");
+
+        run(harness, parallelism);
+
+        // 순차 대비 처리량 배율
+        Map<String, Double> opsPerSec = new LinkedHashMap<>();
+        for (PerfHarness.Result r : harness.getResults()) {
+            opsPerSec.put(r.param, r.opsPerSec);
+        }
+        System.out.println("----------------------------------------");
+        for (int steps : STEP_COUNTS) {
+            double seq = opsPerSec.get(steps + "/seq");
+            System.out.printf(Locale.ROOT, "STEP %4d개: 병렬 x%.2f | 기본 기준 x%.2f%n",
+                    steps, opsPerSec.get(steps + "/par") / seq, opsPerSec.get(steps + "/dflt") / seq);
+        }
+
+        if (opts.containsKey("out")) {
+            Map<String, String> env = new LinkedHashMap<>();
+            env.put("javaVersion", System.getProperty("java.version"));
+            env.put("cpus", Integer.toString(Runtime.getRuntime().availableProcessors()));
+            env.put("parallelism", Integer.toString(parallelism));
+            harness.writeJson(Paths.get(opts.get("out")), env);
+        }
+    }
+
+    /**
+     * STEP 수별 순차 / 항상 병렬 / 기본 기준 케이스를 측정합니다 (풀은 측정 동안만 사용 후 종료).
+     *
+     * @param harness 측정기
+     * @param parallelism 전용 ForkJoinPool 병렬도
+     */
+    static void run(PerfHarness harness, int parallelism) throws Exception {
+        if (!harness.accepts(CASE_NAME)) {
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        TableParser tableParser = new TableParser();
+        try {
+            for (int steps : STEP_COUNTS) {
+                String sql = new SqlCorpusGenerator(42L).generate(steps);
+                harness.run(CASE_NAME, steps + "/seq", () -> new TableStepParser(tableParser).extractTablesByStep(sql));
+                harness.run(CASE_NAME, steps + "/par", () -> {
+                    TableStepParser parser = new TableStepParser(tableParser);
+                    parser.setParallel(pool, 2);
+                    return parser.extractTablesByStep(sql);
+                });
+                harness.run(CASE_NAME, steps + "/dflt", () -> {
+                    TableStepParser parser = new TableStepParser(tableParser);
+                    parser.setParallel(pool, TableStepParser.DEFAULT_PARALLEL_THRESHOLD);
+                    return parser.extractTablesByStep(sql);
+                });
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
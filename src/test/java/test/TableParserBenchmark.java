@@ -0,0 +1,59 @@
+package test;
+
+import service.queryParser.parser.TableParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TableParser 파일당 파싱 시간 마이크로 벤치마크
+ *
+ * 합성 스크립트(STEP 1/10/100/500개)를 파일 하나로 보고 extractTables 평균 시간을 측정합니다.
+ * 반복 측정을 TRIALS 회 수행하여 가장 빠른 값을 보고합니다.
+ * 같은 클래스를 이전 리비전에서도 실행하면 변경 전/후를 비교할 수 있습니다.
+ *
+ * 사용법: java test.TableParserBenchmark [반복 횟수] (기본: 20)
+ */
+public class TableParserBenchmark {
+
+    private static final int[] STEP_COUNTS = {1, 10, 100, 500};
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int TRIALS = 5;
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+
+        SqlCorpusGenerator generator = new SqlCorpusGenerator(42L);
+        List<String> scripts = new ArrayList<>();
+        for (int steps : STEP_COUNTS) {
+            scripts.add(generator.generate(steps));
+        }
+
+        TableParser parser = new TableParser();
+
+        System.out.println("========================================");
+        System.out.println("TableParser 파싱 벤치마크 (반복 " + rounds + "회)");
+        System.out.println("========================================");
+
+        for (int i = 0; i < scripts.size(); i++) {
+            String sql = scripts.get(i);
+            for (int w = 0; w < WARMUP_ROUNDS; w++) {
+                parser.extractTables(sql);
+            }
+
+            // 측정 잡음을 줄이기 위해 TRIALS 회 측정 중 최솟값 사용
+            long best = Long.MAX_VALUE;
+            int tables = 0;
+            for (int t = 0; t < TRIALS; t++) {
+                long begin = System.nanoTime();
+                for (int r = 0; r < rounds; r++) {
+                    tables = parser.extractTables(sql).getSources().size();
+                }
+                best = Math.min(best, System.nanoTime() - begin);
+            }
+
+            System.out.printf("STEP %4d개 (%7d chars): 파일당 %10.1f us (sources=%d)%n",
+                    STEP_COUNTS[i], sql.length(), best / 1000.0 / rounds, tables);
+        }
+    }
+}
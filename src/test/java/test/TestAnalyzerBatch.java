@@ -0,0 +1,203 @@
+package test;
+
+import service.analyze.bigQuery.BigQueryScriptAnalyzer4;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * BigQueryScriptAnalyzer4 --dir 배치 분석 테스트
+ *
+ * 1. 스레드 1개 / 4개 결과 CSV 가 같은지
+ * 2. 배치 CSV 의 파일별 행이 --input 단일 파일 분석 결과와 같은지 (CRLF 파일 포함)
+ * 3. 중복 테이블 통계가 전체 파일 기준으로 계산되는지
+ * 4. HTML 파일별 구역 / 시간 표, 콘솔의 파일별 시간과 전체 경과 시간
+ *
+ * 사용법: java test.TestAnalyzerBatch
+ */
+public class TestAnalyzerBatch {
+
+    private static final int FILES = 24;
+
+    private static boolean pass = true;
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("bq-batch");
+        Path out = Files.createTempDirectory("bq-batch-out");
+        try {
+            List<String> names = createCorpus(dir);
+
+            System.out.println("=== 스레드 수와 무관한 결과 ===");
+            long start = System.nanoTime();
+            String stdout1 = run("--dir", dir.toString(), "--threads", "1",
+                    "--csv", out.resolve("b1.csv").toString(), "--html", out.resolve("b1.html").toString());
+            long oneMs = (System.nanoTime() - start) / 1_000_000L;
+            start = System.nanoTime();
+            String stdout4 = run("--dir", dir.toString(), "--threads", "4",
+                    "--csv", out.resolve("b4.csv").toString(), "--html", out.resolve("b4.html").toString());
+            long fourMs = (System.nanoTime() - start) / 1_000_000L;
+            System.out.printf("  파일 %d개: 스레드 1개 %,d ms, 스레드 4개 %,d ms (코어 %d개)%n",
+                    names.size(), oneMs, fourMs, Runtime.getRuntime().availableProcessors());
+
+            List<String> csv1 = Files.readAllLines(out.resolve("b1.csv"), StandardCharsets.UTF_8);
+            List<String> csv4 = Files.readAllLines(out.resolve("b4.csv"), StandardCharsets.UTF_8);
+            check("CSV 동일 (스레드 1 / 4)", csv1.equals(csv4) && csv1.size() > FILES);
+            check("CSV File 열", csv4.get(0).startsWith("File,Step,"));
+
+            System.out.println("\n=== 단일 파일 분석과 동일 ===");
+            boolean same = true;
+            Map<String, Integer> tableCounts = new LinkedHashMap<>();
+            for (String name : names) {
+                Path single = out.resolve("single.csv");
+                run("--input", dir.resolve(name).toString(), "--csv", single.toString(), "--no-html", "--no-stats");
+                List<String> singleRows = Files.exists(single)
+                        ? Files.readAllLines(single, Charset.defaultCharset()) : new ArrayList<>();
+                Files.deleteIfExists(single);
+                List<String> expected = singleRows.isEmpty() ? new ArrayList<>()
+                        : singleRows.subList(1, singleRows.size()).stream().map(r -> name + "," + r).collect(Collectors.toList());
+                // 단일 파일 CSV 는 기본 문자셋(FileWriter)으로 저장되므로 같은 문자셋을 거쳐 비교
+                Charset cs = Charset.defaultCharset();
+                List<String> actual = csv4.stream().filter(r -> r.startsWith(name + ","))
+                        .map(r -> new String(r.getBytes(cs), cs)).collect(Collectors.toList());
+                if (expected.isEmpty()) {
+                    same &= actual.size() == 1 && actual.get(0).contains("STEP");
+                } else {
+                    same &= expected.equals(actual);
+                }
+                for (String row : expected) {
+                    String table = row.split(",", -1)[2];
+                    if (!table.isEmpty()) {
+                        tableCounts.merge(table, 1, Integer::sum);
+                    }
+                }
+            }
+            check("파일별 CSV 행", same);
+
+            List<String> crlf = stripFile(csv4, "nested/crlf.sql");
+            check("CRLF 파일 = LF 파일", !crlf.isEmpty() && crlf.equals(stripFile(csv4, "proc_00.sql")));
+
+            System.out.println("\n=== 전체 파일 기준 중복 통계 ===");
+            String html = Files.readString(out.resolve("b4.html"), StandardCharsets.UTF_8);
+            String expectedDup = tableCounts.entrySet().stream()
+                    .filter(e -> e.getValue() > 1)
+                    .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
+                    .map(e -> e.getKey() + "(" + e.getValue() + ")")
+                    .collect(Collectors.joining(", "));
+            check("공통 테이블이 파일 수만큼 집계", tableCounts.getOrDefault("dw.shared_dim", 0) >= FILES);
+            check("HTML 중복 테이블 (전체 파일)", html.contains("<li>중복 테이블 (전체 파일): " + expectedDup + "</li>"));
+
+            System.out.println("\n=== HTML / 콘솔 리포트 ===");
+            boolean sections = true;
+            for (int i = 0; i < names.size(); i++) {
+                sections &= html.contains("<h2 id='file-" + i + "'>" + names.get(i) + "</h2>")
+                        && html.contains("<a href='#file-" + i + "'>" + names.get(i) + "</a>");
+            }
+            check("파일별 구역 / 시간 표", sections && html.contains("파일별 분석 시간") && html.contains("분석 스레드: 4개"));
+            check("콘솔 파일별 시간 / 전체 경과 시간", stdout4.contains(" - nested/crlf.sql: STEP ")
+                    && stdout4.contains("파일 " + names.size() + "개, STEP ") && stdout4.contains("스레드 4개, 전체 ")
+                    && stdout1.contains("스레드 1개, 전체 "));
+
+            Path conflict = out.resolve("conflict.csv");
+            run("--input", dir.resolve(names.get(0)).toString(), "--dir", dir.toString(), "--csv", conflict.toString());
+            check("--input 과 --dir 동시 사용 거부", !Files.exists(conflict));
+        } finally {
+            delete(dir);
+            delete(out);
+        }
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL"));
+    }
+
+    /**
+     * STEP 블록이 있는 파일 FILES 개 + CRLF 파일 + STEP 없는 파일 (하위 디렉터리 포함)
+     */
+    private static List<String> createCorpus(Path dir) throws Exception {
+        Files.createDirectories(dir.resolve("nested"));
+        Random random = new Random(3L);
+        String first = null;
+        for (int f = 0; f < FILES; f++) {
+            String script = procedure(random, f, 10 + f * 4);
+            if (f == 0) {
+                first = script;
+            }
+            Path file = f % 3 == 0 ? dir.resolve("nested").resolve(String.format("proc_%02d.sql", f))
+                    : dir.resolve(String.format("proc_%02d.sql", f));
+            Files.writeString(file, script, StandardCharsets.UTF_8);
+        }
+        // proc_00 은 nested 아래에 있으므로 같은 내용을 최상위에도 둠
+        Files.writeString(dir.resolve("proc_00.sql"), first, StandardCharsets.UTF_8);
+        Files.writeString(dir.resolve("nested").resolve("crlf.sql"), first.replace("\n", "\r\n"), StandardCharsets.UTF_8);
+        Files.writeString(dir.resolve("no_steps.sql"), "SELECT 1;\n", StandardCharsets.UTF_8);
+        Files.writeString(dir.resolve("readme.txt"), "STEP001 BEGIN SELECT 1 FROM t; END;\n", StandardCharsets.UTF_8);
+
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile)
+                    .map(p -> dir.relativize(p).toString().replace("\\", "/"))
+                    .filter(n -> n.endsWith(".sql"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static String procedure(Random random, int file, int steps) {
+        StringBuilder sb = new StringBuilder("-- 프로시저 ").append(file).append('\n');
+        for (int i = 1; i <= steps; i++) {
+            sb.append(String.format("STEP%03d BEGIN%n", i));
+            sb.append("  /* 적재 단계 */\n");
+            if (i == 1) {
+                sb.append("  INSERT INTO dw.t_").append(file).append(" SELECT a, b FROM dw.shared_dim WHERE a > 0;\n");
+            } else {
+                sb.append("  INSERT INTO dw.t_").append(file).append('_').append(i)
+                        .append(" SELECT a, b, c FROM src.s_").append(random.nextInt(8))
+                        .append(" JOIN src.code c ON a = c.id WHERE b IS NOT NULL;\n");
+            }
+            if (random.nextInt(3) == 0) {
+                sb.append("  IF x THEN UPDATE dw.stat SET cnt = cnt + 1 WHERE id = 1; END IF;\n");
+            }
+            sb.append("END;\n");
+        }
+        return sb.toString();
+    }
+
+    private static List<String> stripFile(List<String> rows, String name) {
+        return rows.stream().filter(r -> r.startsWith(name + ","))
+                .map(r -> r.substring(name.length())).collect(Collectors.toList());
+    }
+
+    private static String run(String... args) {
+        PrintStream original = System.out;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(buffer, true, StandardCharsets.UTF_8));
+        try {
+            BigQueryScriptAnalyzer4.main(args);
+        } finally {
+            System.setOut(original);
+        }
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void delete(Path dir) throws Exception {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path p : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+}
@@ -0,0 +1,63 @@
+package test;
+
+import service.queryParser.job.AppJob;
+import service.queryParser.processor.FileParserProcessor;
+import service.queryParser.reader.SqlReader;
+import service.queryParser.writer.CsvWriter;
+import service.queryParser.writer.SourceTableCsvWriter;
+import service.queryParser.writer.TargetTableCsvWriter;
+import service.queryParser.writer.TextWriter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * AppJob 순차/병렬 실행 결과 비교 테스트
+ *
+ * 같은 입력을 워커 1개와 4개로 각각 처리하여 summary/source/target CSV 가
+ * 바이트 단위로 동일한지 확인합니다.
+ *
+ * 사용법: java test.TestAppJobParallel [SQL 디렉토리] (기본: sql/in)
+ */
+public class TestAppJobParallel {
+
+    private static final List<String> CSV_FILES = Arrays.asList(
+            "summary.csv", "source_table_mapping.csv", "target_table_mapping.csv");
+
+    public static void main(String[] args) throws IOException {
+        Path inputDir = Paths.get(args.length > 0 ? args[0] : "sql/in");
+        Path outRoot = Files.createTempDirectory("appjob-parallel");
+
+        Path sequentialOut = run(inputDir, outRoot.resolve("seq"), 1);
+        Path parallelOut = run(inputDir, outRoot.resolve("par"), 4);
+
+        boolean pass = true;
+        for (String name : CSV_FILES) {
+            byte[] expected = Files.readAllBytes(sequentialOut.resolve(name));
+            byte[] actual = Files.readAllBytes(parallelOut.resolve(name));
+            boolean same = Arrays.equals(expected, actual);
+            pass &= same;
+            System.out.println("[" + name + "] " + (same ? "✅ SAME" : "❌ DIFF"));
+        }
+
+        System.out.println("결과: " + (pass ? "✅ PASS" : "❌ FAIL") + " (" + outRoot + ")");
+    }
+
+    private static Path run(Path inputDir, Path outputDir, int workers) {
+        AppJob job = new AppJob(inputDir,
+                new SqlReader(SqlReader.DEFAULT_CHARSET),
+                FileParserProcessor.withDefaults(),
+                new TextWriter(outputDir, StandardCharsets.UTF_8),
+                new CsvWriter(outputDir.resolve("summary.csv"), StandardCharsets.UTF_8),
+                new SourceTableCsvWriter(outputDir.resolve("source_table_mapping.csv"), StandardCharsets.UTF_8),
+                new TargetTableCsvWriter(outputDir.resolve("target_table_mapping.csv"), StandardCharsets.UTF_8),
+                workers);
+        job.stepRead();
+        return outputDir;
+    }
+}
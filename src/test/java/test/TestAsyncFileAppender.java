@@ -0,0 +1,174 @@
+package test;
+
+import com.log.AsyncFileAppender;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * AsyncFileAppender 테스트
+ *
+ * 1. 여러 스레드에서 BLOCK 정책으로 기록한 로그가 빠짐없이, 스레드별 순서대로 파일에 남는지
+ * 2. 로그 시각이 자정을 넘으면 다음 날짜 파일로 바뀌는지, 에러 로그는 에러 파일로 가는지
+ * 3. DROP 정책에서 기록 수 + 버린 수 = 전체 수, ERROR 는 버리지 않는지
+ * 4. close() 가 큐에 남은 로그를 모두 쓰는지, 닫힌 뒤 로그는 버리는지
+ * 5. 하위 JVM 에서 AppLogger 로 기록 후 바로 종료해도 shutdown hook 으로 파일에 남는지
+ *
+ * 사용법: java test.TestAsyncFileAppender
+ */
+public class TestAsyncFileAppender {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static boolean pass = true;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 1) {
+            childMain(Integer.parseInt(args[0]));
+            return;
+        }
+        Path root = Files.createTempDirectory("async-appender");
+        try {
+            long day1 = LocalDate.of(2026, 1, 1).atStartOfDay(ZONE).toInstant().toEpochMilli();
+
+            System.out.println("=== BLOCK, 4 스레드 x 25,000건 ===");
+            Path blockDir = root.resolve("block");
+            AsyncFileAppender block = new AsyncFileAppender(blockDir, 64, AsyncFileAppender.Overflow.BLOCK, ZONE);
+            long start = System.nanoTime();
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int id = t;
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < 25_000; i++) {
+                        block.append(day1 + 1000, "T" + id + " " + i, null, false);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            block.flush();
+            System.out.printf("  %,d ms%n", (System.nanoTime() - start) / 1_000_000L);
+            List<String> lines = Files.readAllLines(blockDir.resolve("application-2026-01-01.log"), StandardCharsets.UTF_8);
+            check("100,000건 기록", lines.size() == 100_000 && block.getWritten() == 100_000 && block.getDropped() == 0);
+            check("스레드별 순서 유지", inOrder(lines, 4));
+
+            System.out.println("\n=== 자정 rollover / 에러 파일 ===");
+            block.append(day1 + 86_400_000L - 1, "before midnight", null, false);
+            block.append(day1 + 86_400_000L, "after midnight", null, false);
+            block.append(day1 + 86_400_000L + 5, "error line", new IllegalStateException("boom"), true);
+            block.close();
+            List<String> day2 = Files.readAllLines(blockDir.resolve("application-2026-01-02.log"), StandardCharsets.UTF_8);
+            List<String> err = Files.readAllLines(blockDir.resolve("application-error-2026-01-02.log"), StandardCharsets.UTF_8);
+            check("23:59:59.999 는 1일 파일", last(Files.readAllLines(blockDir.resolve("application-2026-01-01.log"))).equals("before midnight"));
+            check("00:00:00.000 은 2일 파일", day2.size() == 1 && day2.get(0).equals("after midnight"));
+            check("에러 파일 + 스택 트레이스", err.get(0).equals("error line")
+                    && err.get(1).contains("IllegalStateException: boom"));
+            check("close 후 로그는 버림", !block.append(day1, "late", null, false) && block.getDropped() == 1);
+
+            System.out.println("\n=== DROP, 큐 크기 8 ===");
+            Path dropDir = root.resolve("drop");
+            AsyncFileAppender drop = new AsyncFileAppender(dropDir, 8, AsyncFileAppender.Overflow.DROP, ZONE);
+            int accepted = 0;
+            for (int i = 0; i < 200_000; i++) {
+                if (drop.append(day1, "D " + i, null, false)) {
+                    accepted++;
+                }
+            }
+            for (int i = 0; i < 1_000; i++) {
+                drop.append(day1, "E " + i, null, true);
+            }
+            drop.close();
+            long infoLines = Files.readAllLines(dropDir.resolve("application-2026-01-01.log")).size();
+            long errorLines = Files.readAllLines(dropDir.resolve("application-error-2026-01-01.log")).size();
+            System.out.printf("  기록 %,d건, 버림 %,d건%n", infoLines, drop.getDropped());
+            check("기록 + 버림 = 전체", infoLines == accepted && infoLines + drop.getDropped() == 200_000);
+            check("ERROR 는 버리지 않음", errorLines == 1_000);
+
+            System.out.println("\n=== JVM 종료 시 flush ===");
+            Path childDir = root.resolve("child");
+            Process child = new ProcessBuilder(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-Dlog.dir=" + childDir,
+                    "-cp", System.getProperty("java.class.path"),
+                    TestAsyncFileAppender.class.getName(), "5000")
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            check("하위 JVM 정상 종료", child.waitFor() == 0);
+            long childLines = 0;
+            try (Stream<Path> files = Files.list(childDir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    childLines += Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                            .filter(line -> line.contains("child line")).count();
+                }
+            }
+            check("5,000건 모두 기록", childLines == 5_000);
+
+            System.out.println("\n=== 잘못된 log.overflow 값 ===");
+            check("대소문자 무관 / 잘못된 값은 BLOCK", AsyncFileAppender.Overflow.parse(" drop ") == AsyncFileAppender.Overflow.DROP
+                    && AsyncFileAppender.Overflow.parse(null) == AsyncFileAppender.Overflow.BLOCK
+                    && AsyncFileAppender.Overflow.parse("drp") == AsyncFileAppender.Overflow.BLOCK);
+            Path typoDir = root.resolve("typo");
+            Path typoErr = root.resolve("typo.err");
+            Process typo = new ProcessBuilder(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-Dlog.dir=" + typoDir, "-Dlog.overflow=drp",
+                    "-cp", System.getProperty("java.class.path"),
+                    TestAsyncFileAppender.class.getName(), "100")
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(typoErr.toFile())
+                    .start();
+            check("오타가 있어도 AppLogger 초기화 / 종료 정상", typo.waitFor() == 0
+                    && Files.readString(typoErr).contains("log.overflow"));
+        } finally {
+            try (Stream<Path> s = Files.walk(root)) {
+                s.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL"));
+    }
+
+    /**
+     * 하위 JVM: AppLogger 로 count 건 기록 후 flush 없이 바로 종료
+     */
+    private static void childMain(int count) {
+        com.log.AppLogger log = com.log.AppLogger.getLogger(TestAsyncFileAppender.class);
+        for (int i = 0; i < count; i++) {
+            log.info("child line %d", i);
+        }
+        System.out.flush();
+        System.exit(0);
+    }
+
+    private static boolean inOrder(List<String> lines, int threads) {
+        int[] next = new int[threads];
+        for (String line : lines) {
+            int space = line.indexOf(' ');
+            int id = Integer.parseInt(line.substring(1, space));
+            int seq = Integer.parseInt(line.substring(space + 1));
+            if (seq != next[id]++) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String last(List<String> lines) {
+        return lines.isEmpty() ? "" : lines.get(lines.size() - 1);
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+}
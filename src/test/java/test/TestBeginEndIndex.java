@@ -0,0 +1,226 @@
+package test;
+
+import service.analyze.bigQuery.BeginEndIndex;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BeginEndIndex (BigQueryScriptAnalyzer4 BEGIN/END 블록 인덱스) 테스트
+ *
+ * 1. 주석 / 제어문이 없는 중첩 STEP 스크립트에서 이전 구현(findMatchingEnd)과 추출 결과가 같은지
+ * 2. 주석 / 문자열 안의 BEGIN END, END IF / END LOOP, CASE ... END, BEGIN TRANSACTION 을 블록으로 보지 않는지
+ * 3. 중첩 트리(부모 / 자식 / 깊이 / 위치)와 짝이 맞지 않는 BEGIN / END 수
+ * 4. 윗줄 주석 라벨 (sql/test_sample.sql 처럼 "-- STEP001" 다음 줄에 BEGIN)
+ * 5. 50MB 스크립트를 몇 초 안에 인덱싱하는지 (이전 구현은 작은 스크립트로 시간 비교)
+ *
+ * 사용법: java test.TestBeginEndIndex
+ */
+public class TestBeginEndIndex {
+
+    private static boolean pass = true;
+
+    public static void main(String[] args) throws Exception {
+        Method extract = Class.forName("service.analyze.bigQuery.BigQueryScriptAnalyzer4")
+                .getDeclaredMethod("extractNestedStepBlocks", String.class);
+        extract.setAccessible(true);
+
+        System.out.println("=== 이전 구현과 결과 동일 ===");
+        boolean same = true;
+        for (long seed = 1; seed <= 5; seed++) {
+            String script = nestedScript(new Random(seed), 60);
+            same &= describe((List<?>) extract.invoke(null, script)).equals(oldExtract(script));
+        }
+        check("STEP 이름 / 내용 / 순서", same);
+
+        System.out.println("\n=== 블록으로 보지 않는 키워드 ===");
+        String tricky = "STEP001 BEGIN\n"
+                + "  -- END 주석\n"
+                + "  /* BEGIN 블록 주석 END */\n"
+                + "  # END 샵 주석\n"
+                + "  SELECT 'END', \"BEGIN\", '''END\n END''', `end` FROM t;\n"
+                + "  IF x THEN SELECT 1; END IF;\n"
+                + "  LOOP LEAVE; END LOOP;\n"
+                + "  WHILE y DO SELECT 2; END WHILE;\n"
+                + "  SELECT CASE WHEN a THEN 1 ELSE 2 END AS c FROM t;\n"
+                + "  CASE WHEN b THEN SELECT 3; END CASE;\n"
+                + "  BEGIN TRANSACTION;\n"
+                + "  STEP002 BEGIN\n"
+                + "    INSERT INTO t2 SELECT * FROM t3;\n"
+                + "  END;\n"
+                + "  COMMIT TRANSACTION;\n"
+                + "END;\n"
+                + "step003   BEGIN SELECT 4; END; IF z THEN SELECT 5; END IF;\n";
+        BeginEndIndex index = BeginEndIndex.build(tricky);
+        List<BeginEndIndex.Block> steps = index.getStepBlocks();
+        check("STEP001 / STEP002 / step003", steps.size() == 3
+                && steps.get(0).getLabel().equals("STEP001") && steps.get(1).getLabel().equals("STEP002")
+                && steps.get(2).getLabel().equals("step003"));
+        BeginEndIndex.Block outer = steps.get(0);
+        check("STEP001 이 마지막 END 에서 닫힘", tricky.substring(outer.getEndStart(), outer.getEndEnd()).equals("END")
+                && tricky.indexOf("END;\nstep003") == outer.getEndStart());
+        check("중첩 트리", index.getRoots().size() == 2 && outer.getChildren().size() == 1
+                && outer.getChildren().get(0) == steps.get(1) && steps.get(1).getParent() == outer
+                && steps.get(1).getDepth() == 1 && steps.get(2).getDepth() == 0);
+        check("짝 맞음", index.getUnclosedCount() == 0 && index.getUnmatchedEndCount() == 0);
+
+        List<?> blocks = (List<?>) extract.invoke(null, tricky);
+        check("BigQueryScriptAnalyzer4 추출", describe(blocks).size() == 3
+                && describe(blocks).get(1).equals("STEP002|INSERT INTO t2 SELECT * FROM t3;\n  END"));
+
+        BeginEndIndex broken = BeginEndIndex.build("STEP001 BEGIN SELECT 1; END; END; STEP002 BEGIN SELECT 2;");
+        check("짝 없는 END 1 / 닫히지 않은 BEGIN 1", broken.getUnmatchedEndCount() == 1 && broken.getUnclosedCount() == 1
+                && broken.getStepBlocks().size() == 1);
+
+        System.out.println("\n=== 주석 라벨 ===");
+        String commented = "-- STEP001\nBEGIN\n  INSERT INTO dm.a SELECT * FROM dw.b;\nEND;\n\n"
+                + "/* STEP002 */ BEGIN\n  UPDATE dm.a SET x = 1 WHERE y = 2;\nEND;\n\n"
+                + "# step003\r\n-- 설명 주석\r\nBEGIN\r\n  DELETE FROM dm.a WHERE 1 = 1;\r\nEND;\r\n"
+                + "-- STEP004 고객 적재\nBEGIN SELECT 1; END;\n"
+                + "-- STEP005\nSELECT 1;\nBEGIN SELECT 2; END;\n"
+                + "-- XSTEP006\nBEGIN SELECT 3; END;\n";
+        List<String> labels = new ArrayList<>();
+        for (BeginEndIndex.Block block : BeginEndIndex.build(commented).getStepBlocks()) {
+            labels.add(block.getLabel());
+        }
+        check("-- / 블록 / # 주석 라벨", labels.equals(List.of("STEP001", "STEP002", "step003")));
+        String sample = "-- STEP001\nBEGIN\n    INSERT INTO DM.`서비스1`\n    SELECT * FROM DW.RED_CARE_SALES;\nEND;\n\n"
+                + "-- STEP002\nBEGIN\n    MERGE INTO DM.`마스터가입자1` AS T USING DW.`서비스멤버1` AS S ON T.id = S.id;\nEND;\n";
+        check("주석 라벨 이전 구현과 동일", describe((List<?>) extract.invoke(null, sample)).equals(oldExtract(sample))
+                && oldExtract(sample).size() == 2);
+        String sampleFile = Files.readString(Path.of("sql", "test_sample.sql"), StandardCharsets.UTF_8);
+        check("sql/test_sample.sql STEP 3개", describe((List<?>) extract.invoke(null, sampleFile)).equals(oldExtract(sampleFile))
+                && oldExtract(sampleFile).size() == 3);
+
+        System.out.println("\n=== 50MB 스크립트 ===");
+        String small = nestedScript(new Random(7L), 2_000);
+        long start = System.nanoTime();
+        int oldCount = oldExtract(small).size();
+        long oldMs = (System.nanoTime() - start) / 1_000_000L;
+        start = System.nanoTime();
+        int newCount = ((List<?>) extract.invoke(null, small)).size();
+        long newMs = (System.nanoTime() - start) / 1_000_000L;
+        System.out.printf("  %,d chars: 이전 %,d ms, 인덱스 %,d ms%n", small.length(), oldMs, newMs);
+
+        StringBuilder sb = new StringBuilder(52 * 1024 * 1024);
+        Random random = new Random(11L);
+        while (sb.length() < 50 * 1024 * 1024) {
+            sb.append(nestedScript(random, 200));
+        }
+        String large = sb.toString();
+        sb = null;
+        start = System.nanoTime();
+        BeginEndIndex largeIndex = BeginEndIndex.build(large);
+        long indexMs = (System.nanoTime() - start) / 1_000_000L;
+        start = System.nanoTime();
+        int largeSteps = ((List<?>) extract.invoke(null, large)).size();
+        long extractMs = (System.nanoTime() - start) / 1_000_000L;
+        System.out.printf("  %,d chars: 인덱스 %,d ms (블록 %,d개), STEP 추출 %,d ms (%,d개)%n",
+                large.length(), indexMs, largeIndex.getBlocks().size(), extractMs, largeSteps);
+        check("작은 스크립트 결과 수 동일", oldCount == newCount && newCount > 0);
+        check("50MB 인덱싱 10초 이내", indexMs < 10_000 && extractMs < 20_000 && largeSteps == largeIndex.getStepBlocks().size());
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL"));
+    }
+
+    /**
+     * 주석 / 제어문 없이 STEP 이 중첩된 합성 스크립트 (이전 구현도 올바르게 처리하는 입력)
+     */
+    private static String nestedScript(Random random, int steps) {
+        StringBuilder sb = new StringBuilder();
+        int depth = 0;
+        for (int i = 1; i <= steps; i++) {
+            sb.append("  ".repeat(depth)).append(String.format("STEP%03d BEGIN%n", i % 1000));
+            sb.append("  ".repeat(depth + 1)).append("INSERT INTO dw.t_").append(i)
+                    .append(" SELECT a, b FROM src.s_").append(random.nextInt(100)).append(" WHERE a > 0;\n");
+            if (random.nextInt(4) == 0) {
+                sb.append("  ".repeat(depth + 1)).append("BEGIN\n")
+                        .append("  ".repeat(depth + 2)).append("DELETE FROM dw.tmp WHERE 1 = 1;\n")
+                        .append("  ".repeat(depth + 1)).append("END;\n");
+            }
+            if (depth < 3 && random.nextInt(3) == 0) {
+                depth++;
+                continue;
+            }
+            sb.append("  ".repeat(depth)).append("END;\n");
+            while (depth > 0 && random.nextInt(2) == 0) {
+                depth--;
+                sb.append("  ".repeat(depth)).append("END;\n");
+            }
+        }
+        while (depth > 0) {
+            depth--;
+            sb.append("  ".repeat(depth)).append("END;\n");
+        }
+        return sb.toString();
+    }
+
+    private static List<String> describe(List<?> blocks) throws Exception {
+        List<String> result = new ArrayList<>();
+        for (Object block : blocks) {
+            Field name = block.getClass().getDeclaredField("stepName");
+            Field content = block.getClass().getDeclaredField("content");
+            name.setAccessible(true);
+            content.setAccessible(true);
+            result.add(name.get(block) + "|" + content.get(block));
+        }
+        return result;
+    }
+
+    /**
+     * 이전 BigQueryScriptAnalyzer4.extractNestedStepBlocks / findMatchingEnd
+     */
+    private static List<String> oldExtract(String script) {
+        List<String> blocks = new ArrayList<>();
+        Matcher matcher = Pattern.compile("(STEP\\d{3})\\s*BEGIN", Pattern.CASE_INSENSITIVE).matcher(script);
+        while (matcher.find()) {
+            int beginIndex = matcher.end();
+            int endIndex = oldFindMatchingEnd(script, beginIndex);
+            if (endIndex == -1) {
+                continue;
+            }
+            blocks.add(matcher.group(1) + "|" + script.substring(beginIndex, endIndex).trim());
+        }
+        return blocks;
+    }
+
+    private static int oldFindMatchingEnd(String script, int start) {
+        int level = 1;
+        int index = start;
+        while (index < script.length()) {
+            String sub = script.substring(index);
+            Matcher begin = Pattern.compile("\\bBEGIN\\b", Pattern.CASE_INSENSITIVE).matcher(sub);
+            Matcher end = Pattern.compile("\\bEND\\b", Pattern.CASE_INSENSITIVE).matcher(sub);
+
+            int nextBegin = begin.find() ? begin.start() : Integer.MAX_VALUE;
+            int nextEnd = end.find() ? end.start() : Integer.MAX_VALUE;
+
+            if (nextBegin < nextEnd) {
+                level++;
+                index += nextBegin + 5;
+            } else if (nextEnd < nextBegin) {
+                level--;
+                index += nextEnd + 3;
+                if (level == 0) {
+                    return index;
+                }
+            } else {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+}
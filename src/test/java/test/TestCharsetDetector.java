@@ -0,0 +1,135 @@
+package test;
+
+import com.io.CharsetDetector;
+import com.io.CharsetDetector.Detection;
+import service.queryParser.parser.TableParser;
+import service.queryParser.reader.SqlReader;
+import service.scanSourceTarget.scan.io.FileReaderUtil;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+/**
+ * CharsetDetector / 자동 판별 리더 테스트
+ *
+ * 1. BOM(UTF-8, UTF-16LE/BE), UTF-8, MS949, EUC-KR, ASCII 전용 파일 판별
+ * 2. 앞쪽 ASCII 가 검사 크기(64KB)보다 길고 뒤에 한글이 있는 파일 판별
+ * 3. UTF-8 / EUC-KR 이 섞인 디렉터리를 SqlReader.autoDetect / FileReaderUtil 로 깨짐 없이 읽는지
+ * 4. 파일별 캐시 (같은 파일 재판별 시 캐시 사용, 파일이 바뀌면 다시 판별)
+ *
+ * 사용법: java test.TestCharsetDetector
+ */
+public class TestCharsetDetector {
+
+    private static final Charset MS949 = Charset.forName("MS949");
+    private static final Charset EUCKR = Charset.forName("EUC-KR");
+    private static boolean pass = true;
+
+    public static void main(String[] args) throws Exception {
+        String sql = "-- 고객 적재\nINSERT INTO `고객_요약` SELECT * FROM `원장`.`고객` a JOIN dw.tb_card b ON a.id = b.id;\n";
+
+        System.out.println("=== 바이트 판별 ===");
+        check("UTF-8", CharsetDetector.detect(sql.getBytes(StandardCharsets.UTF_8)) == Detection.UTF8);
+        check("MS949", CharsetDetector.detect(sql.getBytes(MS949)) == Detection.LEGACY);
+        check("EUC-KR", CharsetDetector.detect(sql.getBytes(EUCKR)) == Detection.LEGACY);
+        check("ASCII", CharsetDetector.detect("SELECT 1 FROM dual".getBytes(StandardCharsets.US_ASCII)) == Detection.UTF8);
+        check("빈 내용", CharsetDetector.detect(new byte[0]) == Detection.UTF8);
+        check("UTF-8 BOM", CharsetDetector.detect(withBom(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF},
+                sql.getBytes(StandardCharsets.UTF_8))) == Detection.UTF8_BOM);
+        check("UTF-16LE BOM", CharsetDetector.detect(withBom(new byte[]{(byte) 0xFF, (byte) 0xFE},
+                sql.getBytes(StandardCharsets.UTF_16LE))) == Detection.UTF16LE_BOM);
+        check("UTF-16BE BOM", CharsetDetector.detect(withBom(new byte[]{(byte) 0xFE, (byte) 0xFF},
+                sql.getBytes(StandardCharsets.UTF_16BE))) == Detection.UTF16BE_BOM);
+        check("잘못된 UTF-8 (overlong C0 AF)", CharsetDetector.detect(new byte[]{'a', (byte) 0xC0, (byte) 0xAF}) == Detection.LEGACY);
+        check("잘못된 UTF-8 (surrogate ED A0 80)",
+                CharsetDetector.detect(new byte[]{(byte) 0xED, (byte) 0xA0, (byte) 0x80}) == Detection.LEGACY);
+        check("끝에서 잘린 UTF-8 문자", CharsetDetector.detect(new byte[]{'a', (byte) 0xEA, (byte) 0xB0}) == Detection.UTF8);
+
+        Path dir = Files.createTempDirectory("charset-detect");
+        try {
+            System.out.println("\n=== 혼재 디렉터리 ===");
+            StringBuilder longAscii = new StringBuilder();
+            while (longAscii.length() < 200_000) {
+                longAscii.append("SELECT col_a, col_b FROM dw.tb_ascii_only WHERE x = 1;\n");
+            }
+            String tailKorean = longAscii + sql;
+
+            Path utf8 = write(dir.resolve("a_utf8.sql"), sql.getBytes(StandardCharsets.UTF_8));
+            Path bom = write(dir.resolve("b_bom.sql"), withBom(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF},
+                    sql.getBytes(StandardCharsets.UTF_8)));
+            Path ms949 = write(dir.resolve("c_ms949.sql"), sql.getBytes(MS949));
+            Path euckr = write(dir.resolve("d_euckr.sql"), sql.getBytes(EUCKR));
+            Path lateUtf8 = write(dir.resolve("e_late_utf8.sql"), tailKorean.getBytes(StandardCharsets.UTF_8));
+            Path lateMs949 = write(dir.resolve("f_late_ms949.sql"), tailKorean.getBytes(MS949));
+
+            check("파일 UTF-8", CharsetDetector.detect(utf8) == Detection.UTF8);
+            check("파일 UTF-8 BOM", CharsetDetector.detect(bom) == Detection.UTF8_BOM);
+            check("파일 MS949", CharsetDetector.detect(ms949) == Detection.LEGACY);
+            check("파일 EUC-KR", CharsetDetector.detect(euckr) == Detection.LEGACY);
+            check("긴 ASCII 뒤 한글 (UTF-8)", CharsetDetector.detect(lateUtf8) == Detection.UTF8);
+            check("긴 ASCII 뒤 한글 (MS949)", CharsetDetector.detect(lateMs949) == Detection.LEGACY);
+
+            SqlReader reader = SqlReader.autoDetect();
+            SqlReader smallMap = SqlReader.autoDetect(MS949);
+            boolean allSame = true;
+            for (Path p : new Path[]{utf8, bom, ms949, euckr}) {
+                allSame &= sql.equals(reader.readFile(p));
+                allSame &= sql.contentEquals(reader.readContent(p));
+                allSame &= sql.contentEquals(reader.decodeContent(Files.readAllBytes(p)));
+            }
+            allSame &= tailKorean.equals(reader.readFile(lateUtf8)) && tailKorean.equals(smallMap.readFile(lateMs949));
+            check("SqlReader.autoDetect 내용 동일 (BOM 제외)", allSame);
+            check("SqlReader.charsetOf", reader.charsetOf(utf8).equals(StandardCharsets.UTF_8)
+                    && reader.charsetOf(ms949).equals(MS949));
+
+            FileReaderUtil util = new FileReaderUtil();
+            check("FileReaderUtil 기본 (자동 판별)", sql.equals(util.readFile(utf8)) && sql.equals(util.readFile(euckr)));
+
+            TableParser parser = new TableParser();
+            check("혼재 파일 파싱 결과 동일",
+                    parser.extractTables(reader.readContent(utf8)).getSources()
+                            .equals(parser.extractTables(reader.readContent(ms949)).getSources())
+                            && parser.extractTables(reader.readContent(ms949)).getTargets().contains("`고객_요약`"));
+
+            System.out.println("\n=== 파일별 캐시 ===");
+            CharsetDetector.clearCache();
+            CharsetDetector.detect(utf8);
+            CharsetDetector.detect(utf8);
+            reader.readFile(utf8);
+            check("같은 파일은 한 번만 저장", CharsetDetector.getCacheSize() == 1);
+
+            // 같은 경로의 내용이 바뀌면 (크기/수정 시각 변경) 다시 판별
+            Files.write(utf8, (sql + "-- 끝").getBytes(MS949));
+            Files.setLastModifiedTime(utf8, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+            check("파일 변경 시 다시 판별", CharsetDetector.detect(utf8) == Detection.LEGACY
+                    && (sql + "-- 끝").equals(reader.readFile(utf8)));
+        } finally {
+            try (Stream<Path> s = Files.list(dir)) {
+                s.forEach(p -> p.toFile().delete());
+            }
+            Files.deleteIfExists(dir);
+        }
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL"));
+    }
+
+    private static byte[] withBom(byte[] bom, byte[] body) {
+        byte[] r = new byte[bom.length + body.length];
+        System.arraycopy(bom, 0, r, 0, bom.length);
+        System.arraycopy(body, 0, r, bom.length, body.length);
+        return r;
+    }
+
+    private static Path write(Path file, byte[] bytes) throws Exception {
+        return Files.write(file, bytes);
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+}
@@ -0,0 +1,188 @@
+package test;
+
+import service.fileUtil.job.ConvertPipeline;
+import service.fileUtil.job.UtilJob;
+import service.fileUtil.processor.ConvertStep;
+import service.fileUtil.reader.SqlReader;
+import service.fileUtil.writer.SqlWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * ConvertPipeline / UtilJob --mode 테스트
+ *
+ * 1. UTF-8 / EUC-KR 파일이 섞인 디렉터리를 워커 1개 / 4개, 큐 크기 1(backpressure) 로 변환한 결과가
+ *    파일별 순차 변환 결과와 같은지
+ * 2. 특정 파일 변환이 실패해도 나머지 파일은 변환되고 실패 수가 집계되는지
+ *    쓰기 단계가 Error 로 죽으면 다른 단계가 멈추지 않고 run 이 그 Error 로 끝나는지
+ * 3. UtilJob 에 --mode=3 을 주면 표준 입력을 읽지 않고 실행되는지
+ *
+ * 사용법: java test.TestConvertPipeline
+ */
+public class TestConvertPipeline {
+
+    private static final Charset EUCKR = Charset.forName("EUC-KR");
+    private static boolean pass = true;
+
+    public static void main(String[] args) throws Exception {
+        Path root = Files.createTempDirectory("convert-pipeline");
+        PrintStream out = System.out;
+        try {
+            Path input = root.resolve("in");
+            Map<String, String> expected = createInput(input, 120);
+            ConvertStep step = new ConvertStep();
+
+            System.out.println("=== 파이프라인 변환 ===");
+            int[][] configs = {{1, 4}, {4, 16}, {4, 1}};
+            for (int[] config : configs) {
+                Path output = root.resolve("out-" + config[0] + "-" + config[1]);
+                System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+                ConvertPipeline.Summary summary;
+                try {
+                    summary = new ConvertPipeline(new SqlReader(), new SqlWriter(), config[0], config[1])
+                            .run(input, output, EUCKR, StandardCharsets.UTF_8, step::removeTrailingSpaces);
+                } finally {
+                    System.setOut(out);
+                }
+                check("워커 " + config[0] + ", 큐 " + config[1] + " 결과 동일",
+                        summary.getFiles() == expected.size() && summary.getFailed() == 0
+                                && sameOutput(output, expected, step));
+                check("워커 " + config[0] + ", 큐 " + config[1] + " 통계",
+                        summary.getBytesRead() > 0 && summary.getBytesWritten() > 0 && summary.getElapsedMs() >= 0);
+            }
+
+            System.out.println("\n=== 실패 파일 격리 ===");
+            Path failOut = root.resolve("out-fail");
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            PrintStream err = System.err;
+            System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+            ConvertPipeline.Summary failed;
+            try {
+                failed = new ConvertPipeline(new SqlReader(), new SqlWriter(), 3, 2)
+                        .run(input, failOut, EUCKR, StandardCharsets.UTF_8, content -> {
+                            if (content.contains("FILE_7;")) {
+                                throw new IllegalStateException("변환 실패");
+                            }
+                            return content;
+                        });
+            } finally {
+                System.setOut(out);
+                System.setErr(err);
+            }
+            check("실패 1건, 나머지 변환", failed.getFailed() == 1 && failed.getFiles() == expected.size() - 1);
+
+            System.out.println("\n=== 단계 Error 시 중단 ===");
+            // 쓰기 단계가 Error 로 죽으면 워커 / 읽기 단계가 큐 대기에서 멈추지 않고 run 이 같은 Error 로 끝나야 함
+            SqlWriter dyingWriter = new SqlWriter() {
+                private final AtomicInteger writes = new AtomicInteger();
+
+                @Override
+                public void writeWithRelativePath(Path inputFile, Path inputDir, Path outputDir, String content,
+                                                  Charset fromCharset, Charset toCharset) throws IOException {
+                    if (writes.incrementAndGet() == 5) {
+                        throw new OutOfMemoryError("테스트용 쓰기 단계 Error");
+                    }
+                    super.writeWithRelativePath(inputFile, inputDir, outputDir, content, fromCharset, toCharset);
+                }
+            };
+            AtomicReference<Throwable> thrown = new AtomicReference<>();
+            Thread runner = new Thread(() -> {
+                try {
+                    new ConvertPipeline(new SqlReader(), dyingWriter, 3, 1)
+                            .run(input, root.resolve("out-error"), EUCKR, StandardCharsets.UTF_8, content -> content);
+                } catch (Throwable t) {
+                    thrown.set(t);
+                }
+            });
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            long start = System.nanoTime();
+            try {
+                runner.setDaemon(true);
+                runner.start();
+                runner.join(30_000L);
+            } finally {
+                System.setOut(out);
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+            System.out.printf("  %,d ms%n", elapsedMs);
+            check("쓰기 단계 Error 로 run 종료 (멈추지 않음)", !runner.isAlive() && thrown.get() instanceof OutOfMemoryError);
+
+            System.out.println("\n=== UtilJob --mode ===");
+            Path utilOut = root.resolve("out-util");
+            InputStream in = System.in;
+            System.setIn(new InputStream() {
+                @Override
+                public int read() {
+                    throw new IllegalStateException("표준 입력을 읽으면 안 됨");
+                }
+            });
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                UtilJob.main(new String[]{input.toString(), utilOut.toString(), "--mode=3", "--threads=2"});
+            } finally {
+                System.setIn(in);
+                System.setOut(out);
+            }
+            check("--mode=3 비대화식 실행", sameOutput(utilOut, expected, step));
+        } finally {
+            System.setOut(out);
+            try (Stream<Path> s = Files.walk(root)) {
+                s.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL"));
+    }
+
+    /**
+     * 하위 디렉터리 포함 .sql 파일 생성 (짝수: UTF-8, 홀수: EUC-KR), 상대 경로 -> 원본 내용
+     */
+    private static Map<String, String> createInput(Path input, int count) throws Exception {
+        Map<String, String> expected = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String rel = "d" + (i % 5) + "/f" + i + ".sql";
+            StringBuilder sb = new StringBuilder();
+            sb.append("-- 파일 ").append(i).append("   \n");
+            for (int line = 0; line < 50 + i; line++) {
+                sb.append("SELECT\t`고객`.col").append(line).append(" FROM `원장` \t \r\n");
+            }
+            sb.append("SELECT FILE_").append(i).append(";  ");
+            String content = sb.toString();
+            Path file = input.resolve(rel);
+            Files.createDirectories(file.getParent());
+            Files.write(file, content.getBytes(i % 2 == 0 ? StandardCharsets.UTF_8 : EUCKR));
+            expected.put(rel, content);
+        }
+        return expected;
+    }
+
+    private static boolean sameOutput(Path output, Map<String, String> expected, ConvertStep step) throws Exception {
+        for (Map.Entry<String, String> e : expected.entrySet()) {
+            Path file = output.resolve(e.getKey());
+            if (!Files.isRegularFile(file)
+                    || !step.removeTrailingSpaces(e.getValue()).equals(new String(Files.readAllBytes(file), StandardCharsets.UTF_8))) {
+                System.out.println("  불일치: " + e.getKey());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+}
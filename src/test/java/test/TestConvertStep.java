@@ -0,0 +1,195 @@
+package test;
+
+import com.cardgcp.ConvertSqlStep1;
+import service.fileUtil.job.UtilJob;
+import service.fileUtil.processor.ConvertStep;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * ConvertStep 스트리밍 변환 테스트
+ *
+ * 1. removeTrailingSpaces / convertTabsToSpaces 가 기존 split + 정규식 / replace 구현과 같은 결과인지 (무작위 입력)
+ * 2. 주석 백틱 제거가 ConvertSqlStep1.removeBackticksInComments 와 같은 결과인지
+ * 3. Reader 가 1~3 글자씩 끊어 주어도(버퍼 경계) 같은 결과인지, 여러 단계를 이어 붙여도 같은지
+ * 4. 대용량 입력(약 100MB 문자)을 흘려도 힙 사용량이 늘지 않는지
+ * 5. UtilJob 단일 파일 변환(EUC-KR -> UTF-8 + 줄 끝 공백 제거)
+ *
+ * 사용법: java test.TestConvertStep
+ */
+public class TestConvertStep {
+
+    private static boolean pass = true;
+
+    public static void main(String[] args) throws Exception {
+        ConvertStep step = new ConvertStep();
+        Method legacyBackticks = ConvertSqlStep1.class.getDeclaredMethod("removeBackticksInComments", String.class);
+        legacyBackticks.setAccessible(true);
+
+        System.out.println("=== 기존 구현과 비교 (무작위 입력 2,000건) ===");
+        Random random = new Random(11);
+        String alphabet = " \t\r\n\f\u000B`'\"-/*ab가";
+        boolean trailing = true, tabs = true, backticks = true, chunked = true, chained = true;
+        for (int i = 0; i < 2000; i++) {
+            String s = randomText(random, alphabet, random.nextInt(200));
+            trailing &= legacyTrailing(s).equals(step.removeTrailingSpaces(s));
+            tabs &= s.replace("\t", "    ").equals(step.convertTabsToSpaces(s, 4));
+            backticks &= legacyBackticks.invoke(null, s).equals(step.removeBackticksInComments(s));
+
+            StringWriter out = new StringWriter();
+            step.transform(new ChoppyReader(s, random), out, ConvertStep.trailingSpaces());
+            chunked &= legacyTrailing(s).equals(out.toString());
+
+            String expected = legacyTrailing((String) legacyBackticks.invoke(null, s)).replace("\t", "  ");
+            chained &= expected.equals(step.apply(s, ConvertStep.commentBackticks(), ConvertStep.trailingSpaces(),
+                    ConvertStep.tabsToSpaces(2)));
+        }
+        check("removeTrailingSpaces", trailing);
+        check("convertTabsToSpaces", tabs);
+        check("removeBackticksInComments", backticks);
+        check("버퍼 경계 (1~3 글자씩 읽기)", chunked);
+        check("3단계 체인 한 번에 적용", chained);
+        check("null 입력", step.removeTrailingSpaces(null) == null && step.convertTabsToSpaces(null, 2) == null);
+
+        System.out.println("\n=== 대용량 스트리밍 ===");
+        long chars = 100L * 1024 * 1024;
+        System.gc();
+        long before = usedHeap();
+        CountingWriter sink = new CountingWriter();
+        long read = step.transform(new GeneratedReader(chars), sink,
+                ConvertStep.trailingSpaces(), ConvertStep.tabsToSpaces(4), ConvertStep.commentBackticks());
+        long grown = usedHeap() - before;
+        System.out.printf("  입력 %,d 글자, 출력 %,d 글자, 힙 증가 %,d KB%n", read, sink.count, grown / 1024);
+        check("100M 글자 처리, 힙 증가 32MB 미만", read == chars && sink.count > 0 && grown < 32L * 1024 * 1024);
+
+        System.out.println("\n=== UtilJob 단일 파일 ===");
+        Path dir = Files.createTempDirectory("convert-step");
+        PrintStream stdout = System.out;
+        try {
+            Charset euckr = Charset.forName("EUC-KR");
+            String content = "-- `고객` 주석   \r\nSELECT\t`고객`.id   \nFROM dual  ";
+            Path input = Files.write(dir.resolve("one.sql"), content.getBytes(euckr));
+            Path output = dir.resolve("one_out.sql");
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                UtilJob.main(new String[]{input.toString(), output.toString(), "--mode=3"});
+            } finally {
+                System.setOut(stdout);
+            }
+            check("EUC-KR -> UTF-8 + 줄 끝 공백 제거",
+                    legacyTrailing(content).equals(new String(Files.readAllBytes(output), StandardCharsets.UTF_8)));
+        } finally {
+            System.setOut(stdout);
+            try (Stream<Path> s = Files.walk(dir)) {
+                s.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL"));
+    }
+
+    /** 이전 ConvertStep.removeTrailingSpaces 구현 */
+    private static String legacyTrailing(String content) {
+        return Arrays.stream(content.split("\n", -1))
+                .map(line -> line.replaceAll("\\s+$", ""))
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    /** 한 번에 1~3 글자만 돌려주는 Reader (버퍼 경계 확인용) */
+    private static final class ChoppyReader extends Reader {
+        private final Reader in;
+        private final Random random;
+
+        ChoppyReader(String s, Random random) {
+            this.in = new StringReader(s);
+            this.random = random;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws java.io.IOException {
+            return in.read(cbuf, off, Math.min(len, 1 + random.nextInt(3)));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /** 메모리에 올리지 않고 SQL 비슷한 줄을 만들어 내는 Reader */
+    private static final class GeneratedReader extends Reader {
+        private static final String LINE = "SELECT\t`고객`.id, a.name   -- `주석` 값\t \r\n";
+        private final long total;
+        private long pos;
+
+        GeneratedReader(long total) {
+            this.total = total;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (pos >= total) {
+                return -1;
+            }
+            int n = (int) Math.min(len, total - pos);
+            for (int i = 0; i < n; i++) {
+                cbuf[off + i] = LINE.charAt((int) ((pos + i) % LINE.length()));
+            }
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class CountingWriter extends Writer {
+        long count;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+}
@@ -0,0 +1,185 @@
+package test;
+
+import service.csvCompare.io.CsvReader;
+import service.csvCompare.io.CsvRecordReader;
+import service.csvCompare.io.CsvWriter;
+import service.csvCompare.model.CsvTable;
+import service.csvCompare.model.OutputRow;
+import service.csvCompare.process.CompositeKeyStrategy;
+import service.csvCompare.process.CsvComparator;
+import service.csvCompare.process.KeyStrategy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * csvCompare 스트리밍 읽기/비교 테스트
+ *
+ * 1. CsvRecordReader 를 여러 버퍼 크기(1자 포함)로 읽은 결과가 기존 문자열 파서 결과와 같은지 확인
+ * 2. compareStreaming 결과 파일이 compareTables + CsvWriter.write 결과와 바이트 단위로 같은지 확인
+ *
+ * 사용법: java test.TestCsvStreaming [행 수] (기본: 5000)
+ */
+public class TestCsvStreaming {
+
+    private static final int[] BUFFER_SIZES = {1, 2, 3, 7, 64, CsvRecordReader.DEFAULT_BUFFER_SIZE};
+
+    private static boolean pass = true;
+
+    public static void main(String[] args) throws IOException {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+
+        System.out.println("=== CsvRecordReader 파싱 비교 ===");
+        checkParse("기본", "ID,NAME\n1,A\n2,B\n");
+        checkParse("CRLF/마지막 개행 없음", "ID,NAME\r\n1,A\r\n2,B");
+        checkParse("따옴표/이스케이프", "ID,MEMO\n1,\"a,b\"\n2,\"say \"\"hi\"\"\"\n3,\"\"\n");
+        checkParse("필드 내 개행", "ID,MEMO\n1,\"line1\r\nline2\"\n2,\"x\ny\"\r\n");
+        checkParse("빈 줄/빈 필드", "A,B,C\n\n,,\n1,,3,\n\r\n");
+        checkParse("단독 CR", "A,B\r1,2\r3,4\r");
+        checkParse("닫히지 않은 따옴표", "A,B\n1,\"open");
+        checkParse("빈 입력", "");
+
+        System.out.println("\n=== 스트리밍 비교 결과 ===");
+        Path dir = Files.createTempDirectory("csv-streaming");
+        Path file1 = dir.resolve("file1.csv");
+        Path file2 = dir.resolve("file2.csv");
+        generate(file1, file2, rowCount);
+
+        KeyStrategy keyStrategy = new CompositeKeyStrategy(Arrays.asList("ID", "DT"));
+        CsvComparator comparator = new CsvComparator();
+        CsvTable t1 = CsvReader.read(file1);
+        CsvTable t2 = CsvReader.read(file2);
+        List<String> unifiedHeaders = comparator.unifyHeaders(t1.getHeaders(), t2.getHeaders());
+        List<String> outputHeaders = new ArrayList<>(unifiedHeaders);
+        outputHeaders.add("RESULT");
+        outputHeaders.add("DIFF_DETAIL");
+
+        Path inMemoryOut = dir.resolve("result_in_memory.csv");
+        List<OutputRow> results = comparator.compareTables(t1, t2, keyStrategy, unifiedHeaders);
+        CsvWriter.write(inMemoryOut, outputHeaders, results);
+
+        Path streamingOut = dir.resolve("result_streaming.csv");
+        long written;
+        try (CsvWriter.RowWriter writer = CsvWriter.open(streamingOut, outputHeaders)) {
+            written = comparator.compareStreaming(t1, file2, keyStrategy, unifiedHeaders, writer::write);
+        }
+
+        check("행 수 " + results.size(), written == results.size());
+        check("결과 파일 동일", Arrays.equals(Files.readAllBytes(inMemoryOut), Files.readAllBytes(streamingOut)));
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL") + " (" + dir + ")");
+    }
+
+    private static void checkParse(String name, String csv) throws IOException {
+        List<List<String>> expected = legacyParse(csv);
+        boolean same = true;
+        for (int size : BUFFER_SIZES) {
+            List<List<String>> actual = new ArrayList<>();
+            try (CsvRecordReader reader = new CsvRecordReader(new StringReader(csv), size)) {
+                for (List<String> record : reader) {
+                    actual.add(record);
+                }
+            }
+            if (!expected.equals(actual)) {
+                same = false;
+                System.out.println("  buffer=" + size + " expected=" + expected + " actual=" + actual);
+            }
+        }
+        check(name, same);
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+
+    /**
+     * 두 파일 생성: 일부 행 값 변경, 파일별 단독 행, 파일2 전용 컬럼, 인용이 필요한 값 포함
+     */
+    static void generate(Path file1, Path file2, int rowCount) throws IOException {
+        Random random = new Random(7L);
+        StringBuilder sb1 = new StringBuilder("ID,DT,NAME,AMT,MEMO\r\n");
+        StringBuilder sb2 = new StringBuilder("DT,ID,AMT,NAME,MEMO,EXTRA\r\n");
+        for (int i = 0; i < rowCount; i++) {
+            String id = String.valueOf(i);
+            String dt = "2025-12-" + String.format("%02d", 1 + i % 28);
+            String name = "이름" + random.nextInt(1000);
+            String amt = String.valueOf(random.nextInt(100000));
+            String memo = i % 17 == 0 ? "\"콤마, \"\"따옴표\"\"\nCRLF\"" : "m" + i;
+
+            int kind = random.nextInt(10);
+            if (kind != 0) {
+                sb1.append(id).append(',').append(dt).append(',').append(name).append(',')
+                   .append(amt).append(',').append(memo).append("\r\n");
+            }
+            if (kind != 1) {
+                String amt2 = kind == 2 ? String.valueOf(random.nextInt(100000)) : kind == 3 ? " " + amt + " " : amt;
+                sb2.append(dt).append(',').append(id).append(',').append(amt2).append(',')
+                   .append(name).append(',').append(memo).append(',').append(i % 3 == 0 ? "" : "x").append("\r\n");
+            }
+        }
+        Files.write(file1, sb1.toString().getBytes(StandardCharsets.UTF_8));
+        Files.write(file2, sb2.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 스트리밍 리더 도입 전 CsvReader.parseCsv 구현 (기준 결과) */
+    private static List<List<String>> legacyParse(String s) {
+        List<List<String>> out = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0, n = s.length();
+        boolean inQuotes = false;
+        boolean fieldStarted = false;
+
+        while (i < n) {
+            char ch = s.charAt(i);
+            if (inQuotes) {
+                if (ch == '"') {
+                    if (i + 1 < n && s.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i += 2;
+                    } else {
+                        inQuotes = false;
+                        i++;
+                    }
+                } else {
+                    field.append(ch);
+                    i++;
+                }
+            } else if (ch == '"') {
+                inQuotes = true;
+                fieldStarted = true;
+                i++;
+            } else if (ch == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+                fieldStarted = false;
+                i++;
+            } else if (ch == '\r' || ch == '\n') {
+                if (ch == '\r' && i + 1 < n && s.charAt(i + 1) == '\n') i++;
+                record.add(field.toString());
+                out.add(record);
+                record = new ArrayList<>();
+                field.setLength(0);
+                fieldStarted = false;
+                i++;
+            } else {
+                field.append(ch);
+                fieldStarted = true;
+                i++;
+            }
+        }
+        if (field.length() > 0 || fieldStarted || !record.isEmpty()) {
+            record.add(field.toString());
+            out.add(record);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,116 @@
+package test;
+
+import service.csvCompare.io.CsvReader;
+import service.csvCompare.io.CsvWriter;
+import service.csvCompare.model.CsvTable;
+import service.csvCompare.process.CompositeKeyStrategy;
+import service.csvCompare.process.CsvComparator;
+import service.csvCompare.process.ExternalSortComparator;
+import service.csvCompare.process.ExternalSorter;
+import service.csvCompare.process.KeyStrategy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * ExternalSortComparator(외부 정렬 병합 조인) 결과 비교 테스트
+ *
+ * 1. 메모리 한도를 작게 주어 런 파일 분할/다단계 병합이 일어나도 compareStreaming 결과와 바이트 단위로 같은지 확인
+ * 2. 메모리 한도가 충분해 디스크를 쓰지 않는 경우도 같은지 확인
+ * 3. 키 중복 시 IllegalStateException 이 발생하고 임시 런 파일이 남지 않는지 확인
+ * 4. 런 수가 MAX_FAN_IN 을 넘어 중간 병합이 일어나도 순서가 맞고 close() 후 런 파일이 남지 않는지 확인
+ *
+ * 사용법: java test.TestExternalSortCompare [행 수] (기본: 20000)
+ */
+public class TestExternalSortCompare {
+
+    private static boolean pass = true;
+
+    public static void main(String[] args) throws IOException {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+
+        Path dir = Files.createTempDirectory("csv-external");
+        Path spillDir = Files.createDirectories(dir.resolve("spill"));
+        Path file1 = dir.resolve("file1.csv");
+        Path file2 = dir.resolve("file2.csv");
+        TestCsvStreaming.generate(file1, file2, rowCount);
+
+        KeyStrategy keyStrategy = new CompositeKeyStrategy(Arrays.asList("ID", "DT"));
+        CsvComparator comparator = new CsvComparator();
+        CsvTable t1 = CsvReader.read(file1);
+        List<String> unifiedHeaders = comparator.unifyHeaders(t1.getHeaders(), CsvReader.read(file2).getHeaders());
+        List<String> outputHeaders = new ArrayList<>(unifiedHeaders);
+        outputHeaders.add("RESULT");
+        outputHeaders.add("DIFF_DETAIL");
+
+        Path expectedOut = dir.resolve("result_streaming.csv");
+        try (CsvWriter.RowWriter writer = CsvWriter.open(expectedOut, outputHeaders)) {
+            comparator.compareStreaming(t1, file2, keyStrategy, unifiedHeaders, writer::write);
+        }
+        byte[] expected = Files.readAllBytes(expectedOut);
+
+        System.out.println("=== 외부 정렬 비교 ===");
+        long[] budgets = {48 * 1024, 4 * 1024 * 1024, ExternalSortComparator.DEFAULT_MEMORY_BUDGET};
+        for (long budget : budgets) {
+            Path out = dir.resolve("result_external_" + budget + ".csv");
+            try (CsvWriter.RowWriter writer = CsvWriter.open(out, outputHeaders)) {
+                new ExternalSortComparator(budget, spillDir).compare(file1, file2, keyStrategy, unifiedHeaders, writer::write);
+            }
+            check("budget=" + budget + " 결과 동일", Arrays.equals(expected, Files.readAllBytes(out)));
+            check("budget=" + budget + " 임시 파일 정리", isEmpty(spillDir));
+        }
+
+        System.out.println("\n=== 키 중복 ===");
+        Path dup = dir.resolve("dup.csv");
+        Files.write(dup, "ID,DT,V\r\n1,A,x\r\n2,A,y\r\n1,A,z\r\n".getBytes(StandardCharsets.UTF_8));
+        boolean thrown = false;
+        try {
+            new ExternalSortComparator(16 * 1024, spillDir).compare(file1, dup, keyStrategy, unifiedHeaders, row -> { });
+        } catch (IllegalStateException e) {
+            thrown = e.getMessage().startsWith("키 중복 감지(FILE2)");
+            System.out.println("  " + e.getMessage().replace('\u001D', '|'));
+        }
+        check("FILE2 중복 키 예외", thrown);
+        check("예외 후 임시 파일 정리", isEmpty(spillDir));
+
+        System.out.println("\n=== 다단계 병합 후 런 파일 정리 ===");
+        int spills;
+        boolean ordered = true;
+        try (ExternalSorter sorter = new ExternalSorter(1, spillDir)) {
+            // 한도 1바이트: 레코드마다 런 파일 (MAX_FAN_IN 초과로 중간 병합 발생)
+            for (int i = 0; i < ExternalSorter.MAX_FAN_IN * 3; i++) {
+                sorter.add(String.format("%05d", (i * 7919) % 1000), i, Arrays.asList("v" + i));
+            }
+            spills = sorter.getSpillCount();
+            try (ExternalSorter.RecordCursor cursor = sorter.sorted()) {
+                String previous = "";
+                ExternalSorter.SortRecord r;
+                while ((r = cursor.next()) != null) {
+                    ordered &= r.getKey().compareTo(previous) >= 0;
+                    previous = r.getKey();
+                }
+            }
+        }
+        check("런 " + spills + "개 병합 순서", ordered && spills == ExternalSorter.MAX_FAN_IN * 3);
+        check("close() 후 런 파일 정리", isEmpty(spillDir));
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL") + " (" + dir + ")");
+    }
+
+    private static boolean isEmpty(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return !files.findAny().isPresent();
+        }
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+}
@@ -0,0 +1,143 @@
+package test;
+
+import com.log.JobMetrics;
+import service.queryParser.job.AppJob;
+import service.queryParser.processor.FileParserProcessor;
+import service.queryParser.reader.SqlReader;
+import service.queryParser.writer.CsvWriter;
+import service.queryParser.writer.SourceTableCsvWriter;
+import service.queryParser.writer.TargetTableCsvWriter;
+import service.queryParser.writer.TextWriter;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * JobMetrics / queryParser 작업 측정 테스트
+ *
+ * 1. 백분위(nearest-rank), 합계, 최대, 바이트 처리량 계산
+ * 2. 여러 스레드에서 동시에 기록한 건수 / 카운터 합계
+ * 3. 가장 느린 파일 N개 선택과 JSON / CSV 보고서 내용
+ * 4. AppJob(워커 2개) 실행 후 walk/read/parse/write/file 단계와 보고서 파일이 남는지
+ *
+ * 사용법: java test.TestJobMetrics
+ */
+public class TestJobMetrics {
+
+    private static boolean pass = true;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== 단계 통계 ===");
+        JobMetrics metrics = JobMetrics.start("unit", 3);
+        for (int i = 1; i <= 100; i++) {
+            metrics.record("parse", i * 1_000_000L, 1024);
+        }
+        JobMetrics.Stage parse = metrics.getStage("parse");
+        check("건수 / 합계 / 최대", parse.getCount() == 100 && parse.getTotalMs() == 5050.0 && parse.getMaxMs() == 100.0);
+        check("p50 / p95 / p99", parse.percentileMs(50) == 50.0 && parse.percentileMs(95) == 95.0
+                && parse.percentileMs(99) == 99.0);
+        check("초당 바이트", Math.abs(parse.getBytesPerSecond() - 102_400 / 5.05) < 1e-6);
+        check("disabled 는 기록 안 함", !JobMetrics.disabled().isEnabled()
+                && recordDisabled() == null);
+
+        System.out.println("\n=== 동시 기록 ===");
+        JobMetrics concurrent = JobMetrics.start("concurrent");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    concurrent.end("read", concurrent.begin(), 10);
+                    concurrent.increment("files");
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        check("4 x 10,000건", concurrent.getStage("read").getCount() == 40_000
+                && concurrent.getStage("read").getBytes() == 400_000 && concurrent.getCounter("files") == 40_000);
+
+        System.out.println("\n=== 느린 파일 / 보고서 ===");
+        for (int i = 0; i < 20; i++) {
+            metrics.fileDone("f" + i + ".sql", System.nanoTime() - i * 1_000_000L, i);
+        }
+        metrics.add("cache.hit", 7);
+        metrics.finish();
+        List<JobMetrics.FileSample> slowest = metrics.getSlowestFiles();
+        check("가장 느린 3개 (느린 순)", slowest.size() == 3 && slowest.get(0).getFile().equals("f19.sql")
+                && slowest.get(1).getFile().equals("f18.sql") && slowest.get(2).getFile().equals("f17.sql"));
+        String json = metrics.toJson();
+        String csv = metrics.toCsv();
+        check("JSON", json.contains("\"job\": \"unit\"") && json.contains("\"cache.hit\": 7")
+                && json.contains("{\"stage\": \"parse\", \"count\": 100, \"totalMs\": 5050.000, \"p50Ms\": 50.000, \"p95Ms\": 95.000, \"p99Ms\": 99.000")
+                && json.contains("{\"file\": \"f19.sql\""));
+        check("CSV", csv.startsWith("TYPE,NAME,COUNT,TOTAL_MS,P50_MS,P95_MS,P99_MS,MAX_MS,BYTES,BYTES_PER_SEC\n")
+                && csv.contains("\nSTAGE,parse,100,5050.000,50.000,95.000,99.000,100.000,102400,")
+                && csv.contains("\nCOUNTER,cache.hit,7,") && csv.contains("\nSLOW_FILE,f19.sql,1,"));
+
+        System.out.println("\n=== AppJob ===");
+        Path root = Files.createTempDirectory("job-metrics");
+        PrintStream out = System.out;
+        try {
+            Path input = root.resolve("in");
+            Path output = root.resolve("out");
+            for (int i = 0; i < 12; i++) {
+                Path file = input.resolve("d" + (i % 3)).resolve("job" + i + ".sql");
+                Files.createDirectories(file.getParent());
+                Files.write(file, ("INSERT INTO dw.t_" + i + " SELECT * FROM src.s_" + i + " a JOIN src.s_x b ON a.id = b.id;\n")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            AppJob job = new AppJob(input,
+                    new SqlReader(SqlReader.DEFAULT_CHARSET),
+                    FileParserProcessor.withDefaults(),
+                    new TextWriter(output, StandardCharsets.UTF_8),
+                    new CsvWriter(output.resolve("summary.csv"), StandardCharsets.UTF_8),
+                    new SourceTableCsvWriter(output.resolve("source_table_mapping.csv"), StandardCharsets.UTF_8),
+                    new TargetTableCsvWriter(output.resolve("target_table_mapping.csv"), StandardCharsets.UTF_8),
+                    2);
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                job.stepRead();
+            } finally {
+                System.setOut(out);
+            }
+            Path jsonReport = output.resolve("AppJob-metrics.json");
+            Path csvReport = output.resolve("AppJob-metrics.csv");
+            check("보고서 파일 생성", Files.isRegularFile(jsonReport) && Files.isRegularFile(csvReport));
+            String report = Files.readString(csvReport);
+            check("단계별 건수", report.contains("\nSTAGE,walk,1,") && report.contains("\nSTAGE,read,12,")
+                    && report.contains("\nSTAGE,parse,12,") && report.contains("\nSTAGE,write.text,12,")
+                    && report.contains("\nSTAGE,file,12,") && report.contains("\nSTAGE,write.csv,1,")
+                    && report.contains("\nSTAGE,write.sourceCsv,1,") && report.contains("\nSTAGE,write.targetCsv,1,"));
+            check("느린 파일 10개", report.split("\nSLOW_FILE,", -1).length - 1 == 10);
+        } finally {
+            System.setOut(out);
+            try (Stream<Path> s = Files.walk(root)) {
+                s.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL"));
+    }
+
+    private static JobMetrics.Stage recordDisabled() {
+        JobMetrics disabled = JobMetrics.disabled();
+        disabled.record("parse", 1L, 1L);
+        disabled.fileDone("x.sql", disabled.begin(), 1L);
+        return disabled.getStage("parse");
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+}
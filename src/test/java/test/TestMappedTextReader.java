@@ -0,0 +1,143 @@
+package test;
+
+import com.io.MappedTextReader;
+import service.queryParser.parser.TableParser;
+import service.queryParser.parser.TokenTableParser;
+import service.queryParser.reader.SqlReader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * MappedTextReader / SqlReader.readContent 테스트
+ *
+ * 1. UTF-8, MS949 파일을 일반 읽기/메모리 매핑 모두 기존 디코딩(readAllBytes + REPLACE)과 같은 내용으로 읽는지
+ * 2. 깨진 바이트 대체, 빈 파일, 큰 파일 -> 작은 파일 순서로 버퍼를 재사용할 때의 결과
+ * 3. 여러 스레드가 동시에 읽어도 스레드별 버퍼가 섞이지 않는지
+ * 4. 파서에 CharSequence 뷰를 넘긴 결과가 String 을 넘긴 결과와 같은지
+ *
+ * 사용법: java test.TestMappedTextReader
+ */
+public class TestMappedTextReader {
+
+    private static final Charset MS949 = Charset.forName("MS949");
+    private static boolean pass = true;
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("mapped-reader");
+        try {
+            String sql = new SqlCorpusGenerator(7L).generate(30);
+            String big = new SqlCorpusGenerator(8L).generate(6000);
+
+            for (Charset cs : new Charset[]{StandardCharsets.UTF_8, MS949}) {
+                System.out.println("=== " + cs.name() + " ===");
+                Path small = write(dir.resolve("small-" + cs.name() + ".sql"), sql.getBytes(cs));
+                Path large = write(dir.resolve("large-" + cs.name() + ".sql"), big.getBytes(cs));
+                byte[] broken = concat(sql.getBytes(cs), new byte[]{(byte) 0xFF, (byte) 0xC3, 'A', (byte) 0x81});
+                Path malformed = write(dir.resolve("broken-" + cs.name() + ".sql"), broken);
+                Path empty = write(dir.resolve("empty-" + cs.name() + ".sql"), new byte[0]);
+
+                MappedTextReader heap = new MappedTextReader(cs, Long.MAX_VALUE);
+                MappedTextReader mapped = new MappedTextReader(cs, 0);
+                MappedTextReader byDefault = new MappedTextReader(cs);
+
+                check("작은 파일 (힙)", sql.contentEquals(heap.read(small)));
+                check("작은 파일 (매핑)", sql.contentEquals(mapped.read(small)));
+                check("큰 파일 " + Files.size(large) / 1024 + "KB (기본 임계값 -> 매핑)",
+                        Files.size(large) >= MappedTextReader.DEFAULT_MAP_THRESHOLD && big.contentEquals(byDefault.read(large)));
+                check("큰 파일 다음 작은 파일 (버퍼 재사용)", sql.contentEquals(byDefault.read(small)));
+                check("깨진 바이트 대체 (힙)", legacyDecode(broken, cs).contentEquals(heap.read(malformed)));
+                check("깨진 바이트 대체 (매핑)", legacyDecode(broken, cs).contentEquals(mapped.read(malformed)));
+                check("빈 파일", heap.read(empty).length() == 0 && mapped.read(empty).length() == 0);
+                check("decode(byte[])", legacyDecode(broken, cs).contentEquals(heap.decode(broken)));
+                check("readFile 결과 동일", legacyDecode(Files.readAllBytes(large), cs)
+                        .equals(new SqlReader(cs, 0).readFile(large)));
+            }
+
+            System.out.println("\n=== 멀티 스레드 ===");
+            List<Path> files = new ArrayList<>();
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                String content = new SqlCorpusGenerator(100L + i).generate(5 + i * 20);
+                expected.add(content);
+                files.add(write(dir.resolve("mt-" + i + ".sql"), content.getBytes(StandardCharsets.UTF_8)));
+            }
+            MappedTextReader shared = new MappedTextReader(StandardCharsets.UTF_8, 64 * 1024);
+            ExecutorService pool = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<Boolean>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    int offset = t;
+                    futures.add(pool.submit(() -> {
+                        boolean ok = true;
+                        for (int round = 0; round < 20; round++) {
+                            int i = (offset * 5 + round * 3) % files.size();
+                            ok &= expected.get(i).contentEquals(shared.read(files.get(i)));
+                        }
+                        return ok;
+                    }));
+                }
+                boolean allOk = true;
+                for (Future<Boolean> f : futures) {
+                    allOk &= f.get();
+                }
+                check("4 스레드 x 20회 읽기", allOk);
+            } finally {
+                pool.shutdownNow();
+            }
+
+            System.out.println("\n=== 파서에 CharSequence 전달 ===");
+            SqlReader reader = new SqlReader(StandardCharsets.UTF_8, 0);
+            Path large = dir.resolve("large-UTF-8.sql");
+            TableParser regex = new TableParser();
+            TableParser token = new TokenTableParser();
+            check("TableParser", same(regex, big, reader.readContent(large)));
+            check("TokenTableParser", same(token, big, reader.readContent(large)));
+        } finally {
+            try (java.util.stream.Stream<Path> s = Files.list(dir)) {
+                s.forEach(p -> p.toFile().delete());
+            }
+            Files.deleteIfExists(dir);
+        }
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL"));
+    }
+
+    private static boolean same(TableParser parser, String sql, CharSequence view) {
+        return parser.extractTables(sql).getSources().equals(parser.extractTables(view).getSources())
+                && parser.extractTables(sql).getTargets().equals(parser.extractTables(view).getTargets());
+    }
+
+    /** 이전 SqlReader.readFile 과 같은 방식의 디코딩 */
+    private static String legacyDecode(byte[] bytes, Charset cs) throws Exception {
+        return cs.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                .decode(ByteBuffer.wrap(bytes)).toString();
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] r = new byte[a.length + b.length];
+        System.arraycopy(a, 0, r, 0, a.length);
+        System.arraycopy(b, 0, r, a.length, b.length);
+        return r;
+    }
+
+    private static Path write(Path file, byte[] bytes) throws Exception {
+        return Files.write(file, bytes);
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+}
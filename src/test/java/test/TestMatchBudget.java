@@ -0,0 +1,210 @@
+package test;
+
+import com.regex.MatchBudget;
+import com.regex.MatchTimeoutException;
+import service.queryParser.job.AppJob;
+import service.queryParser.parser.TableParser;
+import service.queryParser.processor.FileParserProcessor;
+import service.queryParser.reader.SqlReader;
+import service.queryParser.vo.TablesInfo;
+import service.queryParser.writer.CsvWriter;
+import service.queryParser.writer.SourceTableCsvWriter;
+import service.queryParser.writer.TargetTableCsvWriter;
+import service.queryParser.writer.TextWriter;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * MatchBudget (정규식 매칭 시간 / 단계 예산) 테스트
+ *
+ * 1. catastrophic backtracking 패턴 (a+)+\1b 가 제한 시간 안에 MatchTimeoutException 으로 끊기는지
+ * 2. 단계 한도, 예산이 없을 때는 입력을 감싸지 않는지
+ * 3. TableParser 결과가 예산 적용 여부와 관계없이 같은지 (감싼 입력의 비용도 출력)
+ * 4. AppJob(워커 2개) 에서 폭주하는 파일 하나만 격리되고 나머지 파일은 정상 처리되는지
+ * 5. BigQueryScriptAnalyzer4 에서 시간 초과 STEP 만 건너뛰고 다음 STEP 은 분석하는지
+ *
+ * 사용법: java test.TestMatchBudget
+ */
+public class TestMatchBudget {
+
+    private static boolean pass = true;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== catastrophic backtracking ===");
+        String evil = "a".repeat(40) + "!";
+        long start = System.nanoTime();
+        MatchTimeoutException timeout = null;
+        try {
+            MatchBudget budget = MatchBudget.of(200L, 0L);
+            // 역참조가 있으면 JDK 의 반복 메모이제이션이 꺼져 2^n 으로 역추적
+            budget.call(() -> Pattern.compile("(a+)+\\1b").matcher(MatchBudget.guardCurrent(evil)).find());
+        } catch (MatchTimeoutException ex) {
+            timeout = ex;
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+        System.out.printf("  %,d ms, %,d steps%n", elapsedMs, timeout == null ? 0 : timeout.getSteps());
+        check("200ms 예산에서 중단", timeout != null && elapsedMs < 2_000);
+        check("예산 밖에서는 감싸지 않음", MatchBudget.current() == null && MatchBudget.guardCurrent(evil) == evil);
+
+        MatchTimeoutException stepLimit = null;
+        try {
+            Pattern.compile("x").matcher(MatchBudget.of(0L, 100L).guard("y".repeat(1_000))).find();
+        } catch (MatchTimeoutException ex) {
+            stepLimit = ex;
+        }
+        check("단계 한도 100", stepLimit != null && stepLimit.getSteps() == 101);
+
+        System.out.println("\n=== TableParser 결과 동일 ===");
+        TableParser parser = new TableParser();
+        String sql = new SqlCorpusGenerator(42L).generate(200);
+        TablesInfo plain = parser.extractTables(sql);
+        TablesInfo guarded = MatchBudget.of(60_000L, 0L).call(() -> parser.extractTables(sql));
+        check("소스 / 타겟 동일", plain.getSortedSources().equals(guarded.getSortedSources())
+                && plain.getSortedTargets().equals(guarded.getSortedTargets()) && !plain.isEmpty());
+        long plainNs = time(() -> parser.extractTables(sql));
+        long guardedNs = time(() -> MatchBudget.of(60_000L, 0L).call(() -> parser.extractTables(sql)));
+        System.out.printf("  예산 없음 %,d us, 예산 적용 %,d us%n", plainNs / 1_000, guardedNs / 1_000);
+
+        System.out.println("\n=== AppJob 파일 격리 ===");
+        Path root = Files.createTempDirectory("match-budget");
+        PrintStream out = System.out;
+        PrintStream err = System.err;
+        try {
+            Path input = root.resolve("in");
+            Path output = root.resolve("out");
+            Files.createDirectories(input);
+            for (int i = 0; i < 6; i++) {
+                Files.write(input.resolve("job" + i + ".sql"),
+                        ("INSERT INTO dw.t_" + i + " SELECT * FROM src.s_" + i + ";\n").getBytes(StandardCharsets.UTF_8));
+            }
+            // WITH 뒤에 FROM 이 없는 긴 스크립트: WITH_FROM 의 .*? 가 WITH 마다 끝까지 탐색 (입력 길이의 제곱)
+            Files.write(input.resolve("job3_evil.sql"), "WITH x ".repeat(40_000).getBytes(StandardCharsets.UTF_8));
+
+            SqlReader reader = new SqlReader(SqlReader.DEFAULT_CHARSET);
+            reader.setParseTimeout(300L, 0L);
+            AppJob job = new AppJob(input, reader,
+                    FileParserProcessor.withDefaults(),
+                    new TextWriter(output, StandardCharsets.UTF_8),
+                    new CsvWriter(output.resolve("summary.csv"), StandardCharsets.UTF_8),
+                    new SourceTableCsvWriter(output.resolve("source_table_mapping.csv"), StandardCharsets.UTF_8),
+                    new TargetTableCsvWriter(output.resolve("target_table_mapping.csv"), StandardCharsets.UTF_8),
+                    2);
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+            start = System.nanoTime();
+            try {
+                job.stepRead();
+            } finally {
+                System.setOut(out);
+                System.setErr(err);
+            }
+            elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+            System.out.printf("  %,d ms%n", elapsedMs);
+            List<SqlReader.QuarantinedFile> quarantined = reader.getQuarantined();
+            check("폭주 파일 1개만 격리", quarantined.size() == 1
+                    && quarantined.get(0).getFile().equals("job3_evil.sql") && elapsedMs < 10_000);
+            long outputs;
+            try (Stream<Path> s = Files.list(output)) {
+                outputs = s.filter(p -> p.getFileName().toString().endsWith("_sql_tables.txt")).count();
+            }
+            check("나머지 6개 파일 처리", outputs == 6
+                    && Files.readAllLines(output.resolve("summary.csv"), StandardCharsets.UTF_8).size() == 7);
+            String report = Files.readString(output.resolve(SqlReader.QUARANTINE_FILE_NAME));
+            String metrics = Files.readString(output.resolve("AppJob-metrics.csv"));
+            check("quarantine.csv / 측정 카운터", report.startsWith("FILE,ELAPSED_MS,REASON\njob3_evil.sql,")
+                    && metrics.contains("\nCOUNTER,files.quarantined,1,"));
+
+            Files.delete(input.resolve("job3_evil.sql"));
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                job.stepRead();
+            } finally {
+                System.setOut(out);
+            }
+            check("다음 실행에서 격리 없으면 보고서 삭제", reader.getQuarantined().isEmpty()
+                    && !Files.exists(output.resolve(SqlReader.QUARANTINE_FILE_NAME)));
+
+            SqlReader plainReader = new SqlReader(SqlReader.DEFAULT_CHARSET);
+            List<Boolean> budgets = new ArrayList<>();
+            plainReader.runFiles(input, 1, p -> MatchBudget.current() == null, (p, noBudget) -> budgets.add(noBudget));
+            check("기본값은 예산 없음 (입력을 감싸지 않음)", plainReader.getParseTimeoutMillis() == 0
+                    && budgets.size() == 6 && !budgets.contains(false));
+        } finally {
+            System.setOut(out);
+            System.setErr(err);
+            try (Stream<Path> s = Files.walk(root)) {
+                s.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+
+        System.out.println("\n=== BigQueryScriptAnalyzer4 STEP 건너뜀 ===");
+        Class<?> analyzer = Class.forName("service.analyze.bigQuery.BigQueryScriptAnalyzer4");
+        Class<?> blockClass = Class.forName("service.analyze.bigQuery.BigQueryScriptAnalyzer4$StepBlock");
+        Constructor<?> block = blockClass.getDeclaredConstructor(String.class, String.class);
+        block.setAccessible(true);
+        List<Object> steps = new ArrayList<>();
+        // 공백 없는 긴 단어: 별칭 패턴 (\w+(?:\.\w+)*)\s+ 가 시작 위치마다 끝까지 읽고 역추적 (입력 길이의 제곱)
+        steps.add(block.newInstance("STEP001", "x".repeat(200_000) + ";"));
+        steps.add(block.newInstance("STEP002", "INSERT INTO dw.t SELECT a FROM src.s WHERE a = 1;"));
+        Method analyzeSteps = analyzer.getDeclaredMethod("analyzeSteps", List.class, long.class);
+        analyzeSteps.setAccessible(true);
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+        List<?> results;
+        start = System.nanoTime();
+        try {
+            results = (List<?>) analyzeSteps.invoke(null, steps, 300L);
+        } finally {
+            System.setErr(err);
+        }
+        elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+        System.out.printf("  %,d ms%n", elapsedMs);
+        Class<?> resultClass = Class.forName("service.analyze.bigQuery.BigQueryScriptAnalyzer4$AnalysisResult");
+        Field errors = resultClass.getDeclaredField("errors");
+        Field tables = resultClass.getDeclaredField("tables");
+        errors.setAccessible(true);
+        tables.setAccessible(true);
+        check("STEP001 시간 초과 기록", results.size() == 2 && elapsedMs < 10_000
+                && errors.get(results.get(0)).toString().contains("시간 초과"));
+        check("STEP002 정상 분석", tables.get(results.get(1)).toString().equals("[dw.t, src.s]"));
+        Method guard = analyzer.getDeclaredMethod("guard", String.class, long.class);
+        guard.setAccessible(true);
+        String stepSql = "SELECT a FROM src.s";
+        check("--timeout 0 이면 예산 없이 원본 분석", guard.invoke(null, stepSql, 0L) == stepSql
+                && guard.invoke(null, stepSql, 300L) != stepSql);
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL"));
+    }
+
+    private static long time(Op op) throws Exception {
+        op.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long t = System.nanoTime();
+            op.run();
+            best = Math.min(best, System.nanoTime() - t);
+        }
+        return best;
+    }
+
+    @FunctionalInterface
+    private interface Op {
+        Object run() throws Exception;
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+}
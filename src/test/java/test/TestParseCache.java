@@ -0,0 +1,207 @@
+package test;
+
+import service.queryParser.cache.ParseCache;
+import service.queryParser.job.AppJob;
+import service.queryParser.job.AppStepJob;
+import service.queryParser.parser.TableParser;
+import service.queryParser.parser.TableStepParser;
+import service.queryParser.parser.TokenTableParser;
+import service.queryParser.processor.FileParserProcessor;
+import service.queryParser.processor.FileStepParserProcessor;
+import service.queryParser.reader.SqlReader;
+import service.queryParser.writer.CsvStepWriter;
+import service.queryParser.writer.CsvWriter;
+import service.queryParser.writer.SourceTableCsvWriter;
+import service.queryParser.writer.TargetTableCsvWriter;
+import service.queryParser.writer.TextStepWriter;
+import service.queryParser.writer.TextWriter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * ParseCache 증분 스캔 테스트
+ *
+ * 1. 캐시 없이 실행한 결과, 캐시 최초 실행(cold), 캐시 재실행(warm) 결과가 바이트 단위로 같은지 확인
+ * 2. warm 실행에서 모든 파일이 hit 인지 확인
+ * 3. 내용 변경 파일은 miss, 수정 시각만 바뀐 파일은 hit 인지 확인
+ * 4. miss 해시를 메모리 매핑 버퍼에서 계산해도 같은 결과인지 확인
+ *
+ * 사용법: java test.TestParseCache [SQL 디렉토리] (기본: sql/in)
+ */
+public class TestParseCache {
+
+    private static final String APP_CACHE = ".appjob.cache";
+    private static final String STEP_CACHE = ".appstepjob.cache";
+
+    private static boolean pass = true;
+
+    public static void main(String[] args) throws IOException {
+        Path source = Paths.get(args.length > 0 ? args[0] : "sql/in");
+        Path root = Files.createTempDirectory("parse-cache");
+        Path inputDir = root.resolve("in");
+        copyTree(source, inputDir);
+        List<Path> files = new SqlReader().listSqlFiles(inputDir);
+        int fileCount = files.size();
+
+        System.out.println("=== AppJob ===");
+        runApp(inputDir, root.resolve("app_plain"), null);
+        ParseCache cold = runApp(inputDir, root.resolve("app_cached"), APP_CACHE);
+        Map<String, byte[]> coldOut = snapshot(root.resolve("app_cached"));
+        ParseCache warm = runApp(inputDir, root.resolve("app_cached"), APP_CACHE);
+        Map<String, byte[]> warmOut = snapshot(root.resolve("app_cached"));
+
+        check("cold miss = " + fileCount, cold.getMissCount() == fileCount && cold.getHitCount() == 0);
+        check("warm hit = " + fileCount, warm.getHitCount() == fileCount && warm.getMissCount() == 0);
+        check("cold == warm", sameOutput(coldOut, warmOut));
+        coldOut.remove(APP_CACHE);
+        check("no cache == cold", sameOutput(snapshot(root.resolve("app_plain")), coldOut));
+
+        System.out.println("\n=== AppStepJob ===");
+        runStep(inputDir, root.resolve("step_plain"), null);
+        runStep(inputDir, root.resolve("step_cached"), STEP_CACHE);
+        Map<String, byte[]> stepCold = snapshot(root.resolve("step_cached"));
+        ParseCache stepWarm = runStep(inputDir, root.resolve("step_cached"), STEP_CACHE);
+        check("warm hit = " + fileCount, stepWarm.getHitCount() == fileCount && stepWarm.getMissCount() == 0);
+        check("cold == warm", sameOutput(stepCold, snapshot(root.resolve("step_cached"))));
+        stepCold.remove(STEP_CACHE);
+        check("no cache == cold", sameOutput(snapshot(root.resolve("step_plain")), stepCold));
+
+        System.out.println("\n=== 변경 감지 ===");
+        Path changed = files.get(0);
+        Files.write(changed, "\nINSERT INTO DM.CACHE_NEW SELECT * FROM DW.CACHE_SRC;\n".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        Path touched = files.get(fileCount - 1);
+        Files.setLastModifiedTime(touched, FileTime.fromMillis(Files.getLastModifiedTime(touched).toMillis() + 60_000));
+        ParseCache incremental = runApp(inputDir, root.resolve("app_cached"), APP_CACHE);
+        check("변경 파일만 miss", incremental.getMissCount() == 1 && incremental.getHitCount() == fileCount - 1);
+        runApp(inputDir, root.resolve("app_plain"), null);
+        Map<String, byte[]> plainOut = snapshot(root.resolve("app_plain"));
+        Map<String, byte[]> incrementalOut = snapshot(root.resolve("app_cached"));
+        incrementalOut.remove(APP_CACHE);
+        check("증분 결과 == 전체 재파싱 결과", sameOutput(plainOut, incrementalOut));
+
+        System.out.println("\n=== 메모리 매핑 읽기 경로 ===");
+        // 모든 파일을 매핑으로 읽는 리더: miss 해시는 매핑 버퍼에서 계산되어 힙 읽기 해시와 같아야 함
+        SqlReader mapped = new SqlReader(SqlReader.DEFAULT_CHARSET, 0L);
+        for (Path file : files) {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 60_000));
+        }
+        ParseCache touched2 = runApp(inputDir, root.resolve("app_cached"), APP_CACHE,
+                "AppJob/" + FileParserProcessor.withDefaults().getParserName(), mapped);
+        check("수정 시각만 바뀐 파일 = 매핑 해시 hit", touched2.getHitCount() == fileCount && touched2.getMissCount() == 0);
+        ParseCache mappedCold = runApp(inputDir, root.resolve("app_mapped"), APP_CACHE,
+                "AppJob/" + FileParserProcessor.withDefaults().getParserName(), mapped);
+        Map<String, byte[]> mappedOut = snapshot(root.resolve("app_mapped"));
+        mappedOut.remove(APP_CACHE);
+        check("매핑 cold miss 결과 == 캐시 없음", mappedCold.getMissCount() == fileCount && sameOutput(plainOut, mappedOut));
+
+        System.out.println("\n=== 파서 로직 버전 ===");
+        String appParser = FileParserProcessor.withDefaults().getParserName();
+        check("서명에 로직 버전 포함", appParser.equals("TableParser@" + TableParser.LOGIC_VERSION)
+                && FileParserProcessor.withTokenParser().getParserName().equals("TokenTableParser@" + TokenTableParser.LOGIC_VERSION)
+                && FileStepParserProcessor.withDefaults().getParserName().equals(
+                        "TableStepParser@" + TableStepParser.LOGIC_VERSION + "/TableParser@" + TableParser.LOGIC_VERSION));
+        // 로직 버전을 올린 파서: 변경 없는 파일도 전부 다시 파싱
+        ParseCache bumped = runApp(inputDir, root.resolve("app_cached"), APP_CACHE,
+                "AppJob/TableParser@" + (TableParser.LOGIC_VERSION + 1));
+        check("버전이 바뀌면 모두 miss", bumped.getMissCount() == fileCount && bumped.getHitCount() == 0);
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL") + " (" + root + ")");
+    }
+
+    private static ParseCache runApp(Path inputDir, Path outputDir, String cacheName) {
+        return runApp(inputDir, outputDir, cacheName, "AppJob/" + FileParserProcessor.withDefaults().getParserName());
+    }
+
+    private static ParseCache runApp(Path inputDir, Path outputDir, String cacheName, String signature) {
+        return runApp(inputDir, outputDir, cacheName, signature, new SqlReader(SqlReader.DEFAULT_CHARSET));
+    }
+
+    private static ParseCache runApp(Path inputDir, Path outputDir, String cacheName, String signature, SqlReader reader) {
+        FileParserProcessor processor = FileParserProcessor.withDefaults();
+        ParseCache cache = cacheName == null ? null : ParseCache.open(outputDir.resolve(cacheName), signature);
+        AppJob job = new AppJob(inputDir,
+                reader,
+                processor,
+                new TextWriter(outputDir, StandardCharsets.UTF_8),
+                new CsvWriter(outputDir.resolve("summary.csv"), StandardCharsets.UTF_8),
+                new SourceTableCsvWriter(outputDir.resolve("source_table_mapping.csv"), StandardCharsets.UTF_8),
+                new TargetTableCsvWriter(outputDir.resolve("target_table_mapping.csv"), StandardCharsets.UTF_8),
+                1, cache);
+        job.stepRead();
+        return cache;
+    }
+
+    private static ParseCache runStep(Path inputDir, Path outputDir, String cacheName) {
+        FileStepParserProcessor processor = FileStepParserProcessor.withDefaults();
+        ParseCache cache = cacheName == null ? null
+                : ParseCache.open(outputDir.resolve(cacheName), "AppStepJob/" + processor.getParserName());
+        AppStepJob job = new AppStepJob(inputDir,
+                new SqlReader(SqlReader.DEFAULT_CHARSET),
+                processor,
+                new TextStepWriter(outputDir, StandardCharsets.UTF_8),
+                new CsvStepWriter(outputDir.resolve("step_summary.csv"), StandardCharsets.UTF_8),
+                cache);
+        job.execute();
+        return cache;
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+
+    private static boolean sameOutput(Map<String, byte[]> expected, Map<String, byte[]> actual) {
+        if (!expected.keySet().equals(actual.keySet())) {
+            System.out.println("  파일 목록 차이: " + expected.keySet() + " vs " + actual.keySet());
+            return false;
+        }
+        for (Map.Entry<String, byte[]> e : expected.entrySet()) {
+            if (!Arrays.equals(e.getValue(), actual.get(e.getKey()))) {
+                System.out.println("  내용 차이: " + e.getKey());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, byte[]> snapshot(Path dir) throws IOException {
+        Map<String, byte[]> result = new TreeMap<>();
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path p : paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                String name = p.getFileName().toString();
+                if (name.endsWith("-metrics.json") || name.endsWith("-metrics.csv")) {
+                    // 실행 시간 측정 보고서는 실행마다 달라지므로 비교에서 제외
+                    continue;
+                }
+                result.put(dir.relativize(p).toString().replace("\\", "/"), Files.readAllBytes(p));
+            }
+        }
+        return result;
+    }
+
+    private static void copyTree(Path from, Path to) throws IOException {
+        try (Stream<Path> paths = Files.walk(from)) {
+            for (Path p : paths.collect(Collectors.toList())) {
+                Path target = to.resolve(from.relativize(p).toString());
+                if (Files.isDirectory(p)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(p, target);
+                }
+            }
+        }
+    }
+}
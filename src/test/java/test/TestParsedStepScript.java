@@ -0,0 +1,356 @@
+package test;
+
+import com.regex.MatchBudget;
+import com.regex.MatchTimeoutException;
+import service.queryParser.job.AppStepJob;
+import service.queryParser.parser.ParsedStepScript;
+import service.queryParser.parser.TableParser;
+import service.queryParser.parser.TableStepParser;
+import service.queryParser.pattern.TablePatternRegistry;
+import service.queryParser.processor.FileStepParserProcessor;
+import service.queryParser.reader.SqlReader;
+import service.queryParser.vo.TablesInfo;
+import service.queryParser.writer.CsvStepWriter;
+import service.queryParser.writer.TextStepWriter;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * TableStepParser 분할 결과 재사용(ParsedStepScript) 테스트
+ *
+ * 1. 이전 구현(매번 분할 + STEP별 substring().trim())과 STEP 이름/순서/테이블이 같은지
+ *    (중복 STEP 이름, 빈 STEP, 문자열 리터럴 안의 STEP 표기 포함)
+ * 2. countSteps 는 파싱하지 않고, extractTablesForStep 은 해당 STEP 만, 이후 조회는 다시 파싱하지 않는지
+ * 3. 내용이 같은 다른 String 인스턴스도 재사용하는지, 다른 스크립트는 새로 분할하는지
+ * 4. 반복 조회 시간 (첫 파싱 대비)
+ * 5. STEP 병렬 파싱: 결과 / 순서가 순차와 같은지, 기준 미만은 순차인지, MatchBudget 시간 초과가 전달되는지,
+ *    AppStepJob 이 공용 풀 대신 전용 풀을 쓰고 끝나면 종료하는지
+ * 6. 주석 마스크: 이전 replaceAll 주석 제거와 결과가 같은지, STEP 뷰 / 주석 제거의 할당량이 입력 크기 수준인지,
+ *    파싱이 끝난 뒤 스레드의 캐시 Matcher 가 입력을 붙잡지 않는지
+ *    (한글이 섞인 char[] -> String 은 JDK 가 Latin-1 압축을 먼저 시도하므로 입력의 1.5배 정도)
+ *
+ * 사용법: java test.TestParsedStepScript
+ */
+public class TestParsedStepScript {
+
+    private static final Pattern OLD_STEP_PATTERN = Pattern.compile(
+            "(?:/\\*\\s*STEP(\\d+)\\s*\\*/|--\\s*STEP(\\d+))", Pattern.CASE_INSENSITIVE);
+
+    private static boolean pass = true;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== 이전 구현과 결과 동일 ===");
+        String tricky = "/* STEP001 */\nINSERT INTO DW.A SELECT * FROM SRC.X;\n"
+                + "-- STEP002\n   \n"
+                + "/* STEP003 */ INSERT INTO DW.B SELECT '-- STEP009' FROM SRC.Y;\n"
+                + "-- STEP001\nINSERT INTO DW.C SELECT * FROM SRC.Z -- 주석 FROM SRC.NO\n";
+        boolean same = sameAsOld(tricky);
+        for (long seed = 1; seed <= 5; seed++) {
+            same &= sameAsOld(new SqlCorpusGenerator(seed).generate(40));
+        }
+        check("STEP 이름 / 순서 / 테이블", same);
+        TableStepParser plain = new TableStepParser();
+        ParsedStepScript parsed = plain.parse(tricky);
+        check("빈 STEP 제외, 중복 이름은 마지막 STEP", parsed.getStepCount() == 3
+                && parsed.getStepNames().equals(List.of("STEP001", "STEP003", "STEP001"))
+                && parsed.getTables("STEP001").getSortedTargets().toString().equals("[DW.C]"));
+        String comment = "-- 주석 FROM SRC.NO";
+        check("주석 제거 SQL (길이 유지)", parsed.getCleanedSql("STEP001").toString()
+                .equals("INSERT INTO DW.C SELECT * FROM SRC.Z " + " ".repeat(comment.length()))
+                && parsed.getStepSql("STEP001").toString().endsWith(comment)
+                && parsed.getStepSql("STEP003").toString().startsWith("INSERT INTO DW.B") && parsed.getStepSql("STEP002") == null);
+
+        System.out.println("\n=== 파싱 횟수 ===");
+        AtomicInteger calls = new AtomicInteger();
+        TableStepParser counting = new TableStepParser(new TableParser() {
+            @Override
+            public TablesInfo extractTables(CharSequence sql) {
+                calls.incrementAndGet();
+                return super.extractTables(sql);
+            }
+        });
+        String script = new SqlCorpusGenerator(42L).generate(100);
+        int count = counting.countSteps(script);
+        check("countSteps: 파싱 0회", count == 100 && calls.get() == 0);
+        TablesInfo step5 = counting.extractTablesForStep(script, "STEP005");
+        check("extractTablesForStep: 1회", step5 != null && calls.get() == 1);
+        counting.extractTablesForStep(script, "STEP005");
+        Map<String, TablesInfo> all = counting.extractTablesByStep(script);
+        check("전체 추출: 나머지 99회만", calls.get() == 100 && all.size() == 100
+                && all.get("STEP005").getSources().equals(step5.getSources()));
+        String formatted = counting.parse(script).format();
+        counting.extractTablesByStep(new String(script.toCharArray()));
+        check("포맷팅 / 같은 내용 재조회: 추가 파싱 없음", calls.get() == 100
+                && formatted.equals(counting.formatStepTables(all)));
+        counting.countSteps(script + "\n/* STEP101 */ SELECT 1 FROM DUAL;");
+        counting.extractTablesForStep(script, "STEP001");
+        check("다른 스크립트는 새로 분할", calls.get() == 101);
+
+        System.out.println("\n=== 보관 결과 격리 ===");
+        // 호출자가 반환값을 수정해도 같은 스크립트의 이후 조회 결과는 바뀌지 않아야 함
+        TableStepParser isolated = new TableStepParser();
+        Map<String, TablesInfo> returned = isolated.extractTablesByStep(script);
+        Set<String> expectedSources = new LinkedHashSet<>(returned.get("STEP003").getSources());
+        returned.get("STEP003").getSources().clear();
+        returned.get("STEP003").addTarget("DM.INJECTED");
+        isolated.extractTablesForStep(script, "STEP003").getSources().add("DW.INJECTED");
+        TablesInfo again = isolated.extractTablesByStep(script).get("STEP003");
+        check("반환값 수정이 보관 결과에 영향 없음", !expectedSources.isEmpty()
+                && again.getSources().equals(expectedSources) && !again.getTargets().contains("DM.INJECTED")
+                && isolated.parse(script).getTables("STEP003").getSources().equals(expectedSources));
+        boolean readOnly;
+        try {
+            isolated.parse(script).getTables("STEP003").getSources().add("DW.INJECTED");
+            readOnly = false;
+        } catch (UnsupportedOperationException ex) {
+            readOnly = true;
+        }
+        check("ParsedStepScript 보관 TablesInfo 는 읽기 전용", readOnly);
+
+        System.out.println("\n=== 반복 조회 시간 ===");
+        String big = new SqlCorpusGenerator(7L).generate(500);
+        TableStepParser timed = new TableStepParser();
+        long t0 = System.nanoTime();
+        timed.extractTablesByStep(big);
+        long first = System.nanoTime() - t0;
+        t0 = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            timed.countSteps(big);
+            timed.extractTablesForStep(big, "STEP250");
+            timed.parse(big).format();
+        }
+        long repeated = (System.nanoTime() - t0) / 100;
+        System.out.printf("  첫 파싱 %,d us, 이후 조회 1회 %,d us%n", first / 1_000, repeated / 1_000);
+        check("이후 조회가 첫 파싱보다 100배 이상 빠름", repeated * 100 < first);
+
+        System.out.println("\n=== STEP 병렬 파싱 ===");
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            TableStepParser parallel = new TableStepParser(new TableParser() {
+                @Override
+                public TablesInfo extractTables(CharSequence sql) {
+                    threads.add(Thread.currentThread().getName());
+                    return super.extractTables(sql);
+                }
+            });
+            parallel.setParallel(pool, 8);
+            String many = new SqlCorpusGenerator(11L).generate(300);
+            Map<String, TablesInfo> expected = new TableStepParser().extractTablesByStep(many);
+            Map<String, TablesInfo> actual = parallel.extractTablesByStep(many);
+            check("결과 / 순서가 순차와 동일", sameTables(expected, actual)
+                    && new ArrayList<>(expected.keySet()).equals(new ArrayList<>(actual.keySet())));
+            check("풀 스레드에서 파싱", parallel.isParallel() && threads.stream().anyMatch(t -> t.startsWith("ForkJoinPool")));
+
+            threads.clear();
+            parallel.extractTablesByStep(new SqlCorpusGenerator(12L).generate(5));
+            check("기준 미만은 호출 스레드에서 순차", threads.equals(Set.of(Thread.currentThread().getName())));
+
+            // 두 번째 STEP 만 폭주 (공백 없는 긴 단어): 풀 스레드에서도 호출 스레드의 예산이 적용되는지
+            String evil = "/* STEP001 */ INSERT INTO DW.A SELECT * FROM SRC.X;\n/* STEP002 */ "
+                    + "x".repeat(200_000) + ";\n" + new SqlCorpusGenerator(13L).generate(20);
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            long start = System.nanoTime();
+            try {
+                MatchBudget.of(300L, 0L).call(() -> parallel.extractTablesByStep(evil));
+            } catch (Throwable ex) {
+                error.set(ex);
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+            System.out.printf("  시간 초과까지 %,d ms%n", elapsedMs);
+            check("MatchBudget 시간 초과 전달", error.get() instanceof MatchTimeoutException && elapsedMs < 10_000);
+        } finally {
+            pool.shutdown();
+        }
+
+        // AppStepJob 은 공용 풀 대신 execute 동안만 전용 풀을 사용하고 끝나면 분리 / 종료
+        Set<String> jobThreads = ConcurrentHashMap.newKeySet();
+        TableStepParser jobParser = new TableStepParser(new TableParser() {
+            @Override
+            public TablesInfo extractTables(CharSequence sql) {
+                jobThreads.add(Thread.currentThread().getName());
+                return super.extractTables(sql);
+            }
+        });
+        Path jobDir = Files.createTempDirectory("step-job");
+        PrintStream out = System.out;
+        try {
+            Files.writeString(jobDir.resolve("many.sql"), new SqlCorpusGenerator(14L).generate(100));
+            Path jobOut = jobDir.resolve("out");
+            AppStepJob job = new AppStepJob(jobDir.resolve("many.sql"), SqlReader.autoDetect(),
+                    new FileStepParserProcessor(jobParser), new TextStepWriter(jobOut, StandardCharsets.UTF_8),
+                    CsvStepWriter.streaming(jobOut.resolve("step_summary.csv"), StandardCharsets.UTF_8));
+            job.setStepParallel(jobParser, 2, 8);
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            try {
+                job.execute();
+            } finally {
+                System.setOut(out);
+            }
+            check("AppStepJob 전용 풀 (공용 풀 미사용, 종료 후 분리)", !jobParser.isParallel()
+                    && jobThreads.stream().anyMatch(t -> t.startsWith("ForkJoinPool-"))
+                    && jobThreads.stream().noneMatch(t -> t.contains("commonPool")));
+        } finally {
+            try (Stream<Path> paths = Files.walk(jobDir)) {
+                for (Path p : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.deleteIfExists(p);
+                }
+            }
+        }
+
+        System.out.println("\n=== 주석 마스크 ===");
+        TableParser tableParser = new TableParser();
+        String[] comments = {
+                "INSERT INTO DW.A -- x /* y\nSELECT * FROM SRC.NO */ SELECT * FROM SRC.B",
+                "SELECT * /* -- 주석\n */ FROM SRC.C\nJOIN SRC.D -- FROM SRC.NO",
+                "SELECT '-- 문자열' AS A FROM SRC.E /* 닫히지 않은 주석 FROM SRC.F",
+                "SELECT * FROM SRC.G -- 윈도우 줄바꿈\r\nJOIN SRC.H ON 1 = 1 -/**/- FROM SRC.I",
+                "SELECT 1 FROM SRC.J -- 끝 줄바꿈 없음",
+        };
+        boolean sameStrip = true;
+        boolean sameTables = true;
+        for (String sql : comments) {
+            CharSequence masked = tableParser.stripComments(sql);
+            String old = oldRemoveComments(sql);
+            sameStrip &= masked.length() == sql.length()
+                    && masked.toString().replaceAll("\\s+", " ").trim().equals(old.replaceAll("\\s+", " ").trim());
+            sameTables &= sameTables(Map.of("", tableParser.extractTables(old)), Map.of("", tableParser.extractTables(sql)));
+        }
+        check("replaceAll 주석 제거와 같은 내용 (길이 유지)", sameStrip);
+        check("테이블 추출 결과 동일", sameTables);
+        check("주석 없는 입력은 그대로", tableParser.stripComments("SELECT 1 FROM SRC.A") == "SELECT 1 FROM SRC.A");
+
+        String large = new SqlCorpusGenerator(21L).generate(2_000);
+        ParsedStepScript views = new TableStepParser().parse(large);
+        long before = allocatedBytes();
+        long viewChars = 0;
+        for (String name : views.getStepNames()) {
+            viewChars += views.getCleanedSql(name).toString().length();
+        }
+        long viewBytes = allocatedBytes() - before;
+        before = allocatedBytes();
+        long oldChars = 0;
+        Matcher steps = OLD_STEP_PATTERN.matcher(large);
+        int prev = -1;
+        while (true) {
+            boolean found = steps.find();
+            if (prev >= 0) {
+                oldChars += oldRemoveComments(large.substring(prev, found ? steps.start() : large.length()).trim()).length();
+            }
+            if (!found) {
+                break;
+            }
+            prev = steps.end();
+        }
+        long oldBytes = allocatedBytes() - before;
+        long inputBytes = large.length() * 2L;
+        System.out.printf("  입력 %,d bytes: 뷰 + 마스크 %,d bytes, 이전 substring/trim/replaceAll %,d bytes%n",
+                inputBytes, viewBytes, oldBytes);
+        check("주석 제거 할당량이 입력 크기의 2배 이하", viewChars > 0 && oldChars > 0
+                && (viewBytes < 0 || viewBytes <= inputBytes * 2));
+        check("이전 방식보다 적게 할당", viewBytes < 0 || viewBytes * 2 < oldBytes);
+
+        // 파싱이 끝나면 스레드에 캐시된 Matcher 가 입력을 붙잡지 않는지
+        check("파싱 후 캐시 Matcher 가 입력을 놓아줌", inputReleased(tableParser));
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL"));
+    }
+
+    /**
+     * 이전 TableStepParser.extractTablesByStep 구현과 비교
+     */
+    private static boolean sameAsOld(String sql) {
+        TableParser tableParser = new TableParser();
+        Map<String, TablesInfo> expected = new LinkedHashMap<>();
+        Matcher matcher = OLD_STEP_PATTERN.matcher(sql);
+        List<int[]> bounds = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        while (matcher.find()) {
+            // 이전 구현도 문자열 리터럴 안의 표기는 건너뜀
+            if (service.queryParser.parser.SqlRegionIndex.build(sql).isInsideString(matcher.start())) {
+                continue;
+            }
+            names.add("STEP" + (matcher.group(1) != null ? matcher.group(1) : matcher.group(2)));
+            bounds.add(new int[]{matcher.start(), matcher.end()});
+        }
+        for (int i = 0; i < bounds.size(); i++) {
+            int end = i + 1 < bounds.size() ? bounds.get(i + 1)[0] : sql.length();
+            String stepSql = sql.substring(bounds.get(i)[1], end).trim();
+            if (!stepSql.isEmpty()) {
+                expected.put(names.get(i), tableParser.extractTables(oldRemoveComments(stepSql)));
+            }
+        }
+        Map<String, TablesInfo> actual = new TableStepParser().extractTablesByStep(sql);
+        return new ArrayList<>(expected.keySet()).equals(new ArrayList<>(actual.keySet())) && sameTables(expected, actual);
+    }
+
+    /**
+     * 이전 TableParser.removeComments (replaceAll 2회)
+     */
+    private static String oldRemoveComments(String sql) {
+        String noBlock = TablePatternRegistry.BLOCK_COMMENT.matcher(sql).replaceAll(" ");
+        return TablePatternRegistry.LINE_COMMENT.matcher(noBlock).replaceAll(" ");
+    }
+
+    /**
+     * 현재 스레드의 누적 할당 바이트 (지원하지 않는 JVM 이면 -1)
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1L;
+    }
+
+    private static boolean inputReleased(TableParser parser) {
+        String script = new SqlCorpusGenerator(31L).generate(50);
+        parser.extractTables(script);
+        parser.stripComments(script);
+        WeakReference<String> ref = new WeakReference<>(script);
+        script = null;
+        for (int i = 0; i < 10 && ref.get() != null; i++) {
+            System.gc();
+        }
+        return ref.get() == null;
+    }
+
+    private static boolean sameTables(Map<String, TablesInfo> expected, Map<String, TablesInfo> actual) {
+        if (!expected.keySet().equals(actual.keySet())) {
+            return false;
+        }
+        for (String name : expected.keySet()) {
+            if (!expected.get(name).getSources().equals(actual.get(name).getSources())
+                    || !expected.get(name).getTargets().equals(actual.get(name).getTargets())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+}
@@ -0,0 +1,79 @@
+package test;
+
+import service.csvCompare.model.DataRow;
+import service.csvCompare.model.HeaderIndex;
+import service.csvCompare.process.CompositeKeyStrategy;
+import service.csvCompare.process.KeyStrategy;
+import service.csvCompare.process.RowKey;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * RowKey / CompositeKeyStrategy.buildRowKey 테스트
+ *
+ * 1. 같은 값이면 같은 키(equals/hashCode), 다른 값이면 다른 키
+ * 2. 값 안에 구분자(0x1D)가 있어도 값 경계가 다르면 다른 키 (이전 문자열 키는 같은 키로 취급)
+ * 3. 빈 값/없는 컬럼/매우 긴 값에서도 get(i), toString 이 올바른지 확인
+ * 4. toString 이 buildKey 문자열과 같은지 (중복 키 메시지 형식 유지)
+ *
+ * 사용법: java test.TestRowKey
+ */
+public class TestRowKey {
+
+    private static boolean pass = true;
+
+    public static void main(String[] args) {
+        System.out.println("=== RowKey ===");
+        check("같은 값 equals/hashCode",
+                RowKey.of("A", "1").equals(RowKey.of("A", "1"))
+                        && RowKey.of("A", "1").hashCode() == RowKey.of("A", "1").hashCode());
+        check("다른 값", !RowKey.of("A", "1").equals(RowKey.of("A", "2")));
+        check("값 개수 다름", !RowKey.of("A").equals(RowKey.of("A", "")));
+
+        String sep = String.valueOf(RowKey.SEPARATOR);
+        check("구분자 포함 값 경계 구분", !RowKey.of("A" + sep + "B", "C").equals(RowKey.of("A", "B" + sep + "C")));
+
+        RowKey empty = RowKey.of("", null, "X");
+        check("빈 값 get", empty.size() == 3 && empty.get(0).isEmpty() && empty.get(1).isEmpty() && "X".equals(empty.get(2)));
+        check("빈 값 toString", ("" + sep + sep + "X").equals(empty.toString()));
+
+        char[] big = new char[70_000];
+        Arrays.fill(big, '가');
+        String longValue = new String(big);
+        RowKey wide = RowKey.of("L", longValue, "R");
+        check("긴 값(경계 2문자) get", "L".equals(wide.get(0)) && longValue.equals(wide.get(1)) && "R".equals(wide.get(2)));
+        check("긴 값 equals", wide.equals(RowKey.of("L", longValue, "R")) && !wide.equals(RowKey.of("L", longValue, "S")));
+
+        System.out.println("\n=== CompositeKeyStrategy.buildRowKey ===");
+        HeaderIndex header = new HeaderIndex(Arrays.asList("ID", "DT", "NAME"));
+        HeaderIndex other = new HeaderIndex(Arrays.asList("NAME", "DT", "ID"));
+        KeyStrategy ks = new CompositeKeyStrategy(Arrays.asList("ID", "DT"));
+        DataRow r1 = new DataRow(header, new String[]{"7", "2025-12-01", "kim"});
+        DataRow r2 = new DataRow(other, new String[]{"lee", "2025-12-01", "7"});
+        check("헤더 순서가 달라도 같은 키", ks.buildRowKey(r1).equals(ks.buildRowKey(r2)));
+        check("toString == buildKey", ks.buildRowKey(r1).toString().equals(ks.buildKey(r1)));
+
+        DataRow missing = new DataRow(new HeaderIndex(Arrays.asList("ID", "NAME")), new String[]{"7", "x"});
+        check("없는 컬럼은 빈 값", "".equals(ks.buildRowKey(missing).get(1)));
+
+        Map<RowKey, Integer> map = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            map.put(ks.buildRowKey(new DataRow(header, new String[]{Integer.toString(i), "D" + (i % 7), "n"})), i);
+        }
+        boolean allFound = map.size() == 10_000;
+        for (int i = 0; i < 10_000 && allFound; i++) {
+            Integer v = map.get(ks.buildRowKey(new DataRow(other, new String[]{"m", "D" + (i % 7), Integer.toString(i)})));
+            allFound = v != null && v == i;
+        }
+        check("HashMap 저장/조회 10,000건", allFound);
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL"));
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+}
@@ -0,0 +1,167 @@
+package test;
+
+import service.queryParser.vo.TablesInfo;
+import service.queryParser.writer.CsvStepWriter;
+import service.queryParser.writer.CsvWriter;
+import service.queryParser.writer.SourceTableCsvWriter;
+import service.queryParser.writer.TargetTableCsvWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * 요약 CSV Writer 스트리밍 모드 테스트
+ *
+ * 1. 3,000개 파일 결과를 기존(메모리) 방식과 스트리밍 방식으로 저장했을 때 4개 CSV 가 바이트 단위로 같은지
+ *    (매핑 Writer 는 메모리 한도 64KB 로 디스크 분할 정렬이 일어나도록 함)
+ * 2. 레코드 수 / 테이블 수가 같고, 분할 정렬 임시 파일과 디렉터리가 남지 않는지
+ * 3. write() 를 호출하기 전(작업 중단 상황)에도 summary.csv / step_summary.csv 에 처리한 행이 남아 있는지
+ * 4. write() 후 다시 추가하면 새 파일로 시작하는지
+ *
+ * 사용법: java test.TestSummaryStreaming
+ */
+public class TestSummaryStreaming {
+
+    private static boolean pass = true;
+
+    public static void main(String[] args) throws Exception {
+        Path root = Files.createTempDirectory("summary-streaming");
+        try {
+            System.out.println("=== 기존 방식과 결과 동일 ===");
+            Map<String, TablesInfo> corpus = corpus(3_000, 400, 7L);
+            Path memDir = root.resolve("memory");
+            Path streamDir = root.resolve("stream");
+
+            CsvWriter memCsv = new CsvWriter(memDir.resolve("summary.csv"), StandardCharsets.UTF_8);
+            SourceTableCsvWriter memSource = new SourceTableCsvWriter(memDir.resolve("source.csv"), StandardCharsets.UTF_8);
+            TargetTableCsvWriter memTarget = new TargetTableCsvWriter(memDir.resolve("target.csv"), StandardCharsets.UTF_8);
+            CsvStepWriter memStep = new CsvStepWriter(memDir.resolve("step.csv"), StandardCharsets.UTF_8);
+
+            CsvWriter streamCsv = CsvWriter.streaming(streamDir.resolve("summary.csv"), StandardCharsets.UTF_8);
+            SourceTableCsvWriter streamSource = SourceTableCsvWriter.streaming(streamDir.resolve("source.csv"),
+                    StandardCharsets.UTF_8, 64 * 1024);
+            TargetTableCsvWriter streamTarget = TargetTableCsvWriter.streaming(streamDir.resolve("target.csv"),
+                    StandardCharsets.UTF_8, 64 * 1024);
+            CsvStepWriter streamStep = CsvStepWriter.streaming(streamDir.resolve("step.csv"), StandardCharsets.UTF_8);
+
+            for (Map.Entry<String, TablesInfo> e : corpus.entrySet()) {
+                memCsv.addRecord(e.getKey(), e.getValue());
+                memSource.addRecord(e.getKey(), e.getValue());
+                memTarget.addRecord(e.getKey(), e.getValue());
+                memStep.addFileSteps(e.getKey(), steps(e.getValue()));
+                streamCsv.addRecord(e.getKey(), e.getValue());
+                streamSource.addRecord(e.getKey(), e.getValue());
+                streamTarget.addRecord(e.getKey(), e.getValue());
+                streamStep.addFileSteps(e.getKey(), steps(e.getValue()));
+            }
+            // 같은 (테이블, 프로그램) 이 다시 들어와도 관련 테이블이 합쳐지는지
+            TablesInfo extra = new TablesInfo();
+            extra.addSource("SRC.T_0001");
+            extra.addTarget("DW.EXTRA");
+            memSource.addRecord("p00000.sql", extra);
+            streamSource.addRecord("p00000.sql", extra);
+
+            int spills = streamSource.getSpillCount() + streamTarget.getSpillCount();
+            for (Object w : new Object[]{memCsv, memSource, memTarget, memStep, streamCsv, streamSource, streamTarget, streamStep}) {
+                write(w);
+            }
+            System.out.printf("  매핑 분할 정렬 %d회%n", spills);
+            for (String name : new String[]{"summary.csv", "source.csv", "target.csv", "step.csv"}) {
+                check(name + " 동일", Arrays.equals(Files.readAllBytes(memDir.resolve(name)),
+                        Files.readAllBytes(streamDir.resolve(name))));
+            }
+            check("디스크 분할 정렬 발생", spills > 0);
+            check("레코드 / 테이블 수 동일", memCsv.getRecordCount() == streamCsv.getRecordCount()
+                    && memStep.getRecordCount() == streamStep.getRecordCount()
+                    && memSource.getTableCount() == streamSource.getTableCount()
+                    && memTarget.getTableCount() == streamTarget.getTableCount()
+                    && streamSource.getTableCount() > 0);
+            try (Stream<Path> s = Files.list(streamDir)) {
+                List<String> names = s.map(p -> p.getFileName().toString()).sorted().toList();
+                check("임시 파일 정리", names.equals(List.of("source.csv", "step.csv", "summary.csv", "target.csv")));
+            }
+
+            System.out.println("\n=== 중단된 작업의 부분 결과 ===");
+            Path partialDir = root.resolve("partial");
+            CsvWriter partialCsv = CsvWriter.streaming(partialDir.resolve("summary.csv"), StandardCharsets.UTF_8);
+            CsvStepWriter partialStep = CsvStepWriter.streaming(partialDir.resolve("step.csv"), StandardCharsets.UTF_8);
+            int n = 0;
+            for (Map.Entry<String, TablesInfo> e : corpus.entrySet()) {
+                if (n++ == 10) {
+                    break;
+                }
+                partialCsv.addRecord(e.getKey(), e.getValue());
+                partialStep.addFileSteps(e.getKey(), steps(e.getValue()));
+            }
+            // write() 없이 파일 내용 확인 (프로세스가 여기서 죽은 상황)
+            List<String> summary = Files.readAllLines(partialDir.resolve("summary.csv"), StandardCharsets.UTF_8);
+            check("summary.csv 헤더 + 10행", summary.size() == 11
+                    && summary.get(0).equals("﻿File Name,Source Tables,Target Tables")
+                    && summary.get(10).startsWith("p00009.sql,"));
+            String step = Files.readString(partialDir.resolve("step.csv"), StandardCharsets.UTF_8);
+            check("step_summary.csv 10행", step.split("\n(?=p\\d{5}\\.sql,)").length - 1 == 10);
+
+            partialCsv.write();
+            partialCsv.addRecord("new.sql", new TablesInfo());
+            partialCsv.write();
+            summary = Files.readAllLines(partialDir.resolve("summary.csv"), StandardCharsets.UTF_8);
+            check("write() 후 추가는 새 파일", summary.size() == 2 && summary.get(1).equals("new.sql,,")
+                    && partialCsv.getRecordCount() == 1);
+        } finally {
+            try (Stream<Path> s = Files.walk(root)) {
+                s.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+
+        System.out.println("\n결과: " + (pass ? "✅ PASS" : "❌ FAIL"));
+    }
+
+    /**
+     * 파일 수 files, 테이블 풀 tables 개의 합성 파싱 결과 (같은 seed 는 같은 결과)
+     */
+    private static Map<String, TablesInfo> corpus(int files, int tables, long seed) {
+        Random random = new Random(seed);
+        Map<String, TablesInfo> corpus = new LinkedHashMap<>();
+        for (int i = 0; i < files; i++) {
+            TablesInfo info = new TablesInfo();
+            int sources = 1 + random.nextInt(6);
+            for (int s = 0; s < sources; s++) {
+                info.addSource(String.format("SRC.T_%04d", random.nextInt(tables)));
+            }
+            if (random.nextInt(5) > 0) {
+                info.addTarget(String.format("DW.T_%04d", random.nextInt(tables)));
+            }
+            if (random.nextInt(10) == 0) {
+                info.addSource("`프로젝트.데이터셋.\"한글,테이블\"`");
+            }
+            corpus.put(String.format("p%05d.sql", i), info);
+        }
+        return corpus;
+    }
+
+    private static Map<String, TablesInfo> steps(TablesInfo info) {
+        Map<String, TablesInfo> steps = new LinkedHashMap<>();
+        steps.put("STEP001", info);
+        TablesInfo second = new TablesInfo();
+        info.getTargets().forEach(second::addSource);
+        steps.put("STEP002", second);
+        return steps;
+    }
+
+    private static void write(Object writer) throws Exception {
+        writer.getClass().getMethod("write").invoke(writer);
+    }
+
+    private static void check(String name, boolean ok) {
+        pass &= ok;
+        System.out.println("[" + name + "] " + (ok ? "✅ PASS" : "❌ FAIL"));
+    }
+}
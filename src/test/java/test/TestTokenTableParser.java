@@ -0,0 +1,109 @@
+package test;
+
+import service.queryParser.parser.SqlLexer;
+import service.queryParser.parser.TableParser;
+import service.queryParser.parser.TokenTableParser;
+import service.queryParser.vo.TablesInfo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * TokenTableParser(단일 패스) 와 TableParser(정규식) 결과 비교 테스트
+ *
+ * 사용법: java test.TestTokenTableParser [SQL 디렉토리] (기본: sql)
+ */
+public class TestTokenTableParser {
+
+    private static final TableParser REGEX = new TableParser();
+    private static final TableParser TOKEN = new TokenTableParser();
+
+    private static int total = 0;
+    private static int diff = 0;
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== 샘플 쿼리 비교 ===");
+        compare("CTE", "/* STEP005 */\n"
+                + "INSERT INTO DM.`요약01`\n"
+                + "WITH `모수` AS (SELECT A FROM DW.`기지국05` AS N1 WHERE N1.COL1 = 'A') ,\n"
+                + "MOSU2 AS (SELECT B FROM DW.`부서05` N1)\n"
+                + "SELECT * FROM `모수`;");
+        compare("ORACLE JOIN", "SELECT * FROM DW.A a, DW.B b, DW.C WHERE a.id = b.id;");
+        compare("MERGE", "MERGE INTO DM.T t USING DW.S s ON t.id = s.id "
+                + "WHEN MATCHED THEN UPDATE SET t.v = s.v;");
+        compare("DELETE", "DELETE FROM DM.T1 WHERE X = 1;\nDELETE DM.T2 WHERE Y = 2;");
+        compare("JOIN", "SELECT * FROM DW.A a LEFT OUTER JOIN DW.B b ON a.id = b.id "
+                + "INNER JOIN DW.C c ON c.id = a.id -- JOIN DW.COMMENTED\n"
+                + "RIGHT JOIN /* DW.BLOCK */ DW.D d ON d.id = a.id");
+        compare("STRING", "SELECT 'it''s from DW.FAKE1' AS msg, X.ID FROM DW.REAL1 X, DW.REAL2 Y\n"
+                + "WHERE X.MSG <> 'join DW.FAKE2 on' AND X.ID = Y.ID;");
+        // BigQuery(기본): 작은따옴표 문자열의 \' 는 이스케이프, 뒤의 FROM / JOIN 이 살아 있어야 함
+        String bigQuery = "INSERT INTO DW.T SELECT REPLACE(x, 'It\\'s', '') AS y FROM SRC.A a JOIN SRC.B b ON a.id=b.id;";
+        compare("BIGQUERY BACKSLASH", bigQuery);
+        expect("BIGQUERY BACKSLASH", bigQuery, REGEX, TOKEN, List.of("SRC.A", "SRC.B"));
+        // Oracle / ANSI: 역슬래시는 일반 문자이므로 'C:\' 는 닫는 따옴표에서 끝남
+        String oracle = "SELECT 'C:\\' AS p FROM SRC.A a\n"
+                + "JOIN SRC.B b ON a.id = b.id WHERE a.path <> 'D:\\tmp\\';";
+        expect("ORACLE BACKSLASH", oracle, new TableParser(SqlLexer.Dialect.ANSI),
+                new TokenTableParser(SqlLexer.Dialect.ANSI), List.of("SRC.A", "SRC.B"));
+
+        Path root = Paths.get(args.length > 0 ? args[0] : "sql");
+        if (Files.isDirectory(root)) {
+            System.out.println("\n=== 디렉토리 비교: " + root.toAbsolutePath() + " ===");
+            List<Path> files;
+            try (Stream<Path> paths = Files.walk(root)) {
+                files = paths.filter(p -> p.toString().endsWith(".sql")).sorted().collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                compare(root.relativize(file).toString(), Files.readString(file, StandardCharsets.UTF_8));
+            }
+        }
+
+        System.out.println("\n========================================");
+        System.out.println("비교 " + total + "건, 차이 " + diff + "건");
+        System.out.println("========================================");
+    }
+
+    /**
+     * 두 파서 모두 기대한 소스 테이블을 추출하는지 확인 (같은 렉서를 쓰므로 비교만으로는 공통 오류를 못 잡음)
+     */
+    private static void expect(String name, String sql, TableParser regexParser, TableParser tokenParser,
+                               List<String> sources) {
+        total++;
+        Set<String> regex = regexParser.extractTables(sql).getSortedSources();
+        Set<String> token = tokenParser.extractTables(sql).getSortedSources();
+        boolean ok = regex.equals(new TreeSet<>(sources)) && token.equals(new TreeSet<>(sources));
+        System.out.println("[" + name + " 기대값] " + (ok ? "✅ SAME" : "❌ DIFF"));
+        if (!ok) {
+            diff++;
+            System.out.println("  expected sources: " + sources);
+            System.out.println("  regex sources: " + regex);
+            System.out.println("  token sources: " + token);
+        }
+    }
+
+    private static void compare(String name, String sql) {
+        total++;
+        TablesInfo expected = REGEX.extractTables(sql);
+        TablesInfo actual = TOKEN.extractTables(sql);
+
+        boolean same = expected.getSortedSources().equals(actual.getSortedSources())
+                && expected.getSortedTargets().equals(actual.getSortedTargets());
+        System.out.println("[" + name + "] " + (same ? "✅ SAME" : "❌ DIFF"));
+        if (!same) {
+            diff++;
+            System.out.println("  regex sources: " + expected.getSortedSources());
+            System.out.println("  token sources: " + actual.getSortedSources());
+            System.out.println("  regex targets: " + expected.getSortedTargets());
+            System.out.println("  token targets: " + actual.getSortedTargets());
+        }
+    }
+}